@@ -17,6 +17,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import io.github.jdbctemplatemapper.converter.IPropertyConverter;
 
 /**
  * Properties that need be persisted to the database will need this annotation unless the property
@@ -28,4 +29,22 @@ import java.lang.annotation.Target;
 @Target(ElementType.FIELD)
 public @interface Column {
   String name() default "[DEFAULT]";
+
+  /**
+   * Set to true when the column value is generated by the database (default value, trigger,
+   * computed column etc). The property is not written by insert/update and is populated with the
+   * database value after an insert/update.
+   *
+   * @return true if the column value is generated by the database
+   */
+  boolean generated() default false;
+
+  /**
+   * The converter between the property value and the column value. See IPropertyConverter,
+   * EnumNameConverter, EnumOrdinalConverter and JsonConverter. Defaults to none.
+   *
+   * @return the converter class
+   */
+  @SuppressWarnings("rawtypes")
+  Class<? extends IPropertyConverter> converter() default IPropertyConverter.class;
 }
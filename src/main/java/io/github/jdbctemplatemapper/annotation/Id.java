@@ -39,6 +39,27 @@ import java.lang.annotation.Target;
  *    ...
  *  }
  * In this case you will have to manually set the id value before calling insert()
+ *
+ * For id from a database sequence:
+ * {@literal @}Table(name="orders")
+ *  class Order {
+ *   {@literal @}Id(type=IdType.SEQUENCE, sequence="orders_seq", allocationSize=50)
+ *    private Long id;
+ *    ...
+ *  }
+ * insert() assigns the id if it is null. The ids are allocated in blocks of allocationSize so the
+ * database sequence has to be created with INCREMENT BY allocationSize. One database call is made
+ * per block. Not supported for MySQL.
+ *
+ * For time ordered UUID id:
+ * {@literal @}Table(name="document")
+ *  class Document {
+ *   {@literal @}Id(type=IdType.UUID_V7)
+ *    private UUID id;
+ *    ...
+ *  }
+ * insert() assigns a UUID version 7 if the id is null. These are ordered by creation time so do
+ * not fragment the primary key index like random UUIDs.
  * </pre>
  *
  * @author ajoseph
@@ -47,4 +68,20 @@ import java.lang.annotation.Target;
 @Target(ElementType.FIELD)
 public @interface Id {
   IdType type() default IdType.MANUAL;
+
+  /**
+   * The database sequence for IdType.SEQUENCE. If the name is not qualified the schema of the table
+   * is used.
+   *
+   * @return the sequence name
+   */
+  String sequence() default "";
+
+  /**
+   * The number of ids allocated per database call for IdType.SEQUENCE. Has to match the INCREMENT
+   * BY of the sequence.
+   *
+   * @return the allocation size
+   */
+  int allocationSize() default 50;
 }
@@ -20,6 +20,10 @@ package io.github.jdbctemplatemapper.annotation;
  */
 public enum IdType {
   AUTO_INCREMENT, // for ids which are auto incremented by the database
-  MANUAL; // Default. The identifier has to be manually set. Use for all ids which are NOT
+  MANUAL, // Default. The identifier has to be manually set. Use for all ids which are NOT
           // database auto incremented.
+  SEQUENCE, // ids are allocated by the mapper in blocks of Id.allocationSize() from the database
+            // sequence Id.sequence(). Property has to be Long or Integer.
+  UUID_V7; // time ordered UUID version 7 generated by the mapper. Property has to be UUID or
+           // String.
 }
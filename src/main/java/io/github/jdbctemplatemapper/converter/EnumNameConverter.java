@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.converter;
+
+import java.util.HashMap;
+import java.util.Map;
+import io.github.jdbctemplatemapper.exception.MapperException;
+
+/**
+ * Stores an enum by its name() in a character column. The enum constants are looked up in a map
+ * built when the converter is created. Enum properties mapped to character columns use this
+ * converter by default. Column values are trimmed since CHAR columns are blank padded to the
+ * column length, and a blank value maps to null.
+ *
+ * <pre>
+ * &#64;Column(converter = EnumNameConverter.class)
+ * private Status status;
+ * </pre>
+ *
+ * @author ajoseph
+ * @param <E> the enum type
+ */
+public class EnumNameConverter<E extends Enum<E>> implements IPropertyConverter<E, String> {
+  private final Class<E> enumType;
+  private final Map<String, E> nameToConstant = new HashMap<>();
+
+  /**
+   * Constructor.
+   *
+   * @param enumType the enum type
+   */
+  public EnumNameConverter(Class<E> enumType) {
+    if (enumType == null || !enumType.isEnum()) {
+      throw new MapperException("EnumNameConverter can only be used for enum properties");
+    }
+    this.enumType = enumType;
+    for (E constant : enumType.getEnumConstants()) {
+      nameToConstant.put(constant.name(), constant);
+    }
+  }
+
+  @Override
+  public String toColumnValue(E propertyValue) {
+    return propertyValue.name();
+  }
+
+  @Override
+  public E toPropertyValue(String columnValue) {
+    String name = columnValue.trim();
+    if (name.isEmpty()) {
+      return null;
+    }
+    E constant = nameToConstant.get(name);
+    if (constant == null) {
+      throw new MapperException(
+          "No enum constant " + enumType.getSimpleName() + "." + columnValue);
+    }
+    return constant;
+  }
+
+  @Override
+  public Class<String> getColumnType() {
+    return String.class;
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.converter;
+
+import io.github.jdbctemplatemapper.exception.MapperException;
+
+/**
+ * Stores an enum by its ordinal() in a numeric column. Note that reordering the enum constants
+ * changes the meaning of the stored values.
+ *
+ * <pre>
+ * &#64;Column(converter = EnumOrdinalConverter.class)
+ * private Status status;
+ * </pre>
+ *
+ * @author ajoseph
+ * @param <E> the enum type
+ */
+public class EnumOrdinalConverter<E extends Enum<E>> implements IPropertyConverter<E, Integer> {
+  private final Class<E> enumType;
+  private final E[] constants;
+
+  /**
+   * Constructor.
+   *
+   * @param enumType the enum type
+   */
+  public EnumOrdinalConverter(Class<E> enumType) {
+    if (enumType == null || !enumType.isEnum()) {
+      throw new MapperException("EnumOrdinalConverter can only be used for enum properties");
+    }
+    this.enumType = enumType;
+    this.constants = enumType.getEnumConstants();
+  }
+
+  @Override
+  public Integer toColumnValue(E propertyValue) {
+    return propertyValue.ordinal();
+  }
+
+  @Override
+  public E toPropertyValue(Integer columnValue) {
+    if (columnValue < 0 || columnValue >= constants.length) {
+      throw new MapperException(
+          "No enum constant of " + enumType.getSimpleName() + " with ordinal " + columnValue);
+    }
+    return constants[columnValue];
+  }
+
+  @Override
+  public Class<Integer> getColumnType() {
+    return Integer.class;
+  }
+}
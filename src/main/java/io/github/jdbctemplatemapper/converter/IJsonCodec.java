@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.converter;
+
+/**
+ * Serializes values to JSON and back for properties using JsonConverter. Plug in the JSON library
+ * of the application with JdbcTemplateMapper.withJsonCodec().
+ *
+ * <pre>
+ * ObjectMapper objectMapper = new ObjectMapper();
+ * jdbcTemplateMapper.withJsonCodec(new IJsonCodec() {
+ *   public String toJson(Object value) throws Exception {
+ *     return objectMapper.writeValueAsString(value);
+ *   }
+ *   public &lt;T&gt; T fromJson(String json, Class&lt;T&gt; type) throws Exception {
+ *     return objectMapper.readValue(json, type);
+ *   }
+ * });
+ * </pre>
+ *
+ * @author ajoseph
+ */
+public interface IJsonCodec {
+
+  /**
+   * Serializes the value to JSON.
+   *
+   * @param value the value
+   * @return the JSON string
+   * @throws Exception on serialization failure
+   */
+  String toJson(Object value) throws Exception;
+
+  /**
+   * Deserializes the JSON to the type.
+   *
+   * @param <T> the type
+   * @param json the JSON string
+   * @param type the type
+   * @return the value
+   * @throws Exception on deserialization failure
+   */
+  <T> T fromJson(String json, Class<T> type) throws Exception;
+}
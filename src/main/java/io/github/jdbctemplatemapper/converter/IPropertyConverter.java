@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.converter;
+
+/**
+ * Converts a property value to the value written to its database column and back. Assign it to a
+ * property with &#64;Column(converter = ...). Converters are created once per mapped property when
+ * the mapping of the model is built, so an implementation should do its lookups in its
+ * constructor. An implementation needs either a public constructor which takes the property type
+ * (Class) or a public no argument constructor. It has to be thread safe.
+ *
+ * <pre>
+ * &#64;Column(converter = MoneyConverter.class)
+ * private Money price;
+ *
+ * public class MoneyConverter implements IPropertyConverter&lt;Money, BigDecimal&gt; {
+ *   public BigDecimal toColumnValue(Money money) { return money.getAmount(); }
+ *   public Money toPropertyValue(BigDecimal amount) { return Money.of(amount); }
+ *   public Class&lt;BigDecimal&gt; getColumnType() { return BigDecimal.class; }
+ * }
+ * </pre>
+ *
+ * @author ajoseph
+ * @param <P> the property type
+ * @param <C> the type of the column value
+ */
+public interface IPropertyConverter<P, C> {
+
+  /**
+   * Converts the property value to the value bound to the column on insert/update. Is not called
+   * for null property values.
+   *
+   * @param propertyValue the property value
+   * @return the column value
+   */
+  C toColumnValue(P propertyValue);
+
+  /**
+   * Converts the value read from the column to the property value. Is not called for null column
+   * values.
+   *
+   * @param columnValue the column value
+   * @return the property value
+   */
+  P toPropertyValue(C columnValue);
+
+  /**
+   * The type the column value is read as from the ResultSet (String, Integer, BigDecimal etc).
+   *
+   * @return the column value type
+   */
+  Class<C> getColumnType();
+}
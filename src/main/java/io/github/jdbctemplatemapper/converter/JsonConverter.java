@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.converter;
+
+import io.github.jdbctemplatemapper.exception.MapperException;
+
+/**
+ * Stores a property as JSON in a character column (varchar, text, json, jsonb etc) using the
+ * IJsonCodec configured with JdbcTemplateMapper.withJsonCodec().
+ *
+ * <pre>
+ * &#64;Column(converter = JsonConverter.class)
+ * private Address address;
+ * </pre>
+ *
+ * @author ajoseph
+ * @param <P> the property type
+ */
+public class JsonConverter<P> implements IPropertyConverter<P, String> {
+  private final Class<P> propertyType;
+  private final IJsonCodec jsonCodec;
+
+  /**
+   * Constructor.
+   *
+   * @param propertyType the property type
+   * @param jsonCodec the json codec
+   */
+  public JsonConverter(Class<P> propertyType, IJsonCodec jsonCodec) {
+    if (jsonCodec == null) {
+      throw new MapperException(
+          "JsonConverter needs a json codec. See JdbcTemplateMapper.withJsonCodec()");
+    }
+    this.propertyType = propertyType;
+    this.jsonCodec = jsonCodec;
+  }
+
+  @Override
+  public String toColumnValue(P propertyValue) {
+    try {
+      return jsonCodec.toJson(propertyValue);
+    } catch (Exception e) {
+      throw new MapperException("Failed to convert " + propertyType.getSimpleName() + " to json",
+          e);
+    }
+  }
+
+  @Override
+  public P toPropertyValue(String columnValue) {
+    try {
+      return jsonCodec.fromJson(columnValue, propertyType);
+    } catch (Exception e) {
+      throw new MapperException("Failed to convert json to " + propertyType.getSimpleName(), e);
+    }
+  }
+
+  @Override
+  public Class<String> getColumnType() {
+    return String.class;
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking operations on an executor and exposes them as a CompletableFuture. When the future
+ * is cancelled or times out the statements of the operation are cancelled (Statement.cancel()) and
+ * the thread running the operation is interrupted. Queries of the operation get the remaining time
+ * as their query timeout (see StatementSettings) so the database abandons them too.
+ *
+ * @author ajoseph
+ */
+class AsyncExecution<R> implements Runnable {
+  // threads of the default executor. Bounded since each running operation holds a connection.
+  private static final int DEFAULT_EXECUTOR_THREADS = 10;
+
+  // single daemon thread which only completes timed out futures. Created on first use.
+  private static volatile ScheduledExecutorService timeoutScheduler;
+  // the executor used when none is configured. Created on first use.
+  private static volatile ExecutorService defaultExecutor;
+  private static final ReentrantLock schedulerLock = new ReentrantLock();
+
+  // the execution whose operation the current thread is running
+  private static final ThreadLocal<AsyncExecution<?>> current = new ThreadLocal<>();
+
+  private final Supplier<R> operation;
+  private final CompletableFuture<R> future = new CompletableFuture<>();
+  private final long deadlineNanos; // 0 for no timeout
+
+  // guards runner and statements so that an interrupt never leaks to the next task run by the
+  // executor thread.
+  private final ReentrantLock runnerLock = new ReentrantLock();
+  private Thread runner;
+  // statements of the operation which may still be running
+  private final List<Statement> statements = new ArrayList<>();
+
+  private AsyncExecution(Supplier<R> operation, long deadlineNanos) {
+    this.operation = operation;
+    this.deadlineNanos = deadlineNanos;
+  }
+
+  static <R> CompletableFuture<R> supplyAsync(Supplier<R> operation, Executor executor,
+      Duration timeout) {
+    boolean hasTimeout = timeout != null && !timeout.isZero() && !timeout.isNegative();
+    AsyncExecution<R> asyncExecution = new AsyncExecution<>(operation,
+        hasTimeout ? Math.max(1, System.nanoTime() + timeout.toNanos()) : 0);
+    CompletableFuture<R> future = asyncExecution.future;
+    // completes on normal completion, failure, cancel or timeout
+    future.whenComplete((r, e) -> {
+      if (e != null) {
+        asyncExecution.cancelRunner();
+      }
+    });
+    try {
+      (executor == null ? getDefaultExecutor() : executor).execute(asyncExecution);
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(e);
+      return future;
+    }
+    if (hasTimeout) {
+      ScheduledFuture<?> timeoutTask = getTimeoutScheduler().schedule(
+          () -> future.completeExceptionally(
+              new TimeoutException("Operation timed out after " + timeout.toMillis() + "ms")),
+          timeout.toMillis(), TimeUnit.MILLISECONDS);
+      future.whenComplete((r, e) -> timeoutTask.cancel(false));
+    }
+    return future;
+  }
+
+  @Override
+  public void run() {
+    if (future.isDone()) {
+      return; // cancelled or timed out before it started
+    }
+    runnerLock.lock();
+    try {
+      runner = Thread.currentThread();
+    } finally {
+      runnerLock.unlock();
+    }
+    current.set(this);
+    try {
+      future.complete(operation.get());
+    } catch (Throwable e) {
+      future.completeExceptionally(e);
+    } finally {
+      current.remove();
+      runnerLock.lock();
+      try {
+        runner = null;
+        statements.clear();
+        Thread.interrupted(); // clear any interrupt from a cancel
+      } finally {
+        runnerLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * The execution whose operation the current thread is running. null if not running an async
+   * operation.
+   */
+  static AsyncExecution<?> current() {
+    return current.get();
+  }
+
+  /**
+   * The seconds left before the operation times out, rounded up. -1 if there is no timeout.
+   */
+  int getRemainingTimeoutSeconds() {
+    if (deadlineNanos == 0) {
+      return -1;
+    }
+    long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    return (int) Math.max(1, (remainingMillis + 999) / 1000);
+  }
+
+  /**
+   * Registers a statement of the operation so it gets cancelled when the future is cancelled or
+   * times out. A statement registered after that is cancelled right away.
+   */
+  void register(Statement statement) throws SQLException {
+    runnerLock.lock();
+    try {
+      if (!future.isDone()) {
+        // closed statements are dropped so a long running operation does not hold on to them
+        statements.removeIf(this::isClosed);
+        statements.add(statement);
+        return;
+      }
+    } finally {
+      runnerLock.unlock();
+    }
+    statement.cancel();
+  }
+
+  private void cancelRunner() {
+    runnerLock.lock();
+    try {
+      for (Statement statement : statements) {
+        try {
+          statement.cancel();
+        } catch (SQLException | RuntimeException e) {
+          // the statement may have completed and been closed in the meantime
+        }
+      }
+      statements.clear();
+      if (runner != null) {
+        runner.interrupt();
+      }
+    } finally {
+      runnerLock.unlock();
+    }
+  }
+
+  private boolean isClosed(Statement statement) {
+    try {
+      return statement.isClosed();
+    } catch (SQLException e) {
+      return true;
+    }
+  }
+
+  private static ExecutorService getDefaultExecutor() {
+    if (defaultExecutor == null) {
+      schedulerLock.lock();
+      try {
+        if (defaultExecutor == null) {
+          AtomicInteger threadCount = new AtomicInteger();
+          defaultExecutor = Executors.newFixedThreadPool(DEFAULT_EXECUTOR_THREADS, r -> {
+            Thread t = new Thread(r, "jdbctemplatemapper-async-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+          });
+        }
+      } finally {
+        schedulerLock.unlock();
+      }
+    }
+    return defaultExecutor;
+  }
+
+  private static ScheduledExecutorService getTimeoutScheduler() {
+    if (timeoutScheduler == null) {
+      schedulerLock.lock();
+      try {
+        if (timeoutScheduler == null) {
+          ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "jdbctemplatemapper-async-timeout");
+            t.setDaemon(true);
+            return t;
+          });
+          scheduler.setRemoveOnCancelPolicy(true);
+          timeoutScheduler = scheduler;
+        }
+      } finally {
+        schedulerLock.unlock();
+      }
+    }
+    return timeoutScheduler;
+  }
+}
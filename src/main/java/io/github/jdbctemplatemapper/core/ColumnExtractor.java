@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.math.BigDecimal;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import org.springframework.jdbc.support.JdbcUtils;
+
+/**
+ * Reads the value of a column from a ResultSet. An extractor is chosen once for each
+ * PropertyMapping from the property type and the column sql type so reading a row has no per
+ * value type dispatch. Types without a specific extractor use JdbcUtils.getResultSetValue().
+ *
+ * @author ajoseph
+ */
+@FunctionalInterface
+interface ColumnExtractor {
+
+  Object extract(ResultSet rs, int index) throws SQLException;
+
+  static ColumnExtractor forType(Class<?> propertyType, int columnSqlType) {
+    if (String.class == propertyType) {
+      return ResultSet::getString;
+    }
+    if (Integer.class == propertyType || int.class == propertyType) {
+      return (rs, index) -> {
+        int value = rs.getInt(index);
+        return value == 0 && rs.wasNull() ? null : value;
+      };
+    }
+    if (Long.class == propertyType || long.class == propertyType) {
+      return (rs, index) -> {
+        long value = rs.getLong(index);
+        return value == 0 && rs.wasNull() ? null : value;
+      };
+    }
+    if (Boolean.class == propertyType || boolean.class == propertyType) {
+      return (rs, index) -> {
+        boolean value = rs.getBoolean(index);
+        return !value && rs.wasNull() ? null : value;
+      };
+    }
+    if (Double.class == propertyType || double.class == propertyType) {
+      return (rs, index) -> {
+        double value = rs.getDouble(index);
+        return value == 0 && rs.wasNull() ? null : value;
+      };
+    }
+    if (Float.class == propertyType || float.class == propertyType) {
+      return (rs, index) -> {
+        float value = rs.getFloat(index);
+        return value == 0 && rs.wasNull() ? null : value;
+      };
+    }
+    if (Short.class == propertyType || short.class == propertyType) {
+      return (rs, index) -> {
+        short value = rs.getShort(index);
+        return value == 0 && rs.wasNull() ? null : value;
+      };
+    }
+    if (Byte.class == propertyType || byte.class == propertyType) {
+      return (rs, index) -> {
+        byte value = rs.getByte(index);
+        return value == 0 && rs.wasNull() ? null : value;
+      };
+    }
+    if (BigDecimal.class == propertyType) {
+      return ResultSet::getBigDecimal;
+    }
+    if (byte[].class == propertyType) {
+      return ResultSet::getBytes;
+    }
+    if (java.sql.Timestamp.class == propertyType || java.util.Date.class == propertyType) {
+      return ResultSet::getTimestamp;
+    }
+    if (java.sql.Date.class == propertyType) {
+      return ResultSet::getDate;
+    }
+    if (java.sql.Time.class == propertyType) {
+      return ResultSet::getTime;
+    }
+    if (Blob.class == propertyType) {
+      return ResultSet::getBlob;
+    }
+    if (Clob.class == propertyType) {
+      return ResultSet::getClob;
+    }
+    if (LocalDateTime.class == propertyType || LocalDate.class == propertyType
+        || LocalTime.class == propertyType || OffsetDateTime.class == propertyType
+        || OffsetTime.class == propertyType) {
+      return (rs, index) -> {
+        try {
+          return rs.getObject(index, propertyType);
+        } catch (SQLException | AbstractMethodError e) {
+          // drivers without JDBC 4.2 support. The value gets converted when it is assigned.
+          return JdbcUtils.getResultSetValue(rs, index, propertyType);
+        }
+      };
+    }
+    if (Object.class == propertyType && isCharacterType(columnSqlType)) {
+      return ResultSet::getString;
+    }
+    if (Object.class == propertyType) {
+      return JdbcUtils::getResultSetValue;
+    }
+    return (rs, index) -> JdbcUtils.getResultSetValue(rs, index, propertyType);
+  }
+
+  static boolean isCharacterType(int sqlType) {
+    return sqlType == Types.VARCHAR || sqlType == Types.CHAR || sqlType == Types.NVARCHAR
+        || sqlType == Types.NCHAR || sqlType == Types.LONGVARCHAR
+        || sqlType == Types.LONGNVARCHAR;
+  }
+}
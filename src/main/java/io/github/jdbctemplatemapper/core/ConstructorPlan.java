@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.beans.ConstructorProperties;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.util.ClassUtils;
+import io.github.jdbctemplatemapper.exception.AnnotationException;
+import io.github.jdbctemplatemapper.exception.MapperException;
+
+/**
+ * The constructor used to create models which do not have a public no argument constructor, like
+ * immutable models and Java records. The constructor argument index of each mapped property is
+ * computed once so a model is created from a ResultSet with a single constructor call.
+ *
+ * <pre>
+ * The constructor used is:
+ * 1) The constructor annotated with &#64;ConstructorProperties if there is one.
+ * 2) The single constructor of the class (for records the canonical constructor).
+ * </pre>
+ *
+ * Constructor parameters are matched to the mapped properties by name. Parameter names come from
+ * &#64;ConstructorProperties, records or classes compiled with the '-parameters' flag.
+ *
+ * @author ajoseph
+ */
+class ConstructorPlan {
+  private final Constructor<?> constructor;
+  private final Class<?>[] parameterTypes;
+
+  // indexed by PropertyMapping.getIndex(). The constructor argument index of the property. -1 when
+  // the property is not a constructor argument.
+  private final int[] argIndexes;
+
+  // constructor argument indexes of the collection parameters which are not mapped properties.
+  // They get empty collections so that hasMany relationships can populate them.
+  private final int[] collectionArgIndexes;
+
+  private ConstructorPlan(Constructor<?> constructor, int[] argIndexes,
+      int[] collectionArgIndexes) {
+    this.constructor = constructor;
+    this.parameterTypes = constructor.getParameterTypes();
+    this.argIndexes = argIndexes;
+    this.collectionArgIndexes = collectionArgIndexes;
+  }
+
+  // returns null for models with a public no argument constructor. Those are populated through
+  // their setters.
+  static ConstructorPlan create(Class<?> clazz, List<PropertyMapping> propertyMappings) {
+    try {
+      clazz.getConstructor();
+      return null;
+    } catch (NoSuchMethodException e) {
+      // not a bean. Use a constructor
+    }
+
+    Constructor<?> constructor = getConstructor(clazz);
+    String[] parameterNames;
+    try {
+      parameterNames = BeanUtils.getParameterNames(constructor);
+    } catch (IllegalStateException e) {
+      throw new MapperException("Could not get the constructor parameter names of "
+          + clazz.getSimpleName()
+          + ". Annotate the constructor with @ConstructorProperties or compile with -parameters",
+          e);
+    }
+
+    Class<?>[] parameterTypes = constructor.getParameterTypes();
+    int[] argIndexes = new int[propertyMappings.size()];
+    List<Integer> collectionArgIndexList = new ArrayList<>();
+    for (PropertyMapping propMapping : propertyMappings) {
+      argIndexes[propMapping.getIndex()] = -1;
+    }
+    for (int i = 0; i < parameterNames.length; i++) {
+      PropertyMapping propMapping = null;
+      for (PropertyMapping pm : propertyMappings) {
+        if (pm.getPropertyName().equals(parameterNames[i])) {
+          propMapping = pm;
+          break;
+        }
+      }
+      if (propMapping != null) {
+        argIndexes[propMapping.getIndex()] = i;
+      } else if (Collection.class.isAssignableFrom(parameterTypes[i])) {
+        collectionArgIndexList.add(i);
+      }
+    }
+    int[] collectionArgIndexes =
+        collectionArgIndexList.stream().mapToInt(Integer::intValue).toArray();
+    return new ConstructorPlan(constructor, argIndexes, collectionArgIndexes);
+  }
+
+  private static Constructor<?> getConstructor(Class<?> clazz) {
+    Constructor<?> annotatedConstructor = null;
+    for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+      if (constructor.isAnnotationPresent(ConstructorProperties.class)) {
+        if (annotatedConstructor != null) {
+          throw new AnnotationException(clazz.getSimpleName()
+              + " has more than one constructor annotated with @ConstructorProperties");
+        }
+        annotatedConstructor = constructor;
+      }
+    }
+    if (annotatedConstructor != null) {
+      return annotatedConstructor;
+    }
+    try {
+      return BeanUtils.getResolvableConstructor(clazz);
+    } catch (IllegalStateException e) {
+      throw new MapperException("Failed to find a constructor for " + clazz.getSimpleName()
+          + ". It needs a public no argument constructor, a single constructor or a constructor"
+          + " annotated with @ConstructorProperties", e);
+    }
+  }
+
+  // the constructor argument index of the property. -1 if it is not a constructor argument.
+  int getArgIndex(PropertyMapping propMapping) {
+    return argIndexes[propMapping.getIndex()];
+  }
+
+  // the constructor arguments to be filled in from the ResultSet
+  Object[] newArgs() {
+    Object[] args = new Object[parameterTypes.length];
+    for (int argIndex : collectionArgIndexes) {
+      args[argIndex] = Set.class.isAssignableFrom(parameterTypes[argIndex])
+          ? new LinkedHashSet<>()
+          : new ArrayList<>();
+    }
+    return args;
+  }
+
+  // primitive parameters with null arguments get their default values
+  Object newInstance(Object[] args, ConversionService conversionService) {
+    for (int i = 0; i < args.length; i++) {
+      if (args[i] != null && !ClassUtils.isAssignableValue(parameterTypes[i], args[i])) {
+        args[i] = conversionService.convert(args[i], parameterTypes[i]);
+      }
+    }
+    return BeanUtils.instantiateClass(constructor, args);
+  }
+}
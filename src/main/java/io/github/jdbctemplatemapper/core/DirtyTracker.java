@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.BeanWrapper;
+
+/**
+ * Keeps snapshots of the mapped property values of models loaded by the mapper so updateChanged()
+ * can figure out which properties were modified. Models are held by weak identity references so a
+ * snapshot goes away once its model is garbage collected.
+ *
+ * @author ajoseph
+ */
+class DirtyTracker {
+  // Map key - weak identity reference to the model
+  // value - the property values in the order of TableMapping.getPropertyMappings()
+  private final Map<IdentityWeakReference, Object[]> snapshots = new ConcurrentHashMap<>();
+  private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+  public void snapshot(TableMapping tableMapping, BeanWrapper bw) {
+    expungeStaleEntries();
+    List<PropertyMapping> propMappings = tableMapping.getPropertyMappings();
+    Object[] values = new Object[propMappings.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = copyValue(bw.getPropertyValue(propMappings.get(i).getPropertyName()));
+    }
+    snapshots.put(new IdentityWeakReference(bw.getWrappedInstance(), queue), values);
+  }
+
+  // refreshes the snapshot values of the specified properties. Models without a snapshot are left
+  // alone since the properties which were not written could be out of sync with the database.
+  public void refresh(TableMapping tableMapping, BeanWrapper bw,
+      Collection<String> propertyNames) {
+    IdentityWeakReference key = new IdentityWeakReference(bw.getWrappedInstance(), null);
+    Object[] values = snapshots.get(key);
+    if (values != null) {
+      values = values.clone();
+      List<PropertyMapping> propMappings = tableMapping.getPropertyMappings();
+      for (int i = 0; i < values.length; i++) {
+        String propertyName = propMappings.get(i).getPropertyName();
+        if (propertyNames.contains(propertyName)) {
+          values[i] = copyValue(bw.getPropertyValue(propertyName));
+        }
+      }
+      snapshots.replace(key, values);
+    }
+  }
+
+  // returns null when there is no snapshot for the model. Id and auto assign properties are not
+  // included since they cannot be updated through updateProperties()
+  public List<String> getChangedPropertyNames(TableMapping tableMapping, BeanWrapper bw) {
+    expungeStaleEntries();
+    Object[] values = snapshots.get(new IdentityWeakReference(bw.getWrappedInstance(), null));
+    if (values == null) {
+      return null;
+    }
+    List<String> changedPropertyNames = new ArrayList<>();
+    List<PropertyMapping> propMappings = tableMapping.getPropertyMappings();
+    for (int i = 0; i < values.length; i++) {
+      PropertyMapping propMapping = propMappings.get(i);
+      if (isUpdatable(propMapping)
+          && !Objects.deepEquals(values[i], bw.getPropertyValue(propMapping.getPropertyName()))) {
+        changedPropertyNames.add(propMapping.getPropertyName());
+      }
+    }
+    return changedPropertyNames;
+  }
+
+  public void remove(Object obj) {
+    snapshots.remove(new IdentityWeakReference(obj, null));
+  }
+
+  public int getSize() {
+    expungeStaleEntries();
+    return snapshots.size();
+  }
+
+  private boolean isUpdatable(PropertyMapping propMapping) {
+    return !(propMapping.isIdAnnotation() || propMapping.isCreatedByAnnotation()
+        || propMapping.isCreatedOnAnnotation() || propMapping.isUpdatedByAnnotation()
+        || propMapping.isUpdatedOnAnnotation() || propMapping.isVersionAnnotation()
+        || propMapping.isGenerated() || propMapping.isLazyLob());
+  }
+
+  // byte arrays can be modified in place so snapshot a copy
+  private Object copyValue(Object value) {
+    return value instanceof byte[] ? ((byte[]) value).clone() : value;
+  }
+
+  private void expungeStaleEntries() {
+    Reference<?> ref;
+    while ((ref = queue.poll()) != null) {
+      snapshots.remove(ref);
+    }
+  }
+
+  // Models could override equals() and hashCode() so identity is used for the lookups.
+  private static final class IdentityWeakReference extends WeakReference<Object> {
+    private final int hash;
+
+    IdentityWeakReference(Object obj, ReferenceQueue<Object> queue) {
+      super(obj, queue);
+      this.hash = System.identityHashCode(obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof IdentityWeakReference)) {
+        return false;
+      }
+      Object obj = get();
+      return obj != null && obj == ((IdentityWeakReference) o).get();
+    }
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Selects the read replica a read operation runs on. See JdbcTemplateMapper.withReadReplicas().
+ * The default selects the replicas round robin. An implementation could for example skip replicas
+ * which are lagging behind the primary.
+ *
+ * @author ajoseph
+ */
+public interface IReadReplicaSelector {
+  /**
+   * Called for every read operation so it should be fast and thread safe.
+   *
+   * @param replicaJdbcTemplates the JdbcTemplates of the read replicas
+   * @return the JdbcTemplate the read runs on. Has to be one of replicaJdbcTemplates
+   */
+  public JdbcTemplate select(List<JdbcTemplate> replicaJdbcTemplates);
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import io.github.jdbctemplatemapper.annotation.IdType;
+import io.github.jdbctemplatemapper.exception.MapperException;
+
+/**
+ * Generates the ids assigned by the mapper on insert. IdType.SEQUENCE ids are allocated in blocks
+ * from the database sequence (pooled) so only one database call is made per block. IdType.UUID_V7
+ * ids are time ordered UUIDs (RFC 9562 version 7).
+ *
+ * @author ajoseph
+ */
+class IdGenerator {
+  private static final SecureRandom random = new SecureRandom();
+
+  // the UUID_V7 timestamp and counter of the last generated UUID. The counter orders the UUIDs
+  // generated within the same millisecond.
+  private static long lastMillis = 0;
+  private static int counter = 0;
+
+  private JdbcTemplate jdbcTemplate;
+
+  // Map key - fully qualified sequence name
+  private Map<String, PooledSequence> sequences = new ConcurrentHashMap<>();
+
+  public IdGenerator(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  // the next id for the model. Converted to the property type by the caller.
+  public Object nextId(TableMapping tableMapping) {
+    if (tableMapping.getIdType() == IdType.SEQUENCE) {
+      String sequenceName = tableMapping.getIdSequenceName();
+      if (sequenceName.indexOf('.') == -1) {
+        sequenceName = tableMapping.fullyQualifiedTablePrefix() + sequenceName;
+      }
+      PooledSequence sequence = sequences.get(sequenceName);
+      if (sequence == null) {
+        sequence = new PooledSequence(buildSequenceSql(tableMapping, sequenceName),
+            tableMapping.getIdAllocationSize());
+        PooledSequence existing = sequences.putIfAbsent(sequenceName, sequence);
+        if (existing != null) {
+          sequence = existing;
+        }
+      }
+      return sequence.next(jdbcTemplate);
+    } else if (tableMapping.getIdType() == IdType.UUID_V7) {
+      UUID uuid = uuidV7();
+      return String.class == tableMapping.getIdPropertyMapping().getPropertyType()
+          ? uuid.toString()
+          : uuid;
+    }
+    throw new MapperException(
+        "Id of " + tableMapping.getTableClassName() + " is not assigned by the mapper");
+  }
+
+  static UUID uuidV7() {
+    long millis;
+    int seq;
+    synchronized (IdGenerator.class) {
+      long now = System.currentTimeMillis();
+      if (now > lastMillis) {
+        lastMillis = now;
+        // random start in the lower half leaves room for the ids of the same millisecond
+        counter = random.nextInt(0x800);
+      } else {
+        // same millisecond or clock moved back. Keep ordering by counting up and moving to the
+        // next millisecond when the 12 bit counter overflows.
+        counter++;
+        if (counter > 0xFFF) {
+          lastMillis++;
+          counter = 0;
+        }
+      }
+      millis = lastMillis;
+      seq = counter;
+    }
+    // 48 bit timestamp, 4 bit version, 12 bit counter | 2 bit variant, 62 bit random
+    long msb = (millis << 16) | 0x7000L | seq;
+    long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(msb, lsb);
+  }
+
+  private String buildSequenceSql(TableMapping tableMapping, String sequenceName) {
+    if (tableMapping.isPostgreSql()) {
+      return "SELECT nextval('" + sequenceName + "')";
+    } else if (tableMapping.isOracle()) {
+      return "SELECT " + sequenceName + ".NEXTVAL FROM dual";
+    } else if (tableMapping.isSqlServer() || tableMapping.isH2()) {
+      return "SELECT NEXT VALUE FOR " + sequenceName;
+    }
+    throw new MapperException("IdType.SEQUENCE is not supported for database "
+        + tableMapping.getCommonDatabaseName());
+  }
+
+  // hands out the block [value, value + allocationSize - 1] for each value fetched from the
+  // sequence. The sequence has to be incremented by allocationSize.
+  private static class PooledSequence {
+    private String sql;
+    private int allocationSize;
+    private long nextValue = 0;
+    private long maxValue = -1;
+    // ReentrantLock instead of synchronized so virtual threads do not pin their carrier thread
+    // while the block is fetched from the database.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    PooledSequence(String sql, int allocationSize) {
+      this.sql = sql;
+      this.allocationSize = allocationSize;
+    }
+
+    long next(JdbcTemplate jdbcTemplate) {
+      lock.lock();
+      try {
+        if (nextValue > maxValue) {
+          Long value = jdbcTemplate.queryForObject(sql, Long.class);
+          if (value == null) {
+            throw new MapperException("sequence returned null. sql: " + sql);
+          }
+          nextValue = value;
+          maxValue = value + allocationSize - 1;
+        }
+        return nextValue++;
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+}
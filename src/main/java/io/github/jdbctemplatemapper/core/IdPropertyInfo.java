@@ -13,6 +13,8 @@
  */
 package io.github.jdbctemplatemapper.core;
 
+import io.github.jdbctemplatemapper.annotation.IdType;
+
 /**
  * Id property info.
  *
@@ -21,12 +23,21 @@ package io.github.jdbctemplatemapper.core;
 class IdPropertyInfo {
   private Class<?> parentClazz;
   private String propertyName;
-  private boolean isIdAutoIncrement = false;
+  private IdType idType;
+  private String sequenceName; // IdType.SEQUENCE only
+  private int allocationSize; // IdType.SEQUENCE only
+
+  IdPropertyInfo(Class<?> parentClazz, String propertyName, IdType idType) {
+    this(parentClazz, propertyName, idType, null, 0);
+  }
 
-  IdPropertyInfo(Class<?> parentClazz, String propertyName, Boolean isIdAutoIncrement) {
+  IdPropertyInfo(Class<?> parentClazz, String propertyName, IdType idType, String sequenceName,
+      int allocationSize) {
     this.parentClazz = parentClazz;
     this.propertyName = propertyName;
-    this.isIdAutoIncrement = isIdAutoIncrement;
+    this.idType = idType;
+    this.sequenceName = sequenceName;
+    this.allocationSize = allocationSize;
   }
 
   public Class<?> getParentClazz() {
@@ -38,6 +49,18 @@ class IdPropertyInfo {
   }
 
   public boolean isIdAutoIncrement() {
-    return isIdAutoIncrement;
+    return idType == IdType.AUTO_INCREMENT;
+  }
+
+  public IdType getIdType() {
+    return idType;
+  }
+
+  public String getSequenceName() {
+    return sequenceName;
+  }
+
+  public int getAllocationSize() {
+    return allocationSize;
   }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.util.Collections;
+import java.util.List;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * This holds the insert sql and the property mappings of its positional parameters.
+ *
+ * @author ajoseph
+ */
+class InsertSqlAndParams {
+  private String sql; // the insert sql string
+  private List<PropertyMapping> params; // property mappings in the order of the sql parameters
+
+  // the database generated properties (auto increment id, @Column(generated = true)) returned by
+  // the insert in the order of the returned columns.
+  private List<PropertyMapping> returnedProperties;
+  // true when the insert sql is a SQL Server batch which outputs the ids into a table variable and
+  // selects the returned columns. Otherwise the returned properties are read from the generated
+  // keys.
+  private boolean outputClause;
+
+  public InsertSqlAndParams(String sql, List<PropertyMapping> params) {
+    this(sql, params, Collections.emptyList(), false);
+  }
+
+  public InsertSqlAndParams(String sql, List<PropertyMapping> params,
+      List<PropertyMapping> returnedProperties, boolean outputClause) {
+    if (ObjectUtils.isEmpty(sql) || params == null) {
+      throw new IllegalArgumentException("sql and params cannot be null");
+    }
+    this.sql = sql;
+    this.params = params;
+    this.returnedProperties = returnedProperties;
+    this.outputClause = outputClause;
+  }
+
+  public String getSql() {
+    return sql;
+  }
+
+  public List<PropertyMapping> getParams() {
+    return params;
+  }
+
+  public List<PropertyMapping> getReturnedProperties() {
+    return returnedProperties;
+  }
+
+  public boolean isOutputClause() {
+    return outputClause;
+  }
+}
@@ -13,25 +13,44 @@
  */
 package io.github.jdbctemplatemapper.core;
 
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.core.convert.support.DefaultConversionService;
-import org.springframework.dao.EmptyResultDataAccessException;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.ArgumentTypePreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
-import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
-import org.springframework.jdbc.core.simple.SimpleJdbcInsertOperations;
+import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.util.Assert;
+import io.github.jdbctemplatemapper.converter.IJsonCodec;
 import io.github.jdbctemplatemapper.exception.MapperException;
 import io.github.jdbctemplatemapper.exception.OptimisticLockingException;
 
@@ -54,6 +73,9 @@ import io.github.jdbctemplatemapper.exception.OptimisticLockingException;
 public final class JdbcTemplateMapper {
 
   private static final int CACHEABLE_UPDATE_PROPERTIES_COUNT = 3;
+  private static final int IN_CLAUSE_CHUNK_SIZE = 100;
+  // SQL Server table variable the ids of the inserted/updated records are output into
+  private static final String OUTPUT_TABLE = "@jtm_output";
 
   private final JdbcTemplate jdbcTemplate;
   private final NamedParameterJdbcTemplate npJdbcTemplate;
@@ -61,10 +83,10 @@ public final class JdbcTemplateMapper {
   private final MappingHelper mappingHelper;
   private IRecordOperatorResolver recordOperatorResolver;
 
-  // insert cache. Note that Spring SimpleJdbcInsert is thread safe.
+  // insert sql cache
   // Map key - class name
-  // value - SimpleJdbcInsert
-  private SimpleCache<String, SimpleJdbcInsert> insertCache = new SimpleCache<>();
+  // value - the insert sql and the property mappings of its parameters
+  private SimpleCache<String, InsertSqlAndParams> insertCache = new SimpleCache<>();
 
   // update sql cache
   // Map key - class name
@@ -74,10 +96,32 @@ public final class JdbcTemplateMapper {
   // update specified properties sql cache
   // Map key - class name and properties
   // value - the update sql and params
-  private SimpleCache<String, SqlAndParams> updatePropertiesCache = new SimpleCache<>(2000);
+  private SimpleCache<UpdatePropertiesCacheKey, SqlAndParams> updatePropertiesCache =
+      new SimpleCache<>(2000);
 
-  // the column sql string with bean friendly column aliases for mapped properties of model.
+  // upsert sql cache
+  // Map key - class name
+  // value - the upsert sql and params
+  private SimpleCache<String, SqlAndParams> upsertCache = new SimpleCache<>();
+
+  // delete sql cache
+  // Map key - class name
+  // value - the delete sql
+  private SimpleCache<String, String> deleteSqlCache = new SimpleCache<>();
+
+  // sql to select the @Column(generated = true) columns by id. Used for MySQL which cannot
+  // return them from the insert/update statement.
+  // Map key - class name
+  // value - the select sql
+  private SimpleCache<String, String> generatedColumnsSqlCache = new SimpleCache<>();
+
+  // SQL Server declaration of the table variable the insert/update outputs the ids into.
   // Map key - class name
+  // value - the declare sql
+  private SimpleCache<String, String> outputTableSqlCache = new SimpleCache<>();
+
+  // the column sql string with bean friendly column aliases for mapped properties of model.
+  // Map key - class name (suffixed with the projection cache key for projections)
   // value - the column sql string
   private SimpleCache<String, String> beanColumnsSqlCache = new SimpleCache<>();
 
@@ -96,11 +140,36 @@ public final class JdbcTemplateMapper {
   // value - the partial sql.
   private SimpleCache<String, String> queryCountSqlCache = new SimpleCache<>(2000);
 
+  // Query hasMany records per type record, used by HasManyStrategy.AUTO
+  // Map key - see Query.getCacheKey()
+  // value - moving average of hasMany records per type record.
+  private SimpleCache<String, MovingAverage> queryHasManyFanoutCache = new SimpleCache<>(2000);
+
+  // rows returned per query, used for the adaptive fetch size. null when not enabled.
+  // Map key - see StatementSettings
+  // value - moving average of rows returned by the query.
+  private SimpleCache<String, MovingAverage> queryRowCountCache;
+
+  // RowMapper cache. See getRowMapper()
+  // Map key - class name
+  // value - the column label to property mappings
+  private SimpleCache<String, Map<String, PropertyMapping>> rowMapperCache = new SimpleCache<>();
+
   // Spring BeanPropertyRowMapper uses this as its converter so use the same
   private DefaultConversionService conversionService =
       (DefaultConversionService) DefaultConversionService.getSharedInstance();
 
-  private boolean includeSynonyms = false;
+  // executor for the async operations. null for the default executor of AsyncExecution
+  private Executor asyncExecutor;
+
+  // snapshots of loaded models used by updateChanged(). null when dirty tracking is not enabled.
+  private DirtyTracker dirtyTracker;
+
+  // generates IdType.SEQUENCE and IdType.UUID_V7 ids
+  private IdGenerator idGenerator;
+
+  // the replicas reads are routed to. null when there are no read replicas.
+  private ReadReplicas readReplicas;
 
   /**
    * Constructor.
@@ -135,6 +204,8 @@ public final class JdbcTemplateMapper {
     npJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
 
     mappingHelper = new MappingHelper(jdbcTemplate, schemaName, catalogName);
+
+    idGenerator = new IdGenerator(jdbcTemplate);
   }
 
   /**
@@ -155,6 +226,58 @@ public final class JdbcTemplateMapper {
     return npJdbcTemplate;
   }
 
+  /**
+   * Routes the reads to read replicas. findById(), findAll(), existingIds(), query(), Query,
+   * QueryMerge, QueryCount and QueryHierarchy run on a replica selected round robin. Inserts,
+   * updates, deletes and all the other operations run on the primary (the JdbcTemplate of the
+   * constructor). Reads run on the primary within transactions which are not read only so they see
+   * the writes of the transaction, and within executeOnPrimary().
+   *
+   * <p>The table mappings and the other caches are built using the primary and shared by the
+   * replicas, so the replicas have to have the same schema as the primary.
+   *
+   * @param replicaJdbcTemplates the JdbcTemplates of the read replicas
+   * @return The jdbcTemplateMapper The jdbcTemplateMapper
+   */
+  public JdbcTemplateMapper withReadReplicas(List<JdbcTemplate> replicaJdbcTemplates) {
+    return withReadReplicas(replicaJdbcTemplates, null);
+  }
+
+  /**
+   * Routes the reads to read replicas selected by the selector. See withReadReplicas(List).
+   *
+   * @param replicaJdbcTemplates the JdbcTemplates of the read replicas
+   * @param selector selects the replica of a read. null for round robin
+   * @return The jdbcTemplateMapper The jdbcTemplateMapper
+   */
+  public JdbcTemplateMapper withReadReplicas(List<JdbcTemplate> replicaJdbcTemplates,
+      IReadReplicaSelector selector) {
+    this.readReplicas = new ReadReplicas(replicaJdbcTemplates, selector);
+    return this;
+  }
+
+  /**
+   * Runs the operation with all the reads on the primary. Used when a read has to see a write which
+   * the replicas may not have caught up with yet. Async operations started within the operation
+   * also use the primary. Without read replicas (see withReadReplicas()) it just runs the
+   * operation.
+   *
+   * <pre>
+   * Order order = jdbcTemplateMapper.executeOnPrimary(jtm -&gt; jtm.findById(Order.class, 1));
+   * </pre>
+   *
+   * @param <R> the result type
+   * @param operation the operation to run with this jdbcTemplateMapper
+   * @return the result of the operation
+   */
+  public <R> R executeOnPrimary(Function<JdbcTemplateMapper, R> operation) {
+    Assert.notNull(operation, "operation cannot be null");
+    if (readReplicas == null) {
+      return operation.apply(this);
+    }
+    return readReplicas.onPrimary(() -> operation.apply(this));
+  }
+
   /**
    * An implementation of IRecordOperatorResolver is used to populate the &#64;CreatedBy and
    * &#64;UpdatedBy annotated properties.
@@ -168,11 +291,70 @@ public final class JdbcTemplateMapper {
     return this;
   }
 
+  /**
+   * The executor on which the async operations (executeAsync(), findByIdAsync() etc) run. Defaults
+   * to a shared pool of 10 daemon threads, the default size of the common connection pools. Since
+   * jdbc calls block, configure a dedicated executor sized for the connection pool (or a virtual
+   * thread per task executor on java 21+).
+   *
+   * @param asyncExecutor the executor
+   * @return The jdbcTemplateMapper The jdbcTemplateMapper
+   */
+  public JdbcTemplateMapper withAsyncExecutor(Executor asyncExecutor) {
+    Assert.notNull(asyncExecutor, "asyncExecutor cannot be null");
+    this.asyncExecutor = asyncExecutor;
+    return this;
+  }
+
+  /**
+   * Enables dirty tracking. Models loaded by findById(), findAll(), Query and QueryMerge get a
+   * snapshot of their mapped property values which updateChanged() uses to update only the modified
+   * properties. Snapshots are held by weak references so they go away once the models are garbage
+   * collected. It is off by default since it costs memory and some cpu for every loaded model.
+   *
+   * @return The jdbcTemplateMapper The jdbcTemplateMapper
+   */
+  public JdbcTemplateMapper withDirtyTracking() {
+    if (dirtyTracker == null) {
+      dirtyTracker = new DirtyTracker();
+    }
+    return this;
+  }
+
+  /**
+   * Enables the adaptive fetch size. The mapper records the number of rows returned by findAll(),
+   * Query and QueryMerge queries and sets the fetch size of later executions of the same query
+   * based on it, so queries returning many rows need fewer round trips to the database and queries
+   * returning few rows do not have the driver allocate buffers for rows which never come. A fetch
+   * size set on the query itself (see QueryOptions) takes precedence.
+   *
+   * @return The jdbcTemplateMapper The jdbcTemplateMapper
+   */
+  public JdbcTemplateMapper withAdaptiveFetchSize() {
+    if (queryRowCountCache == null) {
+      queryRowCountCache = new SimpleCache<>(2000);
+    }
+    return this;
+  }
+
+  /**
+   * The json codec used by properties with &#64;Column(converter = JsonConverter.class). See
+   * IJsonCodec. Has to be configured before the models using JsonConverter are first used since
+   * converters are created when the mapping of a model is built.
+   *
+   * @param jsonCodec the json codec
+   * @return The jdbcTemplateMapper The jdbcTemplateMapper
+   */
+  public JdbcTemplateMapper withJsonCodec(IJsonCodec jsonCodec) {
+    Assert.notNull(jsonCodec, "jsonCodec cannot be null");
+    mappingHelper.setJsonCodec(jsonCodec);
+    return this;
+  }
+
   /**
    * Oracle needs this to get the meta-data of table synonyms. Other databases don't need this.
    */
   public void includeSynonymsForTableColumnMetaData() {
-    this.includeSynonyms = true;
     mappingHelper.includeSynonyms();
   }
 
@@ -203,6 +385,71 @@ public final class JdbcTemplateMapper {
     return (DefaultConversionService) conversionService;
   }
 
+  /**
+   * Runs the operation asynchronously on the async executor (see withAsyncExecutor()). Cancelling
+   * the returned future cancels the running query of the operation (Statement.cancel()) and
+   * interrupts the thread running the operation.
+   *
+   * <pre>
+   * Example:
+   * CompletableFuture&lt;Order&gt; order = jdbcTemplateMapper.executeAsync(jtm -&gt; jtm.findById(Order.class, 1));
+   * </pre>
+   *
+   * @param <R> the result type
+   * @param operation the operation to run with this jdbcTemplateMapper
+   * @return the future with the result of the operation
+   */
+  public <R> CompletableFuture<R> executeAsync(Function<JdbcTemplateMapper, R> operation) {
+    return executeAsync(operation, null);
+  }
+
+  /**
+   * Runs the operation asynchronously on the async executor (see withAsyncExecutor()). If the
+   * operation does not complete within the timeout the returned future completes exceptionally with
+   * a TimeoutException. The queries of the operation (findById(), findAll(), Query, QueryMerge
+   * etc) get the time the operation has left as their query timeout, and on timeout or cancel the
+   * running query is cancelled (Statement.cancel()) and the thread running the operation is
+   * interrupted. Inserts, updates and deletes use the query timeout of the JdbcTemplate.
+   *
+   * @param <R> the result type
+   * @param operation the operation to run with this jdbcTemplateMapper
+   * @param timeout the timeout. null or zero for no timeout
+   * @return the future with the result of the operation
+   */
+  public <R> CompletableFuture<R> executeAsync(Function<JdbcTemplateMapper, R> operation,
+      Duration timeout) {
+    Assert.notNull(operation, "operation cannot be null");
+    // the async thread uses the primary if the calling thread is within executeOnPrimary()
+    if (readReplicas != null && readReplicas.isPrimaryForced()) {
+      return AsyncExecution.supplyAsync(() -> executeOnPrimary(operation), asyncExecutor,
+          timeout);
+    }
+    return AsyncExecution.supplyAsync(() -> operation.apply(this), asyncExecutor, timeout);
+  }
+
+  /**
+   * Async version of findById(). See executeAsync().
+   *
+   * @param <T> the type
+   * @param clazz Class of object
+   * @param id Id of object
+   * @return the future with the object of the specific type. null if not found.
+   */
+  public <T> CompletableFuture<T> findByIdAsync(Class<T> clazz, Object id) {
+    return executeAsync(jtm -> jtm.findById(clazz, id));
+  }
+
+  /**
+   * Async version of findAll(). See executeAsync().
+   *
+   * @param <T> the type
+   * @param clazz Type of object
+   * @return the future with the list of objects.
+   */
+  public <T> CompletableFuture<List<T>> findAllAsync(Class<T> clazz) {
+    return executeAsync(jtm -> jtm.findAll(clazz));
+  }
+
   /**
    * finds the object by Id. Return null if not found
    *
@@ -212,21 +459,33 @@ public final class JdbcTemplateMapper {
    * @return the object of type T
    */
   public <T> T findById(Class<T> clazz, Object id) {
+    return findById(clazz, id, null);
+  }
+
+  /**
+   * finds the object by Id selecting only the properties of the projection. See Projection. Return
+   * null if not found
+   *
+   * @param <T> the type
+   * @param clazz Class of object
+   * @param id Id of object
+   * @param projection the properties to select. null for all properties
+   * @return the object of type T
+   */
+  public <T> T findById(Class<T> clazz, Object id, Projection projection) {
     Assert.notNull(clazz, "Class must not be null");
 
     TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
-    String columnsSql = getBeanColumnsSqlInternal(tableMapping, clazz);
-    String sql = "SELECT " + columnsSql + " FROM " + tableMapping.fullyQualifiedTableName()
-        + " WHERE " + tableMapping.getIdColumnName() + " = ?";
-
-    RowMapper<T> mapper = BeanPropertyRowMapper.newInstance(clazz);
-
-    try {
-      Object obj = jdbcTemplate.queryForObject(sql, mapper, id);
-      return clazz.cast(obj);
-    } catch (EmptyResultDataAccessException e) {
-      return null;
-    }
+    SelectMapper<T> selectMapper = getModelSelectMapper(tableMapping, clazz, projection);
+    String sql = "SELECT " + selectMapper.getColumnsSql() + " FROM "
+        + tableMapping.fullyQualifiedTableName() + " WHERE " + tableMapping.getIdColumnName()
+        + " = ?";
+
+    List<T> list = StatementSettings.of(this, null, null)
+                                    .query(sql, new Object[] {id},
+                                        new RowMapperResultSetExtractor<>(
+                                            (rs, rowNum) -> selectMapper.buildModel(rs), 1));
+    return list.isEmpty() ? null : list.get(0);
   }
 
   /**
@@ -249,10 +508,38 @@ public final class JdbcTemplateMapper {
    * @return List of objects of type T
    */
   public <T> List<T> findAll(Class<T> clazz, String orderByPropertyName) {
+    return findAll(clazz, orderByPropertyName, null);
+  }
+
+  /**
+   * Find all objects selecting only the properties of the projection. See Projection.
+   *
+   * @param <T> the type
+   * @param clazz Type of object
+   * @param orderByPropertyName the order by property. null for no ordering
+   * @param projection the properties to select. null for all properties
+   * @return List of objects of type T
+   */
+  public <T> List<T> findAll(Class<T> clazz, String orderByPropertyName, Projection projection) {
+    return findAll(clazz, orderByPropertyName, projection, null);
+  }
+
+  /**
+   * Find all objects with the fetch size and timeout of the options. See QueryOptions.
+   *
+   * @param <T> the type
+   * @param clazz Type of object
+   * @param orderByPropertyName the order by property. null for no ordering
+   * @param projection the properties to select. null for all properties
+   * @param options the fetch size and timeout of the query. null for the JdbcTemplate settings
+   * @return List of objects of type T
+   */
+  public <T> List<T> findAll(Class<T> clazz, String orderByPropertyName, Projection projection,
+      QueryOptions options) {
     Assert.notNull(clazz, "Class must not be null");
 
     TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
-    String columnsSql = getBeanColumnsSqlInternal(tableMapping, clazz);
+    SelectMapper<T> selectMapper = getModelSelectMapper(tableMapping, clazz, projection);
 
     String orderByColumnName = null;
     if (orderByPropertyName != null) {
@@ -264,19 +551,85 @@ public final class JdbcTemplateMapper {
       }
     }
 
-    String sql = "SELECT " + columnsSql + " FROM " + tableMapping.fullyQualifiedTableName();
+    String sql = "SELECT " + selectMapper.getColumnsSql() + " FROM "
+        + tableMapping.fullyQualifiedTableName();
 
     if (orderByColumnName != null) {
       sql = sql + " ORDER BY " + orderByColumnName + " ASC";
     }
 
-    RowMapper<T> mapper = BeanPropertyRowMapper.newInstance(clazz);
-    return jdbcTemplate.query(sql, mapper);
+    String rowCountKey = "findAll-" + clazz.getName() + "-" + orderByPropertyName
+        + (projection == null ? "" : "-" + projection.getCacheKey());
+    StatementSettings settings = StatementSettings.of(this, options, rowCountKey);
+    List<T> list = settings.query(sql, null,
+        new RowMapperResultSetExtractor<>((rs, rowNum) -> selectMapper.buildModel(rs)));
+    settings.recordRowCount(list.size());
+    return list;
+  }
+
+  // findById() and findAll() build the models with a SelectMapper, which reads the values with the
+  // column extractors of the properties and takes care of converters, constructor models, lazy
+  // LOBs and the dirty tracking snapshot.
+  private <T> SelectMapper<T> getModelSelectMapper(TableMapping tableMapping,
+      Class<T> clazz, Projection projection) {
+    validateProjection(tableMapping, clazz, projection);
+    return getSelectMapperInternal(clazz, tableMapping.fullyQualifiedTableName(),
+        MapperUtils.TYPE_TABLE_COL_ALIAS_PREFIX, projection);
+  }
+
+  /**
+   * Returns the ids which have a record in the database. The ids are checked with 'IN' clause
+   * queries (chunked since some databases limit the number of entries in an 'IN' clause) so
+   * validating many ids does not need a query for each id.
+   *
+   * @param <U> the type of the ids
+   * @param clazz Type of object
+   * @param ids the ids to check
+   * @return the ids which exist, in the order of the ids collection. Empty set if none exist.
+   */
+  public <U> Set<U> existingIds(Class<?> clazz, Collection<U> ids) {
+    Assert.notNull(clazz, "Class must not be null");
+    Set<U> existingIds = new LinkedHashSet<>();
+    if (MapperUtils.isEmpty(ids)) {
+      return existingIds;
+    }
+
+    TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
+    PropertyMapping idPropMapping = tableMapping.getIdPropertyMapping();
+    // the ids are converted to the id property type so they match the ids read from the database.
+    // key - converted id, value - id
+    Map<Object, U> idMap = new LinkedHashMap<>();
+    for (U id : ids) {
+      if (id != null) {
+        idMap.putIfAbsent(conversionService.convert(id, idPropMapping.getPropertyType()), id);
+      }
+    }
+
+    String sql = "SELECT " + tableMapping.getIdColumnName() + " FROM "
+        + tableMapping.fullyQualifiedTableName() + " WHERE " + tableMapping.getIdColumnName()
+        + " IN (:ids)";
+    Set<Object> foundIds = new HashSet<>();
+    executeRead(() -> {
+      for (List<?> chunk : MapperUtils.chunkTheList(new ArrayList<>(idMap.keySet()),
+          IN_CLAUSE_CHUNK_SIZE)) {
+        getReadNamedParameterJdbcTemplate().query(sql, new MapSqlParameterSource("ids", chunk),
+            (RowCallbackHandler) rs -> foundIds.add(idPropMapping.getResultSetValue(rs, 1)));
+      }
+      return null;
+    });
+
+    for (Map.Entry<Object, U> entry : idMap.entrySet()) {
+      if (foundIds.contains(entry.getKey())) {
+        existingIds.add(entry.getValue());
+      }
+    }
+    return existingIds;
   }
 
   /**
    * Inserts an object. Objects with auto increment id will have the id set to the new id from
-   * database. For non auto increment id the id has to be manually set before invoking insert().
+   * database. IdType.SEQUENCE and IdType.UUID_V7 ids are assigned if they are null. For other ids
+   * the id has to be manually set before invoking insert().
    *
    * <pre>
    * Will handle the following annotations:
@@ -287,6 +640,7 @@ public final class JdbcTemplateMapper {
    * &#64;UpdatedBy if IRecordOperaterrResolver is configured with JdbcTemplateMapper the property
    *                will be assigned that value
    * &#64;Version property will be set to 1. Used for optimistic locking.
+   * &#64;Column(generated = true) property will be populated with the database generated value.
    * </pre>
    *
    * @param obj The object to be saved
@@ -303,14 +657,55 @@ public final class JdbcTemplateMapper {
             + "." + tableMapping.getIdPropertyName()
             + " has to be null since this insert is for an object whose id is auto increment.");
       }
-    } else {
-      if (idValue == null) {
+    } else if (idValue == null) {
+      if (tableMapping.isIdAssignedOnInsert()) {
+        bw.setPropertyValue(tableMapping.getIdPropertyName(), idGenerator.nextId(tableMapping));
+      } else {
         throw new MapperException("For insert() the property " + obj.getClass().getSimpleName()
             + "." + tableMapping.getIdPropertyName()
             + " cannot be null since it is not an auto increment id");
       }
     }
 
+    assignInsertProperties(bw, tableMapping);
+
+    boolean foundInCache = false;
+    InsertSqlAndParams insertSqlAndParams = insertCache.get(obj.getClass().getName());
+    if (insertSqlAndParams == null) {
+      insertSqlAndParams = buildSqlAndParamsForInsert(tableMapping);
+    } else {
+      foundInCache = true;
+    }
+
+    List<PropertyMapping> params = insertSqlAndParams.getParams();
+    PreparedStatementSetter pss = ps -> setInsertValues(ps, bw, params);
+
+    String sql = insertSqlAndParams.getSql();
+    List<PropertyMapping> returnedProperties = insertSqlAndParams.getReturnedProperties();
+    if (returnedProperties.isEmpty()) {
+      jdbcTemplate.update(sql, pss);
+    } else if (insertSqlAndParams.isOutputClause()) {
+      executeOutputBatch(sql, pss, bw, returnedProperties);
+    } else {
+      executeReturningGeneratedKeys(sql, pss, bw, returnedProperties);
+    }
+
+    // MySQL only returns the auto increment id as a generated key.
+    if (tableMapping.isMySql() && tableMapping.hasGeneratedProperties()) {
+      populateGeneratedProperties(bw, tableMapping);
+    }
+
+    if (!foundInCache) {
+      insertCache.put(obj.getClass().getName(), insertSqlAndParams);
+    }
+
+    if (dirtyTracker != null) {
+      dirtyTracker.snapshot(tableMapping, bw);
+    }
+  }
+
+  // assigns the auto assign properties of an object which is inserted
+  private void assignInsertProperties(BeanWrapper bw, TableMapping tableMapping) {
     if (tableMapping.hasAutoAssignProperties()) {
       LocalDateTime now = LocalDateTime.now();
 
@@ -342,43 +737,16 @@ public final class JdbcTemplateMapper {
         bw.setPropertyValue(versionPropMapping.getPropertyName(), 1);
       }
     }
+  }
 
-    MapSqlParameterSource mapSqlParameterSource = new MapSqlParameterSource();
-    for (PropertyMapping propMapping : tableMapping.getPropertyMappings()) {
-      mapSqlParameterSource.addValue(propMapping.getColumnName(),
-          bw.getPropertyValue(propMapping.getPropertyName()));
-    }
-
-    boolean foundInCache = false;
-    SimpleJdbcInsertOperations jdbcInsert = insertCache.get(obj.getClass().getName());
-    if (jdbcInsert == null) {
-      jdbcInsert =
-          new SimpleJdbcInsert(jdbcTemplate).withCatalogName(tableMapping.getCatalogName())
-                                            .withSchemaName(tableMapping.getSchemaName())
-                                            .withTableName(
-                                                tableNameForSimpleJdbcInsert(tableMapping));
-
-      if (tableMapping.isIdAutoIncrement()) {
-        jdbcInsert.usingGeneratedKeyColumns(tableMapping.getIdColumnName());
-      }
-      // for oracle synonym table metadata
-      if (includeSynonyms) {
-        jdbcInsert.includeSynonymsForTableColumnMetaData();
-      }
-    } else {
-      foundInCache = true;
-    }
-
-    if (tableMapping.isIdAutoIncrement()) {
-      Number idNumber = jdbcInsert.executeAndReturnKey(mapSqlParameterSource);
-      bw.setPropertyValue(tableMapping.getIdPropertyName(), idNumber); // set object id value
-    } else {
-      jdbcInsert.execute(mapSqlParameterSource);
-    }
-
-    if (!foundInCache) {
-      // SimpleJdbcInsert is thread safe.
-      insertCache.put(obj.getClass().getName(), (SimpleJdbcInsert) jdbcInsert);
+  // bind positionally using the sql types from the table meta-data
+  private void setInsertValues(PreparedStatement ps, BeanWrapper bw, List<PropertyMapping> params)
+      throws SQLException {
+    for (int i = 0; i < params.size(); i++) {
+      PropertyMapping propMapping = params.get(i);
+      Object value = propMapping.toColumnValue(bw.getPropertyValue(propMapping.getPropertyName()));
+      StatementCreatorUtils.setParameterValue(ps, i + 1, propMapping.getColumnSqlDataType(),
+          toBindValue(value));
     }
   }
 
@@ -392,6 +760,7 @@ public final class JdbcTemplateMapper {
    *                will be assigned that value
    * &#64;Version property will be incremented on a successful update. An OptimisticLockingException
    *                will be thrown if object is stale.
+   * &#64;Column(generated = true) property will be populated with the database value.
    * </pre>
    *
    * @param obj object to be updated
@@ -409,7 +778,7 @@ public final class JdbcTemplateMapper {
     } else {
       foundInCache = true;
     }
-    Integer cnt = updateInternal(obj, sqlAndParams, tableMapping);
+    Integer cnt = executeUpdate(obj, sqlAndParams, tableMapping, true);
 
     if (!foundInCache && cnt > 0) {
       updateCache.put(obj.getClass().getName(), sqlAndParams);
@@ -432,6 +801,7 @@ public final class JdbcTemplateMapper {
    *                will be assigned that value
    * &#64;Version property will be incremented on a successful update. An OptimisticLockingException
    *                will be thrown if object is stale.
+   * &#64;Column(generated = true) property will be populated with the database value.
    * </pre>
    *
    * @param obj object to be updated
@@ -446,8 +816,9 @@ public final class JdbcTemplateMapper {
 
     boolean foundInCache = false;
     SqlAndParams sqlAndParams = null;
-    String cacheKey = getUpdatePropertiesCacheKey(obj, propertyNames);
-    if (cacheKey != null) {
+    UpdatePropertiesCacheKey cacheKey = null;
+    if (propertyNames.length <= CACHEABLE_UPDATE_PROPERTIES_COUNT) {
+      cacheKey = new UpdatePropertiesCacheKey(obj.getClass(), propertyNames);
       sqlAndParams = updatePropertiesCache.get(cacheKey);
     }
 
@@ -457,89 +828,680 @@ public final class JdbcTemplateMapper {
       foundInCache = true;
     }
 
-    Integer cnt = updateInternal(obj, sqlAndParams, tableMapping);
+    Integer cnt = executeUpdate(obj, sqlAndParams, tableMapping, false);
 
     if (cacheKey != null && !foundInCache && cnt > 0) {
-      updatePropertiesCache.put(cacheKey, sqlAndParams);
+      // the key holds on to propertyNames so give it its own copy
+      updatePropertiesCache.put(
+          new UpdatePropertiesCacheKey(obj.getClass(), propertyNames.clone()), sqlAndParams);
     }
 
     return cnt;
   }
 
-  private Integer updateInternal(Object obj, SqlAndParams sqlAndParams, TableMapping tableMapping) {
+  /**
+   * Updates only the properties which were modified since the object was loaded by findById(),
+   * findAll(), Query or QueryMerge (or since it was last inserted/updated). Needs dirty tracking to
+   * be enabled (see withDirtyTracking()). When nothing changed no update is issued and 0 is
+   * returned. An object which has no snapshot (for example one instantiated by the application) is
+   * updated with update().
+   *
+   * <pre>
+   * Will handle the following annotations:
+   * &#64;UpdatedOn property will be assigned current date and time
+   * &#64;UpdatedBy if IRecordOperaterrResolver is configured with JdbcTemplateMapper the property 
+   *                will be assigned that value
+   * &#64;Version property will be incremented on a successful update. An OptimisticLockingException
+   *                will be thrown if object is stale.
+   * &#64;Column(generated = true) property will be populated with the database value.
+   * </pre>
+   *
+   * @param obj object to be updated
+   * @return number of records updated. 0 if no properties were modified.
+   */
+  public Integer updateChanged(Object obj) {
     Assert.notNull(obj, "Object must not be null");
-    Assert.notNull(sqlAndParams, "sqlAndParams must not be null");
+    if (dirtyTracker == null) {
+      throw new MapperException(
+          "updateChanged() needs dirty tracking. See JdbcTemplateMapper.withDirtyTracking()");
+    }
+
+    TableMapping tableMapping = mappingHelper.getTableMapping(obj.getClass());
+    List<String> changedPropertyNames =
+        dirtyTracker.getChangedPropertyNames(tableMapping, getBeanWrapper(obj));
+    if (changedPropertyNames == null) {
+      return update(obj);
+    }
+    if (changedPropertyNames.isEmpty()) {
+      return 0;
+    }
+    return updateProperties(obj, changedPropertyNames.toArray(new String[0]));
+  }
+
+  /**
+   * Prepares an update for the type whose sql is generated upfront. The returned PreparedUpdate is
+   * thread safe and meant to be held on to and executed repeatedly, for example in a loop, since
+   * executing it involves no sql generation or cache lookups. With no propertyNames it updates the
+   * whole object like update() otherwise only the specified properties like updateProperties().
+   *
+   * <pre>
+   * Example:
+   * PreparedUpdate&lt;Product&gt; priceUpdate = jdbcTemplateMapper.prepareUpdate(Product.class, "price", "stock");
+   * for (Product product : products) {
+   *   priceUpdate.execute(product);
+   * }
+   * </pre>
+   *
+   * @param <T> the type
+   * @param clazz the type of the objects to be updated
+   * @param propertyNames the properties to be updated. None for all properties
+   * @return the PreparedUpdate
+   */
+  public <T> PreparedUpdate<T> prepareUpdate(Class<T> clazz, String... propertyNames) {
+    Assert.notNull(clazz, "Class must not be null");
+    Assert.notNull(propertyNames, "propertyNames must not be null");
+
+    TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
+    if (propertyNames.length == 0) {
+      return new PreparedUpdate<T>(this, clazz, tableMapping,
+          buildSqlAndParamsForUpdate(tableMapping), true);
+    } else {
+      return new PreparedUpdate<T>(this, clazz, tableMapping,
+          buildSqlAndParamsForUpdateProperties(tableMapping, propertyNames), false);
+    }
+  }
+
+  /**
+   * Prepares a delete for the type whose sql is generated upfront. The returned PreparedDelete is
+   * thread safe and meant to be held on to and executed repeatedly.
+   *
+   * @param <T> the type
+   * @param clazz the type of the objects to be deleted
+   * @return the PreparedDelete
+   */
+  public <T> PreparedDelete<T> prepareDelete(Class<T> clazz) {
+    Assert.notNull(clazz, "Class must not be null");
 
+    TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
+    return new PreparedDelete<T>(this, clazz, tableMapping, buildDeleteSql(tableMapping));
+  }
+
+  // used by update(), updateProperties() and PreparedUpdate. allProperties is true when the sql
+  // updates all the properties of the object.
+  Integer executeUpdate(Object obj, SqlAndParams sqlAndParams, TableMapping tableMapping,
+      boolean allProperties) {
     BeanWrapper bw = getBeanWrapper(obj);
+    Integer cnt = updateInternal(bw, sqlAndParams, tableMapping);
+    if (dirtyTracker != null && cnt > 0) {
+      if (allProperties) {
+        dirtyTracker.snapshot(tableMapping, bw);
+      } else {
+        dirtyTracker.refresh(tableMapping, bw, sqlAndParams.getParams());
+      }
+    }
+    return cnt;
+  }
+
+  private Integer updateInternal(BeanWrapper bw, SqlAndParams sqlAndParams,
+      TableMapping tableMapping) {
+    Assert.notNull(sqlAndParams, "sqlAndParams must not be null");
 
     if (bw.getPropertyValue(tableMapping.getIdPropertyName()) == null) {
       throw new IllegalArgumentException("Property " + tableMapping.getTableClassName() + "."
           + tableMapping.getIdPropertyName() + " is the id and cannot be null.");
     }
 
-    Set<String> parameters = sqlAndParams.getParams();
-
+    // update sql always includes the @UpdatedBy, @UpdatedOn and @Version properties
     if (tableMapping.hasAutoAssignProperties()) {
       PropertyMapping updatedByPropMapping = tableMapping.getUpdatedByPropertyMapping();
-      if (updatedByPropMapping != null && recordOperatorResolver != null
-          && parameters.contains(updatedByPropMapping.getPropertyName())) {
+      if (updatedByPropMapping != null && recordOperatorResolver != null) {
         bw.setPropertyValue(updatedByPropMapping.getPropertyName(),
             recordOperatorResolver.getRecordOperator());
       }
 
       PropertyMapping updatedOnPropMapping = tableMapping.getUpdatedOnPropertyMapping();
-      if (updatedOnPropMapping != null
-          && parameters.contains(updatedOnPropMapping.getPropertyName())) {
+      if (updatedOnPropMapping != null) {
         bw.setPropertyValue(updatedOnPropMapping.getPropertyName(), LocalDateTime.now());
       }
     }
 
-    MapSqlParameterSource mapSqlParameterSource = new MapSqlParameterSource();
-    for (String paramName : parameters) {
-      if (paramName.equals("incrementedVersion")) {
-        Integer versionVal = (Integer) bw.getPropertyValue(
-            tableMapping.getVersionPropertyMapping().getPropertyName());
-        if (versionVal == null) {
-          throw new MapperException(obj.getClass().getSimpleName() + "."
-              + tableMapping.getVersionPropertyMapping().getPropertyName()
-              + " is configured with annotation @Version. Property "
-              + tableMapping.getVersionPropertyMapping().getPropertyName()
-              + " cannot be null when updating.");
-        } else {
-          mapSqlParameterSource.addValue("incrementedVersion", versionVal + 1,
-              java.sql.Types.INTEGER);
-        }
-      } else {
-        mapSqlParameterSource.addValue(paramName, bw.getPropertyValue(paramName),
-            tableMapping.getPropertySqlType(paramName));
+    PropertyMapping versionPropMapping = tableMapping.getVersionPropertyMapping();
+    Integer incrementedVersion = null;
+    if (versionPropMapping != null) {
+      Integer versionVal = (Integer) bw.getPropertyValue(versionPropMapping.getPropertyName());
+      if (versionVal == null) {
+        throw new MapperException(bw.getWrappedClass().getSimpleName() + "."
+            + versionPropMapping.getPropertyName()
+            + " is configured with annotation @Version. Property "
+            + versionPropMapping.getPropertyName() + " cannot be null when updating.");
+      }
+      incrementedVersion = versionVal + 1;
+    }
+
+    Object[] paramValues = getParamValues(bw, sqlAndParams, incrementedVersion);
+    List<PropertyMapping> returnedProperties = sqlAndParams.getReturnedProperties();
+    int cnt;
+    if (returnedProperties.isEmpty()) {
+      cnt = jdbcTemplate.update(sqlAndParams.getSql(), paramValues, sqlAndParams.getSqlTypes());
+      if (cnt > 0 && tableMapping.hasGeneratedProperties()) {
+        populateGeneratedProperties(bw, tableMapping);
       }
+    } else if (tableMapping.isSqlServer()) {
+      cnt = executeOutputBatch(sqlAndParams.getSql(),
+          new ArgumentTypePreparedStatementSetter(paramValues, sqlAndParams.getSqlTypes()), bw,
+          returnedProperties);
+    } else if (!tableMapping.isPostgreSql()) {
+      cnt = executeReturningGeneratedKeys(sqlAndParams.getSql(),
+          new ArgumentTypePreparedStatementSetter(paramValues, sqlAndParams.getSqlTypes()), bw,
+          returnedProperties);
+    } else {
+      // the update has a RETURNING clause. A row is returned for each updated record.
+      cnt = jdbcTemplate.query(sqlAndParams.getSql(), paramValues, sqlAndParams.getSqlTypes(),
+          rs -> {
+            int rowCnt = 0;
+            while (rs.next()) {
+              populateReturnedProperties(bw, rs, returnedProperties);
+              rowCnt++;
+            }
+            return rowCnt;
+          });
     }
 
-    int cnt = -1;
     // if object has property version the version gets incremented on update.
     // throws OptimisticLockingException when update fails.
-    if (sqlAndParams.getParams().contains("incrementedVersion")) {
-      cnt = npJdbcTemplate.update(sqlAndParams.getSql(), mapSqlParameterSource);
+    if (versionPropMapping != null) {
       if (cnt == 0) {
-        throw new OptimisticLockingException(obj.getClass().getSimpleName()
+        throw new OptimisticLockingException(bw.getWrappedClass().getSimpleName()
             + " update failed due to stale data. Failed for " + tableMapping.getIdColumnName()
             + " = " + bw.getPropertyValue(tableMapping.getIdPropertyName()) + " and "
-            + tableMapping.getVersionPropertyMapping().getColumnName() + " = "
-            + bw.getPropertyValue(tableMapping.getVersionPropertyMapping().getPropertyName()));
+            + versionPropMapping.getColumnName() + " = "
+            + bw.getPropertyValue(versionPropMapping.getPropertyName()));
       }
       // update the version in object with new version
-      bw.setPropertyValue(tableMapping.getVersionPropertyMapping().getPropertyName(),
-          mapSqlParameterSource.getValue("incrementedVersion"));
-    } else {
-      cnt = npJdbcTemplate.update(sqlAndParams.getSql(), mapSqlParameterSource);
+      bw.setPropertyValue(versionPropMapping.getPropertyName(), incrementedVersion);
     }
 
     return cnt;
   }
 
-  /**
-   * Deletes the object from the database.
-   *
+  // populates the properties from the current row of the result set. The columns of the result set
+  // are in the order of the properties.
+  private void populateReturnedProperties(BeanWrapper bw, ResultSet rs,
+      List<PropertyMapping> returnedProperties) throws SQLException {
+    for (int i = 0; i < returnedProperties.size(); i++) {
+      PropertyMapping propMapping = returnedProperties.get(i);
+      bw.setPropertyValue(propMapping.getPropertyName(),
+          propMapping.getResultSetValue(rs, i + 1));
+    }
+  }
+
+  // executes the insert/update and populates the returned properties from the generated keys.
+  // Returns the number of records affected.
+  private int executeReturningGeneratedKeys(String sql, PreparedStatementSetter pss,
+      BeanWrapper bw, List<PropertyMapping> returnedProperties) {
+    String[] columnNames = returnedProperties.stream()
+                                             .map(PropertyMapping::getColumnName)
+                                             .toArray(String[]::new);
+    return jdbcTemplate.execute(con -> con.prepareStatement(sql, columnNames),
+        (PreparedStatementCallback<Integer>) ps -> {
+          pss.setValues(ps);
+          int cnt = ps.executeUpdate();
+          ResultSet rs = ps.getGeneratedKeys();
+          try {
+            if (rs.next()) {
+              populateReturnedProperties(bw, rs, returnedProperties);
+            }
+          } finally {
+            JdbcUtils.closeResultSet(rs);
+          }
+          return cnt;
+        });
+  }
+
+  // executes a SQL Server batch built by sqlServerOutputBatch(). The update counts of the
+  // statements (and of any triggers) come before the result set. Returns the number of records
+  // affected, which is the number of rows selected.
+  private int executeOutputBatch(String sql, PreparedStatementSetter pss, BeanWrapper bw,
+      List<PropertyMapping> returnedProperties) {
+    return jdbcTemplate.execute(sql, (PreparedStatementCallback<Integer>) ps -> {
+      pss.setValues(ps);
+      boolean isResultSet = ps.execute();
+      while (isResultSet || ps.getUpdateCount() != -1) {
+        if (isResultSet) {
+          ResultSet rs = ps.getResultSet();
+          try {
+            int rowCnt = 0;
+            while (rs.next()) {
+              populateReturnedProperties(bw, rs, returnedProperties);
+              rowCnt++;
+            }
+            return rowCnt;
+          } finally {
+            JdbcUtils.closeResultSet(rs);
+          }
+        }
+        isResultSet = ps.getMoreResults();
+      }
+      return 0;
+    });
+  }
+
+  // selects the @Column(generated = true) properties for MySQL which only returns the auto
+  // increment id as a generated key. The select is an extra round trip after the insert/update.
+  private void populateGeneratedProperties(BeanWrapper bw, TableMapping tableMapping) {
+    String sql = generatedColumnsSqlCache.get(tableMapping.getTableClassName());
+    if (sql == null) {
+      sql = "SELECT " + returnedColumns(tableMapping.getGeneratedPropertyMappings(), "")
+          + " FROM " + tableMapping.fullyQualifiedTableName() + " WHERE "
+          + tableMapping.getIdColumnName() + " = ?";
+      generatedColumnsSqlCache.put(tableMapping.getTableClassName(), sql);
+    }
+
+    jdbcTemplate.query(sql,
+        new Object[] {bw.getPropertyValue(tableMapping.getIdPropertyName())},
+        new int[] {tableMapping.getIdPropertyMapping().getColumnSqlDataType()}, rs -> {
+          if (rs.next()) {
+            populateReturnedProperties(bw, rs, tableMapping.getGeneratedPropertyMappings());
+          }
+          return null;
+        });
+  }
+
+  // values of the sql parameters in bind order
+  private Object[] getParamValues(BeanWrapper bw, SqlAndParams sqlAndParams,
+      Integer incrementedVersion) {
+    List<String> params = sqlAndParams.getParams();
+    PropertyMapping[] paramMappings = sqlAndParams.getParamMappings();
+    Object[] values = new Object[params.size()];
+    for (int i = 0; i < values.length; i++) {
+      String paramName = params.get(i);
+      if (paramName.equals("incrementedVersion")) {
+        values[i] = incrementedVersion;
+      } else if (paramName.equals("initialVersion")) {
+        values[i] = 1;
+      } else {
+        values[i] =
+            toBindValue(paramMappings[i].toColumnValue(bw.getPropertyValue(paramName)));
+      }
+    }
+    return values;
+  }
+
+  // InputStream and Reader values are bound with setBinaryStream()/setCharacterStream() so large
+  // LOB values are streamed to the database instead of being read into memory.
+  private static Object toBindValue(Object value) {
+    if (value instanceof InputStream) {
+      InputStream in = (InputStream) value;
+      return (SqlTypeValue) (ps, paramIndex, sqlType, typeName) -> ps.setBinaryStream(paramIndex,
+          in);
+    }
+    if (value instanceof Reader) {
+      Reader reader = (Reader) value;
+      return (SqlTypeValue) (ps, paramIndex, sqlType, typeName) -> ps
+          .setCharacterStream(paramIndex, reader);
+    }
+    return value;
+  }
+
+  /**
+   * Inserts the object or updates it if a record with the same id already exists, in a single
+   * statement. Uses INSERT ... ON CONFLICT DO UPDATE for PostgreSQL, INSERT ... ON DUPLICATE KEY
+   * UPDATE for MySQL and MERGE for Oracle, SQL Server and H2. An IdType.SEQUENCE or IdType.UUID_V7
+   * id which is null is assigned.
+   *
+   * <p>An object with an auto increment id is inserted when its id is null. Otherwise the id is
+   * written when the record does not exist, which for PostgreSQL does not advance the sequence of
+   * the column. Oracle identity and SQL Server IDENTITY columns reject explicit values so for those
+   * an object with an auto increment id is updated, returning 0 if there is no record with the id
+   * (an OptimisticLockingException if the object has a version).
+   *
+   * <pre>
+   * Will handle the following annotations:
+   * &#64;CreatedOn property will be assigned current date and time if it is null. Only written when
+   *                the record is inserted.
+   * &#64;CreatedBy if IRecordOperaterrResolver is configured with JdbcTemplateMapper the property
+   *                will be assigned that value if it is null. Only written when the record is
+   *                inserted.
+   * &#64;UpdatedOn property will be assigned current date and time
+   * &#64;UpdatedBy if IRecordOperaterrResolver is configured with JdbcTemplateMapper the property
+   *                will be assigned that value
+   * &#64;Version property will be set to 1 when the record is inserted otherwise incremented. An
+   *                OptimisticLockingException will be thrown if object is stale or its version is
+   *                null and the record exists. For MySQL the stale check relies on the affected
+   *                rows count so the connection needs useAffectedRows=true. When the version is
+   *                not null the statement does not tell whether the record was inserted or
+   *                updated, so the version is read back after the upsert.
+   * </pre>
+   *
+   * @param obj object to be inserted or updated
+   * @return number of records inserted or updated
+   */
+  public Integer upsert(Object obj) {
+    Assert.notNull(obj, "Object must not be null");
+
+    TableMapping tableMapping = mappingHelper.getTableMapping(obj.getClass());
+    BeanWrapper bw = getBeanWrapper(obj);
+    if (isUpsertInsert(bw, tableMapping)) {
+      insert(obj);
+      return 1;
+    }
+    if (isUpsertUpdate(tableMapping)) {
+      return update(obj);
+    }
+
+    boolean foundInCache = false;
+    SqlAndParams sqlAndParams = upsertCache.get(obj.getClass().getName());
+    if (sqlAndParams == null) {
+      sqlAndParams = buildSqlAndParamsForUpsert(tableMapping);
+    } else {
+      foundInCache = true;
+    }
+
+    Integer incrementedVersion = prepareForUpsert(bw, tableMapping);
+    int cnt = jdbcTemplate.update(sqlAndParams.getSql(),
+        getParamValues(bw, sqlAndParams, incrementedVersion), sqlAndParams.getSqlTypes());
+    upsertCompleted(bw, incrementedVersion, tableMapping, cnt);
+    if (isVersionReadBack(incrementedVersion)) {
+      readBackVersions(Arrays.asList(bw), tableMapping);
+    }
+
+    if (!foundInCache) {
+      upsertCache.put(obj.getClass().getName(), sqlAndParams);
+    }
+
+    return cnt > 0 ? 1 : 0;
+  }
+
+  /**
+   * Upserts the objects using a jdbc batch. See upsert(). The objects have to be of the same type.
+   * Objects with an auto increment id which is null are inserted in a separate batch, except for
+   * Oracle and SQL Server whose drivers do not return the generated ids of a batch, and for MySQL
+   * when the object has &#64;Column(generated = true) properties. Those are inserted one at a time.
+   * If a stale object is found an OptimisticLockingException is thrown after the batch has run, so
+   * call it within a transaction to roll back the other records of the batch.
+   *
+   * @param objs the objects to be inserted or updated
+   */
+  public void upsertAll(List<?> objs) {
+    Assert.notNull(objs, "objs must not be null");
+    if (objs.isEmpty()) {
+      return;
+    }
+    Object firstObj = objs.get(0);
+    Assert.notNull(firstObj, "Object must not be null");
+    Class<?> clazz = firstObj.getClass();
+
+    TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
+
+    boolean foundInCache = false;
+    SqlAndParams sqlAndParams = upsertCache.get(clazz.getName());
+    if (sqlAndParams == null) {
+      sqlAndParams = buildSqlAndParamsForUpsert(tableMapping);
+    } else {
+      foundInCache = true;
+    }
+
+    // objects which are updated are batched unless they have properties generated by the database
+    boolean batchUpdates = !tableMapping.hasGeneratedProperties();
+    SqlAndParams updateSqlAndParams = null;
+    if (batchUpdates) {
+      updateSqlAndParams = updateCache.get(clazz.getName());
+      if (updateSqlAndParams == null) {
+        updateSqlAndParams = buildSqlAndParamsForUpdate(tableMapping);
+      }
+    }
+
+    List<BeanWrapper> insertBws = new ArrayList<>();
+    List<BeanWrapper> bws = new ArrayList<>();
+    List<Integer> incrementedVersions = new ArrayList<>();
+    List<Object[]> batchValues = new ArrayList<>();
+    List<BeanWrapper> updateBws = new ArrayList<>();
+    List<Integer> updateIncrementedVersions = new ArrayList<>();
+    List<Object[]> updateBatchValues = new ArrayList<>();
+    for (Object obj : objs) {
+      Assert.notNull(obj, "Object must not be null");
+      if (obj.getClass() != clazz) {
+        throw new MapperException(
+            "upsertAll() objects have to be of the same type. Found " + clazz.getSimpleName()
+                + " and " + obj.getClass().getSimpleName());
+      }
+      BeanWrapper bw = getBeanWrapper(obj);
+      if (isUpsertInsert(bw, tableMapping)) {
+        insertBws.add(bw);
+      } else if (isUpsertUpdate(tableMapping)) {
+        if (batchUpdates) {
+          Integer incrementedVersion = prepareForUpsert(bw, tableMapping);
+          updateBws.add(bw);
+          updateIncrementedVersions.add(incrementedVersion);
+          updateBatchValues.add(getParamValues(bw, updateSqlAndParams, incrementedVersion));
+        } else {
+          // update() populates the generated properties
+          update(obj);
+        }
+      } else {
+        Integer incrementedVersion = prepareForUpsert(bw, tableMapping);
+        bws.add(bw);
+        incrementedVersions.add(incrementedVersion);
+        batchValues.add(getParamValues(bw, sqlAndParams, incrementedVersion));
+      }
+    }
+
+    if (!insertBws.isEmpty()) {
+      insertBatch(insertBws, tableMapping);
+    }
+
+    if (!updateBws.isEmpty()) {
+      int[] counts = jdbcTemplate.batchUpdate(updateSqlAndParams.getSql(), updateBatchValues,
+          updateSqlAndParams.getSqlTypes());
+      for (int i = 0; i < counts.length; i++) {
+        upsertCompleted(updateBws.get(i), updateIncrementedVersions.get(i), tableMapping,
+            counts[i]);
+      }
+      updateCache.put(clazz.getName(), updateSqlAndParams);
+    }
+
+    if (!bws.isEmpty()) {
+      int[] counts =
+          jdbcTemplate.batchUpdate(sqlAndParams.getSql(), batchValues, sqlAndParams.getSqlTypes());
+      List<BeanWrapper> readBackBws = new ArrayList<>();
+      for (int i = 0; i < counts.length; i++) {
+        upsertCompleted(bws.get(i), incrementedVersions.get(i), tableMapping, counts[i]);
+        if (isVersionReadBack(incrementedVersions.get(i))) {
+          readBackBws.add(bws.get(i));
+        }
+      }
+      readBackVersions(readBackBws, tableMapping);
+      if (!foundInCache) {
+        upsertCache.put(clazz.getName(), sqlAndParams);
+      }
+    }
+  }
+
+  // an auto increment id which is null cannot conflict with an existing record so it is an insert.
+  // Null ids assigned by the mapper get assigned here so the record is inserted by the upsert sql.
+  private boolean isUpsertInsert(BeanWrapper bw, TableMapping tableMapping) {
+    if (bw.getPropertyValue(tableMapping.getIdPropertyName()) == null) {
+      if (tableMapping.isIdAutoIncrement()) {
+        return true;
+      }
+      if (tableMapping.isIdAssignedOnInsert()) {
+        bw.setPropertyValue(tableMapping.getIdPropertyName(), idGenerator.nextId(tableMapping));
+        return false;
+      }
+      throw new MapperException("For upsert() the property "
+          + bw.getWrappedClass().getSimpleName() + "." + tableMapping.getIdPropertyName()
+          + " cannot be null since it is not an auto increment id");
+    }
+    return false;
+  }
+
+  // Oracle identity and SQL Server IDENTITY columns reject the id the MERGE writes on insert, even
+  // when the record exists, so an object with an auto increment id is updated on those databases.
+  private boolean isUpsertUpdate(TableMapping tableMapping) {
+    return tableMapping.isIdAutoIncrement()
+        && (tableMapping.isOracle() || tableMapping.isSqlServer());
+  }
+
+  // assigns the auto assign properties and returns the version the record will have after the
+  // upsert. null if there is no version property. New records get version 1.
+  private Integer prepareForUpsert(BeanWrapper bw, TableMapping tableMapping) {
+    if (tableMapping.hasAutoAssignProperties()) {
+      LocalDateTime now = LocalDateTime.now();
+
+      PropertyMapping createdOnPropMapping = tableMapping.getCreatedOnPropertyMapping();
+      if (createdOnPropMapping != null
+          && bw.getPropertyValue(createdOnPropMapping.getPropertyName()) == null) {
+        bw.setPropertyValue(createdOnPropMapping.getPropertyName(), now);
+      }
+
+      PropertyMapping createdByPropMapping = tableMapping.getCreatedByPropertyMapping();
+      if (createdByPropMapping != null && recordOperatorResolver != null
+          && bw.getPropertyValue(createdByPropMapping.getPropertyName()) == null) {
+        bw.setPropertyValue(createdByPropMapping.getPropertyName(),
+            recordOperatorResolver.getRecordOperator());
+      }
+
+      PropertyMapping updatedOnPropMapping = tableMapping.getUpdatedOnPropertyMapping();
+      if (updatedOnPropMapping != null) {
+        bw.setPropertyValue(updatedOnPropMapping.getPropertyName(), now);
+      }
+
+      PropertyMapping updatedByPropMapping = tableMapping.getUpdatedByPropertyMapping();
+      if (updatedByPropMapping != null && recordOperatorResolver != null) {
+        bw.setPropertyValue(updatedByPropMapping.getPropertyName(),
+            recordOperatorResolver.getRecordOperator());
+      }
+    }
+
+    PropertyMapping versionPropMapping = tableMapping.getVersionPropertyMapping();
+    if (versionPropMapping == null) {
+      return null;
+    }
+    Integer versionVal = (Integer) bw.getPropertyValue(versionPropMapping.getPropertyName());
+    return versionVal == null ? 1 : versionVal + 1;
+  }
+
+  private void upsertCompleted(BeanWrapper bw, Integer incrementedVersion,
+      TableMapping tableMapping, int cnt) {
+    PropertyMapping versionPropMapping = tableMapping.getVersionPropertyMapping();
+    if (versionPropMapping != null) {
+      // the record exists but its version did not match
+      if (cnt == 0) {
+        throw new OptimisticLockingException(bw.getWrappedClass().getSimpleName()
+            + " upsert failed due to stale data. Failed for " + tableMapping.getIdColumnName()
+            + " = " + bw.getPropertyValue(tableMapping.getIdPropertyName()) + " and "
+            + versionPropMapping.getColumnName() + " = "
+            + bw.getPropertyValue(versionPropMapping.getPropertyName()));
+      }
+      bw.setPropertyValue(versionPropMapping.getPropertyName(), incrementedVersion);
+    }
+
+    if (dirtyTracker != null) {
+      dirtyTracker.snapshot(tableMapping, bw);
+    }
+  }
+  // an object whose version was not null is updated (version incremented) or, when its record is
+  // gone, inserted with version 1. The update count does not tell which.
+  private boolean isVersionReadBack(Integer incrementedVersion) {
+    return incrementedVersion != null && incrementedVersion != 1;
+  }
+
+  // sets the versions of the upserted objects to the versions of their records
+  private void readBackVersions(List<BeanWrapper> bws, TableMapping tableMapping) {
+    if (bws.isEmpty()) {
+      return;
+    }
+    PropertyMapping idPropMapping = tableMapping.getIdPropertyMapping();
+    PropertyMapping versionPropMapping = tableMapping.getVersionPropertyMapping();
+    Map<Object, BeanWrapper> idToBw = new LinkedHashMap<>();
+    for (BeanWrapper bw : bws) {
+      idToBw.put(bw.getPropertyValue(idPropMapping.getPropertyName()), bw);
+    }
+
+    String sql = "SELECT " + idPropMapping.getColumnName() + ", "
+        + versionPropMapping.getColumnName() + " FROM " + tableMapping.fullyQualifiedTableName()
+        + " WHERE " + idPropMapping.getColumnName() + " IN (:ids)";
+    for (List<?> chunk : MapperUtils.chunkTheList(new ArrayList<>(idToBw.keySet()),
+        IN_CLAUSE_CHUNK_SIZE)) {
+      npJdbcTemplate.query(sql, new MapSqlParameterSource("ids", chunk),
+          (RowCallbackHandler) rs -> {
+            BeanWrapper bw = idToBw.get(idPropMapping.getResultSetValue(rs, 1));
+            if (bw != null) {
+              bw.setPropertyValue(versionPropMapping.getPropertyName(),
+                  versionPropMapping.getResultSetValue(rs, 2));
+              if (dirtyTracker != null) {
+                dirtyTracker.snapshot(tableMapping, bw);
+              }
+            }
+          });
+    }
+  }
+
+  // inserts the objects of upsertAll() whose auto increment id is null as a jdbc batch. The ids and
+  // generated properties are populated from the generated keys of the batch.
+  private void insertBatch(List<BeanWrapper> bws, TableMapping tableMapping) {
+    // the Oracle and SQL Server drivers do not return the generated keys of a batch and MySQL only
+    // returns the id
+    if (tableMapping.isOracle() || tableMapping.isSqlServer()
+        || (tableMapping.isMySql() && tableMapping.hasGeneratedProperties())) {
+      for (BeanWrapper bw : bws) {
+        insert(bw.getWrappedInstance());
+      }
+      return;
+    }
+
+    String className = bws.get(0).getWrappedClass().getName();
+    InsertSqlAndParams cachedSqlAndParams = insertCache.get(className);
+    InsertSqlAndParams insertSqlAndParams = cachedSqlAndParams == null
+        ? buildSqlAndParamsForInsert(tableMapping)
+        : cachedSqlAndParams;
+
+    for (BeanWrapper bw : bws) {
+      assignInsertProperties(bw, tableMapping);
+    }
+
+    List<PropertyMapping> params = insertSqlAndParams.getParams();
+    List<PropertyMapping> returnedProperties = insertSqlAndParams.getReturnedProperties();
+    String[] columnNames = returnedProperties.stream()
+                                             .map(PropertyMapping::getColumnName)
+                                             .toArray(String[]::new);
+    jdbcTemplate.execute(con -> con.prepareStatement(insertSqlAndParams.getSql(), columnNames),
+        (PreparedStatementCallback<Void>) ps -> {
+          for (BeanWrapper bw : bws) {
+            setInsertValues(ps, bw, params);
+            ps.addBatch();
+          }
+          ps.executeBatch();
+          ResultSet rs = ps.getGeneratedKeys();
+          try {
+            // a row for each inserted record in the order of the batch
+            for (BeanWrapper bw : bws) {
+              if (!rs.next()) {
+                break;
+              }
+              populateReturnedProperties(bw, rs, returnedProperties);
+            }
+          } finally {
+            JdbcUtils.closeResultSet(rs);
+          }
+          return null;
+        });
+
+    if (cachedSqlAndParams == null) {
+      insertCache.put(className, insertSqlAndParams);
+    }
+
+    if (dirtyTracker != null) {
+      for (BeanWrapper bw : bws) {
+        dirtyTracker.snapshot(tableMapping, bw);
+      }
+    }
+  }
+
+
+  /**
+   * Deletes the object from the database.
+   *
    * @param obj Object to be deleted
    * @return number of records were deleted (1 or 0)
    */
@@ -547,12 +1509,7 @@ public final class JdbcTemplateMapper {
     Assert.notNull(obj, "Object must not be null");
 
     TableMapping tableMapping = mappingHelper.getTableMapping(obj.getClass());
-
-    String sql = "DELETE FROM " + tableMapping.fullyQualifiedTableName() + " WHERE "
-        + tableMapping.getIdColumnName() + "= ?";
-    BeanWrapper bw = getBeanWrapper(obj);
-    Object id = bw.getPropertyValue(tableMapping.getIdPropertyName());
-    return jdbcTemplate.update(sql, id);
+    return deleteInternal(obj, tableMapping, getDeleteSql(tableMapping));
   }
 
   /**
@@ -567,9 +1524,32 @@ public final class JdbcTemplateMapper {
     Assert.notNull(id, "id must not be null");
 
     TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
-    String sql = "DELETE FROM " + tableMapping.fullyQualifiedTableName() + " WHERE "
-        + tableMapping.getIdColumnName() + " = ?";
-    return jdbcTemplate.update(sql, id);
+    return deleteByIdInternal(id, tableMapping, getDeleteSql(tableMapping));
+  }
+
+  // used by delete() and PreparedDelete
+  Integer deleteInternal(Object obj, TableMapping tableMapping, String sql) {
+    BeanWrapper bw = getBeanWrapper(obj);
+    Object id = bw.getPropertyValue(tableMapping.getIdPropertyName());
+    if (dirtyTracker != null) {
+      dirtyTracker.remove(obj);
+    }
+    return deleteByIdInternal(id, tableMapping, sql);
+  }
+
+  // used by deleteById() and PreparedDelete
+  Integer deleteByIdInternal(Object id, TableMapping tableMapping, String sql) {
+    return jdbcTemplate.update(sql, new Object[] {id},
+        new int[] {tableMapping.getIdPropertyMapping().getColumnSqlDataType()});
+  }
+
+  private String getDeleteSql(TableMapping tableMapping) {
+    String sql = deleteSqlCache.get(tableMapping.getTableClassName());
+    if (sql == null) {
+      sql = buildDeleteSql(tableMapping);
+      deleteSqlCache.put(tableMapping.getTableClassName(), sql);
+    }
+    return sql;
   }
 
   /**
@@ -581,12 +1561,77 @@ public final class JdbcTemplateMapper {
    * @return the SelectMapper
    */
   public <T> SelectMapper<T> getSelectMapper(Class<T> type, String tableAlias) {
-    return new SelectMapper<T>(type, tableAlias, mappingHelper, conversionService);
+    return new SelectMapper<T>(type, tableAlias, mappingHelper, conversionService, jdbcTemplate);
+  }
+
+  /**
+   * Gets the RowMapper of the class for custom sql. A column is mapped to a property if its label
+   * is the column name of the property, the underscore case property name (the aliases generated
+   * by getBeanColumnsSql()) or the property name ignoring case. Column labels are resolved once per
+   * ResultSet and the values are read with the ResultSet getter for the property type, so it is
+   * much faster than BeanPropertyRowMapper. The RowMapper is thread safe. The label to property
+   * mappings are cached and a new RowMapper is returned for each call.
+   *
+   * <pre>
+   * String sql = "SELECT " + jdbcTemplateMapper.getBeanColumnsSql(Employee.class)
+   *     + " FROM employee WHERE ...";
+   * List&lt;Employee&gt; list =
+   *     jdbcTemplate.query(sql, jdbcTemplateMapper.getRowMapper(Employee.class));
+   * </pre>
+   *
+   * @param <T> the type
+   * @param clazz the class
+   * @return the RowMapper
+   */
+  public <T> RowMapper<T> getRowMapper(Class<T> clazz) {
+    Assert.notNull(clazz, "clazz must not be null");
+    TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
+    Map<String, PropertyMapping> labelToPropertyMapping = rowMapperCache.get(clazz.getName());
+    if (labelToPropertyMapping == null) {
+      labelToPropertyMapping = ModelRowMapper.labelToPropertyMapping(tableMapping);
+      rowMapperCache.put(clazz.getName(), labelToPropertyMapping);
+    }
+    return new ModelRowMapper<>(clazz, labelToPropertyMapping, getSelectMapperInternal(clazz,
+        tableMapping.getTableName(), MapperUtils.TYPE_TABLE_COL_ALIAS_PREFIX));
+  }
+
+  /**
+   * Runs the custom sql and maps the rows using getRowMapper(clazz). The sql has to select the id
+   * column. Rows with a null id are returned as null.
+   *
+   * <pre>
+   * List&lt;Employee&gt; list = jdbcTemplateMapper.query(Employee.class,
+   *     "SELECT e.* FROM employee e JOIN department d ON ... WHERE d.name = ?", "Sales");
+   *
+   * Named parameters are supported by passing a MapSqlParameterSource as the only param.
+   * </pre>
+   *
+   * @param <T> the type
+   * @param clazz the class
+   * @param sql the sql
+   * @param params the parameters of the sql. Could be a single MapSqlParameterSource
+   * @return the list of models
+   */
+  public <T> List<T> query(Class<T> clazz, String sql, Object... params) {
+    Assert.notNull(clazz, "clazz must not be null");
+    Assert.hasLength(sql, "sql must not be empty");
+    RowMapper<T> rowMapper = getRowMapper(clazz);
+    if (params != null && params.length == 1 && params[0] instanceof MapSqlParameterSource) {
+      return getReadNamedParameterJdbcTemplate()
+                 .query(sql, (MapSqlParameterSource) params[0], rowMapper);
+    }
+    return getReadJdbcTemplate().query(sql, rowMapper, params);
   }
 
   // internal use only
   <T> SelectMapper<T> getSelectMapperInternal(Class<T> type, String tableName, String columnAlias) {
-    return new SelectMapper<T>(type, tableName, columnAlias, mappingHelper, conversionService);
+    return getSelectMapperInternal(type, tableName, columnAlias, null);
+  }
+
+  <T> SelectMapper<T> getSelectMapperInternal(Class<T> type, String tableName, String columnAlias,
+      Projection projection) {
+    return new SelectMapper<T>(type, tableName, columnAlias, mappingHelper, conversionService,
+        jdbcTemplate, dirtyTracker, projection);
   }
 
   /**
@@ -618,7 +1663,7 @@ public final class JdbcTemplateMapper {
    * 
    */
   public String getBeanColumnsSql(Class<?> clazz) {
-    return getBeanColumnsSqlInternal(mappingHelper.getTableMapping(clazz), clazz);
+    return getBeanColumnsSqlInternal(mappingHelper.getTableMapping(clazz), clazz, null);
   }
 
   /**
@@ -651,51 +1696,15 @@ public final class JdbcTemplateMapper {
       ignoreAttrs.add(createdByPropMapping.getPropertyName());
     }
 
-    Set<String> params = new HashSet<>();
-    StringBuilder sqlBuilder = new StringBuilder("UPDATE ");
-    sqlBuilder.append(tableMapping.fullyQualifiedTableName());
-    sqlBuilder.append(" SET ");
-
-    PropertyMapping versionPropMapping = tableMapping.getVersionPropertyMapping();
-    boolean first = true;
+    List<String> propertyList = new ArrayList<>();
     for (PropertyMapping propMapping : tableMapping.getPropertyMappings()) {
-      if (ignoreAttrs.contains(propMapping.getPropertyName())) {
-        continue;
-      }
-      if (!first) {
-        sqlBuilder.append(", ");
-      } else {
-        first = false;
-      }
-      sqlBuilder.append(propMapping.getColumnName());
-      sqlBuilder.append(" = :");
-
-      if (versionPropMapping != null
-          && propMapping.getPropertyName().equals(versionPropMapping.getPropertyName())) {
-        sqlBuilder.append("incrementedVersion");
-        params.add("incrementedVersion");
-      } else {
-        sqlBuilder.append(propMapping.getPropertyName());
-        params.add(propMapping.getPropertyName());
+      if (!ignoreAttrs.contains(propMapping.getPropertyName()) && !propMapping.isGenerated()
+          && !propMapping.isLazyLob()) {
+        propertyList.add(propMapping.getPropertyName());
       }
     }
 
-    // the where clause
-    sqlBuilder.append(
-        " WHERE " + tableMapping.getIdColumnName() + " = :" + tableMapping.getIdPropertyName());
-    params.add(tableMapping.getIdPropertyName());
-    if (versionPropMapping != null) {
-      sqlBuilder.append(" AND ")
-                .append(versionPropMapping.getColumnName())
-                .append(" = :")
-                .append(versionPropMapping.getPropertyName());
-      params.add(versionPropMapping.getPropertyName());
-    }
-
-    String updateSql = sqlBuilder.toString();
-    SqlAndParams updateSqlAndParams = new SqlAndParams(updateSql, params);
-
-    return updateSqlAndParams;
+    return buildSqlAndParamsForUpdate(tableMapping, propertyList);
   }
 
   private SqlAndParams buildSqlAndParamsForUpdateProperties(TableMapping tableMapping,
@@ -724,12 +1733,19 @@ public final class JdbcTemplateMapper {
         throw new MapperException("Auto assign property " + tableMapping.getTableClassName() + "."
             + propertyName + " cannot be updated.");
       }
-    }
 
-    Set<String> params = new HashSet<>();
-    StringBuilder sqlBuilder = new StringBuilder("UPDATE ");
-    sqlBuilder.append(tableMapping.fullyQualifiedTableName());
-    sqlBuilder.append(" SET ");
+      // database generated properties cannot be updated
+      if (propertyMapping.isGenerated()) {
+        throw new MapperException("Generated property " + tableMapping.getTableClassName() + "."
+            + propertyName + " cannot be updated.");
+      }
+
+      // lazy LOB properties are read only
+      if (propertyMapping.isLazyLob()) {
+        throw new MapperException("Lazy LOB property " + tableMapping.getTableClassName() + "."
+            + propertyName + " cannot be updated.");
+      }
+    }
 
     List<String> propertyList = new ArrayList<>(Arrays.asList(propertyNames));
 
@@ -747,6 +1763,25 @@ public final class JdbcTemplateMapper {
       propertyList.add(versionPropMapping.getPropertyName());
     }
 
+    return buildSqlAndParamsForUpdate(tableMapping, propertyList);
+  }
+
+  // builds the update sql with positional parameters for the properties in propertyList. The
+  // @Column(generated = true) columns are returned by the update (RETURNING for PostgreSQL, a
+  // batch for SQL Server and the generated keys for others) except for MySQL.
+  private SqlAndParams buildSqlAndParamsForUpdate(TableMapping tableMapping,
+      List<String> propertyList) {
+    List<PropertyMapping> returnedProperties = new ArrayList<>();
+    if (!tableMapping.isMySql()) {
+      returnedProperties.addAll(tableMapping.getGeneratedPropertyMappings());
+    }
+
+    List<String> params = new ArrayList<>();
+    StringBuilder sqlBuilder = new StringBuilder("UPDATE ");
+    sqlBuilder.append(tableMapping.fullyQualifiedTableName());
+    sqlBuilder.append(" SET ");
+
+    PropertyMapping versionPropMapping = tableMapping.getVersionPropertyMapping();
     boolean first = true;
     for (String propertyName : propertyList) {
       PropertyMapping propMapping = tableMapping.getPropertyMappingByPropertyName(propertyName);
@@ -756,46 +1791,304 @@ public final class JdbcTemplateMapper {
         first = false;
       }
       sqlBuilder.append(propMapping.getColumnName());
-      sqlBuilder.append(" = :");
+      sqlBuilder.append(" = ?");
 
       if (versionPropMapping != null
           && propMapping.getPropertyName().equals(versionPropMapping.getPropertyName())) {
-        sqlBuilder.append("incrementedVersion");
         params.add("incrementedVersion");
       } else {
-        sqlBuilder.append(propMapping.getPropertyName());
         params.add(propMapping.getPropertyName());
       }
     }
 
+    boolean outputBatch = !returnedProperties.isEmpty() && tableMapping.isSqlServer();
+    if (outputBatch) {
+      sqlBuilder.append(" OUTPUT INSERTED.")
+                .append(tableMapping.getIdColumnName())
+                .append(" INTO ")
+                .append(OUTPUT_TABLE);
+    }
+
     // the where clause
-    sqlBuilder.append(
-        " WHERE " + tableMapping.getIdColumnName() + " = :" + tableMapping.getIdPropertyName());
+    sqlBuilder.append(" WHERE " + tableMapping.getIdColumnName() + " = ?");
     params.add(tableMapping.getIdPropertyName());
     if (versionPropMapping != null) {
-      sqlBuilder.append(" AND ")
-                .append(versionPropMapping.getColumnName())
-                .append(" = :")
-                .append(versionPropMapping.getPropertyName());
+      sqlBuilder.append(" AND ").append(versionPropMapping.getColumnName()).append(" = ?");
       params.add(versionPropMapping.getPropertyName());
     }
 
-    String updateSql = sqlBuilder.toString();
-    SqlAndParams updateSqlAndParams = new SqlAndParams(updateSql, params);
+    if (!returnedProperties.isEmpty() && tableMapping.isPostgreSql()) {
+      sqlBuilder.append(" RETURNING ").append(returnedColumns(returnedProperties, ""));
+    }
+
+    String sql = sqlBuilder.toString();
+    if (outputBatch) {
+      sql = sqlServerOutputBatch(tableMapping, sql, returnedProperties);
+    }
+    return new SqlAndParams(sql, params, tableMapping, returnedProperties);
+  }
+
+  // comma separated column names of the properties, each prefixed with prefix
+  private String returnedColumns(List<PropertyMapping> propMappings, String prefix) {
+    StringJoiner columns = new StringJoiner(", ");
+    for (PropertyMapping propMapping : propMappings) {
+      columns.add(prefix + propMapping.getColumnName());
+    }
+    return columns.toString();
+  }
+
+  // SQL Server does not allow an OUTPUT clause without INTO on tables with triggers, and OUTPUT
+  // returns the values from before AFTER triggers ran. The insert/update outputs the ids of the
+  // affected records into a table variable and the same batch selects the returned columns.
+  private String sqlServerOutputBatch(TableMapping tableMapping, String sql,
+      List<PropertyMapping> returnedProperties) {
+    String idColumnName = tableMapping.getIdColumnName();
+    String declareSql = outputTableSqlCache.get(tableMapping.getTableClassName());
+    if (declareSql == null) {
+      // the type of the id column as it would be declared, for example varchar(36)
+      String idColumnType = jdbcTemplate.queryForObject(
+          "SELECT system_type_name FROM sys.dm_exec_describe_first_result_set(?, NULL, 0)",
+          String.class,
+          "SELECT " + idColumnName + " FROM " + tableMapping.fullyQualifiedTableName());
+      declareSql =
+          "DECLARE " + OUTPUT_TABLE + " TABLE (" + idColumnName + " " + idColumnType + ")";
+      outputTableSqlCache.put(tableMapping.getTableClassName(), declareSql);
+    }
+    return declareSql + "; " + sql + "; SELECT " + returnedColumns(returnedProperties, "")
+        + " FROM " + tableMapping.fullyQualifiedTableName() + " WHERE " + idColumnName
+        + " IN (SELECT " + idColumnName + " FROM " + OUTPUT_TABLE + ")";
+  }
+
+  // auto increment id and @Column(generated = true) columns are left out since the database
+  // generates them. They are returned by the insert as generated keys. SQL Server only returns the
+  // identity column as a generated key so a batch is used when there are generated columns (see
+  // sqlServerOutputBatch()). MySQL only returns the auto increment id.
+  private InsertSqlAndParams buildSqlAndParamsForInsert(TableMapping tableMapping) {
+    Assert.notNull(tableMapping, "tableMapping must not be null");
+
+    List<PropertyMapping> params = new ArrayList<>();
+    List<PropertyMapping> returnedProperties = new ArrayList<>();
+    StringJoiner columns = new StringJoiner(", ", "(", ")");
+    StringJoiner values = new StringJoiner(", ", "(", ")");
+    for (PropertyMapping propMapping : tableMapping.getPropertyMappings()) {
+      if (propMapping.isIdAnnotation() && tableMapping.isIdAutoIncrement()) {
+        returnedProperties.add(0, propMapping);
+        continue;
+      }
+      if (propMapping.isGenerated()) {
+        if (!tableMapping.isMySql()) {
+          returnedProperties.add(propMapping);
+        }
+        continue;
+      }
+      if (propMapping.isLazyLob()) {
+        continue;
+      }
+      columns.add(propMapping.getColumnName());
+      values.add("?");
+      params.add(propMapping);
+    }
+
+    boolean outputBatch = tableMapping.isSqlServer() && tableMapping.hasGeneratedProperties();
+    String sql = "INSERT INTO " + tableMapping.fullyQualifiedTableName() + " " + columns
+        + (outputBatch
+            ? " OUTPUT INSERTED." + tableMapping.getIdColumnName() + " INTO " + OUTPUT_TABLE
+            : "")
+        + " VALUES " + values;
+    if (outputBatch) {
+      sql = sqlServerOutputBatch(tableMapping, sql, returnedProperties);
+    }
+    return new InsertSqlAndParams(sql, params, returnedProperties, outputBatch);
+  }
+
+  private SqlAndParams buildSqlAndParamsForUpsert(TableMapping tableMapping) {
+    Assert.notNull(tableMapping, "tableMapping must not be null");
+
+    boolean postgres = tableMapping.isPostgreSql();
+    boolean mysql = tableMapping.isMySql();
+    boolean oracle = tableMapping.isOracle();
+    boolean sqlServer = tableMapping.isSqlServer();
+    if (!(postgres || mysql || oracle || sqlServer || tableMapping.isH2())) {
+      throw new MapperException(
+          "upsert() is not supported for database " + tableMapping.getCommonDatabaseName());
+    }
+
+    PropertyMapping idPropMapping = tableMapping.getIdPropertyMapping();
+    PropertyMapping versionPropMapping = tableMapping.getVersionPropertyMapping();
+
+    // insert columns and their parameters
+    StringJoiner insertColumns = new StringJoiner(", ", "(", ")");
+    StringJoiner insertValues = new StringJoiner(", ", "(", ")");
+    List<String> insertParams = new ArrayList<>();
+    for (PropertyMapping propMapping : tableMapping.getPropertyMappings()) {
+      if (propMapping.isGenerated() || propMapping.isLazyLob()) {
+        continue;
+      }
+      insertColumns.add(propMapping.getColumnName());
+      insertValues.add("?");
+      // an inserted record starts at version 1 whatever the version of the object
+      insertParams.add(
+          propMapping.isVersionAnnotation() ? "initialVersion" : propMapping.getPropertyName());
+    }
+
+    // columns updated when the record exists. The version column is last since MySQL assigns
+    // the columns in order and the version check has to see the old version.
+    List<PropertyMapping> updatePropMappings = new ArrayList<>();
+    for (PropertyMapping propMapping : tableMapping.getPropertyMappings()) {
+      if (!(propMapping.isIdAnnotation() || propMapping.isCreatedOnAnnotation()
+          || propMapping.isCreatedByAnnotation() || propMapping.isVersionAnnotation()
+          || propMapping.isGenerated() || propMapping.isLazyLob())) {
+        updatePropMappings.add(propMapping);
+      }
+    }
+    if (versionPropMapping != null) {
+      updatePropMappings.add(versionPropMapping);
+    }
+
+    // params are added in the order of the '?' in the sql
+    List<String> params = new ArrayList<>();
+    StringJoiner updateSet = new StringJoiner(", ");
+    StringBuilder sqlBuilder = new StringBuilder();
+    if (postgres) {
+      List<String> updateParams = new ArrayList<>();
+      for (PropertyMapping propMapping : updatePropMappings) {
+        if (propMapping.isVersionAnnotation()) {
+          updateSet.add(propMapping.getColumnName() + " = ?");
+          updateParams.add("incrementedVersion");
+        } else {
+          updateSet.add(
+              propMapping.getColumnName() + " = EXCLUDED." + propMapping.getColumnName());
+        }
+      }
+      sqlBuilder.append("INSERT INTO ")
+                .append(tableMapping.fullyQualifiedTableName())
+                .append(" AS t ")
+                .append(insertColumns)
+                .append(" VALUES ")
+                .append(insertValues)
+                .append(" ON CONFLICT (")
+                .append(idPropMapping.getColumnName())
+                .append(")");
+      params.addAll(insertParams);
+      if (updatePropMappings.isEmpty()) {
+        sqlBuilder.append(" DO NOTHING");
+      } else {
+        sqlBuilder.append(" DO UPDATE SET ").append(updateSet);
+        params.addAll(updateParams);
+        if (versionPropMapping != null) {
+          sqlBuilder.append(" WHERE t.").append(versionPropMapping.getColumnName()).append(" = ?");
+          params.add(versionPropMapping.getPropertyName());
+        }
+      }
+    } else if (mysql) {
+      params.addAll(insertParams);
+      for (PropertyMapping propMapping : updatePropMappings) {
+        String columnName = propMapping.getColumnName();
+        if (versionPropMapping == null) {
+          updateSet.add(columnName + " = VALUES(" + columnName + ")");
+        } else if (propMapping.isVersionAnnotation()) {
+          updateSet.add(columnName + " = IF(" + columnName + " = ?, ?, " + columnName + ")");
+          params.add(versionPropMapping.getPropertyName());
+          params.add("incrementedVersion");
+        } else {
+          // MySQL has no where clause for ON DUPLICATE KEY UPDATE
+          updateSet.add(columnName + " = IF(" + versionPropMapping.getColumnName()
+              + " = ?, VALUES(" + columnName + "), " + columnName + ")");
+          params.add(versionPropMapping.getPropertyName());
+        }
+      }
+      if (updatePropMappings.isEmpty()) {
+        updateSet.add(idPropMapping.getColumnName() + " = " + idPropMapping.getColumnName());
+      }
+      sqlBuilder.append("INSERT INTO ")
+                .append(tableMapping.fullyQualifiedTableName())
+                .append(" ")
+                .append(insertColumns)
+                .append(" VALUES ")
+                .append(insertValues)
+                .append(" ON DUPLICATE KEY UPDATE ")
+                .append(updateSet);
+    } else {
+      List<String> updateParams = new ArrayList<>();
+      for (PropertyMapping propMapping : updatePropMappings) {
+        updateSet.add(propMapping.getColumnName() + " = ?");
+        updateParams.add(propMapping.isVersionAnnotation() ? "incrementedVersion"
+            : propMapping.getPropertyName());
+      }
+      String versionCheck =
+          versionPropMapping == null ? null : "t." + versionPropMapping.getColumnName() + " = ?";
+      sqlBuilder.append("MERGE INTO ")
+                .append(tableMapping.fullyQualifiedTableName())
+                .append(" t USING (SELECT ? AS ")
+                .append(idPropMapping.getColumnName())
+                .append(oracle ? " FROM dual) s" : ") s")
+                .append(" ON (t.")
+                .append(idPropMapping.getColumnName())
+                .append(" = s.")
+                .append(idPropMapping.getColumnName())
+                .append(")");
+      params.add(idPropMapping.getPropertyName());
+      if (!updatePropMappings.isEmpty()) {
+        sqlBuilder.append(" WHEN MATCHED");
+        if (versionCheck != null && !oracle) {
+          sqlBuilder.append(" AND ").append(versionCheck);
+          params.add(versionPropMapping.getPropertyName());
+        }
+        sqlBuilder.append(" THEN UPDATE SET ").append(updateSet);
+        params.addAll(updateParams);
+        // oracle does not support 'WHEN MATCHED AND' but has a where clause for the update
+        if (versionCheck != null && oracle) {
+          sqlBuilder.append(" WHERE ").append(versionCheck);
+          params.add(versionPropMapping.getPropertyName());
+        }
+      }
+      sqlBuilder.append(" WHEN NOT MATCHED THEN INSERT ")
+                .append(insertColumns)
+                .append(" VALUES ")
+                .append(insertValues);
+      params.addAll(insertParams);
+      // sql server needs merge statements to be terminated
+      if (sqlServer) {
+        sqlBuilder.append(";");
+      }
+    }
+
+    return new SqlAndParams(sqlBuilder.toString(), params, tableMapping);
+  }
 
-    return updateSqlAndParams;
+  private String buildDeleteSql(TableMapping tableMapping) {
+    return "DELETE FROM " + tableMapping.fullyQualifiedTableName() + " WHERE "
+        + tableMapping.getIdColumnName() + " = ?";
   }
 
-  private <T> String getBeanColumnsSqlInternal(TableMapping tableMapping, Class<T> clazz) {
-    String columnsSql = beanColumnsSqlCache.get(clazz.getName());
+  private void validateProjection(TableMapping tableMapping, Class<?> clazz,
+      Projection projection) {
+    if (projection != null) {
+      String invalidPropertyName = projection.getInvalidPropertyName(tableMapping);
+      if (invalidPropertyName != null) {
+        throw new MapperException("Invalid projection property " + clazz.getSimpleName() + "."
+            + invalidPropertyName + ". It does not have a corresponding column in database.");
+      }
+    }
+  }
+
+  private <T> String getBeanColumnsSqlInternal(TableMapping tableMapping, Class<T> clazz,
+      Projection projection) {
+    String cacheKey =
+        projection == null ? clazz.getName() : clazz.getName() + "-" + projection.getCacheKey();
+    String columnsSql = beanColumnsSqlCache.get(cacheKey);
     if (columnsSql == null) {
+      validateProjection(tableMapping, clazz, projection);
       StringJoiner sj = new StringJoiner(", ", " ", " ");
       for (PropertyMapping propMapping : tableMapping.getPropertyMappings()) {
-        sj.add(propMapping.getColumnName() + " as "
-            + MapperUtils.toUnderscoreName(propMapping.getPropertyName()));
+        if (propMapping.isSelectable()
+            && (projection == null || projection.isSelected(propMapping))) {
+          sj.add(propMapping.getColumnName() + " as "
+              + MapperUtils.toUnderscoreName(propMapping.getPropertyName()));
+        }
       }
       columnsSql = sj.toString();
-      beanColumnsSqlCache.put(clazz.getName(), columnsSql);
+      beanColumnsSqlCache.put(cacheKey, columnsSql);
     }
     return columnsSql;
   }
@@ -806,25 +2099,44 @@ public final class JdbcTemplateMapper {
     return bw;
   }
 
-  private String tableNameForSimpleJdbcInsert(TableMapping tableMapping) {
-    if (tableMapping.getSchemaName() != null) {
-      return tableMapping.getTableName();
-    } else {
-      return tableMapping.fullyQualifiedTableName();
+
+  // the JdbcTemplate reads run on. See withReadReplicas()
+  JdbcTemplate getReadJdbcTemplate() {
+    if (readReplicas == null || readReplicas.usePrimary()) {
+      return jdbcTemplate;
     }
+    return readReplicas.selectJdbcTemplate();
   }
 
-  // will return null when updateProperties property count is more than
-  // CACHEABLE_UPDATE_PROPERTY_COUNT
-  private String getUpdatePropertiesCacheKey(Object obj, String[] propertyNames) {
-    if (propertyNames.length > CACHEABLE_UPDATE_PROPERTIES_COUNT) {
-      return null;
-    } else {
-      return obj.getClass().getName() + "-" + String.join("-", propertyNames);
+  NamedParameterJdbcTemplate getReadNamedParameterJdbcTemplate() {
+    if (readReplicas == null || readReplicas.usePrimary()) {
+      return npJdbcTemplate;
+    }
+    return readReplicas.selectNamedParameterJdbcTemplate();
+  }
+
+  // runs a read operation with all its statements on one replica. See ReadReplicas.onReplica()
+  <R> R executeRead(Supplier<R> operation) {
+    if (readReplicas == null) {
+      return operation.get();
     }
+    return readReplicas.onReplica(operation);
   }
 
-  SimpleCache<String, SimpleJdbcInsert> getInsertCache() {
+  // runs the operation on a replica returned by getBoundReadReplica(). null runs it as is.
+  <R> R executeRead(JdbcTemplate replica, Supplier<R> operation) {
+    if (readReplicas == null) {
+      return operation.get();
+    }
+    return readReplicas.onReplica(replica, operation);
+  }
+
+  // the replica the current read operation runs on. null when not on a replica.
+  JdbcTemplate getBoundReadReplica() {
+    return readReplicas == null ? null : readReplicas.getBoundReplica();
+  }
+
+  SimpleCache<String, InsertSqlAndParams> getInsertCache() {
     return insertCache;
   }
 
@@ -832,10 +2144,22 @@ public final class JdbcTemplateMapper {
     return updateCache;
   }
 
-  SimpleCache<String, SqlAndParams> getUpdatePropertiesCache() {
+  SimpleCache<UpdatePropertiesCacheKey, SqlAndParams> getUpdatePropertiesCache() {
     return updatePropertiesCache;
   }
 
+  SimpleCache<String, SqlAndParams> getUpsertCache() {
+    return upsertCache;
+  }
+
+  SimpleCache<String, String> getDeleteSqlCache() {
+    return deleteSqlCache;
+  }
+
+  SimpleCache<String, String> getGeneratedColumnsSqlCache() {
+    return generatedColumnsSqlCache;
+  }
+
   SimpleCache<String, String> getBeanColumnsSqlCache() {
     return beanColumnsSqlCache;
   }
@@ -852,4 +2176,50 @@ public final class JdbcTemplateMapper {
     return queryCountSqlCache;
   }
 
+  SimpleCache<String, MovingAverage> getQueryHasManyFanoutCache() {
+    return queryHasManyFanoutCache;
+  }
+
+  SimpleCache<String, MovingAverage> getQueryRowCountCache() {
+    return queryRowCountCache;
+  }
+
+  SimpleCache<String, Map<String, PropertyMapping>> getRowMapperCache() {
+    return rowMapperCache;
+  }
+
+  DirtyTracker getDirtyTracker() {
+    return dirtyTracker;
+  }
+
+  // updateProperties() cache key. Avoids building a key string on every call.
+  static final class UpdatePropertiesCacheKey {
+    private final Class<?> clazz;
+    private final String[] propertyNames;
+    private final int hash;
+
+    UpdatePropertiesCacheKey(Class<?> clazz, String[] propertyNames) {
+      this.clazz = clazz;
+      this.propertyNames = propertyNames;
+      this.hash = 31 * clazz.hashCode() + Arrays.hashCode(propertyNames);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof UpdatePropertiesCacheKey)) {
+        return false;
+      }
+      UpdatePropertiesCacheKey other = (UpdatePropertiesCacheKey) o;
+      return clazz == other.clazz && Arrays.equals(propertyNames, other.propertyNames);
+    }
+  }
+
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.concurrent.locks.ReentrantLock;
+import io.github.jdbctemplatemapper.exception.MapperException;
+
+/**
+ * A lazy handle for a character LOB column (CLOB, text etc). The column is not part of the select
+ * when the model is queried and is only read from the database when accessed.
+ *
+ * <pre>
+ * &#64;Column
+ * private LazyClob notes;
+ *
+ * String text = order.getNotes().getString(); // loads and caches the value
+ * order.getNotes().transferTo(writer);        // streams the value without caching it
+ * </pre>
+ *
+ * LazyClob properties are read only. insert() and update() do not write them. To write the column
+ * use a model with a Reader property for the column which is bound as a stream.
+ *
+ * @author ajoseph
+ */
+public final class LazyClob {
+  private final LobLoader loader;
+  private String value;
+  // written after the value so a thread which sees it set also sees the value
+  private volatile boolean loaded = false;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  LazyClob(LobLoader loader) {
+    this.loader = loader;
+  }
+
+  /**
+   * Returns the value of the column. The value is read from the database on the first call and
+   * cached.
+   *
+   * @return the value of the column. null if the column is null
+   */
+  public String getString() {
+    // double checked so only the first call takes the lock. ReentrantLock instead of synchronized
+    // so virtual threads do not pin their carrier thread while the value is read.
+    if (!loaded) {
+      lock.lock();
+      try {
+        if (!loaded) {
+          value = loader.load(rs -> rs.getString(1));
+          loaded = true;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Streams the value of the column to the writer without holding the whole value in memory. Uses
+   * the cached value if it has already been loaded.
+   *
+   * @param out the writer
+   * @return the number of characters written
+   */
+  public long transferTo(Writer out) {
+    String cachedValue = getCachedValue();
+    try {
+      if (cachedValue != null) {
+        out.write(cachedValue);
+        return cachedValue.length();
+      }
+    } catch (IOException e) {
+      throw new MapperException(e);
+    }
+    Long cnt = loader.load(rs -> {
+      try (Reader in = rs.getCharacterStream(1)) {
+        if (in == null) {
+          return 0L;
+        }
+        long total = 0;
+        char[] buffer = new char[8192];
+        int len;
+        while ((len = in.read(buffer)) != -1) {
+          out.write(buffer, 0, len);
+          total += len;
+        }
+        return total;
+      } catch (IOException e) {
+        throw new MapperException(e);
+      }
+    });
+    return cnt == null ? 0 : cnt;
+  }
+
+  /**
+   * Whether the value has been read from the database with getString().
+   *
+   * @return true if loaded
+   */
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  private String getCachedValue() {
+    return loaded ? value : null;
+  }
+}
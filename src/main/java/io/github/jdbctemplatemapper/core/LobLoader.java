@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+/**
+ * Loads the column of a LazyBlob/LazyClob property on demand. The sql is only built when the value
+ * is first accessed so hydration of models with lazy LOB properties stays cheap.
+ *
+ * @author ajoseph
+ */
+class LobLoader {
+  private final JdbcTemplate jdbcTemplate;
+  private final TableMapping tableMapping;
+  private final PropertyMapping propMapping;
+  private final Object id;
+
+  LobLoader(JdbcTemplate jdbcTemplate, TableMapping tableMapping, PropertyMapping propMapping,
+      Object id) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.tableMapping = tableMapping;
+    this.propMapping = propMapping;
+    this.id = id;
+  }
+
+  // sets the lazy handles of the LazyBlob/LazyClob properties of the object. The id property of
+  // the object has to be populated.
+  static void populateLazyLobs(JdbcTemplate jdbcTemplate, TableMapping tableMapping,
+      BeanWrapper bw) {
+    Object id = bw.getPropertyValue(tableMapping.getIdPropertyName());
+    for (PropertyMapping propMapping : tableMapping.getLazyLobPropertyMappings()) {
+      bw.setPropertyValue(propMapping.getPropertyName(),
+          newLazyLob(jdbcTemplate, tableMapping, propMapping, id));
+    }
+  }
+
+  // the LazyBlob/LazyClob handle of the property for the record with the id
+  static Object newLazyLob(JdbcTemplate jdbcTemplate, TableMapping tableMapping,
+      PropertyMapping propMapping, Object id) {
+    LobLoader loader = new LobLoader(jdbcTemplate, tableMapping, propMapping, id);
+    return propMapping.getPropertyType() == LazyBlob.class ? new LazyBlob(loader)
+        : new LazyClob(loader);
+  }
+
+  // runs the extractor on the column of the record. The result set is positioned on the record.
+  // Returns null if the record no longer exists.
+  <R> R load(ResultSetExtractor<R> rse) {
+    String sql = "SELECT " + propMapping.getColumnName() + " FROM "
+        + tableMapping.fullyQualifiedTableName() + " WHERE " + tableMapping.getIdColumnName()
+        + " = ?";
+    return jdbcTemplate.query(sql, new Object[] {id},
+        new int[] {tableMapping.getIdPropertyMapping().getColumnSqlDataType()},
+        rs -> rs.next() ? rse.extractData(rs) : null);
+  }
+}
@@ -68,6 +68,14 @@ class MapperUtils {
     return throughJoinTable;
   }
 
+  // wraps the sql (FROM clause onwards) in an EXISTS so the database stops at the first matching
+  // record instead of counting all of them. The query returns 1 if a record exists, else 0.
+  // Oracle does not allow a select without a FROM clause.
+  public static String existsSql(String fromSql, TableMapping tableMapping) {
+    return "SELECT CASE WHEN EXISTS (SELECT 1 " + fromSql + ") THEN 1 ELSE 0 END"
+        + (tableMapping.isOracle() ? " FROM DUAL" : "");
+  }
+
   /**
    * Converts underscore case to camel case. Ex: user_last_name gets converted to userLastName.
    *
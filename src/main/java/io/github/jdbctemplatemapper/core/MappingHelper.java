@@ -14,6 +14,7 @@
 package io.github.jdbctemplatemapper.core;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
@@ -22,6 +23,8 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.PropertyAccessorFactory;
@@ -43,6 +46,10 @@ import io.github.jdbctemplatemapper.annotation.Table;
 import io.github.jdbctemplatemapper.annotation.UpdatedBy;
 import io.github.jdbctemplatemapper.annotation.UpdatedOn;
 import io.github.jdbctemplatemapper.annotation.Version;
+import io.github.jdbctemplatemapper.converter.EnumNameConverter;
+import io.github.jdbctemplatemapper.converter.IJsonCodec;
+import io.github.jdbctemplatemapper.converter.IPropertyConverter;
+import io.github.jdbctemplatemapper.converter.JsonConverter;
 import io.github.jdbctemplatemapper.exception.AnnotationException;
 import io.github.jdbctemplatemapper.exception.MapperException;
 
@@ -57,6 +64,7 @@ class MappingHelper {
   private SimpleCache<String, TableMapping> modelToTableMappingCache = new SimpleCache<>();
 
   private String databaseProductName;
+  private final ReentrantLock databaseProductNameLock = new ReentrantLock();
 
   private final JdbcTemplate jdbcTemplate;
   private final String schemaName;
@@ -64,6 +72,8 @@ class MappingHelper {
 
   private boolean includeSynonyms = false;
 
+  private IJsonCodec jsonCodec;
+
   /**
    * Constructor.
    *
@@ -83,6 +93,10 @@ class MappingHelper {
     this.includeSynonyms = true;
   }
 
+  public void setJsonCodec(IJsonCodec jsonCodec) {
+    this.jsonCodec = jsonCodec;
+  }
+
   public String getSchemaName() {
     return schemaName;
   }
@@ -136,9 +150,14 @@ class MappingHelper {
             throw new AnnotationException(colName + " column not found in table " + tableName
                 + " for model property " + clazz.getSimpleName() + "." + propertyName);
           }
-          propNameToPropertyMapping.put(propertyName,
-              new PropertyMapping(propertyName, field.getType(), colName,
-                  columnNameToColumnInfo.get(colName).getColumnSqlDataType()));
+          PropertyMapping propMapping = new PropertyMapping(propertyName, field.getType(),
+              colName, columnNameToColumnInfo.get(colName).getColumnSqlDataType());
+          propMapping.setGenerated(colAnnotation.generated());
+          if (colAnnotation.converter() != IPropertyConverter.class) {
+            propMapping.setConverter(
+                newConverter(colAnnotation.converter(), field.getType(), clazz, propertyName));
+          }
+          propNameToPropertyMapping.put(propertyName, propMapping);
         }
 
         processAnnotation(Id.class, field, tableName, propNameToPropertyMapping,
@@ -157,6 +176,7 @@ class MappingHelper {
 
       List<PropertyMapping> propertyMappings = new ArrayList<>(propNameToPropertyMapping.values());
       validateAnnotations(propertyMappings, clazz);
+      assignDefaultConverters(propertyMappings);
 
       tableMapping = new TableMapping(clazz, tableName, tableColumnInfo.getSchemaName(),
           tableColumnInfo.getCatalogName(), JdbcUtils.commonDatabaseName(getDatabaseProductName()),
@@ -167,22 +187,80 @@ class MappingHelper {
     return tableMapping;
   }
 
+  // creates the converter of @Column(converter = ...). Converters are created once per property
+  // when the mapping is built so the per row conversions do no lookups.
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private IPropertyConverter<?, ?> newConverter(Class<? extends IPropertyConverter> converterClass,
+      Class<?> propertyType, Class<?> clazz, String propertyName) {
+    try {
+      if (converterClass == JsonConverter.class) {
+        return new JsonConverter(propertyType, jsonCodec);
+      }
+      Constructor<? extends IPropertyConverter> constructor = null;
+      try {
+        constructor = converterClass.getConstructor(Class.class);
+        return constructor.newInstance(propertyType);
+      } catch (NoSuchMethodException e) {
+        constructor = converterClass.getConstructor();
+        return constructor.newInstance();
+      }
+    } catch (MapperException e) {
+      throw new MapperException("For property " + clazz.getSimpleName() + "." + propertyName
+          + " failed to create converter. " + e.getMessage(), e);
+    } catch (Exception e) {
+      throw new MapperException("For property " + clazz.getSimpleName() + "." + propertyName
+          + " failed to create converter " + converterClass.getName()
+          + ". It needs a public constructor which takes the property type (Class) or a public no"
+          + " argument constructor.", e);
+    }
+  }
+
+  // enum properties mapped to character columns are converted by name using a precomputed lookup
+  // instead of going through the ConversionService for every row.
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private void assignDefaultConverters(List<PropertyMapping> propertyMappings) {
+    for (PropertyMapping propMapping : propertyMappings) {
+      if (propMapping.getConverter() == null && !propMapping.isIdAnnotation()
+          && propMapping.getPropertyType().isEnum()
+          && ColumnExtractor.isCharacterType(propMapping.getColumnSqlDataType())) {
+        propMapping.setConverter(new EnumNameConverter(propMapping.getPropertyType()));
+      }
+    }
+  }
+
   private IdPropertyInfo getIdPropertyInfo(Class<?> clazz, List<Field> fields) {
     Id idAnnotation = null;
     String idPropertyName = null;
-    boolean isIdAutoIncrement = false;
     for (Field field : fields) {
       idAnnotation = AnnotationUtils.findAnnotation(field, Id.class);
       if (idAnnotation != null) {
         idPropertyName = field.getName();
         if (idAnnotation.type() == IdType.AUTO_INCREMENT) {
-          if (Number.class.isAssignableFrom(field.getType())) {
-            isIdAutoIncrement = true;
-          } else {
+          if (!Number.class.isAssignableFrom(field.getType())) {
             throw new AnnotationException(clazz.getSimpleName() + "." + idPropertyName
                 + " is auto increment id so has to be a non-primitive Number object.");
           }
         }
+        if (idAnnotation.type() == IdType.SEQUENCE) {
+          if (Long.class != field.getType() && Integer.class != field.getType()) {
+            throw new AnnotationException(clazz.getSimpleName() + "." + idPropertyName
+                + " is a sequence id so has to be of type Long or Integer.");
+          }
+          if (MapperUtils.isEmpty(idAnnotation.sequence())) {
+            throw new AnnotationException(clazz.getSimpleName() + "." + idPropertyName
+                + " is a sequence id so @Id sequence is required.");
+          }
+          if (idAnnotation.allocationSize() < 1) {
+            throw new AnnotationException(clazz.getSimpleName() + "." + idPropertyName
+                + " @Id allocationSize has to be greater than 0.");
+          }
+        }
+        if (idAnnotation.type() == IdType.UUID_V7) {
+          if (UUID.class != field.getType() && String.class != field.getType()) {
+            throw new AnnotationException(clazz.getSimpleName() + "." + idPropertyName
+                + " is a UUID_V7 id so has to be of type UUID or String.");
+          }
+        }
         break;
       }
     }
@@ -191,7 +269,8 @@ class MappingHelper {
           "@Id annotation not found in class " + clazz.getSimpleName() + " . It is required");
     }
 
-    return new IdPropertyInfo(clazz, idPropertyName, isIdAutoIncrement);
+    return new IdPropertyInfo(clazz, idPropertyName, idAnnotation.type(),
+        idAnnotation.sequence(), idAnnotation.allocationSize());
   }
 
   private TableColumnInfo getTableColumnInfo(Class<?> clazz) {
@@ -237,8 +316,10 @@ class MappingHelper {
     if (this.databaseProductName != null) {
       return this.databaseProductName;
     } else {
-      // this synchronized block only runs once
-      synchronized (this) {
+      // this locked block only runs once. ReentrantLock instead of synchronized so virtual threads
+      // do not pin their carrier thread during the database call.
+      databaseProductNameLock.lock();
+      try {
         if (this.databaseProductName == null) {
           try {
             this.databaseProductName = JdbcUtils.extractDatabaseMetaData(
@@ -254,6 +335,8 @@ class MappingHelper {
           }
         }
         return this.databaseProductName;
+      } finally {
+        databaseProductNameLock.unlock();
       }
     }
   }
@@ -332,6 +415,11 @@ class MappingHelper {
         conflictCnt++;
       }
 
+      // database generated values cannot be assigned by the mapper
+      if (propMapping.isGenerated()) {
+        conflictCnt++;
+      }
+
       if (propMapping.isVersionAnnotation() && Integer.class != propMapping.getPropertyType()) {
         throw new AnnotationException("@Version requires the type of property "
             + clazz.getSimpleName() + "." + propMapping.getPropertyName() + " to be Integer");
@@ -349,6 +437,12 @@ class MappingHelper {
             + clazz.getSimpleName() + "." + propMapping.getPropertyName() + " to be LocalDateTime");
       }
 
+      if (propMapping.getConverter() != null
+          && (propMapping.isIdAnnotation() || propMapping.isVersionAnnotation())) {
+        throw new AnnotationException("@Column converter is not supported for @Id and @Version"
+            + " property " + clazz.getSimpleName() + "." + propMapping.getPropertyName());
+      }
+
       if (conflictCnt > 1) {
         throw new AnnotationException(clazz.getSimpleName() + "." + propMapping.getPropertyName()
             + " has multiple annotations that conflict");
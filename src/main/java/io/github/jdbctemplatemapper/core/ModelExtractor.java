@@ -0,0 +1,286 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.BeanUtils;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+import io.github.jdbctemplatemapper.exception.QueryException;
+
+/**
+ * A ResultSetExtractor which assembles models of custom multi join sql from their SelectMappers.
+ * The root SelectMapper is the type returned. The other SelectMappers are added with the property
+ * of their parent model they populate. The parent can be the root or any SelectMapper added before
+ * so children, grandchildren and siblings can be populated with a single query.
+ *
+ * <p>The models are built in a single pass of the ResultSet. Each SelectMapper has its own id to
+ * model map so a model is built only once even when its row repeats, like a product referenced by
+ * multiple order lines.
+ *
+ * <pre>
+ * ModelExtractor&lt;Order&gt; extractor =
+ *   ModelExtractor.type(orderSelectMapper)
+ *                 .hasOne(orderSelectMapper, customerSelectMapper, "customer")
+ *                 .hasMany(orderSelectMapper, orderLineSelectMapper, "orderLines")
+ *                 .hasOne(orderLineSelectMapper, productSelectMapper, "product");
+ *
+ * List&lt;Order&gt; orders = jdbcTemplate.query(sql, extractor, "COMPLETE");
+ * </pre>
+ *
+ * <p>Once configured the extractor is thread safe and can be reused.
+ *
+ * @author ajoseph
+ */
+public class ModelExtractor<T> implements ResultSetExtractor<List<T>> {
+  private static final int INITIAL_MAP_SIZE = 16;
+
+  // nodes.get(0) is the root. A parent is always before its children.
+  private final List<Node> nodes = new ArrayList<>();
+
+  private ModelExtractor(SelectMapper<T> selectMapper) {
+    Assert.notNull(selectMapper, "selectMapper cannot be null");
+    nodes.add(new Node(selectMapper, -1, null, false, null));
+  }
+
+  /**
+   * The SelectMapper of the type the extractor returns.
+   *
+   * @param <T> the type
+   * @param selectMapper the SelectMapper of the type
+   * @return the ModelExtractor
+   */
+  public static <T> ModelExtractor<T> type(SelectMapper<T> selectMapper) {
+    return new ModelExtractor<T>(selectMapper);
+  }
+
+  /**
+   * The models built by relatedSelectMapper populate the property of the models built by
+   * parentSelectMapper. The property is set once for each parent model.
+   *
+   * @param parentSelectMapper the SelectMapper of the parent. Has to be the root SelectMapper or a
+   *        SelectMapper added before.
+   * @param relatedSelectMapper the SelectMapper of the related model
+   * @param propertyName the property of the parent which gets populated
+   * @return the ModelExtractor
+   */
+  public ModelExtractor<T> hasOne(SelectMapper<?> parentSelectMapper,
+      SelectMapper<?> relatedSelectMapper, String propertyName) {
+    addNode(parentSelectMapper, relatedSelectMapper, propertyName, false);
+    return this;
+  }
+
+  /**
+   * The models built by relatedSelectMapper are added to the collection property of the models
+   * built by parentSelectMapper. The collection has to be initialized (cannot be null). A related
+   * model shared by multiple parents (many to many) is added to the collection of each of them, and
+   * only once even when the rows of the parent repeat it.
+   *
+   * @param parentSelectMapper the SelectMapper of the parent. Has to be the root SelectMapper or a
+   *        SelectMapper added before.
+   * @param relatedSelectMapper the SelectMapper of the related model
+   * @param propertyName the collection property of the parent which gets populated
+   * @return the ModelExtractor
+   */
+  public ModelExtractor<T> hasMany(SelectMapper<?> parentSelectMapper,
+      SelectMapper<?> relatedSelectMapper, String propertyName) {
+    addNode(parentSelectMapper, relatedSelectMapper, propertyName, true);
+    return this;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<T> extractData(ResultSet rs) throws SQLException {
+    int cnt = nodes.size();
+    List<ModelIdMap<Object>> idToModelMaps = new ArrayList<>(cnt);
+    List<Map<Object, ParentCollection>> parentToCollectionMaps = new ArrayList<>(cnt);
+    String[] idColumnLabels = new String[cnt];
+    for (int i = 0; i < cnt; i++) {
+      Node node = nodes.get(i);
+      idToModelMaps
+          .add(ModelIdMap.forIdType(node.selectMapper.getModelIdType(), INITIAL_MAP_SIZE));
+      parentToCollectionMaps.add(node.hasMany ? new IdentityHashMap<>() : null);
+      idColumnLabels[i] = node.selectMapper.getResultSetModelIdColumnLabel();
+    }
+
+    Object[] models = new Object[cnt];
+    boolean[] newModels = new boolean[cnt];
+    while (rs.next()) {
+      for (int i = 0; i < cnt; i++) {
+        Node node = nodes.get(i);
+        models[i] = null;
+        newModels[i] = false;
+        Object parent = null;
+        if (node.parentIndex >= 0) {
+          parent = models[node.parentIndex];
+          if (parent == null) {
+            // no parent so nothing to populate for this node and its children
+            continue;
+          }
+          if (!node.hasMany && !node.hasChildren && !newModels[node.parentIndex]) {
+            // hasOne property is already set and the model is not needed by any children
+            continue;
+          }
+        }
+        ModelIdMap<Object> idToModelMap = idToModelMaps.get(i);
+        int size = idToModelMap.size();
+        models[i] = idToModelMap.computeIfAbsent(rs, idColumnLabels[i],
+            node.selectMapper.getIdPropertyMapping(), node.selectMapper::buildModelObject);
+        newModels[i] = idToModelMap.size() > size;
+
+        if (parent == null) {
+          continue; // the root
+        }
+        if (node.hasMany) {
+          Map<Object, ParentCollection> parentToCollectionMap = parentToCollectionMaps.get(i);
+          ParentCollection parentCollection = parentToCollectionMap.get(parent);
+          if (parentCollection == null) {
+            parentCollection = new ParentCollection(getCollection(node, parent));
+            parentToCollectionMap.put(parent, parentCollection);
+          }
+          // models are shared across parents so membership is tracked for each parent
+          if (models[i] != null && parentCollection.members.add(models[i])) {
+            parentCollection.collection.add(models[i]);
+          }
+        } else if (newModels[node.parentIndex] && models[i] != null) {
+          ReflectionUtils.invokeMethod(node.accessMethod, parent, models[i]);
+        }
+      }
+    }
+    return (List<T>) idToModelMaps.get(0).values();
+  }
+
+  // the collection is resolved once for each parent. First time seeing the parent so make sure
+  // the collection is clear.
+  @SuppressWarnings("unchecked")
+  private Collection<Object> getCollection(Node node, Object parent) {
+    Collection<Object> collection =
+        (Collection<Object>) ReflectionUtils.invokeMethod(node.accessMethod, parent);
+    if (collection == null) {
+      throw new QueryException(
+          "Only initialized collections can be populated by queries. Collection property "
+              + parent.getClass().getSimpleName() + "." + node.propertyName
+              + " is not initialized.");
+    }
+    if (collection.size() > 0) {
+      collection.clear();
+    }
+    return collection;
+  }
+
+  private void addNode(SelectMapper<?> parentSelectMapper, SelectMapper<?> relatedSelectMapper,
+      String propertyName, boolean hasMany) {
+    Assert.notNull(parentSelectMapper, "parentSelectMapper cannot be null");
+    Assert.notNull(relatedSelectMapper, "relatedSelectMapper cannot be null");
+    if (MapperUtils.isBlank(propertyName)) {
+      throw new QueryException("propertyName cannot be blank");
+    }
+    int parentIndex = indexOf(parentSelectMapper);
+    if (parentIndex < 0) {
+      throw new QueryException("The parent SelectMapper for property " + propertyName
+          + " has to be the root SelectMapper or a SelectMapper added before it");
+    }
+    if (indexOf(relatedSelectMapper) >= 0) {
+      throw new QueryException("SelectMapper for type "
+          + relatedSelectMapper.getType().getSimpleName() + " and table alias "
+          + relatedSelectMapper.getTableAlias() + " has already been added");
+    }
+    Class<?> type = parentSelectMapper.getType();
+    for (Node node : nodes) {
+      if (node.parentIndex == parentIndex && node.propertyName.equals(propertyName)) {
+        throw new QueryException("property " + type.getSimpleName() + "." + propertyName
+            + " is populated by more than one SelectMapper");
+      }
+    }
+
+    PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(type, propertyName);
+    if (pd == null) {
+      throw new QueryException(
+          "Invalid property name " + propertyName + " for type " + type.getSimpleName());
+    }
+    Method accessMethod = null;
+    if (hasMany) {
+      if (!Collection.class.isAssignableFrom(pd.getPropertyType())) {
+        throw new QueryException("property " + type.getSimpleName() + "." + propertyName
+            + " is not a collection. hasMany() relationship requires it to be a collection");
+      }
+      accessMethod = pd.getReadMethod();
+    } else {
+      if (!pd.getPropertyType().isAssignableFrom(relatedSelectMapper.getType())) {
+        throw new QueryException("property type conflict. property " + type.getSimpleName() + "."
+            + propertyName + " is of type " + pd.getPropertyType().getSimpleName()
+            + " while type for hasOne relationship is "
+            + relatedSelectMapper.getType().getSimpleName());
+      }
+      accessMethod = pd.getWriteMethod();
+    }
+    if (accessMethod == null) {
+      throw new QueryException("property " + type.getSimpleName() + "." + propertyName
+          + (hasMany ? " does not have a getter" : " does not have a setter"));
+    }
+    ReflectionUtils.makeAccessible(accessMethod);
+    nodes.get(parentIndex).hasChildren = true;
+    nodes.add(new Node(relatedSelectMapper, parentIndex, propertyName, hasMany, accessMethod));
+  }
+
+  private int indexOf(SelectMapper<?> selectMapper) {
+    for (int i = 0; i < nodes.size(); i++) {
+      if (nodes.get(i).selectMapper == selectMapper) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  // the collection of a parent model and the related models already added to it
+  private static class ParentCollection {
+    private final Collection<Object> collection;
+    private final Set<Object> members = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private ParentCollection(Collection<Object> collection) {
+      this.collection = collection;
+    }
+  }
+
+  private static class Node {
+    private final SelectMapper<?> selectMapper;
+    private final int parentIndex;
+    private final String propertyName;
+    private final boolean hasMany;
+    // getter of the collection for hasMany, setter for hasOne
+    private final Method accessMethod;
+    // true if it is the parent of other nodes
+    private boolean hasChildren;
+
+    Node(SelectMapper<?> selectMapper, int parentIndex, String propertyName, boolean hasMany,
+        Method accessMethod) {
+      this.selectMapper = selectMapper;
+      this.parentIndex = parentIndex;
+      this.propertyName = propertyName;
+      this.hasMany = hasMany;
+      this.accessMethod = accessMethod;
+    }
+  }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Map of model id to model used while assembling query results. Retains insertion order.
+ *
+ * <p>
+ * For Long/Integer/Short ids the ids are kept as primitive longs in an open addressing table so no
+ * boxed key or entry node is allocated per model. Other id types (String, UUID etc) use a
+ * LinkedHashMap.
+ *
+ * <p>
+ * Not thread safe. Meant for the life of a single query.
+ *
+ * @author ajoseph
+ */
+class ModelIdMap<V> {
+  private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+  private final Class<?> idType;
+
+  // used for non numeric ids
+  private Map<Object, V> map;
+
+  // open addressing table for numeric ids. A slot holds the position of the entry + 1 (0 is an
+  // empty slot) and the entry is in keys/values at that position so insertion order is retained.
+  private int[] slots;
+  private long[] keys;
+  private List<V> values;
+
+  private ModelIdMap(Class<?> idType, int expectedSize) {
+    this.idType = idType;
+    if (isNumericIdType(idType)) {
+      int capacity = tableSizeFor(expectedSize);
+      slots = new int[capacity];
+      keys = new long[Math.max(expectedSize, 16)];
+      values = new ArrayList<>(Math.max(expectedSize, 16));
+    } else {
+      map = new LinkedHashMap<>();
+    }
+  }
+
+  /**
+   * Creates the map for the id type.
+   *
+   * @param idType the type of the id property of the model
+   * @param expectedSize the expected number of models. Only a hint.
+   * @return the map
+   */
+  public static <V> ModelIdMap<V> forIdType(Class<?> idType, int expectedSize) {
+    return new ModelIdMap<>(idType, expectedSize);
+  }
+
+  // ids of these types fit in a long
+  static boolean isNumericIdType(Class<?> idType) {
+    return idType == Long.class || idType == Integer.class || idType == Short.class
+        || idType == long.class || idType == int.class || idType == short.class;
+  }
+
+  public boolean isNumeric() {
+    return map == null;
+  }
+
+  public V get(Object id) {
+    if (map != null) {
+      return map.get(id);
+    }
+    return id instanceof Number ? getNumeric(((Number) id).longValue()) : null;
+  }
+
+  public V getNumeric(long id) {
+    int pos = findSlot(id);
+    return slots[pos] == 0 ? null : values.get(slots[pos] - 1);
+  }
+
+  public void put(Object id, V value) {
+    if (map != null) {
+      map.put(id, value);
+    } else {
+      putNumeric(((Number) id).longValue(), value);
+    }
+  }
+
+  public void putNumeric(long id, V value) {
+    int pos = findSlot(id);
+    if (slots[pos] != 0) {
+      values.set(slots[pos] - 1, value);
+      return;
+    }
+    int size = values.size();
+    if (size == keys.length) {
+      keys = Arrays.copyOf(keys, size * 2);
+    }
+    keys[size] = id;
+    values.add(value);
+    slots[pos] = size + 1;
+    // keep the load factor at or below 0.5
+    if ((size + 1) * 2 > slots.length) {
+      rehash(slots.length * 2);
+    }
+  }
+
+  /**
+   * Gets the value for the id in the column of the current row of the ResultSet. If there is none
+   * the value is built by the valueBuilder and put in the map. Numeric ids are read with getLong()
+   * so they are not boxed for each row. Other ids are read as the property type using the property
+   * mapping.
+   *
+   * @param rs the ResultSet
+   * @param idColumnLabel the label of the id column
+   * @param idPropMapping the property mapping of the id
+   * @param valueBuilder builds the value from the current row
+   * @return the value. null if the id column is null
+   * @throws SQLException on ResultSet access failure
+   */
+  public V computeIfAbsent(ResultSet rs, String idColumnLabel, PropertyMapping idPropMapping,
+      Function<ResultSet, V> valueBuilder) throws SQLException {
+    if (map == null) {
+      long id = rs.getLong(idColumnLabel);
+      if (rs.wasNull()) {
+        return null;
+      }
+      V value = getNumeric(id);
+      if (value == null) {
+        value = valueBuilder.apply(rs);
+        if (value != null) {
+          putNumeric(id, value);
+        }
+      }
+      return value;
+    }
+    Object id = idPropMapping.getResultSetValue(rs, rs.findColumn(idColumnLabel));
+    if (id == null) {
+      return null;
+    }
+    V value = map.get(id);
+    if (value == null) {
+      value = valueBuilder.apply(rs);
+      if (value != null) {
+        map.put(id, value);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Gets the value for the id in the column of the current row of the ResultSet. Numeric ids are
+   * read with getLong(). Other ids are read as the property type using the property mapping.
+   *
+   * @param rs the ResultSet
+   * @param columnLabel the label of the column with the id
+   * @param propMapping the property mapping of the column
+   * @return the value. null if not found or the column is null
+   * @throws SQLException on ResultSet access failure
+   */
+  public V get(ResultSet rs, String columnLabel, PropertyMapping propMapping)
+      throws SQLException {
+    if (map == null) {
+      long id = rs.getLong(columnLabel);
+      return rs.wasNull() ? null : getNumeric(id);
+    }
+    return map.get(propMapping.getResultSetValue(rs, rs.findColumn(columnLabel)));
+  }
+
+  public int size() {
+    return map != null ? map.size() : values.size();
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * The values in insertion order.
+   *
+   * @return the values. Should not be modified.
+   */
+  public List<V> values() {
+    return map != null ? new ArrayList<>(map.values()) : Collections.unmodifiableList(values);
+  }
+
+  /**
+   * The ids in insertion order. Numeric ids are boxed to the id type so they can be used as sql
+   * parameters.
+   *
+   * @return the ids
+   */
+  public List<Object> ids() {
+    if (map != null) {
+      return new ArrayList<>(map.keySet());
+    }
+    List<Object> ids = new ArrayList<>(values.size());
+    for (int i = 0; i < values.size(); i++) {
+      ids.add(boxId(keys[i]));
+    }
+    return ids;
+  }
+
+  private Object boxId(long id) {
+    if (idType == Integer.class || idType == int.class) {
+      return Integer.valueOf((int) id);
+    } else if (idType == Short.class || idType == short.class) {
+      return Short.valueOf((short) id);
+    }
+    return Long.valueOf(id);
+  }
+
+  // linear probing. Returns the slot of the id or the empty slot where it would go.
+  private int findSlot(long id) {
+    int mask = slots.length - 1;
+    int pos = hash(id) & mask;
+    while (slots[pos] != 0 && keys[slots[pos] - 1] != id) {
+      pos = (pos + 1) & mask;
+    }
+    return pos;
+  }
+
+  private void rehash(int capacity) {
+    slots = new int[capacity];
+    int mask = capacity - 1;
+    for (int i = 0; i < values.size(); i++) {
+      int pos = hash(keys[i]) & mask;
+      while (slots[pos] != 0) {
+        pos = (pos + 1) & mask;
+      }
+      slots[pos] = i + 1;
+    }
+  }
+
+  private static int hash(long id) {
+    long h = id * HASH_MULTIPLIER;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  // power of 2 which keeps the load factor at or below 0.5 for the expected size
+  private static int tableSizeFor(int expectedSize) {
+    int capacity = 32;
+    while (capacity < expectedSize * 2) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * RowMapper for custom sql which selects the columns of a model. See
+ * JdbcTemplateMapper.getRowMapper(). A column is mapped to a property if its label is the column
+ * name of the property, the underscore case property name (aliases generated by
+ * JdbcTemplateMapper.getBeanColumnsSql()) or the property name ignoring case.
+ *
+ * <p>
+ * The labels are resolved to properties once per ResultSet and the values are read with the
+ * column extractors of the properties. It is thread safe. The label to property mappings are
+ * cached by JdbcTemplateMapper and a ModelRowMapper is created for each getRowMapper() call so a
+ * cached instance does not hold on to the last ResultSet.
+ *
+ * @author ajoseph
+ */
+class ModelRowMapper<T> implements RowMapper<T> {
+  private final Class<T> clazz;
+  private final SelectMapper<T> selectMapper;
+  private final ResultSetColumns resultSetColumns;
+
+  // labelToPropertyMapping - see labelToPropertyMapping()
+  ModelRowMapper(Class<T> clazz, Map<String, PropertyMapping> labelToPropertyMapping,
+      SelectMapper<T> selectMapper) {
+    this.clazz = clazz;
+    this.selectMapper = selectMapper;
+    this.resultSetColumns = new ResultSetColumns(
+        columnLabel -> labelToPropertyMapping.get(columnLabel.toLowerCase(Locale.US)));
+  }
+
+  @Override
+  public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+    return clazz.cast(
+        selectMapper.buildModelObject(rs, resultSetColumns.getPropertyMappings(rs)));
+  }
+
+  // key - lower case column label, value - the property mapping
+  static Map<String, PropertyMapping> labelToPropertyMapping(TableMapping tableMapping) {
+    Map<String, PropertyMapping> labelToPropertyMapping = new HashMap<>();
+    for (PropertyMapping propMapping : tableMapping.getPropertyMappings()) {
+      if (propMapping.isSelectable()) {
+        labelToPropertyMapping.put(propMapping.getColumnName(), propMapping);
+      }
+    }
+    // column names take precedence over the property name based labels
+    for (PropertyMapping propMapping : tableMapping.getPropertyMappings()) {
+      if (propMapping.isSelectable()) {
+        labelToPropertyMapping.putIfAbsent(
+            MapperUtils.toUnderscoreName(propMapping.getPropertyName()), propMapping);
+        labelToPropertyMapping.putIfAbsent(
+            propMapping.getPropertyName().toLowerCase(Locale.US), propMapping);
+      }
+    }
+    return labelToPropertyMapping;
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An exponential moving average of the values observed by the executions of a query. Each
+ * observation moves the average half way to the observed value so it follows changes in the data
+ * within a few executions. Observations are applied with compare and set so concurrent executions
+ * do not lose each others updates.
+ *
+ * @author ajoseph
+ */
+class MovingAverage {
+  private static final double WEIGHT = 0.5;
+
+  // the bits of the double value of the average
+  private final AtomicLong averageBits;
+
+  MovingAverage(double firstValue) {
+    this.averageBits = new AtomicLong(Double.doubleToLongBits(firstValue));
+  }
+
+  double get() {
+    return Double.longBitsToDouble(averageBits.get());
+  }
+
+  void add(double value) {
+    long current;
+    long updated;
+    do {
+      current = averageBits.get();
+      double average = Double.longBitsToDouble(current);
+      updated = Double.doubleToLongBits(average + (value - average) * WEIGHT);
+    } while (!averageBits.compareAndSet(current, updated));
+  }
+}
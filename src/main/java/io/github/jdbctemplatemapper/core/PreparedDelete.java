@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import org.springframework.util.Assert;
+import io.github.jdbctemplatemapper.exception.MapperException;
+
+/**
+ * A delete whose sql is generated upfront. Get one with JdbcTemplateMapper.prepareDelete(). It is
+ * thread safe and can be held on to and executed repeatedly.
+ *
+ * @author ajoseph
+ * @param <T> the type
+ */
+public final class PreparedDelete<T> {
+  private final JdbcTemplateMapper jdbcTemplateMapper;
+  private final Class<T> type;
+  private final TableMapping tableMapping;
+  private final String sql;
+
+  PreparedDelete(JdbcTemplateMapper jdbcTemplateMapper, Class<T> type, TableMapping tableMapping,
+      String sql) {
+    this.jdbcTemplateMapper = jdbcTemplateMapper;
+    this.type = type;
+    this.tableMapping = tableMapping;
+    this.sql = sql;
+  }
+
+  /**
+   * Deletes the object from the database.
+   *
+   * @param obj Object to be deleted
+   * @return number of records were deleted (1 or 0)
+   */
+  public Integer execute(T obj) {
+    Assert.notNull(obj, "Object must not be null");
+    if (obj.getClass() != type) {
+      throw new MapperException("PreparedDelete is for type " + type.getSimpleName()
+          + ". Cannot be used for " + obj.getClass().getSimpleName());
+    }
+    return jdbcTemplateMapper.deleteInternal(obj, tableMapping, sql);
+  }
+
+  /**
+   * Deletes the record by id.
+   *
+   * @param id Id of object to be deleted
+   * @return number records were deleted (1 or 0)
+   */
+  public Integer executeById(Object id) {
+    Assert.notNull(id, "id must not be null");
+    return jdbcTemplateMapper.deleteByIdInternal(id, tableMapping, sql);
+  }
+
+  /**
+   * Gets the delete sql.
+   *
+   * @return the sql
+   */
+  public String getSql() {
+    return sql;
+  }
+}
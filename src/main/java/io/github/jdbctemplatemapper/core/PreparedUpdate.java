@@ -0,0 +1,71 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import org.springframework.util.Assert;
+import io.github.jdbctemplatemapper.exception.MapperException;
+
+/**
+ * An update whose sql is generated upfront. Get one with JdbcTemplateMapper.prepareUpdate(). It is
+ * thread safe and can be held on to and executed repeatedly.
+ *
+ * <pre>
+ * PreparedUpdate&lt;Product&gt; priceUpdate = jdbcTemplateMapper.prepareUpdate(Product.class, "price", "stock");
+ * priceUpdate.execute(product);
+ * </pre>
+ *
+ * @author ajoseph
+ * @param <T> the type
+ */
+public final class PreparedUpdate<T> {
+  private final JdbcTemplateMapper jdbcTemplateMapper;
+  private final Class<T> type;
+  private final TableMapping tableMapping;
+  private final SqlAndParams sqlAndParams;
+  private final boolean allProperties;
+
+  PreparedUpdate(JdbcTemplateMapper jdbcTemplateMapper, Class<T> type, TableMapping tableMapping,
+      SqlAndParams sqlAndParams, boolean allProperties) {
+    this.jdbcTemplateMapper = jdbcTemplateMapper;
+    this.type = type;
+    this.tableMapping = tableMapping;
+    this.sqlAndParams = sqlAndParams;
+    this.allProperties = allProperties;
+  }
+
+  /**
+   * Updates the object. Handles the auto assign properties (&#64;UpdatedOn, &#64;UpdatedBy,
+   * &#64;Version) the same way as JdbcTemplateMapper.update().
+   *
+   * @param obj object to be updated
+   * @return number of records updated
+   */
+  public Integer execute(T obj) {
+    Assert.notNull(obj, "Object must not be null");
+    if (obj.getClass() != type) {
+      throw new MapperException("PreparedUpdate is for type " + type.getSimpleName()
+          + ". Cannot be used for " + obj.getClass().getSimpleName());
+    }
+    return jdbcTemplateMapper.executeUpdate(obj, sqlAndParams, tableMapping, allProperties);
+  }
+
+  /**
+   * Gets the update sql.
+   *
+   * @return the sql
+   */
+  public String getSql() {
+    return sqlAndParams.getSql();
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import org.springframework.util.Assert;
+
+/**
+ * The properties of a model which are selected by a query. Columns of properties which are not
+ * selected are left out of the sql so those properties are not populated. The id property is
+ * always selected. Use it to read only the needed columns of wide tables.
+ *
+ * <pre>
+ * Projection.include("status", "orderDate")  // only the id, status and orderDate
+ * Projection.exclude("notes")                // everything except notes
+ * </pre>
+ *
+ * Objects loaded with a projection are partially populated so update() on them would write nulls
+ * for the properties which were not selected. Use updateProperties() or updateChanged() instead.
+ *
+ * @author ajoseph
+ */
+public final class Projection {
+  private final boolean include;
+  // sorted so the cache key does not depend on the order the properties were passed in
+  private final Set<String> propertyNames;
+
+  private Projection(boolean include, Set<String> propertyNames) {
+    this.include = include;
+    this.propertyNames = Collections.unmodifiableSet(propertyNames);
+  }
+
+  /**
+   * Selects only the specified properties (and the id property).
+   *
+   * @param propertyNames the properties to select
+   * @return the projection
+   */
+  public static Projection include(String... propertyNames) {
+    return new Projection(true, toSet(propertyNames));
+  }
+
+  /**
+   * Selects all the properties except the specified properties.
+   *
+   * @param propertyNames the properties to leave out
+   * @return the projection
+   */
+  public static Projection exclude(String... propertyNames) {
+    return new Projection(false, toSet(propertyNames));
+  }
+
+  boolean isSelected(PropertyMapping propMapping) {
+    return propMapping.isIdAnnotation()
+        || include == propertyNames.contains(propMapping.getPropertyName());
+  }
+
+  // a projection which also selects propertyName. Used for properties needed to merge the results
+  Projection withProperty(String propertyName) {
+    if (include == propertyNames.contains(propertyName)) {
+      return this;
+    }
+    Set<String> names = new TreeSet<>(propertyNames);
+    if (include) {
+      names.add(propertyName);
+    } else {
+      names.remove(propertyName);
+    }
+    return new Projection(include, names);
+  }
+
+  // returns the first property which is not mapped by the table mapping. null if all are valid.
+  String getInvalidPropertyName(TableMapping tableMapping) {
+    for (String propertyName : propertyNames) {
+      if (tableMapping.getPropertyMappingByPropertyName(propertyName) == null) {
+        return propertyName;
+      }
+    }
+    return null;
+  }
+
+  String getCacheKey() {
+    return (include ? "include:" : "exclude:") + String.join(",", propertyNames);
+  }
+
+  private static Set<String> toSet(String... propertyNames) {
+    Assert.notNull(propertyNames, "propertyNames must not be null");
+    for (String propertyName : propertyNames) {
+      if (MapperUtils.isBlank(propertyName)) {
+        throw new IllegalArgumentException("Projection propertyNames cannot be null or blank");
+      }
+    }
+    return new TreeSet<>(Arrays.asList(propertyNames));
+  }
+}
@@ -13,6 +13,13 @@
  */
 package io.github.jdbctemplatemapper.core;
 
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import io.github.jdbctemplatemapper.converter.IPropertyConverter;
+
 /**
  * Object property to database column mapping.
  *
@@ -23,6 +30,9 @@ class PropertyMapping {
   private Class<?> propertyType;
   private String columnName;
   private int columnSqlDataType; // see java.sql.Types
+  private ColumnExtractor columnExtractor;
+  private IPropertyConverter<Object, Object> converter; // @Column(converter = ...). Could be null
+  private Method writeMethod; // the setter of the property. null if there is none
 
   private boolean idAnnotation = false;
   private boolean createdOnAnnotation = false;
@@ -30,7 +40,9 @@ class PropertyMapping {
   private boolean versionAnnotation = false;
   private boolean createdByAnnotation = false;
   private boolean updatedByAnnotation = false;
+  private boolean generated = false; // @Column(generated = true)
   private String columnAliasSuffix;
+  private int index; // position in TableMapping.getPropertyMappings()
 
   public PropertyMapping(String propertyName, Class<?> propertyType, String columnName,
       int columnSqlDataType) {
@@ -43,10 +55,48 @@ class PropertyMapping {
     // No plans to support case sensitive table column names or column names with spaces in them
     this.columnName = MapperUtils.toLowerCase(columnName);
     this.columnSqlDataType = columnSqlDataType;
+    this.columnExtractor = ColumnExtractor.forType(getColumnValueType(), columnSqlDataType);
   }
 
   public void setColumnSqlDataType(int columnSqlDataType) {
     this.columnSqlDataType = columnSqlDataType;
+    this.columnExtractor = ColumnExtractor.forType(getColumnValueType(), columnSqlDataType);
+  }
+
+  // reads the value of the property's column using the extractor for the property type. The value
+  // is converted when the property has a converter.
+  public Object getResultSetValue(ResultSet rs, int index) throws SQLException {
+    Object value = columnExtractor.extract(rs, index);
+    return converter == null || value == null ? value : converter.toPropertyValue(value);
+  }
+
+  // the value bound to the column for the property value
+  public Object toColumnValue(Object propertyValue) {
+    return converter == null || propertyValue == null ? propertyValue
+        : converter.toColumnValue(propertyValue);
+  }
+
+  @SuppressWarnings("unchecked")
+  public void setConverter(IPropertyConverter<?, ?> converter) {
+    this.converter = (IPropertyConverter<Object, Object>) converter;
+    this.columnExtractor = ColumnExtractor.forType(getColumnValueType(), columnSqlDataType);
+  }
+
+  public IPropertyConverter<?, ?> getConverter() {
+    return converter;
+  }
+
+  // the type the column value is read as
+  private Class<?> getColumnValueType() {
+    return converter == null ? propertyType : converter.getColumnType();
+  }
+
+  public Method getWriteMethod() {
+    return writeMethod;
+  }
+
+  public void setWriteMethod(Method writeMethod) {
+    this.writeMethod = writeMethod;
   }
 
   public String getPropertyName() {
@@ -113,6 +163,30 @@ class PropertyMapping {
     this.updatedByAnnotation = updatedByAnnotation;
   }
 
+  // LazyBlob/LazyClob properties are not selected. They are loaded on demand and never written.
+  public boolean isLazyLob() {
+    return propertyType == LazyBlob.class || propertyType == LazyClob.class;
+  }
+
+  // InputStream/Reader properties are bound as streams on writes and are not selected.
+  public boolean isStream() {
+    return InputStream.class.isAssignableFrom(propertyType)
+        || Reader.class.isAssignableFrom(propertyType);
+  }
+
+  // whether the column is part of the select when the model is queried
+  public boolean isSelectable() {
+    return !(isLazyLob() || isStream());
+  }
+
+  public boolean isGenerated() {
+    return generated;
+  }
+
+  public void setGenerated(boolean generated) {
+    this.generated = generated;
+  }
+
   public String getColumnAliasSuffix() {
     return columnAliasSuffix;
   }
@@ -120,4 +194,12 @@ class PropertyMapping {
   public void setColumnAliasSuffix(String colAliasSuffix) {
     this.columnAliasSuffix = colAliasSuffix;
   }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public void setIndex(int index) {
+    this.index = index;
+  }
 }
@@ -15,19 +15,33 @@ package io.github.jdbctemplatemapper.core;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.ResultSetExtractor;
-import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
+import io.github.jdbctemplatemapper.exception.QueryException;
 import io.github.jdbctemplatemapper.query.IQueryFluent;
 import io.github.jdbctemplatemapper.query.IQueryHasMany;
+import io.github.jdbctemplatemapper.query.IQueryHasManyStrategy;
 import io.github.jdbctemplatemapper.query.IQueryHasOne;
 import io.github.jdbctemplatemapper.query.IQueryJoinColumnManySide;
 import io.github.jdbctemplatemapper.query.IQueryJoinColumnTypeSide;
@@ -38,6 +52,8 @@ import io.github.jdbctemplatemapper.query.IQueryThroughJoinColumns;
 import io.github.jdbctemplatemapper.query.IQueryThroughJoinTable;
 import io.github.jdbctemplatemapper.query.IQueryType;
 import io.github.jdbctemplatemapper.query.IQueryWhere;
+import io.github.jdbctemplatemapper.querymerge.IQueryMergeHasMany;
+import io.github.jdbctemplatemapper.querymerge.IQueryMergePopulateProperty;
 
 /**
  * Fluent style queries for relationships hasOne, hasMany, hasMany through (many to many).
@@ -51,23 +67,25 @@ import io.github.jdbctemplatemapper.query.IQueryWhere;
  * @author ajoseph
  */
 public class Query<T> implements IQueryFluent<T> {
+  // HasManyStrategy.AUTO switches to SPLIT when the joined hasMany rows would duplicate at least
+  // these many type column values per type record.
+  private static final int AUTO_SPLIT_THRESHOLD = 100;
+  // number of streamed records for which the hasMany relationships are populated at a time
+  private static final int STREAM_BATCH_SIZE = 100;
   private Class<T> type;
   private String typeTableAlias;
   private String whereClause;
   private Object[] whereParams;
   private String orderBy;
   private String limitOffsetClause;
+  private HasManyStrategy hasManyStrategy = HasManyStrategy.JOIN;
+  private Projection typeProjection; // properties selected for the type. null for all
+  private QueryOptions options; // fetch size and timeout. null for the JdbcTemplate settings
 
-  private String relationshipType;
-  private Class<?> relatedType;
-  private String relatedTableAlias;
-  private String propertyName; // propertyName on main class that needs to be populated
-  private String joinColumnTypeSide;
-  private String joinColumnManySide;
-
-  private String throughJoinTable;
-  private String throughTypeJoinColumn;
-  private String throughRelatedTypeJoinColumn;
+  // relationships in the order they were declared
+  private List<QueryRelationship> relationships = new ArrayList<>();
+  // the relationship currently being configured by the method chain
+  private QueryRelationship relationship;
 
   private Query(Class<T> type) {
     this.type = type;
@@ -107,15 +125,60 @@ public class Query<T> implements IQueryFluent<T> {
   }
 
   /**
-   * The hasOne relationship.
+   * The properties of the type which are selected. Only the columns of the selected properties are
+   * part of the sql so the other properties are not populated. The id property is always selected.
+   *
+   * <pre>
+   * Query.type(Order.class).projection(Projection.include("status", "orderDate"))
+   * </pre>
+   *
+   * @param projection the projection
+   * @return interface with the next methods in the chain
+   */
+  public IQueryType<T> projection(Projection projection) {
+    Assert.notNull(projection, "projection cannot be null");
+    this.typeProjection = projection;
+    return this;
+  }
+
+  /**
+   * The number of rows the jdbc driver fetches from the database in each round trip. Overrides the
+   * fetch size of the JdbcTemplate for this query and the 'IN' clause queries of its hasMany
+   * relationships which are not joined. See QueryOptions.
+   *
+   * @param fetchSize the fetch size. Has to be greater than 0
+   * @return interface with the next methods in the chain
+   */
+  public IQueryType<T> fetchSize(int fetchSize) {
+    this.options = options == null ? QueryOptions.fetchSize(fetchSize)
+        : options.withFetchSize(fetchSize);
+    return this;
+  }
+
+  /**
+   * The time the database is given to execute the query. Overrides the query timeout of the
+   * JdbcTemplate for this query and the 'IN' clause queries of its hasMany relationships which are
+   * not joined. See QueryOptions.
+   *
+   * @param timeout the timeout. It is rounded up to seconds
+   * @return interface with the next methods in the chain
+   */
+  public IQueryType<T> timeout(Duration timeout) {
+    this.options =
+        options == null ? QueryOptions.timeout(timeout) : options.withTimeout(timeout);
+    return this;
+  }
+
+  /**
+   * The hasOne relationship. Multiple relationships can be declared on a query. All the hasOne
+   * relationships are joined in the same sql statement.
    *
    * @param relatedType the related type
    * @return interface with the next methods in the chain
    */
   public IQueryHasOne<T> hasOne(Class<?> relatedType) {
     Assert.notNull(relatedType, "relatedType cannot be null");
-    this.relationshipType = RelationshipType.HAS_ONE;
-    this.relatedType = relatedType;
+    addRelationship(RelationshipType.HAS_ONE, relatedType, null);
     return this;
   }
 
@@ -131,9 +194,7 @@ public class Query<T> implements IQueryFluent<T> {
     if (MapperUtils.isBlank(tableAlias)) {
       throw new IllegalArgumentException("tableAlias for type cannot be null or blank");
     }
-    this.relationshipType = RelationshipType.HAS_ONE;
-    this.relatedType = relatedType;
-    this.relatedTableAlias = tableAlias;
+    addRelationship(RelationshipType.HAS_ONE, relatedType, tableAlias);
     return this;
   }
 
@@ -141,13 +202,19 @@ public class Query<T> implements IQueryFluent<T> {
    * The hasMany relationship. The 'populateProperty' for hasMany relationship should be a
    * collection and has to be initialized.
    *
+   * <pre>
+   * Multiple relationships can be declared on a query. The first hasMany/hasMany through
+   * relationship is joined in the sql statement of the query. Any additional hasMany/hasMany through
+   * relationships are populated with sql 'IN' clause queries (see QueryMerge) after the query is
+   * executed, so the where and orderBy clauses cannot reference their tables.
+   * </pre>
+   *
    * @param relatedType the related type
    * @return interface with the next methods in the chain
    */
   public IQueryHasMany<T> hasMany(Class<?> relatedType) {
     Assert.notNull(relatedType, "relatedType cannot be null");
-    this.relationshipType = RelationshipType.HAS_MANY;
-    this.relatedType = relatedType;
+    addRelationship(RelationshipType.HAS_MANY, relatedType, null);
     return this;
   }
 
@@ -164,9 +231,7 @@ public class Query<T> implements IQueryFluent<T> {
     if (MapperUtils.isBlank(tableAlias)) {
       throw new IllegalArgumentException("tableAlias for type cannot be null or blank");
     }
-    this.relationshipType = RelationshipType.HAS_MANY;
-    this.relatedType = relatedType;
-    this.relatedTableAlias = tableAlias;
+    addRelationship(RelationshipType.HAS_MANY, relatedType, tableAlias);
     return this;
   }
 
@@ -182,7 +247,7 @@ public class Query<T> implements IQueryFluent<T> {
     if (MapperUtils.isBlank(joinColumnTypeSide)) {
       throw new IllegalArgumentException("joinColumnTypeSide cannot be null or blank");
     }
-    this.joinColumnTypeSide = MapperUtils.toLowerCase(joinColumnTypeSide.trim());
+    relationship.setJoinColumnTypeSide(MapperUtils.toLowerCase(joinColumnTypeSide.trim()));
     return this;
   }
 
@@ -198,7 +263,7 @@ public class Query<T> implements IQueryFluent<T> {
     if (MapperUtils.isBlank(joinColumnManySide)) {
       throw new IllegalArgumentException("joinColumnManySide cannot be null or blank");
     }
-    this.joinColumnManySide = MapperUtils.toLowerCase(joinColumnManySide.trim());
+    relationship.setJoinColumnManySide(MapperUtils.toLowerCase(joinColumnManySide.trim()));
     return this;
   }
 
@@ -212,8 +277,8 @@ public class Query<T> implements IQueryFluent<T> {
     if (MapperUtils.isBlank(tableName)) {
       throw new IllegalArgumentException("throughJoinTable() tableName cannot be null or blank");
     }
-    this.relationshipType = RelationshipType.HAS_MANY_THROUGH;
-    this.throughJoinTable = tableName;
+    relationship.setRelationshipType(RelationshipType.HAS_MANY_THROUGH);
+    relationship.setThroughJoinTable(tableName);
     return this;
   }
 
@@ -234,8 +299,8 @@ public class Query<T> implements IQueryFluent<T> {
       throw new IllegalArgumentException(
           "throughJoinColumns() relatedTypeJoinColumn cannot be null or blank");
     }
-    this.throughTypeJoinColumn = typeJoinColumn;
-    this.throughRelatedTypeJoinColumn = relatedTypeJoinColumn;
+    relationship.setThroughTypeJoinColumn(typeJoinColumn);
+    relationship.setThroughRelatedTypeJoinColumn(relatedTypeJoinColumn);
     return this;
   }
 
@@ -252,7 +317,19 @@ public class Query<T> implements IQueryFluent<T> {
     if (MapperUtils.isBlank(propertyName)) {
       throw new IllegalArgumentException("propertyName cannot be null or blank");
     }
-    this.propertyName = propertyName;
+    relationship.setPropertyName(propertyName);
+    return this;
+  }
+
+  /**
+   * The properties of the related type of the relationship which are selected. See projection().
+   *
+   * @param projection the projection
+   * @return interface with the next methods in the chain
+   */
+  public IQueryPopulateProperty<T> relatedProjection(Projection projection) {
+    Assert.notNull(projection, "projection cannot be null");
+    relationship.setProjection(projection);
     return this;
   }
 
@@ -296,8 +373,11 @@ public class Query<T> implements IQueryFluent<T> {
   }
 
   /**
-   * The SQL limit Offset clause for the query specific to the database being used. The limit offset
-   * clause is not supported for hasMany/hasMany through relationships.
+   * The SQL limit Offset clause for the query specific to the database being used. For
+   * hasMany/hasMany through relationships the limit offset clause applies to the type records. The
+   * page of type records is queried first and then the hasMany side is populated for those records
+   * with sql 'IN' clause queries. In this case the where and orderBy clauses cannot reference the
+   * hasMany tables. A QueryException is thrown if they do.
    * 
    * <pre>
    * See <a href=
@@ -316,6 +396,30 @@ public class Query<T> implements IQueryFluent<T> {
     return this;
   }
 
+  /**
+   * How the hasMany/hasMany through relationship of the query is loaded. Default is
+   * HasManyStrategy.JOIN.
+   *
+   * <pre>
+   * JOIN - the hasMany side is joined in the sql statement of the query. Every hasMany row repeats
+   *        the columns of the type record.
+   * SPLIT - the type records are queried first and the hasMany side is then queried with sql 'IN'
+   *        clauses on the type ids. The where and orderBy clauses cannot reference the hasMany
+   *        tables (throws QueryException).
+   * AUTO - uses JOIN till the observed number of hasMany records per type record makes the
+   *        duplicated type columns expensive and then switches to SPLIT. Queries whose where or
+   *        orderBy clauses reference the hasMany tables always use JOIN.
+   * </pre>
+   *
+   * @param hasManyStrategy the strategy
+   * @return interface with the next methods in the chain
+   */
+  public IQueryHasManyStrategy<T> hasManyStrategy(HasManyStrategy hasManyStrategy) {
+    Assert.notNull(hasManyStrategy, "hasManyStrategy cannot be null");
+    this.hasManyStrategy = hasManyStrategy;
+    return this;
+  }
+
   /**
    * Execute the query using the jdbcTemplateMapper.
    *
@@ -324,33 +428,47 @@ public class Query<T> implements IQueryFluent<T> {
    */
   public List<T> execute(JdbcTemplateMapper jdbcTemplateMapper) {
     Assert.notNull(jdbcTemplateMapper, "jdbcTemplateMapper cannot be null");
+    // the query and the queries populating the hasMany relationships run on the same read replica
+    return jdbcTemplateMapper.executeRead(() -> executeQuery(jdbcTemplateMapper));
+  }
 
+  private List<T> executeQuery(JdbcTemplateMapper jdbcTemplateMapper) {
     TableMapping typeTableMapping = jdbcTemplateMapper.getTableMapping(type);
     String typeColumnPrefix =
         MapperUtils.columnPrefix(typeTableAlias, typeTableMapping.getTableName());
 
     SelectMapper<?> typeSelectMapper = jdbcTemplateMapper.getSelectMapperInternal(type,
-        typeColumnPrefix, MapperUtils.TYPE_TABLE_COL_ALIAS_PREFIX);
+        typeColumnPrefix, MapperUtils.TYPE_TABLE_COL_ALIAS_PREFIX, typeProjection);
 
-    TableMapping relatedTypeTableMapping =
-        relatedType == null ? null : jdbcTemplateMapper.getTableMapping(relatedType);
+    // For paginated queries the limitOffsetClause has to apply to the type records and not to the
+    // joined hasMany rows. So the query selects the page of type records and the hasMany
+    // relationships are then populated for just those records with 'IN' clause queries.
+    boolean joinCollection =
+        MapperUtils.isBlank(limitOffsetClause) && !useSplitStrategy(jdbcTemplateMapper);
+    if (MapperUtils.isNotBlank(limitOffsetClause)) {
+      validateClausesForInClauseQueries(jdbcTemplateMapper,
+          "paginated queries (limitOffsetClause)");
+    } else if (hasManyStrategy == HasManyStrategy.SPLIT) {
+      validateClausesForInClauseQueries(jdbcTemplateMapper, "HasManyStrategy.SPLIT");
+    }
 
-    // making it effectively final to be used in inner class ResultSetExtractor
-    SelectMapper<?> relatedTypeSelectMapper = relatedType == null ? null
-        : jdbcTemplateMapper.getSelectMapperInternal(relatedType,
-            MapperUtils.columnPrefix(relatedTableAlias, relatedTypeTableMapping.getTableName()),
-            MapperUtils.RELATED_TABLE_COL_ALIAS_PREFIX);
+    // relationships which are joined in the sql statement of the query
+    List<QueryRelationship> joinedRelationships = getJoinedRelationships(joinCollection);
+    List<SelectMapper<?>> relatedTypeSelectMappers =
+        getRelatedTypeSelectMappers(jdbcTemplateMapper, joinedRelationships);
+    // the hasMany/hasMany through relationship joined in the sql statement. Could be null.
+    QueryRelationship joinedCollectionRelationship =
+        getJoinedCollectionRelationship(joinedRelationships);
 
     boolean foundInCache = false;
-    String cacheKey = getCacheKey();
+    String cacheKey = getCacheKey(joinCollection);
     String sql = jdbcTemplateMapper.getQuerySqlCache().get(cacheKey);
     if (sql == null) {
-      QueryValidator.validate(jdbcTemplateMapper, type, relationshipType, relatedType,
-          joinColumnTypeSide, joinColumnManySide, propertyName, throughJoinTable,
-          throughTypeJoinColumn, throughRelatedTypeJoinColumn);
+      validateRelationships(jdbcTemplateMapper);
 
       // does not include where,orderBy,offsetLimit
-      sql = generatePartialQuerySql(jdbcTemplateMapper);
+      sql = generatePartialQuerySql(jdbcTemplateMapper, typeSelectMapper, joinedRelationships,
+          relatedTypeSelectMappers);
     } else {
       foundInCache = true;
     }
@@ -358,231 +476,652 @@ public class Query<T> implements IQueryFluent<T> {
     // sql stored in cache does not include where,orderBy,offsetLimit
     String partialSqlForCache = sql;
 
-    if (MapperUtils.isNotBlank(whereClause)) {
-      sql += " WHERE " + whereClause;
-    }
+    sql = appendClauses(sql);
 
-    if (MapperUtils.isNotBlank(orderBy)) {
-      sql += " ORDER BY " + orderBy;
+    // the builders are created once and not for every row
+    Function<ResultSet, TypeModel> typeModelBuilder =
+        r -> newTypeModel(r, typeSelectMapper, joinedCollectionRelationship);
+    List<Function<ResultSet, Object>> relatedModelBuilders = new ArrayList<>();
+    for (SelectMapper<?> relatedTypeSelectMapper : relatedTypeSelectMappers) {
+      relatedModelBuilders.add(r -> relatedTypeSelectMapper.buildModelObject(r));
     }
 
-    if (MapperUtils.isNotBlank(limitOffsetClause)) {
-      QueryValidator.validateQueryLimitOffsetClause(relationshipType, limitOffsetClause);
-      sql += " " + limitOffsetClause;
-    }
+    StatementSettings settings =
+        StatementSettings.of(jdbcTemplateMapper, options, getRowCountKey(cacheKey));
+    int[] rowCount = new int[1];
+    // records added to the collection of the first hasMany relationship, for HasManyStrategy.AUTO
+    long[] collectionCount = new long[1];
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
+    @SuppressWarnings("unchecked")
     ResultSetExtractor<List<T>> rsExtractor = new ResultSetExtractor<List<T>>() {
       public List<T> extractData(ResultSet rs) throws SQLException, DataAccessException {
-        // LinkedHashMap to retain record order
-        Map<Object, BeanWrapper> idToBeanWrapperTypeModelMap = new LinkedHashMap<>();
-        Map<Object, BeanWrapper> idToBeanWrapperRelatedModelMap = new HashMap<>();
+        String typeIdColumnLabel = typeSelectMapper.getResultSetModelIdColumnLabel();
+        PropertyMapping typeIdPropMapping = typeTableMapping.getIdPropertyMapping();
+        // ModelIdMap retains record order
+        ModelIdMap<TypeModel> idToTypeModelMap =
+            ModelIdMap.forIdType(typeIdPropMapping.getPropertyType(), 16);
+        // one map for each joined relationship
+        List<ModelIdMap<Object>> idToRelatedModelMaps = new ArrayList<>();
+        List<PropertyMapping> relatedIdPropMappings = new ArrayList<>();
+        for (int i = 0; i < joinedRelationships.size(); i++) {
+          PropertyMapping relatedIdPropMapping = jdbcTemplateMapper
+              .getTableMapping(joinedRelationships.get(i).getRelatedType())
+              .getIdPropertyMapping();
+          relatedIdPropMappings.add(relatedIdPropMapping);
+          idToRelatedModelMaps
+              .add(ModelIdMap.forIdType(relatedIdPropMapping.getPropertyType(), 16));
+        }
         while (rs.next()) {
-          BeanWrapper bwTypeModel =
-              getBeanWrapperModel(rs, typeSelectMapper, idToBeanWrapperTypeModelMap, true);
-          if (relatedType != null && bwTypeModel != null) {
-            BeanWrapper bwRelatedModel = getBeanWrapperModel(rs, relatedTypeSelectMapper,
-                idToBeanWrapperRelatedModelMap, false);
-            Object relatedModel =
-                bwRelatedModel == null ? null : bwRelatedModel.getWrappedInstance();
-            if (RelationshipType.HAS_ONE.equals(relationshipType)) {
-              bwTypeModel.setPropertyValue(propertyName, relatedModel);
-            } else if (RelationshipType.HAS_MANY.equals(relationshipType)
-                || RelationshipType.HAS_MANY_THROUGH.equals(relationshipType)) {
-              if (relatedModel != null) {
-                // the property has already been validated so we know it is a
-                // collection that has been initialized
-                Collection collection = (Collection) bwTypeModel.getPropertyValue(propertyName);
-                collection.add(relatedModel);
+          rowCount[0]++;
+          int typeModelCount = idToTypeModelMap.size();
+          TypeModel typeModel = idToTypeModelMap.computeIfAbsent(rs, typeIdColumnLabel,
+              typeIdPropMapping, typeModelBuilder);
+          if (typeModel != null) {
+            // the hasOne values are the same for all the rows of a type model
+            boolean firstRowOfTypeModel = idToTypeModelMap.size() > typeModelCount;
+            for (int i = 0; i < joinedRelationships.size(); i++) {
+              QueryRelationship rel = joinedRelationships.get(i);
+              if (rel.isHasOne() && !firstRowOfTypeModel) {
+                continue;
+              }
+              SelectMapper<?> relatedTypeSelectMapper = relatedTypeSelectMappers.get(i);
+              Object relatedModel = idToRelatedModelMaps.get(i).computeIfAbsent(rs,
+                  relatedTypeSelectMapper.getResultSetModelIdColumnLabel(),
+                  relatedIdPropMappings.get(i), relatedModelBuilders.get(i));
+              if (rel.isHasOne()) {
+                typeModel.bw.setPropertyValue(rel.getPropertyName(), relatedModel);
+              } else if (relatedModel != null) {
+                typeModel.collection.add(relatedModel);
+                collectionCount[0]++;
               }
             }
           }
         }
-        return idToBeanWrapperTypeModelMap.values()
-                                          .stream()
-                                          .map(bw -> (T) bw.getWrappedInstance())
-                                          .collect(Collectors.toList());
+        return idToTypeModelMap.values()
+                               .stream()
+                               .map(typeModel -> (T) typeModel.bw.getWrappedInstance())
+                               .collect(Collectors.toList());
       }
     };
 
-    List<T> resultList = null;
-    if (whereParams == null) {
-      resultList = jdbcTemplateMapper.getJdbcTemplate().query(sql, rsExtractor);
-    } else {
-      if (whereParams[0] instanceof MapSqlParameterSource) {
-        resultList =
-            jdbcTemplateMapper.getNamedParameterJdbcTemplate()
-                              .query(sql, (MapSqlParameterSource) whereParams[0], rsExtractor);
-      } else {
-        resultList = jdbcTemplateMapper.getJdbcTemplate().query(sql, rsExtractor, whereParams);
-      }
-    }
+    List<T> resultList = settings.query(sql, whereParams, rsExtractor);
+    settings.recordRowCount(rowCount[0]);
 
     // code reaches here query success, handle caching
     if (!foundInCache) {
       jdbcTemplateMapper.getQuerySqlCache().put(cacheKey, partialSqlForCache);
     }
-    return resultList;
-  }
 
-  @SuppressWarnings("rawtypes")
-  private BeanWrapper getBeanWrapperModel(ResultSet rs, SelectMapper<?> selectMapper,
-      Map<Object, BeanWrapper> idToBeanWrapperModelMap, boolean isTypeModel) throws SQLException {
-    BeanWrapper bwModel = null;
-    Object id = rs.getObject(selectMapper.getResultSetModelIdColumnLabel());
-    id = rs.wasNull() ? null : id; // some drivers are goofy
-    if (id != null) {
-      bwModel = idToBeanWrapperModelMap.get(id);
-      if (bwModel == null) {
-        bwModel = selectMapper.buildBeanWrapperModel(rs); // builds the model from resultSet
-        if (isTypeModel && (RelationshipType.HAS_MANY.equals(relationshipType)
-            || RelationshipType.HAS_MANY_THROUGH.equals(relationshipType))) {
-          // first time seeing the type model. Make sure collection is clear.
-          Collection collection = (Collection) bwModel.getPropertyValue(propertyName);
-          if (collection.size() > 0) {
-            collection.clear();
-          }
+    // hasMany relationships which are not joined are populated with 'IN' clause queries.
+    QueryRelationship collectionRelationship = getCollectionRelationship();
+    for (QueryRelationship rel : relationships) {
+      if (!joinedRelationships.contains(rel)) {
+        long mergedCount = mergeRelationship(jdbcTemplateMapper, rel, resultList);
+        if (rel == collectionRelationship) {
+          collectionCount[0] = mergedCount;
         }
-        idToBeanWrapperModelMap.put(id, bwModel);
       }
     }
-    return bwModel;
-  }
 
-  // The sql generated does not include where, orderBy, offsetLimit
-  private String generatePartialQuerySql(JdbcTemplateMapper jtm) {
+    if (hasManyStrategy == HasManyStrategy.AUTO) {
+      recordHasManyFanout(jdbcTemplateMapper, resultList.size(), collectionCount[0]);
+    }
+    return resultList;
+  }
 
-    TableMapping typeTableMapping = jtm.getTableMapping(type);
+  /**
+   * Streams the query results. Records are read from the ResultSet as the stream is consumed, so
+   * the results are not loaded into memory all at once and a slow consumer controls the pace. The
+   * stream holds on to a jdbc connection and has to be closed (use try-with-resources), which
+   * releases the connection. The stream can be adapted to reactive libraries, for example
+   * Flux.fromStream().
+   *
+   * <pre>
+   * hasOne relationships are joined. hasMany/hasMany through relationships are populated for
+   * batches of 100 records with sql 'IN' clause queries as the stream is consumed, so the where and
+   * orderBy clauses cannot reference the hasMany tables.
+   *
+   * Some jdbc drivers read the whole ResultSet into memory unless a fetch size is set (see
+   * fetchSize()) and for some databases the query runs within a transaction.
+   *
+   * The hasMany queries run while the ResultSet of the stream is open, on another connection or
+   * within a transaction on the connection of the stream. MySQL and SQL Server cannot do the
+   * latter so for them streaming with hasMany relationships within a transaction throws a
+   * QueryException.
+   *
+   * try (Stream&lt;Order&gt; orders = Query.type(Order.class).stream(jdbcTemplateMapper)) {
+   *   orders.forEach(o -&gt; process(o));
+   * }
+   * </pre>
+   *
+   * @param jdbcTemplateMapper the jdbcTemplateMapper
+   * @return the stream of type. Has to be closed.
+   */
+  public Stream<T> stream(JdbcTemplateMapper jdbcTemplateMapper) {
+    Assert.notNull(jdbcTemplateMapper, "jdbcTemplateMapper cannot be null");
+    return jdbcTemplateMapper.executeRead(() -> streamQuery(jdbcTemplateMapper));
+  }
 
+  private Stream<T> streamQuery(JdbcTemplateMapper jdbcTemplateMapper) {
+    TableMapping typeTableMapping = jdbcTemplateMapper.getTableMapping(type);
     String typeColumnPrefix =
         MapperUtils.columnPrefix(typeTableAlias, typeTableMapping.getTableName());
 
-    SelectMapper<?> typeSelectMapper = jtm.getSelectMapperInternal(type, typeColumnPrefix,
-        MapperUtils.TYPE_TABLE_COL_ALIAS_PREFIX);
+    SelectMapper<?> typeSelectMapper = jdbcTemplateMapper.getSelectMapperInternal(type,
+        typeColumnPrefix, MapperUtils.TYPE_TABLE_COL_ALIAS_PREFIX, typeProjection);
+
+    // the read replica bound by stream(), null if there are no replicas and the stream runs on the
+    // primary.
+    JdbcTemplate replica = jdbcTemplateMapper.getBoundReadReplica();
+    JdbcTemplate streamJdbcTemplate =
+        replica == null ? jdbcTemplateMapper.getJdbcTemplate() : replica;
+
+    // The hasMany batches are queried while the ResultSet of the stream is open. Within a
+    // transaction they run on the connection of the stream. MySQL cannot run another statement on
+    // a connection with an open streaming ResultSet and SQL Server (without MARS) reads the rest
+    // of the ResultSet into memory.
+    if (getCollectionRelationship() != null
+        && (typeTableMapping.isMySql() || typeTableMapping.isSqlServer())
+        && TransactionSynchronizationManager.hasResource(streamJdbcTemplate.getDataSource())) {
+      throw new QueryException("stream() with hasMany relationships is not supported within a"
+          + " transaction for MySQL and SQL Server. Use execute() or populate the hasMany"
+          + " relationships with QueryMerge.");
+    }
+
+    // a hasMany join would need all the rows of a type record before it can be emitted, so
+    // hasMany relationships are never joined when streaming.
+    List<QueryRelationship> joinedRelationships = getJoinedRelationships(false);
+    List<SelectMapper<?>> relatedTypeSelectMappers =
+        getRelatedTypeSelectMappers(jdbcTemplateMapper, joinedRelationships);
+    validateClausesForInClauseQueries(jdbcTemplateMapper, "stream()");
 
-    TableMapping relatedTypeTableMapping =
-        relatedType == null ? null : jtm.getTableMapping(relatedType);
+    boolean foundInCache = false;
+    String cacheKey = getCacheKey(false);
+    String sql = jdbcTemplateMapper.getQuerySqlCache().get(cacheKey);
+    if (sql == null) {
+      validateRelationships(jdbcTemplateMapper);
 
-    String relatedColumnPrefix = null;
-    if (relatedTypeTableMapping != null) {
-      relatedColumnPrefix =
-          MapperUtils.columnPrefix(relatedTableAlias, relatedTypeTableMapping.getTableName());
+      // does not include where,orderBy,offsetLimit
+      sql = generatePartialQuerySql(jdbcTemplateMapper, typeSelectMapper, joinedRelationships,
+          relatedTypeSelectMappers);
+    } else {
+      foundInCache = true;
     }
 
-    SelectMapper<?> relatedTypeSelectMapper = relatedType == null ? null
-        : jtm.getSelectMapperInternal(relatedType, relatedColumnPrefix,
-            MapperUtils.RELATED_TABLE_COL_ALIAS_PREFIX);
+    // sql stored in cache does not include where,orderBy,offsetLimit
+    String partialSqlForCache = sql;
 
-    String sql = "SELECT " + typeSelectMapper.getColumnsSql();
-    if (relatedType != null) {
-      sql += "," + relatedTypeSelectMapper.getColumnsSql();
+    sql = appendClauses(sql);
+
+    // Each row is a type record with its hasOne relationships. Related hasOne records are not
+    // shared across rows since that would need a map holding all of them for the life of the
+    // stream.
+    @SuppressWarnings("unchecked")
+    RowMapper<T> rowMapper = (rs, rowNum) -> {
+      BeanWrapper bwTypeModel = typeSelectMapper.buildBeanWrapperModel(rs);
+      if (bwTypeModel == null) {
+        return null;
+      }
+      for (int i = 0; i < joinedRelationships.size(); i++) {
+        bwTypeModel.setPropertyValue(joinedRelationships.get(i).getPropertyName(),
+            relatedTypeSelectMappers.get(i).buildModelObject(rs));
+      }
+      return (T) bwTypeModel.getWrappedInstance();
+    };
+
+    // streamed rows are not counted since the stream may not be consumed to the end, so the
+    // adaptive fetch size does not apply.
+    Stream<T> stream = StatementSettings.of(jdbcTemplateMapper, options, null)
+                                        .queryForStream(sql, whereParams, rowMapper);
+
+    // code reaches here query success, handle caching
+    if (!foundInCache) {
+      jdbcTemplateMapper.getQuerySqlCache().put(cacheKey, partialSqlForCache);
     }
 
-    if (RelationshipType.HAS_ONE.equals(relationshipType)) {
-      sql += hasOneFromClause(typeTableMapping, relatedTypeTableMapping);
-    } else if (RelationshipType.HAS_MANY.equals(relationshipType)) {
-      // joinColumn is on related table
-      sql += hasManyFromClause(typeTableMapping, relatedTypeTableMapping);
-    } else if (RelationshipType.HAS_MANY_THROUGH.equals(relationshipType)) {
-      sql += hasManyThroughFromClause(typeTableMapping, relatedTypeTableMapping);
+    if (getCollectionRelationship() == null) {
+      return stream.filter(Objects::nonNull);
+    }
+
+    // populate the hasMany relationships a batch at a time as the stream is consumed. The batches
+    // are merged after stream() returned so they are run on the read replica of the stream.
+    Iterator<T> iterator = stream.filter(Objects::nonNull).iterator();
+    Iterator<List<T>> batchIterator = new Iterator<List<T>>() {
+      // the ResultSet and the connection are released as soon as the rows run out, without
+      // waiting for the stream to be closed. Closing the stream more than once is a no-op.
+      public boolean hasNext() {
+        boolean hasNext = iterator.hasNext();
+        if (!hasNext) {
+          stream.close();
+        }
+        return hasNext;
+      }
+
+      public List<T> next() {
+        if (!iterator.hasNext()) {
+          throw new NoSuchElementException();
+        }
+        List<T> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+        while (iterator.hasNext() && batch.size() < STREAM_BATCH_SIZE) {
+          batch.add(iterator.next());
+        }
+        return jdbcTemplateMapper.executeRead(replica, () -> {
+          for (QueryRelationship rel : relationships) {
+            if (rel.isCollection()) {
+              mergeRelationship(jdbcTemplateMapper, rel, batch);
+            }
+          }
+          return batch;
+        });
+      }
+    };
+    Stream<List<T>> batches = StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(batchIterator, Spliterator.ORDERED), false);
+    // closing the returned stream before the end releases the ResultSet and the connection
+    return batches.flatMap(List::stream).onClose(stream::close);
+  }
+
+  /**
+   * Async version of execute(). Runs on the async executor of the jdbcTemplateMapper. See
+   * JdbcTemplateMapper.executeAsync().
+   *
+   * @param jdbcTemplateMapper the jdbcTemplateMapper
+   * @return the future with the list of type.
+   */
+  public CompletableFuture<List<T>> executeAsync(JdbcTemplateMapper jdbcTemplateMapper) {
+    Assert.notNull(jdbcTemplateMapper, "jdbcTemplateMapper cannot be null");
+    return jdbcTemplateMapper.executeAsync(jtm -> execute(jtm));
+  }
+
+  /**
+   * Executes the query and returns whether there is at least one record for the type. No models
+   * are built. The relationships are joined so the where clause can include columns of the related
+   * tables. orderBy and limitOffsetClause are ignored.
+   *
+   * <pre>
+   * boolean exists = Query.type(Order.class)
+   *                       .hasOne(Customer.class)
+   *                       .joinColumnTypeSide("customer_id")
+   *                       .populateProperty("customer")
+   *                       .where("customer.last_name = ?", "joe")
+   *                       .exists(jdbcTemplateMapper);
+   * </pre>
+   *
+   * @param jdbcTemplateMapper the jdbcTemplateMapper
+   * @return true if a record exists
+   */
+  public boolean exists(JdbcTemplateMapper jdbcTemplateMapper) {
+    Assert.notNull(jdbcTemplateMapper, "jdbcTemplateMapper cannot be null");
+
+    List<QueryRelationship> joinedRelationships = getJoinedRelationships(true);
+
+    boolean foundInCache = false;
+    String cacheKey = "exists-" + getCacheKey(true);
+    String sql = jdbcTemplateMapper.getQuerySqlCache().get(cacheKey);
+    if (sql == null) {
+      validateRelationships(jdbcTemplateMapper);
+      sql = generateFromSql(jdbcTemplateMapper, joinedRelationships);
     } else {
-      String typeTableStr = typeTableAlias == null ? typeTableMapping.fullyQualifiedTableName()
-          : typeTableMapping.fullyQualifiedTableName() + " " + typeTableAlias;
+      foundInCache = true;
+    }
+
+    // sql stored in cache is the FROM clause without the where clause
+    String partialSqlForCache = sql;
+    if (MapperUtils.isNotBlank(whereClause)) {
+      sql += " WHERE " + whereClause;
+    }
+    sql = MapperUtils.existsSql(sql, jdbcTemplateMapper.getTableMapping(type));
 
-      sql += " FROM " + typeTableStr;
+    // the query returns a single row with 1 or 0. Runs with the timeout of the query options.
+    int result = StatementSettings.of(jdbcTemplateMapper, options, null)
+                                  .query(sql, whereParams, rs -> rs.next() ? rs.getInt(1) : 0);
+
+    // code reaches here query success, handle caching
+    if (!foundInCache) {
+      jdbcTemplateMapper.getQuerySqlCache().put(cacheKey, partialSqlForCache);
     }
+    return result > 0;
+  }
 
+  // appends the where, orderBy and limitOffset clauses
+  private String appendClauses(String sql) {
+    if (MapperUtils.isNotBlank(whereClause)) {
+      sql += " WHERE " + whereClause;
+    }
+
+    if (MapperUtils.isNotBlank(orderBy)) {
+      sql += " ORDER BY " + orderBy;
+    }
+
+    if (MapperUtils.isNotBlank(limitOffsetClause)) {
+      sql += " " + limitOffsetClause;
+    }
     return sql;
   }
 
-  String hasOneFromClause(TableMapping typeTableMapping, TableMapping relatedTableMapping) {
-    // joinColumn is on type table
-    String typeTableStr =
-        MapperUtils.tableStrForFrom(typeTableAlias, typeTableMapping.fullyQualifiedTableName());
+  private List<SelectMapper<?>> getRelatedTypeSelectMappers(JdbcTemplateMapper jtm,
+      List<QueryRelationship> joinedRelationships) {
+    List<SelectMapper<?>> relatedTypeSelectMappers = new ArrayList<>();
+    for (int i = 0; i < joinedRelationships.size(); i++) {
+      QueryRelationship rel = joinedRelationships.get(i);
+      Class<?> relatedType = rel.getRelatedType();
+      relatedTypeSelectMappers.add(jtm.getSelectMapperInternal(relatedType,
+          MapperUtils.columnPrefix(rel.getRelatedTableAlias(),
+              jtm.getTableMapping(relatedType).getTableName()),
+          relatedColumnAliasPrefix(i), rel.getProjection()));
+    }
+    return relatedTypeSelectMappers;
+  }
+
+  private boolean useSplitStrategy(JdbcTemplateMapper jtm) {
+    QueryRelationship collectionRelationship = getCollectionRelationship();
+    if (collectionRelationship == null || hasManyStrategy == HasManyStrategy.JOIN) {
+      return false;
+    }
+    if (hasManyStrategy == HasManyStrategy.SPLIT) {
+      return true;
+    }
+    // HasManyStrategy.AUTO
+    MovingAverage fanout = jtm.getQueryHasManyFanoutCache().get(getCacheKey(true));
+    if (fanout == null || referencesCollectionTables(jtm, collectionRelationship)) {
+      return false;
+    }
+    int typeColumnCount = jtm.getTableMapping(type).getPropertyMappings().size();
+    // number of type column values duplicated per type record when joined
+    return (fanout.get() - 1) * typeColumnCount >= AUTO_SPLIT_THRESHOLD;
+  }
+
+  // records the hasMany records per type record of this execution in the moving average. The
+  // records are counted while the collections are populated. When concurrent first executions
+  // race only one of their observations is put in the cache.
+  private void recordHasManyFanout(JdbcTemplateMapper jtm, int typeCount, long collectionCount) {
+    if (getCollectionRelationship() == null || typeCount == 0) {
+      return;
+    }
+    double observed = (double) collectionCount / typeCount;
+
+    String fanoutCacheKey = getCacheKey(true);
+    MovingAverage fanout = jtm.getQueryHasManyFanoutCache().get(fanoutCacheKey);
+    if (fanout == null) {
+      jtm.getQueryHasManyFanoutCache().put(fanoutCacheKey, new MovingAverage(observed));
+    } else {
+      fanout.add(observed);
+    }
+  }
 
-    String str = " FROM " + typeTableStr;
+  // the first hasMany/hasMany through relationship. Could be null
+  private QueryRelationship getCollectionRelationship() {
+    for (QueryRelationship rel : relationships) {
+      if (rel.isCollection()) {
+        return rel;
+      }
+    }
+    return null;
+  }
 
-    if (relatedType != null) {
-      String relatedTableStr = MapperUtils.tableStrForFrom(relatedTableAlias,
-          relatedTableMapping.fullyQualifiedTableName());
+  // whether the where or orderBy clauses reference the tables of the hasMany relationship
+  private boolean referencesCollectionTables(JdbcTemplateMapper jtm, QueryRelationship rel) {
+    String clauses = MapperUtils.toLowerCase(
+        (whereClause == null ? "" : whereClause) + " " + (orderBy == null ? "" : orderBy));
+    String relatedPrefix = MapperUtils.columnPrefix(rel.getRelatedTableAlias(),
+        jtm.getTableMapping(rel.getRelatedType()).getTableName());
+    if (clauses.contains(MapperUtils.toLowerCase(relatedPrefix) + ".")) {
+      return true;
+    }
+    return rel.getThroughJoinTable() != null && clauses.contains(
+        MapperUtils.toLowerCase(MapperUtils.getTableNameOnly(rel.getThroughJoinTable())) + ".");
+  }
 
-      String onTypePrefix =
-          MapperUtils.columnPrefix(typeTableAlias, typeTableMapping.getTableName());
+  // hasMany relationships which are not joined are populated with 'IN' clause queries on the type
+  // ids so the where and orderBy clauses of the query cannot reference their tables.
+  private void validateClausesForInClauseQueries(JdbcTemplateMapper jtm, String queryKind) {
+    for (QueryRelationship rel : relationships) {
+      if (rel.isCollection() && referencesCollectionTables(jtm, rel)) {
+        throw new QueryException("For " + queryKind
+            + " the where and orderBy clauses cannot reference the tables of the hasMany"
+            + " relationship of property " + type.getSimpleName() + "." + rel.getPropertyName()
+            + " since it is populated with separate 'IN' clause queries on the "
+            + type.getSimpleName() + " ids. Filter on those tables with a subquery which uses a"
+            + " different table alias.");
+      }
+    }
+  }
 
-      String onRelatedPrefix =
-          MapperUtils.columnPrefix(relatedTableAlias, relatedTableMapping.getTableName());
+  // builds the type model of the row. Its collection is resolved once here and not for every row.
+  @SuppressWarnings("unchecked")
+  private TypeModel newTypeModel(ResultSet rs, SelectMapper<?> selectMapper,
+      QueryRelationship collectionRelationship) {
+    BeanWrapper bw = selectMapper.buildBeanWrapperModel(rs); // builds the model from resultSet
+    if (bw == null) {
+      return null;
+    }
+    Collection<Object> collection = null;
+    if (collectionRelationship != null) {
+      // the property has already been validated so we know it is a collection that has been
+      // initialized. First time seeing the type model so make sure collection is clear.
+      collection =
+          (Collection<Object>) bw.getPropertyValue(collectionRelationship.getPropertyName());
+      if (collection.size() > 0) {
+        collection.clear();
+      }
+    }
+    return new TypeModel(bw, collection);
+  }
+
+  private void addRelationship(String relationshipType, Class<?> relatedType,
+      String relatedTableAlias) {
+    relationship = new QueryRelationship(relationshipType, relatedType, relatedTableAlias);
+    relationships.add(relationship);
+  }
+
+  // All the hasOne relationships and the first hasMany/hasMany through relationship are joined in
+  // the sql statement of the query. Joining more than one hasMany would result in a cartesian
+  // product so the others are populated after the query using QueryMerge. When joinCollection is
+  // false none of the hasMany/hasMany through relationships are joined.
+  private List<QueryRelationship> getJoinedRelationships(boolean joinCollection) {
+    List<QueryRelationship> joinedRelationships = new ArrayList<>();
+    boolean collectionJoined = !joinCollection;
+    for (QueryRelationship rel : relationships) {
+      if (rel.isHasOne()) {
+        joinedRelationships.add(rel);
+      } else if (!collectionJoined) {
+        joinedRelationships.add(rel);
+        collectionJoined = true;
+      }
+    }
+    return joinedRelationships;
+  }
+
+  private QueryRelationship getJoinedCollectionRelationship(
+      List<QueryRelationship> joinedRelationships) {
+    for (QueryRelationship rel : joinedRelationships) {
+      if (rel.isCollection()) {
+        return rel;
+      }
+    }
+    return null;
+  }
+
+  // column alias prefixes for joined relationships are r, r2, r3 ...
+  private String relatedColumnAliasPrefix(int index) {
+    return index == 0 ? MapperUtils.RELATED_TABLE_COL_ALIAS_PREFIX
+        : MapperUtils.RELATED_TABLE_COL_ALIAS_PREFIX + (index + 1);
+  }
+
+  private void validateRelationships(JdbcTemplateMapper jtm) {
+    validateProjection(jtm, type, typeProjection);
+    for (QueryRelationship rel : relationships) {
+      validateProjection(jtm, rel.getRelatedType(), rel.getProjection());
+    }
+    if (relationships.isEmpty()) {
+      QueryValidator.validate(jtm, type, null, null, null, null, null, null, null, null);
+      return;
+    }
+    Set<String> propertyNames = new HashSet<>();
+    for (QueryRelationship rel : relationships) {
+      QueryValidator.validate(jtm, type, rel.getRelationshipType(), rel.getRelatedType(),
+          rel.getJoinColumnTypeSide(), rel.getJoinColumnManySide(), rel.getPropertyName(),
+          rel.getThroughJoinTable(), rel.getThroughTypeJoinColumn(),
+          rel.getThroughRelatedTypeJoinColumn());
+      if (!propertyNames.add(rel.getPropertyName())) {
+        throw new QueryException("property " + type.getSimpleName() + "." + rel.getPropertyName()
+            + " is populated by more than one relationship");
+      }
+    }
+  }
 
-      str += " LEFT JOIN " + relatedTableStr + " on " + onTypePrefix + "." + joinColumnTypeSide
-          + " = " + onRelatedPrefix + "." + relatedTableMapping.getIdColumnName();
+  private void validateProjection(JdbcTemplateMapper jtm, Class<?> clazz, Projection projection) {
+    if (projection != null) {
+      String invalidPropertyName = projection.getInvalidPropertyName(jtm.getTableMapping(clazz));
+      if (invalidPropertyName != null) {
+        throw new QueryException("Invalid projection property " + clazz.getSimpleName() + "."
+            + invalidPropertyName + ". It does not have a corresponding column in database.");
+      }
     }
-    return str;
   }
 
-  String hasManyFromClause(TableMapping typeTableMapping, TableMapping relatedTableMapping) {
-    String typeTableStr =
-        MapperUtils.tableStrForFrom(typeTableAlias, typeTableMapping.fullyQualifiedTableName());
+  // returns the number of related records merged into the collections
+  private long mergeRelationship(JdbcTemplateMapper jtm, QueryRelationship rel,
+      List<T> resultList) {
+    IQueryMergeHasMany<T> queryMerge = rel.getRelatedTableAlias() == null
+        ? QueryMerge.type(type).hasMany(rel.getRelatedType())
+        : QueryMerge.type(type).hasMany(rel.getRelatedType(), rel.getRelatedTableAlias());
 
-    String str = " FROM " + typeTableStr;
-    if (relatedType != null) {
-      String relatedTableStr = MapperUtils.tableStrForFrom(relatedTableAlias,
-          relatedTableMapping.fullyQualifiedTableName());
+    if (options != null) {
+      ((QueryMerge<T>) queryMerge).withOptions(options);
+    }
 
-      String onTypePrefix =
-          MapperUtils.columnPrefix(typeTableAlias, typeTableMapping.getTableName());
+    IQueryMergePopulateProperty<T> populateProperty = null;
+    if (RelationshipType.HAS_MANY_THROUGH.equals(rel.getRelationshipType())) {
+      populateProperty = queryMerge.throughJoinTable(rel.getThroughJoinTable())
+                                   .throughJoinColumns(rel.getThroughTypeJoinColumn(),
+                                       rel.getThroughRelatedTypeJoinColumn())
+                                   .populateProperty(rel.getPropertyName());
+    } else {
+      populateProperty = queryMerge.joinColumnManySide(rel.getJoinColumnManySide())
+                                   .populateProperty(rel.getPropertyName());
+    }
+    if (rel.getProjection() != null) {
+      populateProperty.relatedProjection(rel.getProjection());
+    }
+    populateProperty.execute(jtm, resultList);
+    return ((QueryMerge<T>) queryMerge).getMergedCount();
+  }
 
-      String onRelatedPrefix =
-          MapperUtils.columnPrefix(relatedTableAlias, relatedTableMapping.getTableName());
+  // The sql generated does not include where, orderBy, offsetLimit
+  private String generatePartialQuerySql(JdbcTemplateMapper jtm, SelectMapper<?> typeSelectMapper,
+      List<QueryRelationship> joinedRelationships, List<SelectMapper<?>> relatedTypeSelectMappers) {
+    String sql = "SELECT " + typeSelectMapper.getColumnsSql();
+    for (SelectMapper<?> relatedTypeSelectMapper : relatedTypeSelectMappers) {
+      sql += "," + relatedTypeSelectMapper.getColumnsSql();
+    }
 
-      str += " LEFT JOIN " + relatedTableStr + " on " + onTypePrefix + "."
-          + typeTableMapping.getIdColumnName() + " = " + onRelatedPrefix + "." + joinColumnManySide;
+    return sql + generateFromSql(jtm, joinedRelationships);
+  }
+
+  // the FROM clause with the joins of the relationships
+  private String generateFromSql(JdbcTemplateMapper jtm,
+      List<QueryRelationship> joinedRelationships) {
+    TableMapping typeTableMapping = jtm.getTableMapping(type);
+
+    String sql = " FROM "
+        + MapperUtils.tableStrForFrom(typeTableAlias, typeTableMapping.fullyQualifiedTableName());
+
+    for (QueryRelationship rel : joinedRelationships) {
+      TableMapping relatedTableMapping = jtm.getTableMapping(rel.getRelatedType());
+      if (RelationshipType.HAS_ONE.equals(rel.getRelationshipType())) {
+        sql += hasOneJoinClause(typeTableMapping, relatedTableMapping, rel);
+      } else if (RelationshipType.HAS_MANY.equals(rel.getRelationshipType())) {
+        // joinColumn is on related table
+        sql += hasManyJoinClause(typeTableMapping, relatedTableMapping, rel);
+      } else if (RelationshipType.HAS_MANY_THROUGH.equals(rel.getRelationshipType())) {
+        sql += hasManyThroughJoinClause(typeTableMapping, relatedTableMapping, rel);
+      }
     }
 
-    return str;
+    return sql;
+  }
+
+  private String hasOneJoinClause(TableMapping typeTableMapping, TableMapping relatedTableMapping,
+      QueryRelationship rel) {
+    // joinColumn is on type table
+    String relatedTableStr = MapperUtils.tableStrForFrom(rel.getRelatedTableAlias(),
+        relatedTableMapping.fullyQualifiedTableName());
+
+    String onTypePrefix = MapperUtils.columnPrefix(typeTableAlias, typeTableMapping.getTableName());
+
+    String onRelatedPrefix =
+        MapperUtils.columnPrefix(rel.getRelatedTableAlias(), relatedTableMapping.getTableName());
+
+    return " LEFT JOIN " + relatedTableStr + " on " + onTypePrefix + "."
+        + rel.getJoinColumnTypeSide() + " = " + onRelatedPrefix + "."
+        + relatedTableMapping.getIdColumnName();
   }
 
-  String hasManyThroughFromClause(TableMapping typeTableMapping, TableMapping relatedTableMapping) {
+  private String hasManyJoinClause(TableMapping typeTableMapping, TableMapping relatedTableMapping,
+      QueryRelationship rel) {
+    String relatedTableStr = MapperUtils.tableStrForFrom(rel.getRelatedTableAlias(),
+        relatedTableMapping.fullyQualifiedTableName());
 
-    String typeTableStr =
-        MapperUtils.tableStrForFrom(typeTableAlias, typeTableMapping.fullyQualifiedTableName());
+    String onTypePrefix = MapperUtils.columnPrefix(typeTableAlias, typeTableMapping.getTableName());
 
-    String str = " FROM " + typeTableStr;
+    String onRelatedPrefix =
+        MapperUtils.columnPrefix(rel.getRelatedTableAlias(), relatedTableMapping.getTableName());
 
-    if (relatedType != null) {
-      String relatedTableStr = MapperUtils.tableStrForFrom(relatedTableAlias,
-          relatedTableMapping.fullyQualifiedTableName());
+    return " LEFT JOIN " + relatedTableStr + " on " + onTypePrefix + "."
+        + typeTableMapping.getIdColumnName() + " = " + onRelatedPrefix + "."
+        + rel.getJoinColumnManySide();
+  }
 
-      String onTypePrefix =
-          MapperUtils.columnPrefix(typeTableAlias, typeTableMapping.getTableName());
+  private String hasManyThroughJoinClause(TableMapping typeTableMapping,
+      TableMapping relatedTableMapping, QueryRelationship rel) {
+    String relatedTableStr = MapperUtils.tableStrForFrom(rel.getRelatedTableAlias(),
+        relatedTableMapping.fullyQualifiedTableName());
+
+    String onTypePrefix = MapperUtils.columnPrefix(typeTableAlias, typeTableMapping.getTableName());
+
+    String onRelatedPrefix =
+        MapperUtils.columnPrefix(rel.getRelatedTableAlias(), relatedTableMapping.getTableName());
+
+    String throughJoinTable = rel.getThroughJoinTable();
+    return " LEFT JOIN "
+        + MapperUtils.getFullyQualifiedTableNameForThroughJoinTable(throughJoinTable,
+            typeTableMapping)
+        + " on " + onTypePrefix + "." + typeTableMapping.getIdColumnName() + " = "
+        + MapperUtils.getTableNameOnly(throughJoinTable) + "." + rel.getThroughTypeJoinColumn()
+        + " LEFT JOIN " + relatedTableStr + " on "
+        + MapperUtils.getTableNameOnly(throughJoinTable) + "."
+        + rel.getThroughRelatedTypeJoinColumn() + " = " + onRelatedPrefix + "."
+        + relatedTableMapping.getIdColumnName();
+  }
 
-      String onRelatedPrefix =
-          MapperUtils.columnPrefix(relatedTableAlias, relatedTableMapping.getTableName());
+  // the row counts of the adaptive fetch size are recorded per sql cache key, like the hasMany
+  // fanout, so the key does not grow with the values in the clauses. Paged queries are kept apart
+  // since the page size bounds their rows.
+  private String getRowCountKey(String cacheKey) {
+    return "query-" + cacheKey + "-" + MapperUtils.isNotBlank(limitOffsetClause);
+  }
 
-      str += " LEFT JOIN "
-          + MapperUtils.getFullyQualifiedTableNameForThroughJoinTable(throughJoinTable,
-              typeTableMapping)
-          + " on " + onTypePrefix + "." + typeTableMapping.getIdColumnName() + " = "
-          + MapperUtils.getTableNameOnly(throughJoinTable) + "." + throughTypeJoinColumn
-          + " LEFT JOIN " + relatedTableStr + " on "
-          + MapperUtils.getTableNameOnly(throughJoinTable) + "." + throughRelatedTypeJoinColumn
-          + " = " + onRelatedPrefix + "." + relatedTableMapping.getIdColumnName();
+  String getCacheKey(boolean joinCollection) {
+    List<String> keys = new ArrayList<>();
+    keys.add(type.getName());
+    keys.add(typeTableAlias);
+    keys.add(String.valueOf(joinCollection));
+    keys.add(typeProjection == null ? null : typeProjection.getCacheKey());
+    for (QueryRelationship rel : relationships) {
+      keys.add(rel.getCacheKey());
     }
-    return str;
+    return String.join("-", keys);
   }
 
-  String getCacheKey() {
-    // @formatter:off
-    return String.join("-", 
-        type.getName(),
-        typeTableAlias,
-        relatedType == null ? null : relatedType.getName(),
-        relatedTableAlias,
-        relationshipType,
-        joinColumnTypeSide, 
-        joinColumnManySide, 
-        throughJoinTable, 
-        throughTypeJoinColumn,
-        throughRelatedTypeJoinColumn,
-        propertyName);
-    // @formatter:on
+  // the type model and the collection of its joined hasMany/hasMany through relationship
+  private static class TypeModel {
+    private final BeanWrapper bw;
+    private final Collection<Object> collection; // null if no collection relationship is joined
+
+    TypeModel(BeanWrapper bw, Collection<Object> collection) {
+      this.bw = bw;
+      this.collection = collection;
+    }
   }
 }
@@ -13,7 +13,7 @@
  */
 package io.github.jdbctemplatemapper.core;
 
-import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.util.Assert;
 import io.github.jdbctemplatemapper.querycount.IQueryCountFluent;
 import io.github.jdbctemplatemapper.querycount.IQueryCountHasOne;
@@ -151,6 +151,18 @@ public class QueryCount<T> implements IQueryCountFluent<T> {
     return this;
   }
 
+  /**
+   * Async version of execute(). Runs on the async executor of the jdbcTemplateMapper. See
+   * JdbcTemplateMapper.executeAsync().
+   *
+   * @param jdbcTemplateMapper the jdbcTemplateMapper
+   * @return the future with the count
+   */
+  public CompletableFuture<Integer> executeAsync(JdbcTemplateMapper jdbcTemplateMapper) {
+    Assert.notNull(jdbcTemplateMapper, "jdbcTemplateMapper cannot be null");
+    return jdbcTemplateMapper.executeAsync(jtm -> execute(jtm));
+  }
+
   /**
    * The executes query and returns count.
    *
@@ -158,7 +170,22 @@ public class QueryCount<T> implements IQueryCountFluent<T> {
    */
   public Integer execute(JdbcTemplateMapper jdbcTemplateMapper) {
     Assert.notNull(jdbcTemplateMapper, "jdbcTemplateMapper cannot be null");
+    return queryForInteger(jdbcTemplateMapper, false);
+  }
+
+  /**
+   * Executes the query and returns whether there is at least one record. Unlike execute() the
+   * database stops at the first matching record instead of counting all of them.
+   *
+   * @param jdbcTemplateMapper the jdbcTemplateMapper
+   * @return true if a record exists
+   */
+  public boolean exists(JdbcTemplateMapper jdbcTemplateMapper) {
+    Assert.notNull(jdbcTemplateMapper, "jdbcTemplateMapper cannot be null");
+    return queryForInteger(jdbcTemplateMapper, true) > 0;
+  }
 
+  private Integer queryForInteger(JdbcTemplateMapper jdbcTemplateMapper, boolean exists) {
     boolean foundInCache = false;
     String cacheKey = getCacheKey();
     String sql = jdbcTemplateMapper.getQueryCountSqlCache().get(cacheKey);
@@ -170,25 +197,21 @@ public class QueryCount<T> implements IQueryCountFluent<T> {
       foundInCache = true;
     }
 
+    // sql stored in cache is the FROM clause without the where clause
     String partialSqlForCache = sql;
     if (MapperUtils.isNotBlank(whereClause)) {
       sql += " WHERE " + whereClause;
     }
-
-    Integer count = 0;
-    if (whereParams == null) {
-      count = jdbcTemplateMapper.getJdbcTemplate().queryForObject(sql, Integer.class);
+    if (exists) {
+      sql = MapperUtils.existsSql(sql, jdbcTemplateMapper.getTableMapping(type));
     } else {
-      if (whereParams[0] instanceof MapSqlParameterSource) {
-        count = jdbcTemplateMapper.getNamedParameterJdbcTemplate()
-                                  .queryForObject(sql, (MapSqlParameterSource) whereParams[0],
-                                      Integer.class);
-      } else {
-        count =
-            jdbcTemplateMapper.getJdbcTemplate().queryForObject(sql, Integer.class, whereParams);
-      }
+      sql = "SELECT count(*) as record_count " + sql;
     }
 
+    // the statement is registered with the async operation, if any, so it can be cancelled
+    Integer count = StatementSettings.of(jdbcTemplateMapper, null, null)
+                                     .query(sql, whereParams, rs -> rs.next() ? rs.getInt(1) : 0);
+
     // code reaches here query success, handle caching
     if (!foundInCache) {
       jdbcTemplateMapper.getQueryCountSqlCache().put(cacheKey, partialSqlForCache);
@@ -196,6 +219,7 @@ public class QueryCount<T> implements IQueryCountFluent<T> {
     return count;
   }
 
+  // the FROM clause with the joins. The select is added by the caller.
   private String generatePartialQuerySql(JdbcTemplateMapper jtm) {
     TableMapping typeTableMapping = jtm.getTableMapping(type);
     TableMapping relatedTypeTableMapping =
@@ -207,8 +231,7 @@ public class QueryCount<T> implements IQueryCountFluent<T> {
     String typeColumnPrefix =
         MapperUtils.columnPrefix(typeTableAlias, typeTableMapping.getTableName());
 
-    String sql = "SELECT count(*) as record_count ";
-    sql += " FROM " + typeTableStr;
+    String sql = " FROM " + typeTableStr;
     if (relatedType != null) {
       String relatedTableStr = MapperUtils.tableStrForFrom(relatedTableAlias,
           relatedTypeTableMapping.fullyQualifiedTableName());
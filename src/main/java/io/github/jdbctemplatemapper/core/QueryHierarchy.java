@@ -0,0 +1,339 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.util.Assert;
+import io.github.jdbctemplatemapper.exception.QueryException;
+import io.github.jdbctemplatemapper.queryhierarchy.IQueryHierarchyExecute;
+import io.github.jdbctemplatemapper.queryhierarchy.IQueryHierarchyFluent;
+import io.github.jdbctemplatemapper.queryhierarchy.IQueryHierarchyParentIdColumn;
+import io.github.jdbctemplatemapper.queryhierarchy.IQueryHierarchyPopulateProperty;
+import io.github.jdbctemplatemapper.queryhierarchy.IQueryHierarchyStart;
+import io.github.jdbctemplatemapper.queryhierarchy.IQueryHierarchyType;
+
+/**
+ * Queries a hierarchy of a self referencing table (a table with a parent id column like category
+ * trees, org charts) with a single recursive query. Uses 'WITH RECURSIVE' (Oracle uses 'CONNECT
+ * BY') so the whole subtree or ancestor chain is loaded in one database call instead of one query
+ * per level.
+ *
+ * <pre>
+ * List&lt;Category&gt; categories = QueryHierarchy.type(Category.class)
+ *                                          .parentIdColumn("parent_id")
+ *                                          .populateProperty("children")
+ *                                          .descendantsOf(1)
+ *                                          .execute(jdbcTemplateMapper);
+ * </pre>
+ *
+ * @author ajoseph
+ */
+public class QueryHierarchy<T> implements IQueryHierarchyFluent<T> {
+  private static final String CTE_NAME = "hierarchy_cte";
+  private static final String CTE_TABLE_ALIAS = "hierarchy_t";
+  // the depth queried when maxDepth() is not set. Guards against cycles in the data which would
+  // otherwise make the recursive query run without end. Same as the sql server MAXRECURSION
+  // default.
+  static final int DEFAULT_MAX_DEPTH = 100;
+
+  private Class<T> type;
+  private String parentIdColumn;
+  private String propertyName;
+  private Object id;
+  private boolean ancestors;
+  private int maxDepth = DEFAULT_MAX_DEPTH;
+
+  private QueryHierarchy(Class<T> type) {
+    this.type = type;
+  }
+
+  /**
+   * The type of the hierarchy. The table of the type should have a parent id column referencing its
+   * own id.
+   *
+   * @param <T> the type
+   * @param type the type
+   * @return interface with the next methods in the chain
+   */
+  public static <T> IQueryHierarchyType<T> type(Class<T> type) {
+    Assert.notNull(type, "type cannot be null");
+    return new QueryHierarchy<T>(type);
+  }
+
+  /**
+   * The parent id column of the table. It references the id of the parent record and is null for
+   * the root records. The column should not have a table prefix.
+   *
+   * @param parentIdColumn the parent id column (with no table prefix)
+   * @return interface with the next methods in the chain
+   */
+  public IQueryHierarchyParentIdColumn<T> parentIdColumn(String parentIdColumn) {
+    if (MapperUtils.isBlank(parentIdColumn)) {
+      throw new IllegalArgumentException("parentIdColumn cannot be null or blank");
+    }
+    this.parentIdColumn = MapperUtils.toLowerCase(parentIdColumn.trim());
+    return this;
+  }
+
+  /**
+   * The collection property of the type which gets populated with the children. The property has
+   * to be an initialized collection (cannot be null) and the generic type should be the type.
+   *
+   * @param propertyName name of property that needs to be populated
+   * @return interface with the next methods in the chain
+   */
+  public IQueryHierarchyPopulateProperty<T> populateProperty(String propertyName) {
+    if (MapperUtils.isBlank(propertyName)) {
+      throw new IllegalArgumentException("propertyName cannot be null or blank");
+    }
+    this.propertyName = propertyName.trim();
+    return this;
+  }
+
+  /**
+   * Queries the model of the id and all its descendants. The children of each model are populated.
+   * The returned list is ordered by level, so the first entry is the model of the id with the
+   * whole subtree populated.
+   *
+   * @param id the id of the top model of the subtree
+   * @return interface with the next methods in the chain
+   */
+  public IQueryHierarchyStart<T> descendantsOf(Object id) {
+    Assert.notNull(id, "id cannot be null");
+    this.id = id;
+    this.ancestors = false;
+    return this;
+  }
+
+  /**
+   * Queries the model of the id and all its ancestors. The children collection of each ancestor is
+   * populated with the model below it in the chain. The returned list is ordered by level, so the
+   * first entry is the model of the id followed by its parent, grand parent ... up to the root.
+   *
+   * @param id the id of the model whose ancestors are queried
+   * @return interface with the next methods in the chain
+   */
+  public IQueryHierarchyStart<T> ancestorsOf(Object id) {
+    Assert.notNull(id, "id cannot be null");
+    this.id = id;
+    this.ancestors = true;
+    return this;
+  }
+
+  /**
+   * Limits the number of levels queried below (descendantsOf) or above (ancestorsOf) the model of
+   * the id. Defaults to 100. The limit guards against cycles in the data. Models already in the
+   * result (reached again through a cycle) are skipped.
+   *
+   * @param maxDepth the maximum depth. 0 returns only the model of the id.
+   * @return interface with the next methods in the chain
+   */
+  public IQueryHierarchyExecute<T> maxDepth(int maxDepth) {
+    if (maxDepth < 0) {
+      throw new IllegalArgumentException("maxDepth cannot be negative");
+    }
+    this.maxDepth = maxDepth;
+    return this;
+  }
+
+  /**
+   * Async version of execute(). Runs on the async executor of the jdbcTemplateMapper. See
+   * JdbcTemplateMapper.executeAsync().
+   *
+   * @param jdbcTemplateMapper the jdbcTemplateMapper
+   * @return the future with the list of type.
+   */
+  public CompletableFuture<List<T>> executeAsync(JdbcTemplateMapper jdbcTemplateMapper) {
+    Assert.notNull(jdbcTemplateMapper, "jdbcTemplateMapper cannot be null");
+    return jdbcTemplateMapper.executeAsync(jtm -> execute(jtm));
+  }
+
+  /**
+   * Executes the query.
+   *
+   * @param jdbcTemplateMapper the jdbcTemplateMapper
+   * @return List of type ordered by level. Empty list if the model of the id is not found.
+   */
+  public List<T> execute(JdbcTemplateMapper jdbcTemplateMapper) {
+    Assert.notNull(jdbcTemplateMapper, "jdbcTemplateMapper cannot be null");
+
+    TableMapping tableMapping = jdbcTemplateMapper.getTableMapping(type);
+    SelectMapper<T> selectMapper = jdbcTemplateMapper.getSelectMapperInternal(type,
+        tableMapping.getTableName(), MapperUtils.TYPE_TABLE_COL_ALIAS_PREFIX);
+
+    boolean foundInCache = false;
+    String cacheKey = getCacheKey();
+    String sql = jdbcTemplateMapper.getQuerySqlCache().get(cacheKey);
+    if (sql == null) {
+      validate(jdbcTemplateMapper, tableMapping);
+      sql = tableMapping.isOracle() ? generateConnectBySql(tableMapping, selectMapper)
+          : generateRecursiveSql(tableMapping, selectMapper);
+    } else {
+      foundInCache = true;
+    }
+
+    PropertyMapping parentIdPropMapping =
+        tableMapping.getPropertyMappingByColumnName(parentIdColumn);
+    String parentIdColumnLabel = selectMapper.getResultSetColumnLabel(parentIdPropMapping);
+
+    @SuppressWarnings("unchecked")
+    ResultSetExtractor<List<T>> rsExtractor = new ResultSetExtractor<List<T>>() {
+      public List<T> extractData(ResultSet rs) throws SQLException, DataAccessException {
+        List<T> list = new ArrayList<>();
+        // key - model id, value - the children collection of the model
+        ModelIdMap<Collection<Object>> idToCollectionMap =
+            ModelIdMap.forIdType(selectMapper.getModelIdType(), 64);
+        // ids of the models in the list. A model reached again through a cycle is skipped.
+        Set<Object> ids = new HashSet<>();
+        Object previous = null;
+        while (rs.next()) {
+          BeanWrapper bw = selectMapper.buildBeanWrapperModel(rs);
+          if (bw == null || !ids.add(bw.getPropertyValue(tableMapping.getIdPropertyName()))) {
+            continue;
+          }
+          Object model = bw.getWrappedInstance();
+          Collection<Object> collection = (Collection<Object>) bw.getPropertyValue(propertyName);
+          if (collection == null) {
+            throw new QueryException(
+                "Only initialized collections can be populated by queries. Collection property "
+                    + type.getSimpleName() + "." + propertyName + " is not initialized.");
+          }
+          if (collection.size() > 0) {
+            collection.clear();
+          }
+          if (ancestors) {
+            // rows are ordered by level so the previous model is the child of this one
+            if (previous != null) {
+              collection.add(previous);
+            }
+            previous = model;
+          } else {
+            // rows are ordered by level so the parent has already been processed. Null for the
+            // model of the id since its parent is not queried.
+            Collection<Object> parentCollection =
+                idToCollectionMap.get(rs, parentIdColumnLabel, parentIdPropMapping);
+            if (parentCollection != null) {
+              parentCollection.add(model);
+            }
+            idToCollectionMap.put(bw.getPropertyValue(tableMapping.getIdPropertyName()),
+                collection);
+          }
+          list.add((T) model);
+        }
+        return list;
+      }
+    };
+
+    List<T> list = StatementSettings.of(jdbcTemplateMapper, null, null)
+                                    .query(sql, new Object[] {id}, rsExtractor);
+
+    // code reaches here query success, handle caching
+    if (!foundInCache) {
+      jdbcTemplateMapper.getQuerySqlCache().put(cacheKey, sql);
+    }
+    return list;
+  }
+
+  // the hierarchy is a hasMany relationship of the type to itself with the parent id column as the
+  // join column.
+  private void validate(JdbcTemplateMapper jtm, TableMapping tableMapping) {
+    if (parentIdColumn.contains(".")) {
+      throw new QueryException("Invalid parentIdColumn. It should have no table prefix");
+    }
+    QueryValidator.validate(jtm, type, RelationshipType.HAS_MANY, type, null, parentIdColumn,
+        propertyName, null, null, null);
+  }
+
+  // WITH RECURSIVE hierarchy_cte (hierarchy_id, hierarchy_parent_id, hierarchy_level) AS (
+  // SELECT id, parent_id, 0 FROM category WHERE id = ?
+  // UNION ALL
+  // SELECT hierarchy_t.id, hierarchy_t.parent_id, hierarchy_cte.hierarchy_level + 1
+  // FROM category hierarchy_t JOIN hierarchy_cte
+  // ON hierarchy_t.parent_id = hierarchy_cte.hierarchy_id
+  // WHERE hierarchy_cte.hierarchy_level < 100)
+  // SELECT ... FROM category JOIN hierarchy_cte ON category.id = hierarchy_cte.hierarchy_id
+  // ORDER BY hierarchy_cte.hierarchy_level, category.id
+  private String generateRecursiveSql(TableMapping tableMapping, SelectMapper<T> selectMapper) {
+    String idColumn = tableMapping.getIdColumnName();
+    String tableName = tableMapping.fullyQualifiedTableName();
+
+    // sql server does not support the RECURSIVE keyword. Its common table expressions are
+    // recursive without it.
+    String sql = tableMapping.isSqlServer() ? "WITH " : "WITH RECURSIVE ";
+    sql += CTE_NAME + " (hierarchy_id, hierarchy_parent_id, hierarchy_level) AS (";
+    sql += "SELECT " + idColumn + ", " + parentIdColumn + ", 0 FROM " + tableName + " WHERE "
+        + idColumn + " = ?";
+    sql += " UNION ALL ";
+    sql += "SELECT " + CTE_TABLE_ALIAS + "." + idColumn + ", " + CTE_TABLE_ALIAS + "."
+        + parentIdColumn + ", " + CTE_NAME + ".hierarchy_level + 1 FROM "
+        + MapperUtils.tableStrForFrom(CTE_TABLE_ALIAS, tableName) + " JOIN " + CTE_NAME + " ON ";
+    if (ancestors) {
+      sql += CTE_TABLE_ALIAS + "." + idColumn + " = " + CTE_NAME + ".hierarchy_parent_id";
+    } else {
+      sql += CTE_TABLE_ALIAS + "." + parentIdColumn + " = " + CTE_NAME + ".hierarchy_id";
+    }
+    sql += " WHERE " + CTE_NAME + ".hierarchy_level < " + maxDepth;
+    sql += ")";
+
+    String columnPrefix = tableMapping.getTableName();
+    sql += " SELECT " + selectMapper.getColumnsSql() + " FROM " + tableName + " JOIN " + CTE_NAME
+        + " ON " + columnPrefix + "." + idColumn + " = " + CTE_NAME + ".hierarchy_id";
+    sql += " ORDER BY " + CTE_NAME + ".hierarchy_level, " + columnPrefix + "." + idColumn;
+    if (tableMapping.isSqlServer()) {
+      // sql server fails the query when the recursion goes past MAXRECURSION (default 100) even
+      // if the WHERE clause ends it there. The limit can be at most 32767, 0 is no limit.
+      sql += " OPTION (MAXRECURSION " + (maxDepth < 32767 ? maxDepth + 1 : 0) + ")";
+    }
+    return sql;
+  }
+
+  // SELECT ... FROM category START WITH category.id = ?
+  // CONNECT BY NOCYCLE PRIOR category.id = category.parent_id AND LEVEL <= 101
+  // ORDER BY LEVEL, category.id
+  private String generateConnectBySql(TableMapping tableMapping, SelectMapper<T> selectMapper) {
+    String columnPrefix = tableMapping.getTableName();
+    String idColumn = columnPrefix + "." + tableMapping.getIdColumnName();
+    String parentColumn = columnPrefix + "." + parentIdColumn;
+
+    String sql = "SELECT " + selectMapper.getColumnsSql() + " FROM "
+        + tableMapping.fullyQualifiedTableName() + " START WITH " + idColumn + " = ?";
+    sql += " CONNECT BY NOCYCLE PRIOR "
+        + (ancestors ? parentColumn + " = " + idColumn : idColumn + " = " + parentColumn);
+    sql += " AND LEVEL <= " + (maxDepth + 1);
+    sql += " ORDER BY LEVEL, " + idColumn;
+    return sql;
+  }
+
+  private String getCacheKey() {
+    // @formatter:off
+    return String.join("-",
+        "hierarchy",
+        type.getName(),
+        parentIdColumn,
+        propertyName,
+        String.valueOf(ancestors),
+        String.valueOf(maxDepth));
+    // @formatter:on
+  }
+}
@@ -15,19 +15,19 @@ package io.github.jdbctemplatemapper.core;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.util.Assert;
+import io.github.jdbctemplatemapper.exception.QueryException;
 import io.github.jdbctemplatemapper.querymerge.IQueryMergeFluent;
 import io.github.jdbctemplatemapper.querymerge.IQueryMergeHasMany;
 import io.github.jdbctemplatemapper.querymerge.IQueryMergeHasOne;
@@ -53,7 +53,10 @@ import io.github.jdbctemplatemapper.querymerge.IQueryMergeType;
  */
 public class QueryMerge<T> implements IQueryMergeFluent<T> {
   private static final int IN_CLAUSE_CHUNK_SIZE = 100;
-  private Class<T> type;
+  // the type of the objects this level merges into. T for the first level. For a level declared
+  // with then() it is the related type of the previous level, while T stays the type of the
+  // mergeList passed to execute().
+  private Class<?> type;
   private String relationshipType;
   private Class<?> relatedType;
   private String relatedTypeTableAlias;
@@ -65,8 +68,17 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
   private String throughTypeJoinColumn;
   private String throughRelatedTypeJoinColumn;
   private String orderBy;
+  private Projection relatedProjection; // properties selected for the related type. null for all
+  private QueryOptions options; // fetch size and timeout. null for the JdbcTemplate settings
 
-  private QueryMerge(Class<T> type) {
+  // multi level merges. see then()
+  private QueryMerge<?> parent;
+  private QueryMerge<?> next;
+  // records added to the collections by the last execute() of this level. Used by Query for
+  // HasManyStrategy.AUTO on a QueryMerge of its own.
+  private long mergedCount;
+
+  private QueryMerge(Class<?> type) {
     this.type = type;
   }
 
@@ -82,6 +94,34 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
     return new QueryMerge<T>(type);
   }
 
+  /**
+   * The number of rows the jdbc driver fetches from the database in each round trip. Overrides the
+   * fetch size of the JdbcTemplate for the 'IN' clause queries of this level and the levels
+   * declared after it with then(). See QueryOptions.
+   *
+   * @param fetchSize the fetch size. Has to be greater than 0
+   * @return interface with the next methods in the chain
+   */
+  public IQueryMergeType<T> fetchSize(int fetchSize) {
+    this.options = options == null ? QueryOptions.fetchSize(fetchSize)
+        : options.withFetchSize(fetchSize);
+    return this;
+  }
+
+  /**
+   * The time the database is given to execute each 'IN' clause query. Overrides the query timeout
+   * of the JdbcTemplate for this level and the levels declared after it with then(). See
+   * QueryOptions.
+   *
+   * @param timeout the timeout. It is rounded up to seconds
+   * @return interface with the next methods in the chain
+   */
+  public IQueryMergeType<T> timeout(Duration timeout) {
+    this.options =
+        options == null ? QueryOptions.timeout(timeout) : options.withTimeout(timeout);
+    return this;
+  }
+
   /**
    * The type on which the query results are merged to.
    *
@@ -237,6 +277,20 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
     return this;
   }
 
+  /**
+   * The properties of the related type which are selected. Only the columns of the selected
+   * properties are part of the sql so the other properties are not populated. The id property (and
+   * for hasMany the join property) is always selected.
+   *
+   * @param projection the projection
+   * @return interface with the next methods in the chain
+   */
+  public IQueryMergePopulateProperty<T> relatedProjection(Projection projection) {
+    Assert.notNull(projection, "projection cannot be null");
+    this.relatedProjection = projection;
+    return this;
+  }
+
   /**
    * The orderBy clause for QueryMerge. For QueryMerge orderBy is only supported for hasMany and
    * hasMany through. orderBy columns have to be on the table of the hasMany/hasMany through side.
@@ -254,6 +308,33 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
     return this;
   }
 
+  /**
+   * Declares the next level of the merge. The relationship declared after then() is merged into
+   * the related objects of the current level. Example: Order hasMany OrderLine then OrderLine
+   * hasOne Product.
+   *
+   * <pre>
+   * QueryMerge.type(Order.class)
+   *           .hasMany(OrderLine.class)
+   *           .joinColumnManySide("order_id")
+   *           .populateProperty("orderLines")
+   *           .then()
+   *           .hasOne(Product.class)
+   *           .joinColumnTypeSide("product_id")
+   *           .populateProperty("product")
+   *           .execute(jdbcTemplateMapper, orders);
+   * </pre>
+   *
+   * @return interface with the next methods in the chain
+   */
+  public IQueryMergeType<T> then() {
+    QueryMerge<T> nextLevel = new QueryMerge<>(relatedType);
+    nextLevel.options = options;
+    nextLevel.parent = this;
+    this.next = nextLevel;
+    return nextLevel;
+  }
+
   /**
    * The query executes an sql 'IN' clause to get the related side (hasOne, hasMany, hasMany
    * through) objects and merges those with the objects in the mergeList.
@@ -261,6 +342,10 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
    * <pre>
    * If the the mergeList size is larger than 100, multiple 'IN' queries will be issued with each query
    * having up to 100 IN clause parameters to get the records.
+   * 
+   * When levels are declared with then(), each level issues its 'IN' query using the distinct
+   * related objects of the previous level, so a merge N levels deep needs N queries (per chunk
+   * of 100) irrespective of the number of records.
    * </pre>
    *
    * @param jdbcTemplateMapper the jdbcTemplateMapper
@@ -269,11 +354,69 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
   public void execute(JdbcTemplateMapper jdbcTemplateMapper, List<T> mergeList) {
     Assert.notNull(jdbcTemplateMapper, "jdbcTemplateMapper cannot be null");
 
+    QueryMerge<?> firstLevel = this;
+    while (firstLevel.parent != null) {
+      firstLevel = firstLevel.parent;
+    }
+
+    QueryMerge<?> start = firstLevel;
+    // the queries of all the levels run on the same read replica
+    jdbcTemplateMapper.executeRead(() -> {
+      List<?> levelMergeList = mergeList;
+      QueryMerge<?> level = start;
+      while (level != null) {
+        levelMergeList = level.executeLevel(jdbcTemplateMapper, levelMergeList);
+        level = level.next;
+      }
+      return null;
+    });
+  }
+
+  /**
+   * Async version of execute(). Runs on the async executor of the jdbcTemplateMapper. See
+   * JdbcTemplateMapper.executeAsync().
+   *
+   * @param jdbcTemplateMapper the jdbcTemplateMapper
+   * @param mergeList a list of objects of type.
+   * @return the future which completes when the merge is done
+   */
+  public CompletableFuture<Void> executeAsync(JdbcTemplateMapper jdbcTemplateMapper,
+      List<T> mergeList) {
+    Assert.notNull(jdbcTemplateMapper, "jdbcTemplateMapper cannot be null");
+    return jdbcTemplateMapper.executeAsync(jtm -> {
+      execute(jtm, mergeList);
+      return null;
+    });
+  }
+
+  // used by Query to merge its hasMany relationships with the options of the query
+  QueryMerge<T> withOptions(QueryOptions options) {
+    this.options = options;
+    return this;
+  }
+
+  long getMergedCount() {
+    return mergedCount;
+  }
+
+  // merges the relationship of this level into mergeList and returns the distinct related objects
+  // which were merged. The returned list is only populated when there is a next level.
+  private List<Object> executeLevel(JdbcTemplateMapper jdbcTemplateMapper, List<?> mergeList) {
+    mergedCount = 0;
     String cacheKey = getCacheKey();
     if (jdbcTemplateMapper.getQueryMergeSqlCache().get(cacheKey) == null) {
       QueryValidator.validate(jdbcTemplateMapper, type, relationshipType, relatedType,
           joinColumnTypeSide, joinColumnManySide, propertyName, throughJoinTable,
           throughTypeJoinColumn, throughRelatedTypeJoinColumn);
+      if (relatedProjection != null) {
+        String invalidPropertyName = relatedProjection.getInvalidPropertyName(
+            jdbcTemplateMapper.getTableMapping(relatedType));
+        if (invalidPropertyName != null) {
+          throw new QueryException("Invalid projection property " + relatedType.getSimpleName()
+              + "." + invalidPropertyName
+              + ". It does not have a corresponding column in database.");
+        }
+      }
     }
 
     if (RelationshipType.HAS_ONE.equals(relationshipType)) {
@@ -282,20 +425,21 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
             "For QueryMerge hasOne relationships orderBy is not supported."
                 + " The order is already dictated by the mergeList order");
       }
-      processHasOne(jdbcTemplateMapper, mergeList, type, relatedType, cacheKey);
+      return processHasOne(jdbcTemplateMapper, mergeList, type, relatedType, cacheKey);
     } else if (RelationshipType.HAS_MANY.equals(relationshipType)) {
-      processHasMany(jdbcTemplateMapper, mergeList, type, relatedType, cacheKey);
+      return processHasMany(jdbcTemplateMapper, mergeList, type, relatedType, cacheKey);
     } else if (RelationshipType.HAS_MANY_THROUGH.equals(relationshipType)) {
-      processHasManyThrough(jdbcTemplateMapper, mergeList, type, relatedType, cacheKey);
+      return processHasManyThrough(jdbcTemplateMapper, mergeList, type, relatedType, cacheKey);
     }
+    return new ArrayList<>();
   }
 
   @SuppressWarnings({"unchecked", "rawtypes"})
-  private void processHasOne(JdbcTemplateMapper jtm, List<T> mergeList, Class<?> type,
+  private List<Object> processHasOne(JdbcTemplateMapper jtm, List<?> mergeList, Class<?> type,
       Class<?> relatedType, String cacheKey) {
 
     if (MapperUtils.isEmpty(mergeList)) {
-      return;
+      return new ArrayList<>();
     }
 
     TableMapping typeTableMapping = jtm.getTableMapping(type);
@@ -303,27 +447,29 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
     String joinPropertyName = typeTableMapping.getPropertyName(joinColumnTypeSide);
 
     List<BeanWrapper> bwMergeList = new ArrayList<>(mergeList.size());
-    Set params = new HashSet<>(mergeList.size());
-    for (T obj : mergeList) {
+    // the distinct join property values
+    ModelIdMap<Boolean> params = ModelIdMap
+        .forIdType(typeTableMapping.getPropertyType(joinPropertyName), mergeList.size());
+    for (Object obj : mergeList) {
       if (obj != null) {
         BeanWrapper bw = PropertyAccessorFactory.forBeanPropertyAccess(obj);
         bw.setPropertyValue(propertyName, null);
         bwMergeList.add(bw);
         Object joinPropertyValue = bw.getPropertyValue(joinPropertyName);
         if (joinPropertyValue != null) {
-          params.add(joinPropertyValue);
+          params.put(joinPropertyValue, Boolean.TRUE);
         }
       }
     }
-    if (MapperUtils.isEmpty(params)) {
-      return;
+    if (params.isEmpty()) {
+      return new ArrayList<>();
     }
 
     String relatedColumnPrefix =
         MapperUtils.columnPrefix(relatedTypeTableAlias, relatedTypeTableMapping.getTableName());
 
     SelectMapper<?> selectMapperRelatedType = jtm.getSelectMapperInternal(relatedType,
-        relatedColumnPrefix, MapperUtils.RELATED_TABLE_COL_ALIAS_PREFIX);
+        relatedColumnPrefix, MapperUtils.RELATED_TABLE_COL_ALIAS_PREFIX, relatedProjection);
 
     boolean foundInCache = false;
     String sql = jtm.getQueryMergeSqlCache().get(cacheKey);
@@ -342,17 +488,21 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
       foundInCache = true;
     }
 
-    String relatedModelIdPropName = relatedTypeTableMapping.getIdPropertyName();
-    Map<Object, Object> idToRelatedModelMap = new HashMap<>(mergeList.size());
+    String relatedModelIdColumnLabel = selectMapperRelatedType.getResultSetModelIdColumnLabel();
+    PropertyMapping relatedIdPropMapping = relatedTypeTableMapping.getIdPropertyMapping();
+    Function<ResultSet, Object> relatedModelBuilder =
+        r -> selectMapperRelatedType.buildModelObject(r);
+    ModelIdMap<Object> idToRelatedModelMap =
+        ModelIdMap.forIdType(relatedIdPropMapping.getPropertyType(), params.size());
 
-    ResultSetExtractor<List<T>> rsExtractor = new ResultSetExtractor<List<T>>() {
-      public List<T> extractData(ResultSet rs) throws SQLException, DataAccessException {
+    StatementSettings settings = StatementSettings.of(jtm, options, "merge-" + cacheKey);
+    int[] rowCount = new int[1];
+    ResultSetExtractor<Void> rsExtractor = new ResultSetExtractor<Void>() {
+      public Void extractData(ResultSet rs) throws SQLException, DataAccessException {
         while (rs.next()) {
-          BeanWrapper bwRelatedModel = selectMapperRelatedType.buildBeanWrapperModel(rs);
-          if (bwRelatedModel != null) {
-            idToRelatedModelMap.put(bwRelatedModel.getPropertyValue(relatedModelIdPropName),
-                bwRelatedModel.getWrappedInstance());
-          }
+          rowCount[0]++;
+          idToRelatedModelMap.computeIfAbsent(rs, relatedModelIdColumnLabel, relatedIdPropMapping,
+              relatedModelBuilder);
         }
         return null;
       }
@@ -361,11 +511,13 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
     // some databases have limits on number of entries in a 'IN' clause
     // Chunk the list and make multiple calls as needed.
     List<List<?>> chunkedJoinPropertyTypeSideValues =
-        MapperUtils.chunkTheList(new ArrayList(params), IN_CLAUSE_CHUNK_SIZE);
+        MapperUtils.chunkTheList(params.ids(), IN_CLAUSE_CHUNK_SIZE);
     for (List<?> joinPropertyTypeSideValues : chunkedJoinPropertyTypeSideValues) {
       MapSqlParameterSource queryParams =
           new MapSqlParameterSource("joinPropertyTypeSideValues", joinPropertyTypeSideValues);
-      jtm.getNamedParameterJdbcTemplate().query(sql, queryParams, rsExtractor);
+      rowCount[0] = 0;
+      settings.query(sql, new Object[] {queryParams}, rsExtractor);
+      settings.recordRowCount(rowCount[0]);
     }
 
     for (BeanWrapper bw : bwMergeList) {
@@ -379,45 +531,34 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
     if (!foundInCache) {
       jtm.getQueryMergeSqlCache().put(cacheKey, sql);
     }
+    // related models are unique by id, so same related model is shared across the merge objects
+    return next == null ? new ArrayList<>() : new ArrayList<>(idToRelatedModelMap.values());
   }
 
   @SuppressWarnings({"rawtypes", "unchecked"})
-  private void processHasMany(JdbcTemplateMapper jtm, List<T> mergeList, Class<?> type,
+  private List<Object> processHasMany(JdbcTemplateMapper jtm, List<?> mergeList, Class<?> type,
       Class<?> relatedType, String cacheKey) {
 
     if (MapperUtils.isEmpty(mergeList)) {
-      return;
+      return new ArrayList<>();
     }
     TableMapping typeTableMapping = jtm.getTableMapping(type);
     TableMapping relatedTypeTableMapping = jtm.getTableMapping(relatedType);
     String joinPropertyName = relatedTypeTableMapping.getPropertyName(joinColumnManySide);
-    String typeIdPropName = typeTableMapping.getIdPropertyName();
-    Map<Object, BeanWrapper> idToBeanWrapperTypeModelMap = new HashMap<>(mergeList.size());
-    Set params = new HashSet<>(mergeList.size());
-    for (Object obj : mergeList) {
-      if (obj != null) {
-        BeanWrapper bwTypeModel = PropertyAccessorFactory.forBeanPropertyAccess(obj);
-        Object idValue = bwTypeModel.getPropertyValue(typeIdPropName);
-        if (idValue != null) {
-          params.add(idValue);
-          // clear collection to address edge case where collection is initialized with values
-          Collection collection = (Collection) bwTypeModel.getPropertyValue(propertyName);
-          if (collection.size() > 0) {
-            collection.clear();
-          }
-          idToBeanWrapperTypeModelMap.put(idValue, bwTypeModel);
-        }
-      }
-    }
-    if (MapperUtils.isEmpty(params)) {
-      return;
+    // key - typeId, value - the collection of the type model. The collections are resolved once
+    // and not for every related record.
+    ModelIdMap<Collection> idToCollectionMap = getIdToCollectionMap(typeTableMapping, mergeList);
+    if (idToCollectionMap.isEmpty()) {
+      return new ArrayList<>();
     }
 
     String relatedColumnPrefix =
         MapperUtils.columnPrefix(relatedTypeTableAlias, relatedTypeTableMapping.getTableName());
 
+    // the join property is needed to find the type record of the related record
     SelectMapper<?> selectMapper = jtm.getSelectMapperInternal(relatedType, relatedColumnPrefix,
-        MapperUtils.RELATED_TABLE_COL_ALIAS_PREFIX);
+        MapperUtils.RELATED_TABLE_COL_ALIAS_PREFIX,
+        relatedProjection == null ? null : relatedProjection.withProperty(joinPropertyName));
 
     boolean foundInCache = false;
     String sql = jtm.getQueryMergeSqlCache().get(cacheKey);
@@ -441,17 +582,28 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
       sql += " ORDER BY " + orderBy;
     }
 
-    ResultSetExtractor<List<T>> rsExtractor = new ResultSetExtractor<List<T>>() {
-      public List<T> extractData(ResultSet rs) throws SQLException, DataAccessException {
+    // the join column value is read directly from the ResultSet to find the type record
+    PropertyMapping joinPropMapping =
+        relatedTypeTableMapping.getPropertyMappingByPropertyName(joinPropertyName);
+    String joinColumnLabel = selectMapper.getResultSetColumnLabel(joinPropMapping);
+
+    // a many side record belongs to a single type record so there are no duplicates to handle
+    List<Object> relatedModels = new ArrayList<>();
+    StatementSettings settings = StatementSettings.of(jtm, options, "merge-" + cacheKey);
+    int[] rowCount = new int[1];
+    ResultSetExtractor<Void> rsExtractor = new ResultSetExtractor<Void>() {
+      public Void extractData(ResultSet rs) throws SQLException, DataAccessException {
         while (rs.next()) {
-          BeanWrapper bwRelatedModel = selectMapper.buildBeanWrapperModel(rs);
-          if (bwRelatedModel != null) {
-            BeanWrapper bwTypeModel =
-                idToBeanWrapperTypeModelMap.get(bwRelatedModel.getPropertyValue(joinPropertyName));
-            if (bwTypeModel != null) {
-              // already validated so we know collection is initialized
-              Collection collection = (Collection) bwTypeModel.getPropertyValue(propertyName);
-              collection.add(bwRelatedModel.getWrappedInstance());
+          rowCount[0]++;
+          Collection collection = idToCollectionMap.get(rs, joinColumnLabel, joinPropMapping);
+          if (collection != null) {
+            Object relatedModel = selectMapper.buildModelObject(rs);
+            if (relatedModel != null) {
+              collection.add(relatedModel);
+              mergedCount++;
+              if (next != null) {
+                relatedModels.add(relatedModel);
+              }
             }
           }
         }
@@ -462,54 +614,41 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
     // some databases have limits on number of entries in a 'IN' clause
     // Chunk the list and make multiple calls as needed.
     List<List<?>> chunkedTypeIds =
-        MapperUtils.chunkTheList(new ArrayList(params), IN_CLAUSE_CHUNK_SIZE);
+        MapperUtils.chunkTheList(idToCollectionMap.ids(), IN_CLAUSE_CHUNK_SIZE);
     for (List typeIds : chunkedTypeIds) {
       MapSqlParameterSource queryParams = new MapSqlParameterSource("typeIds", typeIds);
-      jtm.getNamedParameterJdbcTemplate().query(sql, queryParams, rsExtractor);
+      rowCount[0] = 0;
+      settings.query(sql, new Object[] {queryParams}, rsExtractor);
+      settings.recordRowCount(rowCount[0]);
     }
 
     // code reaches here query success, handle caching
     if (!foundInCache) {
       jtm.getQueryMergeSqlCache().put(cacheKey, partialSqlForCache);
     }
+    return relatedModels;
   }
 
   @SuppressWarnings({"rawtypes", "unchecked"})
-  private void processHasManyThrough(JdbcTemplateMapper jtm, List<T> mergeList, Class<?> type,
-      Class<?> relatedType, String cacheKey) {
+  private List<Object> processHasManyThrough(JdbcTemplateMapper jtm, List<?> mergeList,
+      Class<?> type, Class<?> relatedType, String cacheKey) {
 
     if (MapperUtils.isEmpty(mergeList)) {
-      return;
+      return new ArrayList<>();
     }
     TableMapping typeTableMapping = jtm.getTableMapping(type);
     TableMapping relatedTypeTableMapping = jtm.getTableMapping(relatedType);
 
-    String typeIdPropName = typeTableMapping.getIdPropertyName();
-
-    // key - typeId, value - bean wrapped type model from mergeList
-    Map<Object, BeanWrapper> idToBeanWrapperTypeModelMap = new HashMap<>(mergeList.size());
-    Set params = new HashSet<>(mergeList.size());
-    for (Object obj : mergeList) {
-      if (obj != null) {
-        BeanWrapper bwTypeModel = PropertyAccessorFactory.forBeanPropertyAccess(obj);
-        Object idValue = bwTypeModel.getPropertyValue(typeIdPropName);
-        if (idValue != null) {
-          params.add(idValue);
-          // clear collection to address edge case where collection is initialized with values
-          Collection collection = (Collection) bwTypeModel.getPropertyValue(propertyName);
-          if (collection.size() > 0) {
-            collection.clear();
-          }
-          idToBeanWrapperTypeModelMap.put(idValue, bwTypeModel);
-        }
-      }
-    }
-    if (MapperUtils.isEmpty(params)) {
-      return;
+    // key - typeId, value - the collection of the type model. The collections are resolved once
+    // and not for every related record.
+    ModelIdMap<Collection> idToCollectionMap = getIdToCollectionMap(typeTableMapping, mergeList);
+    if (idToCollectionMap.isEmpty()) {
+      return new ArrayList<>();
     }
 
-    // The select statement is build in such a way the buildBeanWrapperModel(rs) returns the
-    // type id value. Note: For QueryMerge there is no alias for type table
+    // The select statement selects the through table type join column with the alias of the type
+    // id so the type id is read directly from the ResultSet. Note: For QueryMerge there is no
+    // alias for type table
     SelectMapper<?> selectMapperType = jtm.getSelectMapperInternal(type,
         typeTableMapping.getTableName(), MapperUtils.TYPE_TABLE_COL_ALIAS_PREFIX);
 
@@ -518,7 +657,7 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
             : relatedTypeTableAlias;
 
     SelectMapper<?> selectMapperRelatedType = jtm.getSelectMapperInternal(relatedType,
-        relatedColumnPrefix, MapperUtils.RELATED_TABLE_COL_ALIAS_PREFIX);
+        relatedColumnPrefix, MapperUtils.RELATED_TABLE_COL_ALIAS_PREFIX, relatedProjection);
 
     boolean foundInCache = false;
     String sql = jtm.getQueryMergeSqlCache().get(cacheKey);
@@ -550,19 +689,29 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
       sql += " ORDER BY " + orderBy;
     }
 
-    ResultSetExtractor<List<T>> rsExtractor = new ResultSetExtractor<List<T>>() {
-      public List<T> extractData(ResultSet rs) throws SQLException, DataAccessException {
+    String typeIdColumnLabel = selectMapperType.getResultSetModelIdColumnLabel();
+    PropertyMapping typeIdPropMapping = typeTableMapping.getIdPropertyMapping();
+    String relatedModelIdColumnLabel = selectMapperRelatedType.getResultSetModelIdColumnLabel();
+    PropertyMapping relatedIdPropMapping = relatedTypeTableMapping.getIdPropertyMapping();
+    Function<ResultSet, Object> relatedModelBuilder =
+        r -> selectMapperRelatedType.buildModelObject(r);
+    // key - related model id, value - related model. A related model can be associated with
+    // multiple type models. The same related model instance is shared across the type models.
+    ModelIdMap<Object> idToRelatedModelMap = ModelIdMap
+        .forIdType(relatedTypeTableMapping.getIdPropertyMapping().getPropertyType(), 16);
+    StatementSettings settings = StatementSettings.of(jtm, options, "merge-" + cacheKey);
+    int[] rowCount = new int[1];
+    ResultSetExtractor<Void> rsExtractor = new ResultSetExtractor<Void>() {
+      public Void extractData(ResultSet rs) throws SQLException, DataAccessException {
         while (rs.next()) {
-          BeanWrapper bwResultSetType = selectMapperType.buildBeanWrapperModel(rs);
-          if (bwResultSetType != null) {
-            BeanWrapper bwRelatedModel = selectMapperRelatedType.buildBeanWrapperModel(rs);
-            if (bwRelatedModel != null) {
-              Object typeIdValue = bwResultSetType.getPropertyValue(typeIdPropName);
-              BeanWrapper bw = idToBeanWrapperTypeModelMap.get(typeIdValue);
-              if (bw != null) {
-                Collection collection = (Collection) bw.getPropertyValue(propertyName);
-                collection.add(bwRelatedModel.getWrappedInstance());
-              }
+          rowCount[0]++;
+          Collection collection = idToCollectionMap.get(rs, typeIdColumnLabel, typeIdPropMapping);
+          if (collection != null) {
+            Object relatedModel = idToRelatedModelMap.computeIfAbsent(rs,
+                relatedModelIdColumnLabel, relatedIdPropMapping, relatedModelBuilder);
+            if (relatedModel != null) {
+              collection.add(relatedModel);
+              mergedCount++;
             }
           }
         }
@@ -573,16 +722,44 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
     // some databases have limits on number of entries in a 'IN' clause
     // Chunk the list and make multiple calls as needed.
     Collection<List<?>> chunkedTypeIds =
-        MapperUtils.chunkTheList(new ArrayList(params), IN_CLAUSE_CHUNK_SIZE);
+        MapperUtils.chunkTheList(idToCollectionMap.ids(), IN_CLAUSE_CHUNK_SIZE);
     for (List typeIds : chunkedTypeIds) {
       MapSqlParameterSource queryParams = new MapSqlParameterSource("typeIds", typeIds);
-      jtm.getNamedParameterJdbcTemplate().query(sql, queryParams, rsExtractor);
+      rowCount[0] = 0;
+      settings.query(sql, new Object[] {queryParams}, rsExtractor);
+      settings.recordRowCount(rowCount[0]);
     }
 
     // code reaches here query success, handle caching
     if (!foundInCache) {
       jtm.getQueryMergeSqlCache().put(cacheKey, partialSqlForCache);
     }
+    return next == null ? new ArrayList<>() : new ArrayList<>(idToRelatedModelMap.values());
+  }
+
+  // the collections of the type models keyed by type id. The collections are cleared to address
+  // the edge case where a collection is initialized with values.
+  @SuppressWarnings("rawtypes")
+  private ModelIdMap<Collection> getIdToCollectionMap(TableMapping typeTableMapping,
+      List<?> mergeList) {
+    String typeIdPropName = typeTableMapping.getIdPropertyName();
+    ModelIdMap<Collection> idToCollectionMap = ModelIdMap
+        .forIdType(typeTableMapping.getIdPropertyMapping().getPropertyType(), mergeList.size());
+    for (Object obj : mergeList) {
+      if (obj != null) {
+        BeanWrapper bwTypeModel = PropertyAccessorFactory.forBeanPropertyAccess(obj);
+        Object idValue = bwTypeModel.getPropertyValue(typeIdPropName);
+        if (idValue != null) {
+          // already validated so we know collection is initialized
+          Collection collection = (Collection) bwTypeModel.getPropertyValue(propertyName);
+          if (collection.size() > 0) {
+            collection.clear();
+          }
+          idToCollectionMap.put(idValue, collection);
+        }
+      }
+    }
+    return idToCollectionMap;
   }
 
   private String getCacheKey() {
@@ -597,7 +774,8 @@ public class QueryMerge<T> implements IQueryMergeFluent<T> {
         throughJoinTable, 
         throughTypeJoinColumn,
         throughRelatedTypeJoinColumn,
-        propertyName);
+        propertyName,
+        relatedProjection == null ? null : relatedProjection.getCacheKey());
     // @formatter:on
   }
 
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.time.Duration;
+import org.springframework.util.Assert;
+
+/**
+ * The statement options of a query. Options which are not set use the settings of the
+ * JdbcTemplate.
+ *
+ * <pre>
+ * QueryOptions.fetchSize(500)
+ * QueryOptions.fetchSize(500).withTimeout(Duration.ofSeconds(10))
+ * </pre>
+ *
+ * @author ajoseph
+ */
+public final class QueryOptions {
+  private final int fetchSize; // -1 not set
+  private final Duration timeout; // null not set
+
+  private QueryOptions(int fetchSize, Duration timeout) {
+    this.fetchSize = fetchSize;
+    this.timeout = timeout;
+  }
+
+  /**
+   * The number of rows the jdbc driver fetches from the database in each round trip.
+   *
+   * @param fetchSize the fetch size. Has to be greater than 0
+   * @return the query options
+   */
+  public static QueryOptions fetchSize(int fetchSize) {
+    return new QueryOptions(validateFetchSize(fetchSize), null);
+  }
+
+  /**
+   * The time the database is given to execute the query. See Statement.setQueryTimeout(). It is
+   * rounded up to seconds.
+   *
+   * @param timeout the timeout
+   * @return the query options
+   */
+  public static QueryOptions timeout(Duration timeout) {
+    return new QueryOptions(-1, validateTimeout(timeout));
+  }
+
+  /**
+   * Copy of the options with the fetch size.
+   *
+   * @param fetchSize the fetch size. Has to be greater than 0
+   * @return the query options
+   */
+  public QueryOptions withFetchSize(int fetchSize) {
+    return new QueryOptions(validateFetchSize(fetchSize), timeout);
+  }
+
+  /**
+   * Copy of the options with the timeout.
+   *
+   * @param timeout the timeout
+   * @return the query options
+   */
+  public QueryOptions withTimeout(Duration timeout) {
+    return new QueryOptions(fetchSize, validateTimeout(timeout));
+  }
+
+  /**
+   * The fetch size.
+   *
+   * @return the fetch size. -1 if not set
+   */
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
+  /**
+   * The timeout.
+   *
+   * @return the timeout. null if not set
+   */
+  public Duration getTimeout() {
+    return timeout;
+  }
+
+  // the timeout in seconds as needed by Statement.setQueryTimeout(). -1 if not set
+  int getTimeoutSeconds() {
+    if (timeout == null) {
+      return -1;
+    }
+    long seconds = timeout.getSeconds() + (timeout.getNano() > 0 ? 1 : 0);
+    return (int) Math.min(seconds, Integer.MAX_VALUE);
+  }
+
+  private static int validateFetchSize(int fetchSize) {
+    if (fetchSize < 1) {
+      throw new IllegalArgumentException("fetchSize has to be greater than 0");
+    }
+    return fetchSize;
+  }
+
+  private static Duration validateTimeout(Duration timeout) {
+    Assert.notNull(timeout, "timeout cannot be null");
+    if (timeout.isNegative()) {
+      throw new IllegalArgumentException("timeout cannot be negative");
+    }
+    return timeout;
+  }
+}
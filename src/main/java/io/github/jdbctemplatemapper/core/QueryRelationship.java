@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+/**
+ * The details of a single relationship declared on a Query.
+ *
+ * @author ajoseph
+ */
+class QueryRelationship {
+  private String relationshipType;
+  private Class<?> relatedType;
+  private String relatedTableAlias;
+  private String propertyName; // propertyName on main class that needs to be populated
+  private String joinColumnTypeSide;
+  private String joinColumnManySide;
+
+  private String throughJoinTable;
+  private String throughTypeJoinColumn;
+  private String throughRelatedTypeJoinColumn;
+
+  private Projection projection; // properties selected for the related type. null for all
+
+  public QueryRelationship(String relationshipType, Class<?> relatedType,
+      String relatedTableAlias) {
+    this.relationshipType = relationshipType;
+    this.relatedType = relatedType;
+    this.relatedTableAlias = relatedTableAlias;
+  }
+
+  public String getRelationshipType() {
+    return relationshipType;
+  }
+
+  public void setRelationshipType(String relationshipType) {
+    this.relationshipType = relationshipType;
+  }
+
+  public Class<?> getRelatedType() {
+    return relatedType;
+  }
+
+  public String getRelatedTableAlias() {
+    return relatedTableAlias;
+  }
+
+  public String getPropertyName() {
+    return propertyName;
+  }
+
+  public void setPropertyName(String propertyName) {
+    this.propertyName = propertyName;
+  }
+
+  public String getJoinColumnTypeSide() {
+    return joinColumnTypeSide;
+  }
+
+  public void setJoinColumnTypeSide(String joinColumnTypeSide) {
+    this.joinColumnTypeSide = joinColumnTypeSide;
+  }
+
+  public String getJoinColumnManySide() {
+    return joinColumnManySide;
+  }
+
+  public void setJoinColumnManySide(String joinColumnManySide) {
+    this.joinColumnManySide = joinColumnManySide;
+  }
+
+  public String getThroughJoinTable() {
+    return throughJoinTable;
+  }
+
+  public void setThroughJoinTable(String throughJoinTable) {
+    this.throughJoinTable = throughJoinTable;
+  }
+
+  public String getThroughTypeJoinColumn() {
+    return throughTypeJoinColumn;
+  }
+
+  public void setThroughTypeJoinColumn(String throughTypeJoinColumn) {
+    this.throughTypeJoinColumn = throughTypeJoinColumn;
+  }
+
+  public String getThroughRelatedTypeJoinColumn() {
+    return throughRelatedTypeJoinColumn;
+  }
+
+  public void setThroughRelatedTypeJoinColumn(String throughRelatedTypeJoinColumn) {
+    this.throughRelatedTypeJoinColumn = throughRelatedTypeJoinColumn;
+  }
+
+  public Projection getProjection() {
+    return projection;
+  }
+
+  public void setProjection(Projection projection) {
+    this.projection = projection;
+  }
+
+  public boolean isHasOne() {
+    return RelationshipType.HAS_ONE.equals(relationshipType);
+  }
+
+  // hasMany and hasMany through populate a collection
+  public boolean isCollection() {
+    return RelationshipType.HAS_MANY.equals(relationshipType)
+        || RelationshipType.HAS_MANY_THROUGH.equals(relationshipType);
+  }
+
+  public String getCacheKey() {
+    // @formatter:off
+    return String.join("-",
+        relatedType.getName(),
+        relatedTableAlias,
+        relationshipType,
+        joinColumnTypeSide,
+        joinColumnManySide,
+        throughJoinTable,
+        throughTypeJoinColumn,
+        throughRelatedTypeJoinColumn,
+        propertyName,
+        projection == null ? null : projection.getCacheKey());
+    // @formatter:on
+  }
+}
@@ -20,6 +20,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collection;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.PropertyAccessorFactory;
 
@@ -41,17 +42,10 @@ class QueryValidator {
       throw new QueryException("JdbcTemplateMapper cannot be null");
     }
 
-    Object typeModel = null;
-    try {
-      typeModel = type.getConstructor().newInstance();
-    } catch (Exception e) {
-      throw new MapperException(
-          "Failed to instantiate " + type.getName() + " No default constructor found.", e);
-    }
-
     if (relatedType != null && relationshipType != null) {
-      BeanWrapper bwTypeModel = PropertyAccessorFactory.forBeanPropertyAccess(typeModel);
-      if (!bwTypeModel.isReadableProperty(propertyName)) {
+      BeanWrapper bwTypeModel = newTypeModel(jtm, type);
+      if (bwTypeModel == null ? !isReadableProperty(type, propertyName)
+          : !bwTypeModel.isReadableProperty(propertyName)) {
         throw new QueryException(
             "Invalid property name " + propertyName + " for class " + type.getSimpleName());
       }
@@ -74,29 +68,9 @@ class QueryValidator {
       throw new QueryException("JdbcTemplateMapper cannot be null");
     }
 
-    Object typeModel = null;
-    try {
-      typeModel = type.getConstructor().newInstance();
-    } catch (Exception e) {
-      throw new MapperException(
-          "Failed to instantiate " + type.getName() + " No default constructor found.", e);
-    }
-
     if (relatedType != null && relationshipType != null) {
       if (RelationshipType.HAS_ONE.equals(relationshipType)) {
-        BeanWrapper bwTypeModel = PropertyAccessorFactory.forBeanPropertyAccess(typeModel);
-        validateHasOne(jtm, type, relatedType, joinColumnTypeSide, null, bwTypeModel);
-      }
-    }
-  }
-
-  static void validateQueryLimitOffsetClause(String relationshipType, String limitOffsetClause) {
-    if (RelationshipType.HAS_MANY.equals(relationshipType)
-        || RelationshipType.HAS_MANY_THROUGH.equals(relationshipType)) {
-      if (MapperUtils.isNotBlank(limitOffsetClause)) {
-        throw new IllegalArgumentException(
-            "limitOffsetClause is not supported for hasMany and hasMany through relationships. "
-                + "See documentation to achieve similar functionality.");
+        validateHasOne(jtm, type, relatedType, joinColumnTypeSide, null, null);
       }
     }
   }
@@ -105,7 +79,7 @@ class QueryValidator {
       String joinColumnTypeSide, String propertyName, BeanWrapper bwTypeModel) {
 
     if (propertyName != null) {
-      PropertyDescriptor pd = bwTypeModel.getPropertyDescriptor(propertyName);
+      PropertyDescriptor pd = getPropertyDescriptor(type, propertyName, bwTypeModel);
       if (relatedType != null && !relatedType.getName().equals(pd.getPropertyType().getName())) {
         throw new QueryException("property type conflict. property " + type.getSimpleName() + "."
             + propertyName + " is of type " + pd.getPropertyType().getSimpleName()
@@ -194,14 +168,13 @@ class QueryValidator {
 
   private static void validatePopulatePropertyForCollection(String propertyName,
       BeanWrapper bwTypeModel, Class<?> type, Class<?> relatedType) {
-    PropertyDescriptor pd = bwTypeModel.getPropertyDescriptor(propertyName);
+    PropertyDescriptor pd = getPropertyDescriptor(type, propertyName, bwTypeModel);
     if (!Collection.class.isAssignableFrom(pd.getPropertyType())) {
       throw new QueryException("property " + type.getSimpleName() + "." + propertyName
           + " is not a collection. hasMany() relationship requires it to be a collection");
     }
 
-    Object typeModel = bwTypeModel.getWrappedInstance();
-    Class<?> collectionGenericType = getGenericTypeOfCollection(typeModel, propertyName);
+    Class<?> collectionGenericType = getGenericTypeOfCollection(type, propertyName);
     if (collectionGenericType == null) {
       throw new QueryException(
           "Collections without generic types are not supported. Collection for property "
@@ -214,17 +187,45 @@ class QueryValidator {
               + "." + propertyName + " has generic type " + collectionGenericType.getSimpleName()
               + " while the hasMany relationship is of type " + relatedType.getSimpleName());
     }
-    Object value = bwTypeModel.getPropertyValue(propertyName);
-    if (value == null) {
+    // models created through a constructor get empty collections for their collection parameters
+    // so only models with a no argument constructor are checked. See ConstructorPlan
+    if (bwTypeModel != null && bwTypeModel.getPropertyValue(propertyName) == null) {
       throw new QueryException(
           "Only initialized collections can be populated by queries. Collection property "
               + type.getSimpleName() + "." + propertyName + " is not initialized.");
     }
   }
 
-  private static Class<?> getGenericTypeOfCollection(Object mainObj, String propertyName) {
+  // returns null for models which do not have a no argument constructor. Those are validated using
+  // their class.
+  private static BeanWrapper newTypeModel(JdbcTemplateMapper jtm, Class<?> type) {
+    if (jtm.getTableMapping(type).getConstructorPlan() != null) {
+      return null;
+    }
+    Object typeModel = null;
+    try {
+      typeModel = type.getConstructor().newInstance();
+    } catch (Exception e) {
+      throw new MapperException(
+          "Failed to instantiate " + type.getName() + " No default constructor found.", e);
+    }
+    return PropertyAccessorFactory.forBeanPropertyAccess(typeModel);
+  }
+
+  private static boolean isReadableProperty(Class<?> type, String propertyName) {
+    PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(type, propertyName);
+    return pd != null && pd.getReadMethod() != null;
+  }
+
+  private static PropertyDescriptor getPropertyDescriptor(Class<?> type, String propertyName,
+      BeanWrapper bwTypeModel) {
+    return bwTypeModel == null ? BeanUtils.getPropertyDescriptor(type, propertyName)
+        : bwTypeModel.getPropertyDescriptor(propertyName);
+  }
+
+  private static Class<?> getGenericTypeOfCollection(Class<?> type, String propertyName) {
     try {
-      Field field = mainObj.getClass().getDeclaredField(propertyName);
+      Field field = type.getDeclaredField(propertyName);
       ParameterizedType pt = (ParameterizedType) field.getGenericType();
       Type[] genericType = pt.getActualTypeArguments();
       if (genericType != null && genericType.length > 0) {
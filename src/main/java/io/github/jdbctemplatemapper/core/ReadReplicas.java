@@ -0,0 +1,158 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import io.github.jdbctemplatemapper.exception.MapperException;
+
+/**
+ * The read replicas of a JdbcTemplateMapper. Decides whether a read runs on the primary or on a
+ * replica.
+ *
+ * @author ajoseph
+ */
+class ReadReplicas {
+  private final List<JdbcTemplate> replicaJdbcTemplates;
+  // NamedParameterJdbcTemplate caches the parsed sql so there is one for each replica.
+  private final Map<JdbcTemplate, NamedParameterJdbcTemplate> replicaNpJdbcTemplates =
+      new IdentityHashMap<>();
+  private final IReadReplicaSelector selector;
+
+  // set while the thread runs operations which have to use the primary. See
+  // JdbcTemplateMapper.executeOnPrimary(). A counter since the calls can be nested.
+  private final ThreadLocal<int[]> primaryDepth = new ThreadLocal<>();
+
+  // the replica all the statements of the current read operation run on. See onReplica().
+  private final ThreadLocal<JdbcTemplate> boundReplica = new ThreadLocal<>();
+
+  ReadReplicas(List<JdbcTemplate> replicaJdbcTemplates, IReadReplicaSelector selector) {
+    if (MapperUtils.isEmpty(replicaJdbcTemplates)) {
+      throw new IllegalArgumentException("replicaJdbcTemplates cannot be null or empty");
+    }
+    for (JdbcTemplate replica : replicaJdbcTemplates) {
+      if (replica == null) {
+        throw new IllegalArgumentException("replicaJdbcTemplates cannot have null entries");
+      }
+      replicaNpJdbcTemplates.put(replica, new NamedParameterJdbcTemplate(replica));
+    }
+    this.replicaJdbcTemplates = Collections.unmodifiableList(new ArrayList<>(replicaJdbcTemplates));
+    this.selector = selector == null ? new RoundRobinSelector() : selector;
+  }
+
+  // The primary has to be used when forced by executeOnPrimary() and within transactions which are
+  // not read only so that reads see the writes of the transaction. Read only transactions use the
+  // replicas.
+  boolean usePrimary() {
+    if (isPrimaryForced()) {
+      return true;
+    }
+    return TransactionSynchronizationManager.isActualTransactionActive()
+        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+  }
+
+  // the replica bound to the thread by onReplica() otherwise a newly selected one
+  JdbcTemplate selectJdbcTemplate() {
+    JdbcTemplate bound = boundReplica.get();
+    if (bound != null) {
+      return bound;
+    }
+    JdbcTemplate replica = selector.select(replicaJdbcTemplates);
+    if (replica == null || !replicaNpJdbcTemplates.containsKey(replica)) {
+      throw new MapperException(
+          "IReadReplicaSelector has to return one of the JdbcTemplates of the read replicas");
+    }
+    return replica;
+  }
+
+  NamedParameterJdbcTemplate selectNamedParameterJdbcTemplate() {
+    return replicaNpJdbcTemplates.get(selectJdbcTemplate());
+  }
+
+  // Runs a read operation which can issue several statements (Query with hasMany, QueryMerge
+  // levels, etc) with one replica selected for the whole operation so that all its statements see
+  // the same replica. Nested operations reuse the replica of the outer one.
+  <R> R onReplica(Supplier<R> operation) {
+    if (boundReplica.get() != null || usePrimary()) {
+      return operation.get();
+    }
+    return onReplica(selectJdbcTemplate(), operation);
+  }
+
+  // Runs the operation on the given replica. Used when the statements of an operation run after
+  // the operation returned, like the relationship merges while a stream is consumed.
+  <R> R onReplica(JdbcTemplate replica, Supplier<R> operation) {
+    if (replica == null) {
+      return operation.get();
+    }
+    JdbcTemplate previous = boundReplica.get();
+    boundReplica.set(replica);
+    try {
+      return operation.get();
+    } finally {
+      if (previous == null) {
+        boundReplica.remove();
+      } else {
+        boundReplica.set(previous);
+      }
+    }
+  }
+
+  JdbcTemplate getBoundReplica() {
+    return boundReplica.get();
+  }
+
+  <R> R onPrimary(Supplier<R> operation) {
+    int[] depth = primaryDepth.get();
+    if (depth == null) {
+      depth = new int[1];
+      primaryDepth.set(depth);
+    }
+    depth[0]++;
+    try {
+      return operation.get();
+    } finally {
+      depth[0]--;
+      if (depth[0] == 0) {
+        primaryDepth.remove();
+      }
+    }
+  }
+
+  boolean isPrimaryForced() {
+    return primaryDepth.get() != null;
+  }
+
+  List<JdbcTemplate> getReplicaJdbcTemplates() {
+    return replicaJdbcTemplates;
+  }
+
+  private static class RoundRobinSelector implements IReadReplicaSelector {
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public JdbcTemplate select(List<JdbcTemplate> replicaJdbcTemplates) {
+      // floorMod since the counter wraps around to negative values
+      return replicaJdbcTemplates.get(
+          Math.floorMod(counter.getAndIncrement(), replicaJdbcTemplates.size()));
+    }
+  }
+}
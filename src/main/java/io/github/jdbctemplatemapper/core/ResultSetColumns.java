@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.function.Function;
+import org.springframework.jdbc.support.JdbcUtils;
+import io.github.jdbctemplatemapper.exception.MapperException;
+
+/**
+ * Resolves the column labels of a ResultSet to property mappings once per ResultSet and not for
+ * every row. Used by SelectMapper and ModelRowMapper, which are created for each query, so the
+ * last ResultSet is not held on to beyond the query.
+ *
+ * @author ajoseph
+ */
+class ResultSetColumns {
+  // returns the property mapping for a column label. null if the column is not mapped.
+  private final Function<String, PropertyMapping> labelResolver;
+
+  // the columns of the last ResultSet read. Replaced as a whole so it can be shared by threads.
+  private volatile Resolved resolved;
+
+  ResultSetColumns(Function<String, PropertyMapping> labelResolver) {
+    this.labelResolver = labelResolver;
+  }
+
+  // the property mappings of the columns of the ResultSet (null for columns which are not mapped)
+  PropertyMapping[] getPropertyMappings(ResultSet rs) {
+    Resolved columns = resolved;
+    if (columns == null || columns.rs != rs) {
+      try {
+        ResultSetMetaData rsMetaData = rs.getMetaData();
+        PropertyMapping[] propMappings = new PropertyMapping[rsMetaData.getColumnCount()];
+        for (int i = 0; i < propMappings.length; i++) {
+          String columnLabel = JdbcUtils.lookupColumnName(rsMetaData, i + 1);
+          propMappings[i] = columnLabel == null ? null : labelResolver.apply(columnLabel);
+        }
+        columns = new Resolved(rs, propMappings);
+      } catch (SQLException e) {
+        throw new MapperException(e);
+      }
+      resolved = columns;
+    }
+    return columns.propMappings;
+  }
+
+  private static class Resolved {
+    private final ResultSet rs;
+    private final PropertyMapping[] propMappings;
+
+    Resolved(ResultSet rs, PropertyMapping[] propMappings) {
+      this.rs = rs;
+      this.propMappings = propMappings;
+    }
+  }
+}
@@ -13,15 +13,19 @@
  */
 package io.github.jdbctemplatemapper.core;
 
+import java.lang.reflect.Method;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.StringJoiner;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.core.convert.ConversionService;
-import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 import io.github.jdbctemplatemapper.exception.MapperException;
 
 /**
@@ -42,14 +46,26 @@ public class SelectMapper<T> {
 
   private final ConversionService conversionService;
 
+  // used by the LazyBlob/LazyClob handles to load their columns
+  private final JdbcTemplate jdbcTemplate;
+
   private String tableAlias;
   private String colPrefix;
   private String colAliasPrefix;
 
   private boolean internal;
 
+  // not null when dirty tracking is enabled. see JdbcTemplateMapper.withDirtyTracking()
+  private DirtyTracker dirtyTracker;
+
+  // the properties selected. null for all properties. Internal use only.
+  private Projection projection;
+
+  // the column property mappings of the ResultSet being read
+  private final ResultSetColumns resultSetColumns = new ResultSetColumns(this::getPropertyMapping);
+
   SelectMapper(Class<T> clazz, String tableAlias, MappingHelper mappingHelper,
-      ConversionService conversionService) {
+      ConversionService conversionService, JdbcTemplate jdbcTemplate) {
     Assert.notNull(clazz, " clazz cannot be empty");
     if (MapperUtils.isBlank(tableAlias)) {
       throw new MapperException("tableAlias cannot be blank or empty");
@@ -58,6 +74,7 @@ public class SelectMapper<T> {
     this.clazz = clazz;
     this.mappingHelper = mappingHelper;
     this.conversionService = conversionService;
+    this.jdbcTemplate = jdbcTemplate;
 
     this.tableAlias = tableAlias.trim();
     this.colPrefix = this.tableAlias + ".";
@@ -66,17 +83,21 @@ public class SelectMapper<T> {
 
   // internal use only
   SelectMapper(Class<T> clazz, String tableAlias, String columnAliasPrefix,
-      MappingHelper mappingHelper, ConversionService conversionService) {
+      MappingHelper mappingHelper, ConversionService conversionService, JdbcTemplate jdbcTemplate,
+      DirtyTracker dirtyTracker, Projection projection) {
     Assert.notNull(clazz, " clazz cannot be null");
     Assert.notNull(tableAlias, " tableAlias cannot be null");
     Assert.notNull(columnAliasPrefix, " columnAliasPrefix cannot be null");
     this.clazz = clazz;
     this.mappingHelper = mappingHelper;
     this.conversionService = conversionService;
+    this.jdbcTemplate = jdbcTemplate;
 
     this.colPrefix = tableAlias + ".";
     this.colAliasPrefix = columnAliasPrefix;
     this.internal = true;
+    this.dirtyTracker = dirtyTracker;
+    this.projection = projection;
   }
 
   /**
@@ -98,6 +119,10 @@ public class SelectMapper<T> {
     TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
 
     for (PropertyMapping propMapping : tableMapping.getPropertyMappings()) {
+      if (!propMapping.isSelectable()
+          || (projection != null && !projection.isSelected(propMapping))) {
+        continue;
+      }
       if (internal) {
         sj.add(colPrefix + propMapping.getColumnName() + " as " + colAliasPrefix
             + propMapping.getColumnAliasSuffix());
@@ -133,19 +158,27 @@ public class SelectMapper<T> {
    * @return the column alias of the models id in sql statement
    */
   public String getResultSetModelIdColumnLabel() {
+    return getResultSetColumnLabel(mappingHelper.getTableMapping(clazz).getIdPropertyMapping());
+  }
+
+  // column alias of the property in the sql statement
+  String getResultSetColumnLabel(PropertyMapping propMapping) {
     if (internal) {
       // This is an internal call from Query, QueryMerge
       // returned values something like tc1 ... or rc1 ...
-      return colAliasPrefix
-          + mappingHelper.getTableMapping(clazz).getIdPropertyMapping().getColumnAliasSuffix();
+      return colAliasPrefix + propMapping.getColumnAliasSuffix();
     } else {
       // This is when user is using the the jtm.getSelectMapper(type, tableAlias) to write custom
       // queries. returned values something like tableAlias_tc1 ...
       return colAliasPrefix + MapperUtils.TYPE_TABLE_COL_ALIAS_PREFIX
-          + mappingHelper.getTableMapping(clazz).getIdPropertyMapping().getColumnAliasSuffix();
+          + propMapping.getColumnAliasSuffix();
     }
   }
 
+  PropertyMapping getIdPropertyMapping() {
+    return mappingHelper.getTableMapping(clazz).getIdPropertyMapping();
+  }
+
   /**
    * Get the models id type.
    *
@@ -163,13 +196,41 @@ public class SelectMapper<T> {
    *         values)
    */
   public T buildModel(ResultSet rs) {
-    BeanWrapper bw = buildBeanWrapperModel(rs);
-    return bw == null ? null : clazz.cast(bw.getWrappedInstance());
+    return clazz.cast(buildModelObject(rs));
   }
 
   // returns model object wrapped in BeanWrapper. Used also by Query and QueryMerge processing to
   // prevent excessive creation of bean wrappers.
   BeanWrapper buildBeanWrapperModel(ResultSet rs) {
+    TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
+    ConstructorPlan constructorPlan = tableMapping.getConstructorPlan();
+    if (constructorPlan != null) {
+      return buildBeanWrapperModel(rs, resultSetColumns.getPropertyMappings(rs), tableMapping,
+          constructorPlan);
+    }
+    Object obj = buildModelObject(rs);
+    return obj == null ? null : newBeanWrapper(obj);
+  }
+
+  // builds the model without wrapping it in a BeanWrapper. The properties are set through their
+  // setters and a BeanWrapper is only created when a value needs conversion or the model needs lazy
+  // LOB handles or a dirty tracking snapshot. Used by Query and QueryMerge for related models
+  // which are only added to collections or set on other models.
+  Object buildModelObject(ResultSet rs) {
+    return buildModelObject(rs, resultSetColumns.getPropertyMappings(rs));
+  }
+
+  // columnPropMappings are the property mappings of the columns of the ResultSet (null for columns
+  // which do not belong to the model). Used by ModelRowMapper which resolves them on its own.
+  Object buildModelObject(ResultSet rs, PropertyMapping[] columnPropMappings) {
+    TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
+    ConstructorPlan constructorPlan = tableMapping.getConstructorPlan();
+    if (constructorPlan != null) {
+      BeanWrapper bw =
+          buildBeanWrapperModel(rs, columnPropMappings, tableMapping, constructorPlan);
+      return bw == null ? null : bw.getWrappedInstance();
+    }
+
     Object obj = null;
     try {
       obj = clazz.getConstructor().newInstance();
@@ -178,48 +239,135 @@ public class SelectMapper<T> {
           "Failed to instantiate " + clazz.getName() + "  No default constructor found.", e);
     }
     try {
-      TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
-      BeanWrapper bw = PropertyAccessorFactory.forBeanPropertyAccess(obj);
-      // need this when jdbcUtils cannot convert
-      bw.setConversionService(conversionService);
+      BeanWrapper bw = null;
+      Object id = null;
+      for (int i = 0; i < columnPropMappings.length; i++) {
+        PropertyMapping propMapping = columnPropMappings[i];
+        if (propMapping != null) {
+          // the extractor of the property uses the specifically typed ResultSet accessor methods
+          // (getString(), getInt() etc) for the property type.
+          Object value = propMapping.getResultSetValue(rs, i + 1);
+          if (propMapping.isIdAnnotation()) {
+            id = value;
+          }
+          if (!invokeSetter(obj, propMapping, value)) {
+            bw = bw == null ? newBeanWrapper(obj) : bw;
+            bw.setPropertyValue(propMapping.getPropertyName(), value);
+          }
+        }
+      }
+      // if id is null return null. Does not matter if other fields have values.
+      if (id == null) {
+        return null;
+      }
+      if (tableMapping.hasLazyLobProperties() || dirtyTracker != null) {
+        bw = bw == null ? newBeanWrapper(obj) : bw;
+        if (tableMapping.hasLazyLobProperties()) {
+          LobLoader.populateLazyLobs(jdbcTemplate, tableMapping, bw);
+        }
+        if (dirtyTracker != null) {
+          dirtyTracker.snapshot(tableMapping, bw);
+        }
+      }
+      return obj;
+    } catch (Exception e) {
+      throw new MapperException(e);
+    }
+  }
+
+  // builds models which do not have a no argument constructor. The column values are collected as
+  // constructor arguments and the model is created with a single constructor call. Mapped
+  // properties which are not constructor arguments are set after construction. These models are
+  // not dirty tracked since they are not modified in place.
+  private BeanWrapper buildBeanWrapperModel(ResultSet rs, PropertyMapping[] columnPropMappings,
+      TableMapping tableMapping, ConstructorPlan constructorPlan) {
+    try {
+      Object[] args = constructorPlan.newArgs();
+      Map<String, Object> nonArgValues = null;
+      Object id = null;
 
-      ResultSetMetaData rsMetaData = rs.getMetaData();
-      int count = rsMetaData.getColumnCount();
-      for (int i = 1; i <= count; i++) {
-        String columnLabel = rsMetaData.getColumnLabel(i);
-        if (columnLabel != null) {
-          columnLabel = columnLabel.toLowerCase(Locale.US);
-          if (columnLabel.startsWith(colAliasPrefix)) {
-            PropertyMapping propMapping = null;
-            if (internal) {
-              // This is an internal call from Query, QueryMerge
-              // column alias would be something like tc1 ... or rc1 ...
-              propMapping = tableMapping.getPropertyMappingByColumnAlias(columnLabel);
-            } else {
-              // This is when user is using the the jtm.getSelectMapper(type, tableAlias) to write
-              // custom queries. Column alias would be something like colAliasPrefix_tc1,
-              // colAliasPrefix_tc2 ...
-              propMapping = tableMapping.getPropertyMappingByColumnAlias(
-                  columnLabel.substring(colAliasPrefix.length()));
-            }
-            if (propMapping != null) {
-              // JdbcUtils.getResultSetValue() assigns value using the specifically typed ResultSet
-              // accessor methods (getString(), getInt() etc) for the specified propertyType.
-              bw.setPropertyValue(propMapping.getPropertyName(),
-                  JdbcUtils.getResultSetValue(rs, i, propMapping.getPropertyType()));
-            }
+      for (int i = 0; i < columnPropMappings.length; i++) {
+        PropertyMapping propMapping = columnPropMappings[i];
+        if (propMapping != null) {
+          Object value = propMapping.getResultSetValue(rs, i + 1);
+          if (propMapping.isIdAnnotation()) {
+            id = value;
+          }
+          int argIndex = constructorPlan.getArgIndex(propMapping);
+          if (argIndex >= 0) {
+            args[argIndex] = value;
+          } else {
+            nonArgValues = nonArgValues == null ? new HashMap<>() : nonArgValues;
+            nonArgValues.put(propMapping.getPropertyName(), value);
           }
         }
       }
       // if id is null return null. Does not matter if other fields have values.
-      if (bw.getPropertyValue(tableMapping.getIdPropertyName()) == null) {
+      if (id == null) {
         return null;
-      } else {
-        return bw;
       }
 
+      for (PropertyMapping propMapping : tableMapping.getLazyLobPropertyMappings()) {
+        Object lazyLob = LobLoader.newLazyLob(jdbcTemplate, tableMapping, propMapping, id);
+        int argIndex = constructorPlan.getArgIndex(propMapping);
+        if (argIndex >= 0) {
+          args[argIndex] = lazyLob;
+        } else {
+          nonArgValues = nonArgValues == null ? new HashMap<>() : nonArgValues;
+          nonArgValues.put(propMapping.getPropertyName(), lazyLob);
+        }
+      }
+
+      BeanWrapper bw = PropertyAccessorFactory
+          .forBeanPropertyAccess(constructorPlan.newInstance(args, conversionService));
+      bw.setConversionService(conversionService);
+      if (nonArgValues != null) {
+        bw.setPropertyValues(nonArgValues);
+      }
+      return bw;
     } catch (Exception e) {
       throw new MapperException(e);
     }
   }
+
+  private BeanWrapper newBeanWrapper(Object obj) {
+    BeanWrapper bw = PropertyAccessorFactory.forBeanPropertyAccess(obj);
+    // need this when jdbcUtils cannot convert
+    bw.setConversionService(conversionService);
+    return bw;
+  }
+
+  // sets the property through its setter. Returns false if the value has to be converted to the
+  // property type (or there is no setter), in which case the BeanWrapper has to be used.
+  private boolean invokeSetter(Object obj, PropertyMapping propMapping, Object value) {
+    Method writeMethod = propMapping.getWriteMethod();
+    if (writeMethod != null && (value == null ? !propMapping.getPropertyType().isPrimitive()
+        : ClassUtils.isAssignableValue(propMapping.getPropertyType(), value))) {
+      ReflectionUtils.invokeMethod(writeMethod, obj, value);
+      return true;
+    }
+    return false;
+  }
+
+  // the property mapping for the column label of the ResultSet. null if the column does not belong
+  // to this SelectMapper.
+  private PropertyMapping getPropertyMapping(String columnLabel) {
+    TableMapping tableMapping = mappingHelper.getTableMapping(clazz);
+    columnLabel = columnLabel.toLowerCase(Locale.US);
+    if (!columnLabel.startsWith(colAliasPrefix)) {
+      return null;
+    }
+    if (internal) {
+      // This is an internal call from Query, QueryMerge
+      // column alias would be something like tc1 ... or rc1 ... or r2c1 ...
+      return tableMapping.getPropertyMappingByColumnAliasSuffix(
+          columnLabel.substring(colAliasPrefix.length()));
+    } else {
+      // This is when user is using the the jtm.getSelectMapper(type, tableAlias) to write
+      // custom queries. Column alias would be something like colAliasPrefix_tc1,
+      // colAliasPrefix_tc2 ...
+      return tableMapping.getPropertyMappingByColumnAlias(
+          columnLabel.substring(colAliasPrefix.length()));
+    }
+  }
 }
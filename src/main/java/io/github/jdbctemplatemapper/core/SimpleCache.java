@@ -5,11 +5,14 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 class SimpleCache<K, V> {
   private Map<K, V> cache = new ConcurrentHashMap<>();
   private int capacity = -1; // no limit
   private double shrinkPercentage = 0.1; // 10%
+  // ReentrantLock instead of synchronized so virtual threads do not pin their carrier thread
+  private final ReentrantLock lock = new ReentrantLock();
 
   public SimpleCache() {}
 
@@ -28,7 +31,8 @@ class SimpleCache<K, V> {
       if (cache.size() < capacity) {
         cache.putIfAbsent(key, value);
       } else {
-        synchronized (this) {
+        lock.lock();
+        try {
           if (cache.size() >= capacity) {
             // shrink cache by shrinkPercentage
             int removeCnt = (int) (capacity * shrinkPercentage);
@@ -45,6 +49,8 @@ class SimpleCache<K, V> {
               }
             }   
           }
+        } finally {
+          lock.unlock();
         }
         cache.putIfAbsent(key, value);
       }
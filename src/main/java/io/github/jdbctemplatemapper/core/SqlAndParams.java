@@ -13,31 +13,67 @@
  */
 package io.github.jdbctemplatemapper.core;
 
-import java.util.Set;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.List;
 import org.springframework.util.ObjectUtils;
 
 /**
- * This holds the sql and the sql params needed to issue an update.
+ * This holds the sql with positional parameters and the parameters needed to issue an update.
  *
  * @author ajoseph
  */
 class SqlAndParams {
   private String sql; // the sql string
-  private Set<String> params; // the parameters for the sql
+  private List<String> params; // the parameter property names in bind order
+  private int[] sqlTypes; // the sql types of the parameters. see java.sql.Types
+  // the property mappings of the parameters. null for incrementedVersion
+  private PropertyMapping[] paramMappings;
+  // @Column(generated = true) properties returned by the sql (RETURNING clause, SQL Server batch
+  // or generated keys)
+  private List<PropertyMapping> returnedProperties;
 
-  public SqlAndParams(String sql, Set<String> params) {
+  public SqlAndParams(String sql, List<String> params, TableMapping tableMapping) {
+    this(sql, params, tableMapping, Collections.emptyList());
+  }
+
+  public SqlAndParams(String sql, List<String> params, TableMapping tableMapping,
+      List<PropertyMapping> returnedProperties) {
     if (ObjectUtils.isEmpty(sql) || params == null) {
       throw new IllegalArgumentException("sql and params cannot be null");
     }
     this.sql = sql;
     this.params = params;
+    this.returnedProperties = returnedProperties;
+    this.sqlTypes = new int[params.size()];
+    this.paramMappings = new PropertyMapping[params.size()];
+    for (int i = 0; i < sqlTypes.length; i++) {
+      String paramName = params.get(i);
+      sqlTypes[i] =
+          paramName.equals("incrementedVersion") || paramName.equals("initialVersion")
+              ? Types.INTEGER
+              : tableMapping.getPropertySqlType(paramName);
+      paramMappings[i] = tableMapping.getPropertyMappingByPropertyName(paramName);
+    }
   }
 
   public String getSql() {
     return sql;
   }
 
-  public Set<String> getParams() {
+  public List<String> getParams() {
     return params;
   }
+
+  public int[] getSqlTypes() {
+    return sqlTypes;
+  }
+
+  public PropertyMapping[] getParamMappings() {
+    return paramMappings;
+  }
+
+  public List<PropertyMapping> getReturnedProperties() {
+    return returnedProperties;
+  }
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.core;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+
+/**
+ * The fetch size and timeout applied to the statement of a query. The fetch size is either the one
+ * of the QueryOptions or, when adaptive fetch sizing is enabled (see
+ * JdbcTemplateMapper.withAdaptiveFetchSize()), derived from the row counts observed by earlier
+ * executions of the query. Within an async operation with a timeout (see
+ * JdbcTemplateMapper.executeAsync()) the query timeout is at most the time the operation has left,
+ * and the statement is registered so cancelling the operation cancels it. Queries without settings
+ * run through the JdbcTemplate as is.
+ *
+ * @author ajoseph
+ */
+class StatementSettings {
+  private static final int MIN_ADAPTIVE_FETCH_SIZE = 10;
+  private static final int MAX_ADAPTIVE_FETCH_SIZE = 1000;
+
+  private final JdbcTemplateMapper jtm;
+  private final int fetchSize; // -1 for the JdbcTemplate fetch size
+  private final int timeoutSeconds; // -1 for the JdbcTemplate timeout
+  // key of the query for the adaptive fetch size. null if not adaptive
+  private final String rowCountKey;
+  // the async execution running the query. null if not run by an async operation
+  private final AsyncExecution<?> asyncExecution;
+
+  private StatementSettings(JdbcTemplateMapper jtm, int fetchSize, int timeoutSeconds,
+      String rowCountKey, AsyncExecution<?> asyncExecution) {
+    this.jtm = jtm;
+    this.fetchSize = fetchSize;
+    this.timeoutSeconds = timeoutSeconds;
+    this.rowCountKey = rowCountKey;
+    this.asyncExecution = asyncExecution;
+  }
+
+  /**
+   * The settings of a query.
+   *
+   * @param jtm the jdbcTemplateMapper
+   * @param options the query options. Could be null
+   * @param rowCountKey the key of the query the row counts are recorded by for the adaptive fetch
+   *        size. null if the fetch size should not be adaptive
+   * @return the settings
+   */
+  static StatementSettings of(JdbcTemplateMapper jtm, QueryOptions options, String rowCountKey) {
+    int fetchSize = options == null ? -1 : options.getFetchSize();
+    int timeoutSeconds = options == null ? -1 : options.getTimeoutSeconds();
+    SimpleCache<String, MovingAverage> rowCountCache = jtm.getQueryRowCountCache();
+    if (rowCountCache == null || rowCountKey == null) {
+      rowCountKey = null;
+    } else if (fetchSize < 0) {
+      MovingAverage rowCount = rowCountCache.get(rowCountKey);
+      if (rowCount != null) {
+        // one more than the rows so the driver does not need another round trip to find out
+        // there are no more rows
+        fetchSize = (int) Math.min(MAX_ADAPTIVE_FETCH_SIZE,
+            Math.max(MIN_ADAPTIVE_FETCH_SIZE, Math.ceil(rowCount.get()) + 1));
+      }
+    }
+    AsyncExecution<?> asyncExecution = AsyncExecution.current();
+    if (asyncExecution != null) {
+      int remainingSeconds = asyncExecution.getRemainingTimeoutSeconds();
+      if (remainingSeconds > 0 && (timeoutSeconds <= 0 || remainingSeconds < timeoutSeconds)) {
+        timeoutSeconds = remainingSeconds;
+      }
+    }
+    return new StatementSettings(jtm, fetchSize, timeoutSeconds, rowCountKey, asyncExecution);
+  }
+
+  int getFetchSize() {
+    return fetchSize;
+  }
+
+  int getTimeoutSeconds() {
+    return timeoutSeconds;
+  }
+
+  /**
+   * Runs the query. params can be null, the positional parameters or a single
+   * MapSqlParameterSource for named parameters.
+   */
+  <R> R query(String sql, Object[] params, ResultSetExtractor<R> rse) {
+    if (fetchSize < 0 && timeoutSeconds < 0 && asyncExecution == null) {
+      if (isNamed(params)) {
+        return jtm.getReadNamedParameterJdbcTemplate()
+                  .query(sql, (MapSqlParameterSource) params[0], rse);
+      }
+      return params == null ? jtm.getReadJdbcTemplate().query(sql, rse)
+          : jtm.getReadJdbcTemplate().query(sql, rse, params);
+    }
+    return jtm.getReadJdbcTemplate()
+              .query(newPreparedStatementCreator(sql, params), newPreparedStatementSetter(params),
+                  rse);
+  }
+
+  /**
+   * Streams the query. See query() for params.
+   */
+  <R> Stream<R> queryForStream(String sql, Object[] params, RowMapper<R> rowMapper) {
+    if (fetchSize < 0 && timeoutSeconds < 0 && asyncExecution == null) {
+      if (isNamed(params)) {
+        return jtm.getReadNamedParameterJdbcTemplate()
+                  .queryForStream(sql, (MapSqlParameterSource) params[0], rowMapper);
+      }
+      return params == null ? jtm.getReadJdbcTemplate().queryForStream(sql, rowMapper)
+          : jtm.getReadJdbcTemplate().queryForStream(sql, rowMapper, params);
+    }
+    return jtm.getReadJdbcTemplate()
+              .queryForStream(newPreparedStatementCreator(sql, params),
+                  newPreparedStatementSetter(params), rowMapper);
+  }
+
+  // records the rows returned by the query in the moving average. When concurrent first executions
+  // race only one of their counts is put in the cache, which is fine for picking a fetch size.
+  void recordRowCount(int rows) {
+    if (rowCountKey == null) {
+      return;
+    }
+    SimpleCache<String, MovingAverage> rowCountCache = jtm.getQueryRowCountCache();
+    MovingAverage rowCount = rowCountCache.get(rowCountKey);
+    if (rowCount == null) {
+      rowCountCache.put(rowCountKey, new MovingAverage(rows));
+    } else {
+      rowCount.add(rows);
+    }
+  }
+
+  // named parameters are substituted the same way NamedParameterJdbcTemplate does it. The creator
+  // sets the parameter values when creating the statement.
+  private PreparedStatementCreator newPreparedStatementCreator(String sql, Object[] params) {
+    if (isNamed(params)) {
+      MapSqlParameterSource paramSource = (MapSqlParameterSource) params[0];
+      ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+      String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
+      List<SqlParameter> declaredParams =
+          NamedParameterUtils.buildSqlParameterList(parsedSql, paramSource);
+      Object[] values = NamedParameterUtils.buildValueArray(parsedSql, paramSource, null);
+      PreparedStatementCreatorFactory pscf =
+          new PreparedStatementCreatorFactory(sqlToUse, declaredParams);
+      return pscf.newPreparedStatementCreator(values);
+    }
+    return new PreparedStatementCreatorFactory(sql).newPreparedStatementCreator((Object[]) null);
+  }
+
+  // The JdbcTemplate applies its own fetch size and timeout after the statement is created, so
+  // the settings are applied by the setter which runs after that.
+  private PreparedStatementSetter newPreparedStatementSetter(Object[] params) {
+    PreparedStatementSetter argSetter =
+        isNamed(params) || params == null ? null : new ArgumentPreparedStatementSetter(params);
+    return ps -> {
+      if (argSetter != null) {
+        argSetter.setValues(ps);
+      }
+      apply(ps);
+    };
+  }
+
+  private void apply(PreparedStatement ps) throws SQLException {
+    if (fetchSize > 0) {
+      ps.setFetchSize(fetchSize);
+    }
+    if (timeoutSeconds >= 0) {
+      ps.setQueryTimeout(timeoutSeconds);
+    }
+    if (asyncExecution != null) {
+      asyncExecution.register(ps);
+    }
+  }
+
+  private static boolean isNamed(Object[] params) {
+    return params != null && params.length > 0 && params[0] instanceof MapSqlParameterSource;
+  }
+}
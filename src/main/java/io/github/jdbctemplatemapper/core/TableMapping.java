@@ -13,11 +13,17 @@
  */
 package io.github.jdbctemplatemapper.core;
 
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.springframework.beans.BeanUtils;
 import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+import io.github.jdbctemplatemapper.annotation.IdType;
 import io.github.jdbctemplatemapper.exception.MapperException;
 
 /**
@@ -34,6 +40,9 @@ class TableMapping {
 
   private String idPropertyName;
   private boolean idAutoIncrement = false;
+  private IdType idType;
+  private String idSequenceName;
+  private int idAllocationSize;
   private String versionPropertyName = null;
   private String createdOnPropertyName = null;
   private String createdByPropertyName = null;
@@ -42,13 +51,26 @@ class TableMapping {
 
   private boolean autoAssignProperties = false;
 
+  // true if any property has a converter. See IPropertyConverter
+  private boolean converters = false;
+
+  // properties with @Column(generated = true)
+  private List<PropertyMapping> generatedPropertyMappings = new ArrayList<>();
+
+  // LazyBlob/LazyClob properties
+  private List<PropertyMapping> lazyLobPropertyMappings = new ArrayList<>();
+
   // model property to database column mapping.
   private List<PropertyMapping> propertyMappings;
 
+  // null for models which have a public no argument constructor
+  private ConstructorPlan constructorPlan;
+
   // these maps used for performance
   private Map<String, PropertyMapping> columnNameMap;
   private Map<String, PropertyMapping> propertyNameMap;
   private Map<String, PropertyMapping> columnAliasMap;
+  private Map<String, PropertyMapping> columnAliasSuffixMap;
 
   public TableMapping(Class<?> tableClass, String tableName, String schemaName, String catalogName,
       String commonDatabaseName, IdPropertyInfo idPropertyInfo,
@@ -67,6 +89,9 @@ class TableMapping {
     this.commonDatabaseName = commonDatabaseName;
     this.idPropertyName = idPropertyInfo.getPropertyName();
     this.idAutoIncrement = idPropertyInfo.isIdAutoIncrement();
+    this.idType = idPropertyInfo.getIdType();
+    this.idSequenceName = idPropertyInfo.getSequenceName();
+    this.idAllocationSize = idPropertyInfo.getAllocationSize();
     this.propertyMappings = propertyMappings;
 
     // initialize the maps
@@ -74,6 +99,7 @@ class TableMapping {
     columnNameMap = new HashMap<>(size);
     propertyNameMap = new HashMap<>(size);
     columnAliasMap = new HashMap<>(2 * size);
+    columnAliasSuffixMap = new HashMap<>(size);
 
     int cnt = 1;
     for (PropertyMapping propMapping : propertyMappings) {
@@ -97,10 +123,28 @@ class TableMapping {
         updatedByPropertyName = propMapping.getPropertyName();
         autoAssignProperties = true;
       }
+      if (propMapping.isGenerated()) {
+        generatedPropertyMappings.add(propMapping);
+      }
+      if (propMapping.isLazyLob()) {
+        lazyLobPropertyMappings.add(propMapping);
+      }
+      if (propMapping.getConverter() != null) {
+        converters = true;
+      }
       // these maps used for performance. Using intern() to save some memory since aliases are
       // similar for other table mappings.
       String colAliasSuffix = ("c" + cnt).intern();
       propMapping.setColumnAliasSuffix(colAliasSuffix);
+      propMapping.setIndex(cnt - 1);
+      PropertyDescriptor pd =
+          BeanUtils.getPropertyDescriptor(tableClass, propMapping.getPropertyName());
+      if (pd != null && pd.getWriteMethod() != null) {
+        Method writeMethod = pd.getWriteMethod();
+        ReflectionUtils.makeAccessible(writeMethod);
+        propMapping.setWriteMethod(writeMethod);
+      }
+      columnAliasSuffixMap.put(colAliasSuffix, propMapping);
       // creating alias lookups for queries generated through Query and QueryMerge
       // aliases tc1, tc2, tc3 ...
       columnAliasMap.put((MapperUtils.TYPE_TABLE_COL_ALIAS_PREFIX + colAliasSuffix).intern(),
@@ -114,6 +158,8 @@ class TableMapping {
 
       cnt++;
     }
+
+    this.constructorPlan = ConstructorPlan.create(tableClass, propertyMappings);
   }
 
   public String getColumnName(String propertyName) {
@@ -164,6 +210,23 @@ class TableMapping {
     return idAutoIncrement;
   }
 
+  public IdType getIdType() {
+    return idType;
+  }
+
+  // true for ids which the mapper assigns on insert (IdType.SEQUENCE, IdType.UUID_V7)
+  public boolean isIdAssignedOnInsert() {
+    return idType == IdType.SEQUENCE || idType == IdType.UUID_V7;
+  }
+
+  public String getIdSequenceName() {
+    return idSequenceName;
+  }
+
+  public int getIdAllocationSize() {
+    return idAllocationSize;
+  }
+
   public PropertyMapping getIdPropertyMapping() {
     PropertyMapping propMapping = propertyNameMap.get(idPropertyName);
     if (propMapping != null) {
@@ -190,6 +253,11 @@ class TableMapping {
     return columnAliasMap.get(columnAlias);
   }
 
+  // suffix is c1, c2, c3 ...
+  public PropertyMapping getPropertyMappingByColumnAliasSuffix(String columnAliasSuffix) {
+    return columnAliasSuffixMap.get(columnAliasSuffix);
+  }
+
   public String fullyQualifiedTableName() {
     if (MapperUtils.isNotEmpty(schemaName)) {
       return schemaName + "." + tableName;
@@ -235,12 +303,56 @@ class TableMapping {
     return updatedByPropertyName != null ? propertyNameMap.get(updatedByPropertyName) : null;
   }
 
+  public String getCommonDatabaseName() {
+    return commonDatabaseName;
+  }
+
   public boolean isMySql() {
     return "mysql".equalsIgnoreCase(commonDatabaseName);
   }
 
+  public boolean isPostgreSql() {
+    return "postgresql".equalsIgnoreCase(commonDatabaseName);
+  }
+
+  public boolean isOracle() {
+    return "oracle".equalsIgnoreCase(commonDatabaseName);
+  }
+
+  public boolean isSqlServer() {
+    return "microsoft sql server".equalsIgnoreCase(commonDatabaseName);
+  }
+
+  public boolean isH2() {
+    return "h2".equalsIgnoreCase(commonDatabaseName);
+  }
+
   public boolean hasAutoAssignProperties() {
     return autoAssignProperties;
   }
 
+  public List<PropertyMapping> getGeneratedPropertyMappings() {
+    return generatedPropertyMappings;
+  }
+
+  public boolean hasGeneratedProperties() {
+    return !generatedPropertyMappings.isEmpty();
+  }
+
+  public ConstructorPlan getConstructorPlan() {
+    return constructorPlan;
+  }
+
+  public List<PropertyMapping> getLazyLobPropertyMappings() {
+    return lazyLobPropertyMappings;
+  }
+
+  public boolean hasLazyLobProperties() {
+    return !lazyLobPropertyMappings.isEmpty();
+  }
+
+  public boolean hasConverters() {
+    return converters;
+  }
+
 }
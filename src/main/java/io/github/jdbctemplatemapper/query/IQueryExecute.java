@@ -15,6 +15,8 @@ package io.github.jdbctemplatemapper.query;
 
 import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * The execute interface.
@@ -24,4 +26,8 @@ import java.util.List;
  */
 public interface IQueryExecute<T> {
   List<T> execute(JdbcTemplateMapper jdbcTemplateMapper);
+
+  CompletableFuture<List<T>> executeAsync(JdbcTemplateMapper jdbcTemplateMapper);
+
+  Stream<T> stream(JdbcTemplateMapper jdbcTemplateMapper);
 }
@@ -22,5 +22,5 @@ package io.github.jdbctemplatemapper.query;
 public interface IQueryFluent<T> extends IQueryType<T>, IQueryHasMany<T>, IQueryHasOne<T>,
     IQueryJoinColumnTypeSide<T>, IQueryJoinColumnManySide<T>, IQueryThroughJoinTable<T>,
     IQueryThroughJoinColumns<T>, IQueryPopulateProperty<T>, IQueryWhere<T>, IQueryOrderBy<T>,
-    IQueryLimitOffsetClause<T>, IQueryExecute<T> {
+    IQueryLimitOffsetClause<T>, IQueryHasManyStrategy<T>, IQueryExecute<T> {
 }
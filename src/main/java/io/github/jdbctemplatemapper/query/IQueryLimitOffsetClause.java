@@ -14,6 +14,9 @@
 package io.github.jdbctemplatemapper.query;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import io.github.jdbctemplatemapper.core.HasManyStrategy;
 import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
 
 /**
@@ -23,5 +26,11 @@ import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
  * @param <T> the type
  */
 public interface IQueryLimitOffsetClause<T> {
+  IQueryHasManyStrategy<T> hasManyStrategy(HasManyStrategy hasManyStrategy);
+
   List<T> execute(JdbcTemplateMapper jdbcTemplateMapper);
+
+  CompletableFuture<List<T>> executeAsync(JdbcTemplateMapper jdbcTemplateMapper);
+
+  Stream<T> stream(JdbcTemplateMapper jdbcTemplateMapper);
 }
@@ -14,7 +14,10 @@
 package io.github.jdbctemplatemapper.query;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
+import io.github.jdbctemplatemapper.core.HasManyStrategy;
 import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
 
 /**
@@ -26,5 +29,11 @@ import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
 public interface IQueryOrderBy<T> {
   IQueryLimitOffsetClause<T> limitOffsetClause(String limitOffsetClause);
 
+  IQueryHasManyStrategy<T> hasManyStrategy(HasManyStrategy hasManyStrategy);
+
   List<T> execute(JdbcTemplateMapper jdbcTemplateMapper);
+
+  CompletableFuture<List<T>> executeAsync(JdbcTemplateMapper jdbcTemplateMapper);
+
+  Stream<T> stream(JdbcTemplateMapper jdbcTemplateMapper);
 }
@@ -14,7 +14,11 @@
 package io.github.jdbctemplatemapper.query;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import io.github.jdbctemplatemapper.core.HasManyStrategy;
 import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
+import io.github.jdbctemplatemapper.core.Projection;
 
 /**
  * interface with the next methods in the chain.
@@ -23,11 +27,29 @@ import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
  * @param <T> the type
  */
 public interface IQueryPopulateProperty<T> {
+  IQueryPopulateProperty<T> relatedProjection(Projection projection);
+
+  IQueryHasMany<T> hasMany(Class<?> relatedType);
+
+  IQueryHasMany<T> hasMany(Class<?> relatedType, String tableAlias);
+
+  IQueryHasOne<T> hasOne(Class<?> relatedType);
+
+  IQueryHasOne<T> hasOne(Class<?> relatedType, String tableAlias);
+
   IQueryWhere<T> where(String whereClause, Object... params);
 
   IQueryOrderBy<T> orderBy(String orderBy);
 
   IQueryLimitOffsetClause<T> limitOffsetClause(String limitOffsetClause);
 
+  IQueryHasManyStrategy<T> hasManyStrategy(HasManyStrategy hasManyStrategy);
+
   List<T> execute(JdbcTemplateMapper jdbcTemplateMapper);
+
+  CompletableFuture<List<T>> executeAsync(JdbcTemplateMapper jdbcTemplateMapper);
+
+  boolean exists(JdbcTemplateMapper jdbcTemplateMapper);
+
+  Stream<T> stream(JdbcTemplateMapper jdbcTemplateMapper);
 }
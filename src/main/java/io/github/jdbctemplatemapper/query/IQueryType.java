@@ -13,9 +13,13 @@
  */
 package io.github.jdbctemplatemapper.query;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
+import io.github.jdbctemplatemapper.core.Projection;
 
 /**
  * interface with the next methods in the chain.
@@ -24,6 +28,12 @@ import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
  * @param <T> the type
  */
 public interface IQueryType<T> {
+  IQueryType<T> projection(Projection projection);
+
+  IQueryType<T> fetchSize(int fetchSize);
+
+  IQueryType<T> timeout(Duration timeout);
+
   IQueryHasMany<T> hasMany(Class<?> relatedType);
 
   IQueryHasMany<T> hasMany(Class<?> relatedType, String tableAlias);
@@ -39,4 +49,10 @@ public interface IQueryType<T> {
   IQueryLimitOffsetClause<T> limitOffsetClause(String limitOffsetClause);
 
   List<T> execute(JdbcTemplateMapper jdbcTemplateMapper);
+
+  CompletableFuture<List<T>> executeAsync(JdbcTemplateMapper jdbcTemplateMapper);
+
+  boolean exists(JdbcTemplateMapper jdbcTemplateMapper);
+
+  Stream<T> stream(JdbcTemplateMapper jdbcTemplateMapper);
 }
@@ -14,7 +14,10 @@
 package io.github.jdbctemplatemapper.query;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
+import io.github.jdbctemplatemapper.core.HasManyStrategy;
 import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
 
 /**
@@ -28,5 +31,13 @@ public interface IQueryWhere<T> {
 
   IQueryLimitOffsetClause<T> limitOffsetClause(String limitOffsetClaue);
 
+  IQueryHasManyStrategy<T> hasManyStrategy(HasManyStrategy hasManyStrategy);
+
   List<T> execute(JdbcTemplateMapper jdbcTemplateMapper);
+
+  CompletableFuture<List<T>> executeAsync(JdbcTemplateMapper jdbcTemplateMapper);
+
+  boolean exists(JdbcTemplateMapper jdbcTemplateMapper);
+
+  Stream<T> stream(JdbcTemplateMapper jdbcTemplateMapper);
 }
@@ -13,6 +13,7 @@
  */
 package io.github.jdbctemplatemapper.querycount;
 
+import java.util.concurrent.CompletableFuture;
 import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
 
 /**
@@ -23,4 +24,8 @@ import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
  */
 public interface IQueryCountExecute<T> {
   Integer execute(JdbcTemplateMapper jdbcTemplateMapper);
+
+  boolean exists(JdbcTemplateMapper jdbcTemplateMapper);
+
+  CompletableFuture<Integer> executeAsync(JdbcTemplateMapper jdbcTemplateMapper);
 }
@@ -13,6 +13,7 @@
  */
 package io.github.jdbctemplatemapper.querycount;
 
+import java.util.concurrent.CompletableFuture;
 import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
 
 /**
@@ -31,4 +32,8 @@ public interface IQueryCountType<T> {
 
 
   Integer execute(JdbcTemplateMapper jdbcTemplateMapper);
+
+  boolean exists(JdbcTemplateMapper jdbcTemplateMapper);
+
+  CompletableFuture<Integer> executeAsync(JdbcTemplateMapper jdbcTemplateMapper);
 }
@@ -13,6 +13,7 @@
  */
 package io.github.jdbctemplatemapper.querycount;
 
+import java.util.concurrent.CompletableFuture;
 import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
 
 /**
@@ -25,4 +26,8 @@ public interface IQueryCountWhere<T> {
   IQueryCountWhere<T> where(String whereClause, Object... params);
 
   Integer execute(JdbcTemplateMapper jdbcTemplateMapper);
+
+  boolean exists(JdbcTemplateMapper jdbcTemplateMapper);
+
+  CompletableFuture<Integer> executeAsync(JdbcTemplateMapper jdbcTemplateMapper);
 }
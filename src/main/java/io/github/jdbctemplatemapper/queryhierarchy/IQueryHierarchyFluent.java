@@ -0,0 +1,25 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.jdbctemplatemapper.queryhierarchy;
+
+/**
+ * The fluent style interface for QueryHierarchy.
+ *
+ * @author ajoseph
+ * @param <T> the type
+ */
+public interface IQueryHierarchyFluent<T> extends IQueryHierarchyType<T>,
+    IQueryHierarchyParentIdColumn<T>, IQueryHierarchyPopulateProperty<T>, IQueryHierarchyStart<T>,
+    IQueryHierarchyExecute<T> {
+}
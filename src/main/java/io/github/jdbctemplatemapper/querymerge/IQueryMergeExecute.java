@@ -15,6 +15,7 @@ package io.github.jdbctemplatemapper.querymerge;
 
 import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The execute interface.
@@ -24,4 +25,6 @@ import java.util.List;
  */
 public interface IQueryMergeExecute<T> {
   void execute(JdbcTemplateMapper jdbcTemplateMapper, List<T> mergeList);
+
+  CompletableFuture<Void> executeAsync(JdbcTemplateMapper jdbcTemplateMapper, List<T> mergeList);
 }
@@ -14,6 +14,7 @@
 package io.github.jdbctemplatemapper.querymerge;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
 
 /**
@@ -23,5 +24,9 @@ import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
  * @param <T> the type
  */
 public interface IQueryMergeOrderBy<T> {
+  IQueryMergeType<T> then();
+
   void execute(JdbcTemplateMapper jdbcTemplateMapper, List<T> mergeList);
+
+  CompletableFuture<Void> executeAsync(JdbcTemplateMapper jdbcTemplateMapper, List<T> mergeList);
 }
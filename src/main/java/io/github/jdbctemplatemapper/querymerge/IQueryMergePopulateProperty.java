@@ -14,7 +14,9 @@
 package io.github.jdbctemplatemapper.querymerge;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
+import io.github.jdbctemplatemapper.core.Projection;
 
 /**
  * interface with the next methods in the chain.
@@ -23,7 +25,13 @@ import io.github.jdbctemplatemapper.core.JdbcTemplateMapper;
  * @param <T> the type
  */
 public interface IQueryMergePopulateProperty<T> {
+  IQueryMergePopulateProperty<T> relatedProjection(Projection projection);
+
   IQueryMergeOrderBy<T> orderBy(String orderBy);
 
+  IQueryMergeType<T> then();
+
   void execute(JdbcTemplateMapper jdbcTemplateMapper, List<T> mergeList);
+
+  CompletableFuture<Void> executeAsync(JdbcTemplateMapper jdbcTemplateMapper, List<T> mergeList);
 }
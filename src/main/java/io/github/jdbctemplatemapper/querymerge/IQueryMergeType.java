@@ -13,6 +13,8 @@
  */
 package io.github.jdbctemplatemapper.querymerge;
 
+import java.time.Duration;
+
 /**
  * interface with the next methods in the chain.
  *
@@ -20,6 +22,10 @@ package io.github.jdbctemplatemapper.querymerge;
  * @param <T> the type
  */
 public interface IQueryMergeType<T> {
+  IQueryMergeType<T> fetchSize(int fetchSize);
+
+  IQueryMergeType<T> timeout(Duration timeout);
+
   IQueryMergeHasMany<T> hasMany(Class<?> relatedType);
 
   IQueryMergeHasMany<T> hasMany(Class<?> relatedType, String tableAlias);
@@ -0,0 +1,189 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.github.jdbctemplatemapper.model.Customer;
+import io.github.jdbctemplatemapper.model.Order;
+import io.github.jdbctemplatemapper.model.OrderLine;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+public class AsyncTest {
+
+  @Autowired
+  private JdbcTemplateMapper jtm;
+
+  @Test
+  public void findByIdAsync_success_test() throws Exception {
+    CompletableFuture<Customer> customer1 = jtm.findByIdAsync(Customer.class, 1);
+    CompletableFuture<Customer> customer2 = jtm.findByIdAsync(Customer.class, 2);
+
+    assertEquals("tony", customer1.get(10, TimeUnit.SECONDS).getFirstName());
+    assertEquals("jane", customer2.get(10, TimeUnit.SECONDS).getFirstName());
+  }
+
+  @Test
+  public void queryExecuteAsync_success_test() throws Exception {
+    CompletableFuture<List<Order>> orders = Query.type(Order.class)
+                                                 .hasMany(OrderLine.class)
+                                                 .joinColumnManySide("order_id")
+                                                 .populateProperty("orderLines")
+                                                 .where("orders.status = ?", "IN PROCESS")
+                                                 .orderBy("orders.order_id")
+                                                 .executeAsync(jtm);
+
+    CompletableFuture<Integer> count =
+        QueryCount.type(Order.class).where("orders.status = ?", "IN PROCESS").executeAsync(jtm);
+
+    assertEquals(2, orders.get(10, TimeUnit.SECONDS).size());
+    assertEquals(2, count.get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void queryMergeExecuteAsync_success_test() throws Exception {
+    List<Order> orders = Query.type(Order.class)
+                              .where("orders.status = ?", "IN PROCESS")
+                              .orderBy("orders.order_id")
+                              .execute(jtm);
+
+    QueryMerge.type(Order.class)
+              .hasOne(Customer.class)
+              .joinColumnTypeSide("customer_id")
+              .populateProperty("customer")
+              .executeAsync(jtm, orders)
+              .get(10, TimeUnit.SECONDS);
+
+    assertEquals("tony", orders.get(0).getCustomer().getFirstName());
+  }
+
+  @Test
+  public void executeAsync_exception_test() {
+    CompletableFuture<Object> future = jtm.executeAsync(j -> {
+      throw new IllegalStateException("async failure");
+    });
+
+    ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> {
+      future.get(10, TimeUnit.SECONDS);
+    });
+    assertTrue(exception.getCause() instanceof IllegalStateException);
+  }
+
+  @Test
+  public void executeAsync_timeout_test() throws Exception {
+    CountDownLatch interrupted = new CountDownLatch(1);
+    CompletableFuture<Object> future = jtm.executeAsync(j -> {
+      try {
+        Thread.sleep(10000);
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+      return null;
+    }, Duration.ofMillis(100));
+
+    ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> {
+      future.get(10, TimeUnit.SECONDS);
+    });
+    assertTrue(exception.getCause() instanceof TimeoutException);
+    assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void executeAsync_cancel_test() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    CompletableFuture<Object> future = jtm.executeAsync(j -> {
+      started.countDown();
+      try {
+        Thread.sleep(10000);
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+      return null;
+    });
+
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    future.cancel(true);
+
+    Assertions.assertThrows(CancellationException.class, () -> {
+      future.get();
+    });
+    assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void executeAsync_defaultExecutor_test() throws Exception {
+    String threadName = jtm.executeAsync(j -> Thread.currentThread().getName())
+                           .get(10, TimeUnit.SECONDS);
+    assertTrue(threadName.startsWith("jdbctemplatemapper-async-"));
+  }
+
+  @Test
+  public void executeAsync_queryTimeout_test() throws Exception {
+    // queries get the time the operation has left as their timeout
+    int[] timeouts = jtm.executeAsync(j -> new int[] {
+        StatementSettings.of(j, null, null).getTimeoutSeconds(),
+        StatementSettings.of(j, QueryOptions.timeout(Duration.ofSeconds(60)), null)
+                         .getTimeoutSeconds(),
+        StatementSettings.of(j, QueryOptions.timeout(Duration.ofSeconds(1)), null)
+                         .getTimeoutSeconds()},
+        Duration.ofSeconds(5)).get(10, TimeUnit.SECONDS);
+
+    assertTrue(timeouts[0] > 0 && timeouts[0] <= 5);
+    assertTrue(timeouts[1] > 0 && timeouts[1] <= 5);
+    assertEquals(1, timeouts[2]);
+
+    // no timeout
+    assertEquals(-1, jtm.executeAsync(j -> StatementSettings.of(j, null, null).getTimeoutSeconds())
+                        .get(10, TimeUnit.SECONDS));
+
+    List<Order> orders = jtm.executeAsync(j -> Query.type(Order.class)
+                                                    .where("orders.status = ?", "IN PROCESS")
+                                                    .execute(j),
+        Duration.ofSeconds(10)).get(10, TimeUnit.SECONDS);
+    assertEquals(2, orders.size());
+  }
+
+  @Test
+  public void executeAsync_cancelStatement_test() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch cancelled = new CountDownLatch(1);
+    Statement statement = (Statement) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[] {Statement.class}, (proxy, method, args) -> {
+          if ("cancel".equals(method.getName())) {
+            cancelled.countDown();
+          }
+          return "isClosed".equals(method.getName()) ? false : null;
+        });
+
+    CompletableFuture<Object> future = jtm.executeAsync(j -> {
+      try {
+        AsyncExecution.current().register(statement);
+        started.countDown();
+        Thread.sleep(10000);
+      } catch (Exception e) {
+        // interrupted by the cancel
+      }
+      return null;
+    });
+
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    future.cancel(true);
+    assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+  }
+}
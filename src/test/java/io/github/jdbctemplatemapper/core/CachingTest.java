@@ -8,7 +8,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import io.github.jdbctemplatemapper.model.Customer;
 import io.github.jdbctemplatemapper.model.Order;
@@ -442,7 +441,7 @@ public class CachingTest {
 
   @Test
   public void jtm_insertCache_test() {
-    SimpleCache<String, SimpleJdbcInsert> cache = jtm.getInsertCache();
+    SimpleCache<String, InsertSqlAndParams> cache = jtm.getInsertCache();
     cache.clear();
 
     Order order = new Order();
@@ -507,7 +506,7 @@ public class CachingTest {
 
   @Test
   public void jtm_updatePropertiesCache_test() {
-    SimpleCache<String, SqlAndParams> cache = jtm.getUpdatePropertiesCache();
+    SimpleCache<?, SqlAndParams> cache = jtm.getUpdatePropertiesCache();
     cache.clear();
 
     Product8 product = new Product8();
@@ -0,0 +1,139 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+public class ColumnExtractorTest {
+
+  @Test
+  public void primitiveAndWrapper_null_test() throws Exception {
+    ResultSet rs = resultSet(true, (Object) null);
+    Class<?>[] types = {int.class, Integer.class, long.class, Long.class, double.class,
+        Double.class, float.class, Float.class, short.class, Short.class, byte.class, Byte.class,
+        boolean.class, Boolean.class};
+    for (Class<?> type : types) {
+      assertNull(ColumnExtractor.forType(type, Types.NUMERIC).extract(rs, 1), type.getName());
+    }
+  }
+
+  @Test
+  public void primitiveAndWrapper_zero_test() throws Exception {
+    // zero is not null
+    ResultSet rs = resultSet(true, 0);
+    assertEquals(0, ColumnExtractor.forType(int.class, Types.INTEGER).extract(rs, 1));
+    assertEquals(0, ColumnExtractor.forType(Integer.class, Types.INTEGER).extract(rs, 1));
+    assertEquals(0L, ColumnExtractor.forType(long.class, Types.BIGINT).extract(rs, 1));
+    assertEquals(0L, ColumnExtractor.forType(Long.class, Types.BIGINT).extract(rs, 1));
+    assertEquals(0.0, ColumnExtractor.forType(Double.class, Types.DOUBLE).extract(rs, 1));
+    assertEquals(false,
+        ColumnExtractor.forType(boolean.class, Types.BOOLEAN).extract(resultSet(true, false), 1));
+
+    ResultSet rs2 = resultSet(true, 42);
+    assertEquals(42, ColumnExtractor.forType(int.class, Types.INTEGER).extract(rs2, 1));
+    assertEquals(42L, ColumnExtractor.forType(Long.class, Types.INTEGER).extract(rs2, 1));
+  }
+
+  @Test
+  public void bigDecimal_test() throws Exception {
+    ColumnExtractor extractor = ColumnExtractor.forType(BigDecimal.class, Types.DECIMAL);
+    assertEquals(new BigDecimal("10.25"),
+        extractor.extract(resultSet(true, new BigDecimal("10.25")), 1));
+    assertNull(extractor.extract(resultSet(true, (Object) null), 1));
+  }
+
+  @Test
+  public void dateTime_test() throws Exception {
+    LocalDateTime localDateTime = LocalDateTime.of(2023, 5, 17, 10, 30, 15);
+    OffsetDateTime offsetDateTime = OffsetDateTime.of(localDateTime, ZoneOffset.ofHours(2));
+
+    assertEquals(localDateTime, ColumnExtractor.forType(LocalDateTime.class, Types.TIMESTAMP)
+                                               .extract(resultSet(true, localDateTime), 1));
+    assertEquals(offsetDateTime,
+        ColumnExtractor.forType(OffsetDateTime.class, Types.TIMESTAMP_WITH_TIMEZONE)
+                       .extract(resultSet(true, offsetDateTime), 1));
+    assertNull(ColumnExtractor.forType(LocalDateTime.class, Types.TIMESTAMP)
+                              .extract(resultSet(true, (Object) null), 1));
+  }
+
+  @Test
+  public void dateTime_withoutJdbc42_test() throws Exception {
+    // drivers without getObject(index, type) fall back to the timestamp, which gets converted to
+    // the property type when it is assigned
+    Timestamp timestamp = Timestamp.valueOf(LocalDateTime.of(2023, 5, 17, 10, 30, 15));
+    assertEquals(timestamp, ColumnExtractor.forType(LocalDateTime.class, Types.TIMESTAMP)
+                                           .extract(resultSet(false, timestamp), 1));
+  }
+
+  @Test
+  public void getObject_fallback_test() throws Exception {
+    UUID uuid = UUID.randomUUID();
+    // types without a specific extractor
+    assertEquals(uuid,
+        ColumnExtractor.forType(UUID.class, Types.OTHER).extract(resultSet(true, uuid), 1));
+    assertEquals(uuid,
+        ColumnExtractor.forType(Object.class, Types.OTHER).extract(resultSet(true, uuid), 1));
+    assertEquals("abc",
+        ColumnExtractor.forType(Object.class, Types.VARCHAR).extract(resultSet(true, "abc"), 1));
+    assertNull(ColumnExtractor.forType(UUID.class, Types.OTHER)
+                              .extract(resultSet(true, (Object) null), 1));
+  }
+
+  // a ResultSet positioned on a row with the values. Without jdbc42 getObject(index, type) throws
+  // AbstractMethodError like drivers which predate JDBC 4.2.
+  private ResultSet resultSet(boolean jdbc42, Object... values) {
+    boolean[] wasNull = new boolean[1];
+    return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[] {ResultSet.class}, (proxy, method, args) -> {
+          String name = method.getName();
+          if ("wasNull".equals(name)) {
+            return wasNull[0];
+          }
+          if (args == null || !(args[0] instanceof Integer)) {
+            throw new UnsupportedOperationException(name);
+          }
+          Object value = values[(Integer) args[0] - 1];
+          wasNull[0] = value == null;
+          if ("getObject".equals(name) && args.length == 2) {
+            if (!jdbc42) {
+              throw new AbstractMethodError(name);
+            }
+            return value == null ? null : ((Class<?>) args[1]).cast(value);
+          }
+          Class<?> returnType = method.getReturnType();
+          if (returnType == boolean.class) {
+            return value != null && (Boolean) value;
+          }
+          if (returnType.isPrimitive()) {
+            Number number = value == null ? 0 : (Number) value;
+            if (returnType == int.class) {
+              return number.intValue();
+            } else if (returnType == long.class) {
+              return number.longValue();
+            } else if (returnType == double.class) {
+              return number.doubleValue();
+            } else if (returnType == float.class) {
+              return number.floatValue();
+            } else if (returnType == short.class) {
+              return number.shortValue();
+            }
+            return number.byteValue();
+          }
+          return value;
+        });
+  }
+}
@@ -0,0 +1,75 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.github.jdbctemplatemapper.model.ImmutableCustomer;
+import io.github.jdbctemplatemapper.model.ImmutableOrder;
+import io.github.jdbctemplatemapper.model.OrderLine;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+public class ConstructorModelTest {
+
+  @Autowired
+  private JdbcTemplateMapper jtm;
+
+  @Test
+  public void findById_constructor_test() {
+    ImmutableCustomer customer = jtm.findById(ImmutableCustomer.class, 1);
+
+    assertEquals(1, customer.getCustomerId());
+    assertEquals("tony", customer.getFirstName());
+    assertEquals("joe", customer.getLastName());
+  }
+
+  @Test
+  public void findById_notFound_constructor_test() {
+    assertNull(jtm.findById(ImmutableCustomer.class, 9999999));
+  }
+
+  @Test
+  public void findAll_projection_constructor_test() {
+    List<ImmutableCustomer> customers =
+        jtm.findAll(ImmutableCustomer.class, "customerId", Projection.include("firstName"));
+
+    assertTrue(customers.size() >= 2);
+    assertEquals("tony", customers.get(0).getFirstName());
+    assertNull(customers.get(0).getLastName());
+  }
+
+  @Test
+  public void query_constructorProperties_test() {
+    List<ImmutableOrder> orders = Query.type(ImmutableOrder.class)
+                                       .where("orders.status = ?", "IN PROCESS")
+                                       .orderBy("orders.order_id")
+                                       .execute(jtm);
+
+    assertEquals(2, orders.size());
+    assertEquals(1, orders.get(0).getId());
+    assertEquals(1, orders.get(0).getCustomerId());
+    assertEquals("IN PROCESS", orders.get(0).getStatus());
+    assertEquals(0, orders.get(0).getOrderLines().size());
+  }
+
+  @Test
+  public void query_hasMany_constructor_test() {
+    List<ImmutableOrder> orders = Query.type(ImmutableOrder.class)
+                                       .hasMany(OrderLine.class)
+                                       .joinColumnManySide("order_id")
+                                       .populateProperty("orderLines")
+                                       .where("orders.status = ?", "IN PROCESS")
+                                       .orderBy("orders.order_id, order_line.order_line_id")
+                                       .execute(jtm);
+
+    assertEquals(2, orders.size());
+    assertEquals(2, orders.get(0).getOrderLines().size());
+    assertEquals(1, orders.get(1).getOrderLines().size());
+  }
+}
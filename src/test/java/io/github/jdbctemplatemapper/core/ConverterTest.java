@@ -0,0 +1,138 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.github.jdbctemplatemapper.converter.EnumNameConverter;
+import io.github.jdbctemplatemapper.exception.MapperException;
+import io.github.jdbctemplatemapper.model.ConverterModel;
+import io.github.jdbctemplatemapper.model.JsonConverterModel;
+import io.github.jdbctemplatemapper.model.Label;
+import io.github.jdbctemplatemapper.model.StatusEnum;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+public class ConverterTest {
+
+  @Autowired
+  private JdbcTemplateMapper jtm;
+
+  @Test
+  public void insert_findById_converter_test() {
+    ConverterModel model = new ConverterModel();
+    model.setOrdinalStatus(StatusEnum.CLOSED);
+    model.setStatus(StatusEnum.OPEN);
+    model.setLabel(new Label("abc"));
+    jtm.insert(model);
+
+    Map<String, Object> row = jtm.getJdbcTemplate()
+        .queryForMap("SELECT int_enum, string_enum, non_model_column FROM "
+            + jtm.getTableMapping(ConverterModel.class).fullyQualifiedTableName() + " WHERE id = ?",
+            model.getId());
+    assertEquals(1, ((Number) getValue(row, "int_enum")).intValue());
+    assertEquals("OPEN", getValue(row, "string_enum"));
+    assertEquals("label:abc", getValue(row, "non_model_column"));
+
+    ConverterModel model2 = jtm.findById(ConverterModel.class, model.getId());
+    assertEquals(StatusEnum.CLOSED, model2.getOrdinalStatus());
+    assertEquals(StatusEnum.OPEN, model2.getStatus());
+    assertEquals("abc", model2.getLabel().getValue());
+  }
+
+  @Test
+  public void update_converter_test() {
+    ConverterModel model = new ConverterModel();
+    model.setOrdinalStatus(StatusEnum.OPEN);
+    model.setLabel(new Label("before"));
+    jtm.insert(model);
+
+    model.setOrdinalStatus(StatusEnum.CLOSED);
+    model.setLabel(new Label("after"));
+    jtm.update(model);
+
+    ConverterModel model2 = jtm.findById(ConverterModel.class, model.getId());
+    assertEquals(StatusEnum.CLOSED, model2.getOrdinalStatus());
+    assertEquals("after", model2.getLabel().getValue());
+    assertNull(model2.getStatus());
+
+    model2.setLabel(null);
+    jtm.updateProperties(model2, "label");
+
+    ConverterModel model3 = jtm.findById(ConverterModel.class, model.getId());
+    assertNull(model3.getLabel());
+    assertEquals(StatusEnum.CLOSED, model3.getOrdinalStatus());
+  }
+
+  @Test
+  public void query_converter_test() {
+    ConverterModel model = new ConverterModel();
+    model.setOrdinalStatus(StatusEnum.CLOSED);
+    model.setStatus(StatusEnum.CLOSED);
+    model.setLabel(new Label("query"));
+    jtm.insert(model);
+
+    List<ConverterModel> list = Query.type(ConverterModel.class)
+                                     .where("type_check.id = ?", model.getId())
+                                     .execute(jtm);
+
+    assertEquals(1, list.size());
+    assertEquals(StatusEnum.CLOSED, list.get(0).getOrdinalStatus());
+    assertEquals(StatusEnum.CLOSED, list.get(0).getStatus());
+    assertEquals("query", list.get(0).getLabel().getValue());
+  }
+
+  @Test
+  public void enumName_charColumn_test() {
+    ConverterModel model = new ConverterModel();
+    model.setCharStatus(StatusEnum.OPEN);
+    jtm.insert(model);
+
+    // the CHAR(10) column value is blank padded
+    ConverterModel model2 = jtm.findById(ConverterModel.class, model.getId());
+    assertEquals(StatusEnum.OPEN, model2.getCharStatus());
+
+    List<ConverterModel> list = Query.type(ConverterModel.class)
+                                     .where("type_check.id = ?", model.getId())
+                                     .execute(jtm);
+    assertEquals(StatusEnum.OPEN, list.get(0).getCharStatus());
+
+    jtm.getJdbcTemplate()
+       .update("UPDATE " + jtm.getTableMapping(ConverterModel.class).fullyQualifiedTableName()
+           + " SET char_enum = ' ' WHERE id = ?", model.getId());
+    assertNull(jtm.findById(ConverterModel.class, model.getId()).getCharStatus());
+  }
+
+  @Test
+  public void enumNameConverter_test() {
+    EnumNameConverter<StatusEnum> converter = new EnumNameConverter<>(StatusEnum.class);
+    assertEquals(StatusEnum.CLOSED, converter.toPropertyValue("CLOSED"));
+    assertEquals(StatusEnum.CLOSED, converter.toPropertyValue("CLOSED    "));
+    assertNull(converter.toPropertyValue(""));
+    assertNull(converter.toPropertyValue("   "));
+    Assertions.assertThrows(MapperException.class, () -> {
+      converter.toPropertyValue("UNKNOWN");
+    });
+  }
+
+  @Test
+  public void jsonConverter_withoutJsonCodec_test() {
+    Exception exception = Assertions.assertThrows(MapperException.class, () -> {
+      jtm.findById(JsonConverterModel.class, 1);
+    });
+    assertTrue(exception.getMessage().contains("withJsonCodec"));
+  }
+
+  // column labels of queryForMap() are upper case for some databases
+  private Object getValue(Map<String, Object> row, String columnName) {
+    Object value = row.get(columnName);
+    return value != null ? value : row.get(columnName.toUpperCase());
+  }
+}
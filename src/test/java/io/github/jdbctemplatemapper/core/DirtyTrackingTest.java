@@ -0,0 +1,146 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.github.jdbctemplatemapper.config.RecordOperatorResolver;
+import io.github.jdbctemplatemapper.model.Order;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+public class DirtyTrackingTest {
+
+  @Value("${spring.datasource.driver-class-name}")
+  private String jdbcDriver;
+
+  @Autowired
+  @Qualifier("ds1JdbcTemplate")
+  private JdbcTemplate jdbcTemplate;
+
+  // dirty tracking is opt in so the shared mapper does not have it
+  private JdbcTemplateMapper jtm;
+
+  @BeforeEach
+  public void setup() {
+    if (jdbcDriver.contains("mysql")) {
+      jtm = new JdbcTemplateMapper(jdbcTemplate, null, "schema1");
+    } else {
+      jtm = new JdbcTemplateMapper(jdbcTemplate, "schema1");
+    }
+    jtm.withRecordOperatorResolver(new RecordOperatorResolver()).withDirtyTracking();
+  }
+
+  @Test
+  public void updateChanged_noChange_test() {
+    Order order = new Order();
+    order.setStatus("PENDING");
+    jtm.insert(order);
+
+    Order order2 = jtm.findById(Order.class, order.getOrderId());
+    assertEquals(0, jtm.updateChanged(order2));
+    // no update issued so version stays the same
+    assertEquals(1, order2.getVersion());
+    assertEquals(1, jtm.findById(Order.class, order.getOrderId()).getVersion());
+  }
+
+  @Test
+  public void updateChanged_success_test() {
+    Order order = new Order();
+    order.setStatus("PENDING");
+    jtm.insert(order);
+
+    Order order2 = jtm.findById(Order.class, order.getOrderId());
+    order2.setStatus("DONE");
+
+    jtm.getUpdatePropertiesCache().clear();
+    assertEquals(1, jtm.updateChanged(order2));
+    assertEquals(2, order2.getVersion());
+    // update issued through updateProperties()
+    assertNotNull(jtm.getUpdatePropertiesCache()
+                     .get(new JdbcTemplateMapper.UpdatePropertiesCacheKey(Order.class,
+                         new String[] {"status"})));
+
+    Order order3 = jtm.findById(Order.class, order.getOrderId());
+    assertEquals("DONE", order3.getStatus());
+    assertEquals(2, order3.getVersion());
+
+    // snapshot refreshed after the update
+    assertEquals(0, jtm.updateChanged(order2));
+  }
+
+  @Test
+  public void updateChanged_afterInsert_test() {
+    Order order = new Order();
+    order.setStatus("PENDING");
+    jtm.insert(order);
+
+    assertEquals(0, jtm.updateChanged(order));
+
+    order.setStatus("DONE");
+    assertEquals(1, jtm.updateChanged(order));
+    assertEquals("DONE", jtm.findById(Order.class, order.getOrderId()).getStatus());
+  }
+
+  @Test
+  public void updateChanged_query_test() {
+    Order order = new Order();
+    order.setStatus("PENDING");
+    jtm.insert(order);
+
+    List<Order> orders = Query.type(Order.class)
+                              .where("orders.order_id = ?", order.getOrderId())
+                              .execute(jtm);
+
+    Order order2 = orders.get(0);
+    assertEquals(0, jtm.updateChanged(order2));
+
+    order2.setStatus("DONE");
+    assertEquals(1, jtm.updateChanged(order2));
+    assertEquals("DONE", jtm.findById(Order.class, order.getOrderId()).getStatus());
+  }
+
+  @Test
+  public void updateChanged_noSnapshot_test() {
+    Order order = new Order();
+    order.setStatus("PENDING");
+    jtm.insert(order);
+
+    // object not loaded through the mapper gets a full update
+    Order order2 = new Order();
+    order2.setOrderId(order.getOrderId());
+    order2.setStatus("DONE");
+    order2.setVersion(1);
+    assertEquals(1, jtm.updateChanged(order2));
+    assertEquals(2, order2.getVersion());
+
+    // and gets a snapshot after the update
+    assertEquals(0, jtm.updateChanged(order2));
+  }
+
+  @Test
+  public void updateChanged_updatePropertiesKeepsOtherChanges_test() {
+    Order order = new Order();
+    order.setStatus("PENDING");
+    jtm.insert(order);
+
+    Order order2 = jtm.findById(Order.class, order.getOrderId());
+    order2.setStatus("DONE");
+    order2.setCustomerId(2);
+    jtm.updateProperties(order2, "status");
+
+    // customerId was not written so it is still dirty
+    assertEquals(1, jtm.updateChanged(order2));
+    assertEquals(2, jtm.findById(Order.class, order.getOrderId()).getCustomerId());
+    assertTrue(jtm.getDirtyTracker().getSize() > 0);
+  }
+}
@@ -0,0 +1,114 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.github.jdbctemplatemapper.exception.MapperException;
+import io.github.jdbctemplatemapper.model.GeneratedValue;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+public class GeneratedColumnTest {
+
+  @Autowired
+  private JdbcTemplateMapper jtm;
+
+  @Test
+  public void insert_populatesGeneratedColumn_test() {
+    GeneratedValue obj = new GeneratedValue();
+    obj.setName("insert");
+    obj.setStatus("IGNORED"); // generated columns are not written
+    jtm.insert(obj);
+
+    assertNotNull(obj.getId());
+    assertEquals("NEW", obj.getStatus());
+
+    GeneratedValue obj2 = jtm.findById(GeneratedValue.class, obj.getId());
+    assertEquals("insert", obj2.getName());
+    assertEquals("NEW", obj2.getStatus());
+  }
+
+  @Test
+  public void update_populatesGeneratedColumn_test() {
+    GeneratedValue obj = new GeneratedValue();
+    obj.setName("update");
+    jtm.insert(obj);
+
+    obj.setName("update2");
+    obj.setStatus("IGNORED");
+    assertEquals(1, jtm.update(obj));
+    assertEquals("NEW", obj.getStatus());
+
+    GeneratedValue obj2 = jtm.findById(GeneratedValue.class, obj.getId());
+    assertEquals("update2", obj2.getName());
+    assertEquals("NEW", obj2.getStatus());
+  }
+
+  @Test
+  public void insert_populatesTriggerColumn_test() {
+    GeneratedValue obj = new GeneratedValue();
+    obj.setName("trigger insert");
+    jtm.insert(obj);
+
+    assertNotNull(obj.getId());
+    assertEquals("TRIGGER INSERT", obj.getNameUpper());
+    assertEquals("TRIGGER INSERT",
+        jtm.findById(GeneratedValue.class, obj.getId()).getNameUpper());
+  }
+
+  @Test
+  public void update_populatesTriggerColumn_test() {
+    GeneratedValue obj = new GeneratedValue();
+    obj.setName("trigger update");
+    jtm.insert(obj);
+
+    obj.setName("trigger update2");
+    assertEquals(1, jtm.update(obj));
+    assertEquals("TRIGGER UPDATE2", obj.getNameUpper());
+    assertEquals("NEW", obj.getStatus());
+
+    obj.setName("trigger update3");
+    assertEquals(1, jtm.updateProperties(obj, "name"));
+    assertEquals("TRIGGER UPDATE3", obj.getNameUpper());
+  }
+
+  @Test
+  public void update_missingRecord_test() {
+    GeneratedValue obj = new GeneratedValue();
+    obj.setId(999999);
+    obj.setName("missing");
+    assertEquals(0, jtm.update(obj));
+    assertNull(obj.getNameUpper());
+  }
+
+  @Test
+  public void updateProperties_populatesGeneratedColumn_test() {
+    GeneratedValue obj = new GeneratedValue();
+    obj.setName("updateProperties");
+    jtm.insert(obj);
+
+    obj.setName("updateProperties2");
+    obj.setStatus(null);
+    assertEquals(1, jtm.updateProperties(obj, "name"));
+    assertEquals("NEW", obj.getStatus());
+  }
+
+  @Test
+  public void updateProperties_generatedColumn_failure() {
+    GeneratedValue obj = new GeneratedValue();
+    obj.setName("updateProperties failure");
+    jtm.insert(obj);
+
+    Exception exception = Assertions.assertThrows(MapperException.class, () -> {
+      jtm.updateProperties(obj, "status");
+    });
+    assertTrue(exception.getMessage().contains("cannot be updated"));
+  }
+}
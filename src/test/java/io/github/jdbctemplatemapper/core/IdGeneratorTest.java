@@ -0,0 +1,83 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.github.jdbctemplatemapper.model.PooledId;
+import io.github.jdbctemplatemapper.model.UuidId;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+public class IdGeneratorTest {
+
+  @Value("${spring.datasource.driver-class-name}")
+  private String jdbcDriver;
+
+  @Autowired
+  private JdbcTemplateMapper jtm;
+
+  @Test
+  public void insert_sequenceId_test() {
+    // mysql does not have sequences
+    if (jdbcDriver.contains("mysql")) {
+      return;
+    }
+    PooledId obj1 = new PooledId("pooled1");
+    PooledId obj2 = new PooledId("pooled2");
+    jtm.insert(obj1);
+    jtm.insert(obj2);
+
+    assertNotNull(obj1.getId());
+    assertTrue(obj2.getId() > obj1.getId());
+    assertEquals("pooled1", jtm.findById(PooledId.class, obj1.getId()).getName());
+    assertEquals("pooled2", jtm.findById(PooledId.class, obj2.getId()).getName());
+  }
+
+  @Test
+  public void insert_sequenceIdManuallySet_test() {
+    if (jdbcDriver.contains("mysql")) {
+      return;
+    }
+    PooledId obj = new PooledId("pooled manual");
+    obj.setId(900000L);
+    jtm.insert(obj);
+
+    assertEquals(900000L, obj.getId());
+    assertEquals("pooled manual", jtm.findById(PooledId.class, 900000L).getName());
+  }
+
+  @Test
+  public void upsertAll_sequenceId_test() {
+    if (jdbcDriver.contains("mysql")) {
+      return;
+    }
+    List<PooledId> objs = Arrays.asList(new PooledId("upsert1"), new PooledId("upsert2"));
+    jtm.upsertAll(objs);
+
+    assertNotNull(objs.get(0).getId());
+    assertNotNull(objs.get(1).getId());
+    assertEquals("upsert2", jtm.findById(PooledId.class, objs.get(1).getId()).getName());
+  }
+
+  @Test
+  public void insert_uuidV7Id_test() {
+    UuidId obj1 = new UuidId("uuid1");
+    UuidId obj2 = new UuidId("uuid2");
+    jtm.insert(obj1);
+    jtm.insert(obj2);
+
+    assertEquals(7, UUID.fromString(obj1.getId()).version());
+    // time ordered
+    assertTrue(obj2.getId().compareTo(obj1.getId()) > 0);
+    assertEquals("uuid1", jtm.findById(UuidId.class, obj1.getId()).getName());
+  }
+}
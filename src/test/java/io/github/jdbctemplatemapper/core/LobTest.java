@@ -0,0 +1,101 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.github.jdbctemplatemapper.exception.MapperException;
+import io.github.jdbctemplatemapper.model.LobDocument;
+import io.github.jdbctemplatemapper.model.LobDocumentWrite;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+public class LobTest {
+
+  @Autowired
+  private JdbcTemplateMapper jtm;
+
+  @Test
+  public void insert_stream_findById_lazy_test() {
+    byte[] bytes = new byte[100000];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) i;
+    }
+    Integer id = insertDocument("doc1", bytes, "some notes");
+
+    LobDocument doc = jtm.findById(LobDocument.class, id);
+    assertEquals("doc1", doc.getName());
+    assertNotNull(doc.getContent());
+    assertFalse(doc.getContent().isLoaded());
+
+    assertArrayEquals(bytes, doc.getContent().getBytes());
+    assertTrue(doc.getContent().isLoaded());
+    assertEquals("some notes", doc.getNotes().getString());
+  }
+
+  @Test
+  public void transferTo_test() {
+    byte[] bytes = "binary content".getBytes(StandardCharsets.UTF_8);
+    Integer id = insertDocument("doc2", bytes, "streamed notes");
+
+    List<LobDocument> docs =
+        Query.type(LobDocument.class).where("lob_document.id = ?", id).execute(jtm);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(bytes.length, docs.get(0).getContent().transferTo(out));
+    assertArrayEquals(bytes, out.toByteArray());
+    assertFalse(docs.get(0).getContent().isLoaded());
+
+    StringWriter writer = new StringWriter();
+    docs.get(0).getNotes().transferTo(writer);
+    assertEquals("streamed notes", writer.toString());
+  }
+
+  @Test
+  public void update_doesNotWriteLazyLob_test() {
+    byte[] bytes = "keep me".getBytes(StandardCharsets.UTF_8);
+    Integer id = insertDocument("doc3", bytes, "keep notes");
+
+    LobDocument doc = jtm.findById(LobDocument.class, id);
+    doc.setName("doc3 updated");
+    jtm.update(doc);
+
+    LobDocument doc2 = jtm.findById(LobDocument.class, id);
+    assertEquals("doc3 updated", doc2.getName());
+    assertArrayEquals(bytes, doc2.getContent().getBytes());
+    assertEquals("keep notes", doc2.getNotes().getString());
+  }
+
+  @Test
+  public void updateProperties_lazyLob_failure_test() {
+    Integer id = insertDocument("doc4", new byte[] {1}, "notes");
+    LobDocument doc = jtm.findById(LobDocument.class, id);
+
+    Exception exception = Assertions.assertThrows(MapperException.class, () -> {
+      jtm.updateProperties(doc, "content");
+    });
+    assertTrue(exception.getMessage().contains("cannot be updated"));
+  }
+
+  private Integer insertDocument(String name, byte[] content, String notes) {
+    LobDocumentWrite doc = new LobDocumentWrite();
+    doc.setName(name);
+    doc.setContent(new ByteArrayInputStream(content));
+    doc.setNotes(new StringReader(notes));
+    jtm.insert(doc);
+    return doc.getId();
+  }
+}
@@ -8,10 +8,12 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -426,6 +428,15 @@ public class MapperTest {
     assertNotNull(pv.getLastName());
   }
 
+  @Test
+  public void existingIds_Test() {
+    Set<Integer> ids = jtm.existingIds(Order.class, Arrays.asList(2, 99999, null, 1, 2));
+
+    assertEquals(Arrays.asList(2, 1), new ArrayList<>(ids));
+    assertTrue(jtm.existingIds(Order.class, new ArrayList<Integer>()).isEmpty());
+    assertTrue(jtm.existingIds(PersonView.class, Arrays.asList("person101")).size() == 1);
+  }
+
 
   @Test
   public void findAll_Test() {
@@ -478,6 +489,90 @@ public class MapperTest {
     assertTrue(exception.getMessage().contains("id must not be null"));
   }
 
+  @Test
+  public void prepareUpdate_Test() {
+    Product product = new Product();
+    product.setProductId(3101);
+    product.setName("hat");
+    product.setCost(12.25);
+    jtm.insert(product);
+
+    PreparedUpdate<Product> costUpdate = jtm.prepareUpdate(Product.class, "cost");
+
+    product.setName("cap"); // not updated
+    product.setCost(10.50);
+    assertEquals(1, costUpdate.execute(product));
+    assertEquals(2, product.getVersion());
+
+    product.setCost(11.50);
+    assertEquals(1, costUpdate.execute(product));
+    assertEquals(3, product.getVersion());
+
+    Product product1 = jtm.findById(Product.class, 3101);
+    assertEquals("hat", product1.getName());
+    assertEquals(11.50, product1.getCost());
+    assertEquals(3, product1.getVersion());
+    assertEquals("tester", product1.getUpdatedBy());
+
+    // stale object
+    product1.setVersion(1);
+    Assertions.assertThrows(OptimisticLockingException.class, () -> {
+      costUpdate.execute(product1);
+    });
+  }
+
+  @Test
+  public void prepareUpdate_allProperties_Test() {
+    Product product = new Product();
+    product.setProductId(3102);
+    product.setName("hat");
+    product.setCost(12.25);
+    jtm.insert(product);
+
+    PreparedUpdate<Product> update = jtm.prepareUpdate(Product.class);
+    product.setName("cap");
+    product.setCost(10.50);
+    assertEquals(1, update.execute(product));
+
+    Product product1 = jtm.findById(Product.class, 3102);
+    assertEquals("cap", product1.getName());
+    assertEquals(10.50, product1.getCost());
+    assertEquals(2, product1.getVersion());
+  }
+
+  @Test
+  public void prepareUpdate_invalidProperty_failure() {
+    Exception exception = Assertions.assertThrows(MapperException.class, () -> {
+      jtm.prepareUpdate(Product.class, "xyz");
+    });
+    assertTrue(exception.getMessage().contains("No mapping found for property"));
+
+    exception = Assertions.assertThrows(MapperException.class, () -> {
+      jtm.prepareUpdate(Product.class, "version");
+    });
+    assertTrue(exception.getMessage().contains("cannot be updated"));
+  }
+
+  @Test
+  public void prepareDelete_Test() {
+    Product product = new Product();
+    product.setProductId(3103);
+    product.setName("hat");
+    jtm.insert(product);
+    Product product2 = new Product();
+    product2.setProductId(3104);
+    product2.setName("cap");
+    jtm.insert(product2);
+
+    PreparedDelete<Product> delete = jtm.prepareDelete(Product.class);
+    assertEquals(1, delete.execute(product));
+    assertEquals(1, delete.executeById(3104));
+    assertEquals(0, delete.executeById(3104));
+
+    assertNull(jtm.findById(Product.class, 3103));
+    assertNull(jtm.findById(Product.class, 3104));
+  }
+
   @Test
   public void loadMapping_success_Test() {
     Assertions.assertDoesNotThrow(() -> {
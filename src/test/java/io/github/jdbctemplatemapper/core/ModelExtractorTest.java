@@ -0,0 +1,191 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.github.jdbctemplatemapper.exception.QueryException;
+import io.github.jdbctemplatemapper.model.Customer;
+import io.github.jdbctemplatemapper.model.Employee;
+import io.github.jdbctemplatemapper.model.EmployeeSkill;
+import io.github.jdbctemplatemapper.model.Order;
+import io.github.jdbctemplatemapper.model.OrderLine;
+import io.github.jdbctemplatemapper.model.Product;
+import io.github.jdbctemplatemapper.model.Skill;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+public class ModelExtractorTest {
+
+  @Autowired
+  private JdbcTemplateMapper jtm;
+
+  @Test
+  public void modelExtractor_multiLevel_test() {
+    SelectMapper<Order> orderSelectMapper = jtm.getSelectMapper(Order.class, "o");
+    SelectMapper<Customer> customerSelectMapper = jtm.getSelectMapper(Customer.class, "c");
+    SelectMapper<OrderLine> orderLineSelectMapper = jtm.getSelectMapper(OrderLine.class, "ol");
+    SelectMapper<Product> productSelectMapper = jtm.getSelectMapper(Product.class, "p");
+
+    // @formatter:off
+    String sql =
+        "select "
+            + orderSelectMapper.getColumnsSql()
+            + ","
+            + customerSelectMapper.getColumnsSql()
+            + ","
+            + orderLineSelectMapper.getColumnsSql()
+            + ","
+            + productSelectMapper.getColumnsSql()
+            + " from " + fullyQualifiedTableName("orders") + " o"
+            + " left join " + fullyQualifiedTableName("customer") + " c on o.customer_id = c.customer_id"
+            + " left join " + fullyQualifiedTableName("order_line") + " ol on o.order_id = ol.order_id"
+            + " left join " + fullyQualifiedTableName("product") + " p on p.product_id = ol.product_id"
+            + " where o.status = ?"
+            + " order by o.order_id, ol.order_line_id";
+    // @formatter:on
+
+    ModelExtractor<Order> extractor =
+        ModelExtractor.type(orderSelectMapper)
+                      .hasOne(orderSelectMapper, customerSelectMapper, "customer")
+                      .hasMany(orderSelectMapper, orderLineSelectMapper, "orderLines")
+                      .hasOne(orderLineSelectMapper, productSelectMapper, "product");
+
+    List<Order> orders = jtm.getJdbcTemplate().query(sql, extractor, "IN PROCESS");
+
+    assertEquals(2, orders.size());
+    assertEquals(1L, orders.get(0).getOrderId());
+    assertEquals("tony", orders.get(0).getCustomer().getFirstName());
+    assertEquals(2, orders.get(0).getOrderLines().size());
+    assertEquals("shoes", orders.get(0).getOrderLines().get(0).getProduct().getName());
+    assertEquals("socks", orders.get(0).getOrderLines().get(1).getProduct().getName());
+
+    assertEquals(2L, orders.get(1).getOrderId());
+    assertEquals("jane", orders.get(1).getCustomer().getFirstName());
+    assertEquals(1, orders.get(1).getOrderLines().size());
+    assertEquals("laces", orders.get(1).getOrderLines().get(0).getProduct().getName());
+
+    // extractor is reusable
+    List<Order> orders2 = jtm.getJdbcTemplate().query(sql, extractor, "IN PROCESS");
+    assertEquals(2, orders2.get(0).getOrderLines().size());
+  }
+
+  @Test
+  public void modelExtractor_sharedModel_test() {
+    SelectMapper<OrderLine> orderLineSelectMapper = jtm.getSelectMapper(OrderLine.class, "ol");
+    SelectMapper<Order> orderSelectMapper = jtm.getSelectMapper(Order.class, "o");
+
+    // @formatter:off
+    String sql =
+        "select "
+            + orderLineSelectMapper.getColumnsSql()
+            + ","
+            + orderSelectMapper.getColumnsSql()
+            + " from " + fullyQualifiedTableName("order_line") + " ol"
+            + " join " + fullyQualifiedTableName("orders") + " o on o.order_id = ol.order_id"
+            + " where o.order_id = ?"
+            + " order by ol.order_line_id";
+    // @formatter:on
+
+    List<OrderLine> orderLines = jtm.getJdbcTemplate().query(sql,
+        ModelExtractor.type(orderLineSelectMapper).hasOne(orderLineSelectMapper,
+            orderSelectMapper, "order"),
+        1);
+
+    assertEquals(2, orderLines.size());
+    // same order instance for both order lines
+    assertSame(orderLines.get(0).getOrder(), orderLines.get(1).getOrder());
+    assertEquals(1L, orderLines.get(0).getOrder().getOrderId());
+  }
+
+  @Test
+  public void modelExtractor_manyToMany_test() {
+    Employee e1 = new Employee("extractor1", "emp");
+    jtm.insert(e1);
+    Employee e2 = new Employee("extractor2", "emp");
+    jtm.insert(e2);
+    Skill shared = new Skill("extractorShared");
+    jtm.insert(shared);
+    Skill other = new Skill("extractorOther");
+    jtm.insert(other);
+    jtm.insert(new EmployeeSkill(e1.getId(), shared.getId()));
+    jtm.insert(new EmployeeSkill(e2.getId(), shared.getId()));
+    jtm.insert(new EmployeeSkill(e2.getId(), other.getId()));
+
+    SelectMapper<Employee> employeeSelectMapper = jtm.getSelectMapper(Employee.class, "e");
+    SelectMapper<Skill> skillSelectMapper = jtm.getSelectMapper(Skill.class, "s");
+
+    // @formatter:off
+    String sql =
+        "select "
+            + employeeSelectMapper.getColumnsSql()
+            + ","
+            + skillSelectMapper.getColumnsSql()
+            + " from " + fullyQualifiedTableName("employee") + " e"
+            + " left join " + fullyQualifiedTableName("employee_skill") + " es on e.id = es.employee_id"
+            + " left join " + fullyQualifiedTableName("skill") + " s on es.skill_id = s.id"
+            + " where e.id in (?, ?)"
+            + " order by e.id, s.id";
+    // @formatter:on
+
+    List<Employee> employees = jtm.getJdbcTemplate().query(sql,
+        ModelExtractor.type(employeeSelectMapper).hasMany(employeeSelectMapper,
+            skillSelectMapper, "skills"),
+        e1.getId(), e2.getId());
+
+    assertEquals(2, employees.size());
+    assertEquals(1, employees.get(0).getSkills().size());
+    assertEquals("extractorShared", employees.get(0).getSkills().get(0).getName());
+    // the shared skill is in the collection of both employees
+    assertEquals(2, employees.get(1).getSkills().size());
+    assertSame(employees.get(0).getSkills().get(0), employees.get(1).getSkills().get(0));
+    assertEquals("extractorOther", employees.get(1).getSkills().get(1).getName());
+  }
+
+  @Test
+  public void modelExtractor_invalidParent_test() {
+    SelectMapper<Order> orderSelectMapper = jtm.getSelectMapper(Order.class, "o");
+    SelectMapper<OrderLine> orderLineSelectMapper = jtm.getSelectMapper(OrderLine.class, "ol");
+    SelectMapper<Product> productSelectMapper = jtm.getSelectMapper(Product.class, "p");
+
+    Exception exception = Assertions.assertThrows(QueryException.class, () -> {
+      ModelExtractor.type(orderSelectMapper).hasOne(orderLineSelectMapper, productSelectMapper,
+          "product");
+    });
+    assertTrue(exception.getMessage().contains("has to be the root SelectMapper"));
+  }
+
+  @Test
+  public void modelExtractor_hasManyNotCollection_test() {
+    SelectMapper<Order> orderSelectMapper = jtm.getSelectMapper(Order.class, "o");
+    SelectMapper<Customer> customerSelectMapper = jtm.getSelectMapper(Customer.class, "c");
+
+    Exception exception = Assertions.assertThrows(QueryException.class, () -> {
+      ModelExtractor.type(orderSelectMapper).hasMany(orderSelectMapper, customerSelectMapper,
+          "customer");
+    });
+    assertTrue(exception.getMessage().contains("is not a collection"));
+  }
+
+  @Test
+  public void modelExtractor_hasOneTypeConflict_test() {
+    SelectMapper<Order> orderSelectMapper = jtm.getSelectMapper(Order.class, "o");
+    SelectMapper<Product> productSelectMapper = jtm.getSelectMapper(Product.class, "p");
+
+    Exception exception = Assertions.assertThrows(QueryException.class, () -> {
+      ModelExtractor.type(orderSelectMapper).hasOne(orderSelectMapper, productSelectMapper,
+          "customer");
+    });
+    assertTrue(exception.getMessage().contains("property type conflict"));
+  }
+
+  private String fullyQualifiedTableName(String tableName) {
+    return jtm.getSchemaName() == null ? tableName : jtm.getSchemaName() + "." + tableName;
+  }
+}
@@ -0,0 +1,57 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ModelIdMapTest {
+
+  @Test
+  public void numericId_insertionOrder_test() {
+    ModelIdMap<String> map = ModelIdMap.forIdType(Integer.class, 2);
+    assertTrue(map.isNumeric());
+    for (int i = 1000; i >= 0; i--) {
+      map.put(i, "v" + i);
+    }
+    assertEquals(1001, map.size());
+    assertEquals("v1000", map.values().get(0));
+    assertEquals("v0", map.values().get(1000));
+    assertEquals("v0", map.getNumeric(0L));
+    assertEquals("v500", map.get(Integer.valueOf(500)));
+    // drivers can return a different Number type for the id column
+    assertEquals("v500", map.get(new BigDecimal(500)));
+    assertNull(map.getNumeric(1001L));
+    assertNull(map.get((Object) null));
+
+    List<Object> ids = map.ids();
+    assertEquals(Integer.valueOf(1000), ids.get(0));
+    assertEquals(Integer.valueOf(0), ids.get(1000));
+  }
+
+  @Test
+  public void numericId_replaceValue_test() {
+    ModelIdMap<String> map = ModelIdMap.forIdType(Long.class, 16);
+    map.putNumeric(5L, "a");
+    map.putNumeric(-7L, "b");
+    map.put(Long.valueOf(5), "c");
+    assertEquals(2, map.size());
+    assertEquals("c", map.values().get(0));
+    assertEquals("b", map.getNumeric(-7L));
+    assertEquals(Long.valueOf(5), map.ids().get(0));
+  }
+
+  @Test
+  public void nonNumericId_test() {
+    ModelIdMap<String> map = ModelIdMap.forIdType(String.class, 16);
+    assertFalse(map.isNumeric());
+    map.put("b", "vb");
+    map.put("a", "va");
+    assertEquals("va", map.get("a"));
+    assertEquals("vb", map.values().get(0));
+    assertEquals("a", map.ids().get(1));
+  }
+}
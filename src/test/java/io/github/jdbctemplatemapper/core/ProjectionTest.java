@@ -0,0 +1,120 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.github.jdbctemplatemapper.exception.MapperException;
+import io.github.jdbctemplatemapper.exception.QueryException;
+import io.github.jdbctemplatemapper.model.Customer;
+import io.github.jdbctemplatemapper.model.Order;
+import io.github.jdbctemplatemapper.model.OrderLine;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+public class ProjectionTest {
+
+  @Autowired
+  private JdbcTemplateMapper jtm;
+
+  @Test
+  public void findById_projection_test() {
+    Customer customer = jtm.findById(Customer.class, 1, Projection.include("firstName"));
+
+    assertEquals(1, customer.getCustomerId());
+    assertEquals("tony", customer.getFirstName());
+    assertNull(customer.getLastName());
+    assertNull(customer.getVersion());
+  }
+
+  @Test
+  public void findAll_projection_test() {
+    List<Customer> customers =
+        jtm.findAll(Customer.class, "customerId", Projection.exclude("lastName", "createdBy"));
+
+    assertTrue(customers.size() >= 2);
+    assertEquals("tony", customers.get(0).getFirstName());
+    assertNull(customers.get(0).getLastName());
+    assertNull(customers.get(0).getCreatedBy());
+  }
+
+  @Test
+  public void findAll_invalidProjection_test() {
+    Exception exception = Assertions.assertThrows(MapperException.class, () -> {
+      jtm.findAll(Customer.class, null, Projection.include("xyz"));
+    });
+    assertTrue(exception.getMessage().contains("Invalid projection property"));
+  }
+
+  @Test
+  public void query_projection_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .projection(Projection.include("status"))
+                              .hasOne(Customer.class)
+                              .joinColumnTypeSide("customer_id")
+                              .populateProperty("customer")
+                              .relatedProjection(Projection.include("firstName"))
+                              .where("orders.status = ?", "IN PROCESS")
+                              .orderBy("orders.order_id")
+                              .execute(jtm);
+
+    assertEquals(2, orders.size());
+    assertEquals(1, orders.get(0).getOrderId());
+    assertEquals("IN PROCESS", orders.get(0).getStatus());
+    assertNull(orders.get(0).getOrderDate());
+    assertEquals("tony", orders.get(0).getCustomer().getFirstName());
+    assertNull(orders.get(0).getCustomer().getLastName());
+  }
+
+  @Test
+  public void query_hasMany_projection_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .hasMany(OrderLine.class)
+                              .joinColumnManySide("order_id")
+                              .populateProperty("orderLines")
+                              .relatedProjection(Projection.include("numOfUnits"))
+                              .where("orders.status = ?", "IN PROCESS")
+                              .orderBy("orders.order_id, order_line.order_line_id")
+                              .execute(jtm);
+
+    assertEquals(2, orders.get(0).getOrderLines().size());
+    assertNull(orders.get(0).getOrderLines().get(0).getProductId());
+    assertEquals(10, orders.get(0).getOrderLines().get(0).getNumOfUnits());
+  }
+
+  @Test
+  public void queryMerge_projection_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .where("orders.status = ?", "IN PROCESS")
+                              .orderBy("orders.order_id")
+                              .execute(jtm);
+
+    QueryMerge.type(Order.class)
+              .hasMany(OrderLine.class)
+              .joinColumnManySide("order_id")
+              .populateProperty("orderLines")
+              .relatedProjection(Projection.include("productId"))
+              .execute(jtm, orders);
+
+    assertEquals(2, orders.get(0).getOrderLines().size());
+    assertNotNull(orders.get(0).getOrderLines().get(0).getProductId());
+    assertEquals(0, orders.get(0).getOrderLines().get(0).getNumOfUnits());
+    // join property is always populated
+    assertEquals(1, orders.get(0).getOrderLines().get(0).getOrderId());
+  }
+
+  @Test
+  public void query_invalidProjection_test() {
+    Exception exception = Assertions.assertThrows(QueryException.class, () -> {
+      Query.type(Order.class).projection(Projection.include("xyz")).execute(jtm);
+    });
+    assertTrue(exception.getMessage().contains("Invalid projection property"));
+  }
+}
@@ -1,5 +1,6 @@
 package io.github.jdbctemplatemapper.core;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -58,4 +59,29 @@ public class QueryCountTest {
     assertTrue(2 == count);
   }
 
+  @Test
+  public void exists_success() {
+    assertTrue(QueryCount.type(Order.class).exists(jtm));
+    assertTrue(QueryCount.type(Order.class).where("orders.status = ?", "IN PROCESS").exists(jtm));
+    assertFalse(QueryCount.type(Order.class).where("orders.status = ?", "XYZ").exists(jtm));
+  }
+
+  @Test
+  public void hasOne_exists_success() {
+    boolean exists = QueryCount.type(Order.class)
+                               .hasOne(Customer.class)
+                               .joinColumnTypeSide("customer_id")
+                               .where("customer.first_name = :firstName",
+                                   new MapSqlParameterSource().addValue("firstName", "tony"))
+                               .exists(jtm);
+    assertTrue(exists);
+
+    exists = QueryCount.type(Order.class)
+                       .hasOne(Customer.class)
+                       .joinColumnTypeSide("customer_id")
+                       .where("customer.first_name = ?", "xyz")
+                       .exists(jtm);
+    assertFalse(exists);
+  }
+
 }
@@ -0,0 +1,163 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.github.jdbctemplatemapper.exception.QueryException;
+import io.github.jdbctemplatemapper.model.Category;
+import io.github.jdbctemplatemapper.model.Category2;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+public class QueryHierarchyTest {
+
+  @Autowired
+  private JdbcTemplateMapper jtm;
+
+  @Test
+  public void descendantsOf_test() {
+    List<Category> categories = QueryHierarchy.type(Category.class)
+                                              .parentIdColumn("parent_id")
+                                              .populateProperty("children")
+                                              .descendantsOf(1)
+                                              .execute(jtm);
+
+    assertEquals(5, categories.size());
+    Category root = categories.get(0);
+    assertEquals("root", root.getName());
+    assertEquals(2, root.getChildren().size());
+    assertEquals("books", root.getChildren().get(0).getName());
+    assertEquals("music", root.getChildren().get(1).getName());
+
+    Category books = root.getChildren().get(0);
+    assertEquals(1, books.getChildren().size());
+    assertEquals("fiction", books.getChildren().get(0).getName());
+    assertEquals("mystery", books.getChildren().get(0).getChildren().get(0).getName());
+    assertEquals(0, root.getChildren().get(1).getChildren().size());
+  }
+
+  @Test
+  public void descendantsOf_maxDepth_test() {
+    List<Category> categories = QueryHierarchy.type(Category.class)
+                                              .parentIdColumn("parent_id")
+                                              .populateProperty("children")
+                                              .descendantsOf(2)
+                                              .maxDepth(1)
+                                              .execute(jtm);
+
+    assertEquals(2, categories.size());
+    assertEquals("books", categories.get(0).getName());
+    assertEquals("fiction", categories.get(0).getChildren().get(0).getName());
+    assertEquals(0, categories.get(1).getChildren().size());
+  }
+
+  @Test
+  public void ancestorsOf_test() {
+    List<Category> categories = QueryHierarchy.type(Category.class)
+                                              .parentIdColumn("parent_id")
+                                              .populateProperty("children")
+                                              .ancestorsOf(5)
+                                              .execute(jtm);
+
+    assertEquals(4, categories.size());
+    assertEquals("mystery", categories.get(0).getName());
+    assertEquals("fiction", categories.get(1).getName());
+    assertEquals("books", categories.get(2).getName());
+    assertEquals("root", categories.get(3).getName());
+    assertSame(categories.get(0), categories.get(1).getChildren().get(0));
+    assertSame(categories.get(2), categories.get(3).getChildren().get(0));
+  }
+
+  @Test
+  public void cycle_test() {
+    // 101 and 102 are each other's parent
+    Category category1 = new Category();
+    category1.setId(101);
+    category1.setName("cycle1");
+    category1.setParentId(102);
+    jtm.insert(category1);
+    Category category2 = new Category();
+    category2.setId(102);
+    category2.setName("cycle2");
+    category2.setParentId(101);
+    jtm.insert(category2);
+
+    try {
+      List<Category> categories = QueryHierarchy.type(Category.class)
+                                                .parentIdColumn("parent_id")
+                                                .populateProperty("children")
+                                                .descendantsOf(101)
+                                                .execute(jtm);
+      assertEquals(2, categories.size());
+      assertEquals("cycle2", categories.get(0).getChildren().get(0).getName());
+      assertEquals(0, categories.get(1).getChildren().size());
+
+      List<Category> ancestors = QueryHierarchy.type(Category.class)
+                                               .parentIdColumn("parent_id")
+                                               .populateProperty("children")
+                                               .ancestorsOf(101)
+                                               .execute(jtm);
+      assertEquals(2, ancestors.size());
+      assertEquals("cycle1", ancestors.get(0).getName());
+      assertEquals("cycle2", ancestors.get(1).getName());
+    } finally {
+      jtm.delete(category1);
+      jtm.delete(category2);
+    }
+  }
+
+  @Test
+  public void notFound_test() throws Exception {
+    List<Category> categories = QueryHierarchy.type(Category.class)
+                                              .parentIdColumn("parent_id")
+                                              .populateProperty("children")
+                                              .descendantsOf(9999)
+                                              .executeAsync(jtm)
+                                              .get(10, TimeUnit.SECONDS);
+    assertTrue(categories.isEmpty());
+  }
+
+  @Test
+  public void invalidParentIdColumn_test() {
+    Exception exception = Assertions.assertThrows(QueryException.class, () -> {
+      QueryHierarchy.type(Category.class)
+                    .parentIdColumn("x_parent_id")
+                    .populateProperty("children")
+                    .descendantsOf(1)
+                    .execute(jtm);
+    });
+    assertTrue(exception.getMessage().contains("Invalid join column"));
+  }
+
+  @Test
+  public void invalidPopulateProperty_test() {
+    Exception exception = Assertions.assertThrows(QueryException.class, () -> {
+      QueryHierarchy.type(Category.class)
+                    .parentIdColumn("parent_id")
+                    .populateProperty("name")
+                    .descendantsOf(1)
+                    .execute(jtm);
+    });
+    assertTrue(exception.getMessage().contains("is not a collection"));
+  }
+
+  @Test
+  public void uninitializedCollection_test() {
+    Exception exception = Assertions.assertThrows(QueryException.class, () -> {
+      QueryHierarchy.type(Category2.class)
+                    .parentIdColumn("parent_id")
+                    .populateProperty("children")
+                    .descendantsOf(1)
+                    .execute(jtm);
+    });
+    assertTrue(exception.getMessage().contains("Only initialized collections"));
+  }
+}
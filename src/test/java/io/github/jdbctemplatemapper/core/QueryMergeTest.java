@@ -27,6 +27,7 @@ import io.github.jdbctemplatemapper.model.Order9;
 import io.github.jdbctemplatemapper.model.OrderLine;
 import io.github.jdbctemplatemapper.model.OrderLine1;
 import io.github.jdbctemplatemapper.model.OrderLine7;
+import io.github.jdbctemplatemapper.model.Product;
 
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
@@ -394,6 +395,47 @@ public class QueryMergeTest {
 
   }
 
+  @Test
+  public void hasMany_then_hasOne_multiLevel_success_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .where("orders.status = ?", "IN PROCESS")
+                              .orderBy("orders.order_id")
+                              .execute(jtm);
+
+    QueryMerge.type(Order.class)
+              .hasMany(OrderLine.class)
+              .joinColumnManySide("order_id")
+              .populateProperty("orderLines")
+              .orderBy("order_line_id")
+              .then()
+              .hasOne(Product.class)
+              .joinColumnTypeSide("product_id")
+              .populateProperty("product")
+              .execute(jtm, orders);
+
+    assertTrue(orders.get(0).getOrderLines().size() == 2);
+    assertTrue(orders.get(1).getOrderLines().size() == 1);
+
+    assertEquals("shoes", orders.get(0).getOrderLines().get(0).getProduct().getName());
+    assertEquals("socks", orders.get(0).getOrderLines().get(1).getProduct().getName());
+    assertEquals("laces", orders.get(1).getOrderLines().get(0).getProduct().getName());
+  }
+
+  @Test
+  public void hasMany_then_hasOne_emptyMergeList_success_test() {
+    Assertions.assertDoesNotThrow(() -> {
+      QueryMerge.type(Order.class)
+                .hasMany(OrderLine.class)
+                .joinColumnManySide("order_id")
+                .populateProperty("orderLines")
+                .then()
+                .hasOne(Product.class)
+                .joinColumnTypeSide("product_id")
+                .populateProperty("product")
+                .execute(jtm, new ArrayList<Order>());
+    });
+  }
+
   @Test
   public void queryMerge_methodChainingSequence_test() {
     List<Order> orders = Query.type(Order.class).execute(jtm);
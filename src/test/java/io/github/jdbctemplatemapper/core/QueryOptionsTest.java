@@ -0,0 +1,231 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.github.jdbctemplatemapper.model.Customer;
+import io.github.jdbctemplatemapper.model.Order;
+import io.github.jdbctemplatemapper.model.OrderLine;
+import io.github.jdbctemplatemapper.model.Product;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+public class QueryOptionsTest {
+  @Value("${spring.datasource.driver-class-name}")
+  private String jdbcDriver;
+
+  @Autowired
+  private JdbcTemplateMapper jtm;
+
+  @Test
+  public void queryOptions_invalid_test() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      QueryOptions.fetchSize(0);
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      QueryOptions.timeout(Duration.ofSeconds(-1));
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      Query.type(Order.class).fetchSize(-5);
+    });
+  }
+
+  @Test
+  public void queryOptions_values_test() {
+    QueryOptions options = QueryOptions.fetchSize(200).withTimeout(Duration.ofMillis(1500));
+    assertEquals(200, options.getFetchSize());
+    assertEquals(Duration.ofMillis(1500), options.getTimeout());
+    // rounded up to seconds
+    assertEquals(2, options.getTimeoutSeconds());
+
+    QueryOptions timeoutOnly = QueryOptions.timeout(Duration.ofSeconds(3));
+    assertEquals(-1, timeoutOnly.getFetchSize());
+    assertEquals(3, timeoutOnly.getTimeoutSeconds());
+  }
+
+  @Test
+  public void query_fetchSizeAndTimeout_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .fetchSize(1)
+                              .timeout(Duration.ofSeconds(10))
+                              .hasMany(OrderLine.class)
+                              .joinColumnManySide("order_id")
+                              .populateProperty("orderLines")
+                              .where("orders.status = ?", "IN PROCESS")
+                              .orderBy("orders.order_id")
+                              .execute(jtm);
+
+    assertEquals(2, orders.size());
+    assertEquals(2, orders.get(0).getOrderLines().size());
+    assertEquals(1, orders.get(1).getOrderLines().size());
+  }
+
+  @Test
+  public void query_fetchSizeNamedParameters_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .fetchSize(1)
+                              .hasOne(Customer.class)
+                              .joinColumnTypeSide("customer_id")
+                              .populateProperty("customer")
+                              .where("orders.status = :status",
+                                  new MapSqlParameterSource().addValue("status", "IN PROCESS"))
+                              .orderBy("orders.order_id")
+                              .execute(jtm);
+
+    assertEquals(2, orders.size());
+    assertEquals("tony", orders.get(0).getCustomer().getFirstName());
+    assertEquals("jane", orders.get(1).getCustomer().getFirstName());
+  }
+
+  @Test
+  public void query_fetchSizePaginated_test() {
+    String limitOffsetClause = "LIMIT 2 OFFSET 0";
+    if (jdbcDriver.contains("oracle") || jdbcDriver.contains("sqlserver")) {
+      limitOffsetClause = "OFFSET 0 ROWS FETCH NEXT 2 ROWS ONLY";
+    }
+
+    // the hasMany relationship is populated by QueryMerge with the options of the query
+    List<Order> orders = Query.type(Order.class)
+                              .fetchSize(1)
+                              .timeout(Duration.ofSeconds(10))
+                              .hasMany(OrderLine.class)
+                              .joinColumnManySide("order_id")
+                              .populateProperty("orderLines")
+                              .where("orders.status = ?", "IN PROCESS")
+                              .orderBy("orders.order_id")
+                              .limitOffsetClause(limitOffsetClause)
+                              .execute(jtm);
+
+    assertEquals(2, orders.size());
+    assertEquals(2, orders.get(0).getOrderLines().size());
+    assertEquals(1, orders.get(1).getOrderLines().size());
+  }
+
+  @Test
+  public void stream_fetchSize_test() {
+    try (Stream<Order> stream = Query.type(Order.class)
+                                     .fetchSize(1)
+                                     .where("orders.status = ?", "IN PROCESS")
+                                     .orderBy("orders.order_id")
+                                     .stream(jtm)) {
+      List<Order> orders = stream.collect(Collectors.toList());
+      assertEquals(2, orders.size());
+    }
+  }
+
+  @Test
+  public void exists_timeout_test() {
+    assertTrue(Query.type(Order.class)
+                    .timeout(Duration.ofSeconds(10))
+                    .where("orders.status = ?", "IN PROCESS")
+                    .exists(jtm));
+    assertTrue(Query.type(Order.class)
+                    .timeout(Duration.ofSeconds(10))
+                    .where("orders.status = :status",
+                        new MapSqlParameterSource().addValue("status", "IN PROCESS"))
+                    .exists(jtm));
+    assertFalse(Query.type(Order.class)
+                     .timeout(Duration.ofSeconds(10))
+                     .where("orders.status = ?", "NO SUCH STATUS")
+                     .exists(jtm));
+  }
+
+  @Test
+  public void queryMerge_fetchSizeAndTimeout_test() {
+    List<Order> orders = Query.type(Order.class)
+                              .where("orders.status = ?", "IN PROCESS")
+                              .orderBy("orders.order_id")
+                              .execute(jtm);
+
+    QueryMerge.type(Order.class)
+              .fetchSize(1)
+              .timeout(Duration.ofSeconds(10))
+              .hasMany(OrderLine.class)
+              .joinColumnManySide("order_id")
+              .populateProperty("orderLines")
+              .then()
+              .hasOne(Product.class)
+              .joinColumnTypeSide("product_id")
+              .populateProperty("product")
+              .execute(jtm, orders);
+
+    assertEquals(2, orders.get(0).getOrderLines().size());
+    assertNotNull(orders.get(0).getOrderLines().get(0).getProduct());
+    assertEquals(1, orders.get(1).getOrderLines().size());
+    assertNotNull(orders.get(1).getOrderLines().get(0).getProduct());
+  }
+
+  @Test
+  public void findAll_options_test() {
+    List<Product> products = jtm.findAll(Product.class, "productId", null,
+        QueryOptions.fetchSize(2).withTimeout(Duration.ofSeconds(10)));
+    List<Product> expected = jtm.findAll(Product.class, "productId");
+
+    assertEquals(expected.size(), products.size());
+    assertEquals(expected.get(0).getName(), products.get(0).getName());
+  }
+
+  @Test
+  public void adaptiveFetchSize_test() {
+    jtm.withAdaptiveFetchSize();
+    SimpleCache<String, MovingAverage> rowCountCache = jtm.getQueryRowCountCache();
+    assertNotNull(rowCountCache);
+
+    // nothing recorded yet so the JdbcTemplate fetch size is used
+    assertEquals(-1, StatementSettings.of(jtm, null, "adaptiveTest-1").getFetchSize());
+
+    StatementSettings.of(jtm, null, "adaptiveTest-1").recordRowCount(3);
+    // small results are bounded by the minimum
+    assertEquals(10, StatementSettings.of(jtm, null, "adaptiveTest-1").getFetchSize());
+
+    StatementSettings.of(jtm, null, "adaptiveTest-2").recordRowCount(300);
+    assertEquals(301, StatementSettings.of(jtm, null, "adaptiveTest-2").getFetchSize());
+    // moving average, each count moves it half way
+    StatementSettings.of(jtm, null, "adaptiveTest-2").recordRowCount(100);
+    assertEquals(201, StatementSettings.of(jtm, null, "adaptiveTest-2").getFetchSize());
+
+    StatementSettings.of(jtm, null, "adaptiveTest-3").recordRowCount(1000000);
+    assertEquals(1000, StatementSettings.of(jtm, null, "adaptiveTest-3").getFetchSize());
+
+    // fetch size of the options takes precedence
+    assertEquals(50,
+        StatementSettings.of(jtm, QueryOptions.fetchSize(50), "adaptiveTest-2").getFetchSize());
+
+    // no key no adaptive fetch size
+    assertEquals(-1, StatementSettings.of(jtm, null, null).getFetchSize());
+  }
+
+  @Test
+  public void adaptiveFetchSize_recorded_test() {
+    jtm.withAdaptiveFetchSize();
+    List<Customer> customers = jtm.findAll(Customer.class, "customerId");
+    MovingAverage rowCount =
+        jtm.getQueryRowCountCache().get("findAll-" + Customer.class.getName() + "-customerId");
+    assertNotNull(rowCount);
+    assertTrue(rowCount.get() > 0);
+
+    List<Customer> customers2 = jtm.findAll(Customer.class, "customerId");
+    assertEquals(customers.size(), customers2.size());
+
+    Query<Order> query =
+        (Query<Order>) Query.type(Order.class).where("orders.status = ?", "IN PROCESS");
+    query.execute(jtm);
+    // keyed by the sql cache key and whether the query is paged, not by the clauses
+    rowCount = jtm.getQueryRowCountCache().get("query-" + query.getCacheKey(true) + "-false");
+    assertNotNull(rowCount);
+    assertTrue(rowCount.get() > 0);
+  }
+}
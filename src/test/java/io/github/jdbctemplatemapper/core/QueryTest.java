@@ -1,10 +1,13 @@
 package io.github.jdbctemplatemapper.core;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,7 +15,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionTemplate;
 import io.github.jdbctemplatemapper.exception.AnnotationException;
 import io.github.jdbctemplatemapper.exception.QueryException;
 import io.github.jdbctemplatemapper.model.Customer;
@@ -428,6 +433,55 @@ public class QueryTest {
 
   }
 
+  @Test
+  public void hasMany_splitStrategy_success_test() {
+
+    List<Order> orders = Query.type(Order.class)
+                              .hasMany(OrderLine.class)
+                              .joinColumnManySide("order_id")
+                              .populateProperty("orderLines")
+                              .where("orders.status = ?", "IN PROCESS")
+                              .orderBy("orders.order_id")
+                              .hasManyStrategy(HasManyStrategy.SPLIT)
+                              .execute(jtm);
+
+    assertTrue(orders.size() == 2);
+    assertTrue(orders.get(0).getOrderLines().size() == 2);
+    assertTrue(orders.get(1).getOrderLines().size() == 1);
+  }
+
+  @Test
+  public void hasMany_splitStrategy_orderByReferencesHasMany_failure() {
+    Exception exception = Assertions.assertThrows(QueryException.class, () -> {
+      Query.type(Order.class)
+           .hasMany(OrderLine.class)
+           .joinColumnManySide("order_id")
+           .populateProperty("orderLines")
+           .orderBy("orders.order_id, order_line.order_line_id")
+           .hasManyStrategy(HasManyStrategy.SPLIT)
+           .execute(jtm);
+    });
+    assertTrue(exception.getMessage().contains("HasManyStrategy.SPLIT"));
+  }
+
+  @Test
+  public void hasMany_autoStrategy_success_test() {
+    for (int i = 0; i < 3; i++) {
+      List<Order> orders = Query.type(Order.class)
+                                .hasMany(OrderLine.class)
+                                .joinColumnManySide("order_id")
+                                .populateProperty("orderLines")
+                                .where("orders.status = ?", "IN PROCESS")
+                                .orderBy("orders.order_id")
+                                .hasManyStrategy(HasManyStrategy.AUTO)
+                                .execute(jtm);
+
+      assertTrue(orders.size() == 2);
+      assertTrue(orders.get(0).getOrderLines().size() == 2);
+      assertTrue(orders.get(1).getOrderLines().size() == 1);
+    }
+  }
+
   @Test
   public void hasMany_Set_success_test() {
 
@@ -462,6 +516,159 @@ public class QueryTest {
 
   }
 
+  @Test
+  public void multipleRelationships_hasOneAndHasMany_success_test() {
+
+    List<Order> orders = Query.type(Order.class)
+                              .hasOne(Customer.class)
+                              .joinColumnTypeSide("customer_id")
+                              .populateProperty("customer")
+                              .hasMany(OrderLine.class)
+                              .joinColumnManySide("order_id")
+                              .populateProperty("orderLines")
+                              .where("orders.status = ?", "IN PROCESS")
+                              .orderBy("orders.order_id, order_line.order_line_id")
+                              .execute(jtm);
+
+    assertTrue(orders.size() == 2);
+    assertTrue("tony".equals(orders.get(0).getCustomer().getFirstName()));
+    assertTrue("jane".equals(orders.get(1).getCustomer().getFirstName()));
+    assertTrue(orders.get(0).getOrderLines().size() == 2);
+    assertTrue(orders.get(1).getOrderLines().size() == 1);
+  }
+
+  @Test
+  public void multipleRelationships_hasManyAndHasOne_success_test() {
+
+    List<Order> orders = Query.type(Order.class)
+                              .hasMany(OrderLine.class)
+                              .joinColumnManySide("order_id")
+                              .populateProperty("orderLines")
+                              .hasOne(Customer.class)
+                              .joinColumnTypeSide("customer_id")
+                              .populateProperty("customer")
+                              .where("orders.status = ? and customer.first_name = ?", "IN PROCESS",
+                                  "tony")
+                              .execute(jtm);
+
+    assertTrue(orders.size() == 1);
+    assertTrue("tony".equals(orders.get(0).getCustomer().getFirstName()));
+    assertTrue(orders.get(0).getOrderLines().size() == 2);
+  }
+
+  @Test
+  public void multipleRelationships_samePropertyPopulated_failure_test() {
+    Exception exception = Assertions.assertThrows(QueryException.class, () -> {
+      Query.type(Order.class)
+           .hasOne(Customer.class)
+           .joinColumnTypeSide("customer_id")
+           .populateProperty("customer")
+           .hasOne(Customer.class, "cust")
+           .joinColumnTypeSide("customer_id")
+           .populateProperty("customer")
+           .execute(jtm);
+    });
+    assertTrue(exception.getMessage().contains("is populated by more than one relationship"));
+  }
+
+  @Test
+  public void stream_success_test() {
+    try (Stream<Order> stream = Query.type(Order.class)
+                                     .where("orders.status = ?", "IN PROCESS")
+                                     .orderBy("orders.order_id")
+                                     .stream(jtm)) {
+      List<Order> orders = stream.collect(Collectors.toList());
+      assertTrue(orders.size() == 2);
+      assertTrue(orders.get(0).getOrderId() == 1);
+    }
+  }
+
+  @Test
+  public void stream_hasOneAndHasMany_success_test() {
+    try (Stream<Order> stream = Query.type(Order.class)
+                                     .hasOne(Customer.class)
+                                     .joinColumnTypeSide("customer_id")
+                                     .populateProperty("customer")
+                                     .hasMany(OrderLine.class)
+                                     .joinColumnManySide("order_id")
+                                     .populateProperty("orderLines")
+                                     .where("orders.status = ?", "IN PROCESS")
+                                     .orderBy("orders.order_id")
+                                     .stream(jtm)) {
+      List<Order> orders = stream.collect(Collectors.toList());
+      assertTrue(orders.size() == 2);
+      assertTrue("tony".equals(orders.get(0).getCustomer().getFirstName()));
+      assertTrue(orders.get(0).getOrderLines().size() == 2);
+      assertTrue("jane".equals(orders.get(1).getCustomer().getFirstName()));
+      assertTrue(orders.get(1).getOrderLines().size() == 1);
+    }
+  }
+
+  @Test
+  public void stream_hasManyInTransaction_test() {
+    TransactionTemplate txTemplate = new TransactionTemplate(
+        new DataSourceTransactionManager(jtm.getJdbcTemplate().getDataSource()));
+    txTemplate.execute(status -> {
+      Query<Order> query = (Query<Order>) Query.type(Order.class)
+                                               .hasMany(OrderLine.class)
+                                               .joinColumnManySide("order_id")
+                                               .populateProperty("orderLines")
+                                               .where("orders.status = ?", "IN PROCESS")
+                                               .orderBy("orders.order_id");
+      if (jdbcDriver.contains("mysql") || jdbcDriver.contains("sqlserver")) {
+        // the hasMany queries would run on the connection of the open streaming ResultSet
+        Exception exception = Assertions.assertThrows(QueryException.class, () -> {
+          query.stream(jtm);
+        });
+        assertTrue(exception.getMessage().contains("not supported within a transaction"));
+      } else {
+        try (Stream<Order> stream = query.stream(jtm)) {
+          List<Order> orders = stream.collect(Collectors.toList());
+          assertEquals(2, orders.size());
+          assertEquals(2, orders.get(0).getOrderLines().size());
+          assertEquals(1, orders.get(1).getOrderLines().size());
+        }
+      }
+      return null;
+    });
+  }
+
+  @Test
+  public void stream_whereReferencesHasMany_failure() {
+    Exception exception = Assertions.assertThrows(QueryException.class, () -> {
+      Query.type(Order.class)
+           .hasMany(OrderLine.class)
+           .joinColumnManySide("order_id")
+           .populateProperty("orderLines")
+           .where("order_line.num_of_units > ?", 0)
+           .stream(jtm);
+    });
+    assertTrue(exception.getMessage().contains("stream()"));
+  }
+
+  @Test
+  public void stream_hasManyConsumedWithoutClose_test() {
+    // the stream releases its connection when the rows run out
+    List<Order> orders = Query.type(Order.class)
+                              .hasMany(OrderLine.class)
+                              .joinColumnManySide("order_id")
+                              .populateProperty("orderLines")
+                              .where("orders.status = ?", "IN PROCESS")
+                              .orderBy("orders.order_id")
+                              .stream(jtm)
+                              .collect(Collectors.toList());
+    assertEquals(2, orders.size());
+    assertEquals(2, orders.get(0).getOrderLines().size());
+  }
+
+  @Test
+  public void stream_partiallyConsumed_success_test() {
+    try (Stream<Order> stream = Query.type(Order.class).orderBy("orders.order_id").stream(jtm)) {
+      Order order = stream.findFirst().orElse(null);
+      assertNotNull(order);
+    }
+  }
+
   @Test
   public void typeOnly_success_test() {
     List<Order> orders = Query.type(Order.class).execute(jtm);
@@ -578,21 +785,84 @@ public class QueryTest {
 
 
   @Test
-  public void hasMany_limitOffsetClause_failure_test() {
+  public void hasMany_limitOffsetClause_success_test() {
+    String limitOffsetClause = null;
+    if (jdbcDriver.contains("postgres")) {
+      limitOffsetClause = "OFFSET 0 ROWS FETCH FIRST 1 ROWS ONLY";
+    }
+    if (jdbcDriver.contains("mysql")) {
+      limitOffsetClause = "LIMIT 1 OFFSET 0";
+    }
+    if (jdbcDriver.contains("oracle")) {
+      limitOffsetClause = "OFFSET 0 ROWS FETCH NEXT 1 ROWS ONLY";
+    }
+    if (jdbcDriver.contains("sqlserver")) {
+      limitOffsetClause = "OFFSET 0 ROWS FETCH NEXT 1 ROWS ONLY";
+    }
 
-    Exception exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+    // order 1 has 2 orderLines. The limit applies to the orders and not the joined rows.
+    List<Order> orders = Query.type(Order.class)
+                              .hasMany(OrderLine.class)
+                              .joinColumnManySide("order_id")
+                              .populateProperty("orderLines")
+                              .where("orders.status = ?", "IN PROCESS")
+                              .orderBy("orders.order_id")
+                              .limitOffsetClause(limitOffsetClause)
+                              .execute(jtm);
+
+    assertTrue(orders.size() == 1);
+    assertTrue(orders.get(0).getOrderId() == 1);
+    assertTrue(orders.get(0).getOrderLines().size() == 2);
+  }
+
+  @Test
+  public void hasMany_limitOffsetClause_whereReferencesHasMany_failure() {
+    Exception exception = Assertions.assertThrows(QueryException.class, () -> {
       Query.type(Order.class)
            .hasMany(OrderLine.class)
            .joinColumnManySide("order_id")
            .populateProperty("orderLines")
-           .limitOffsetClause("OFFSET 0 ROWS FETCH FIRST 10 ROWS ONLY")
+           .where("order_line.num_of_units > ?", 0)
+           .orderBy("orders.order_id")
+           .limitOffsetClause("LIMIT 1")
            .execute(jtm);
     });
+    assertTrue(exception.getMessage().contains("paginated queries"));
+    assertTrue(exception.getMessage().contains("Order.orderLines"));
+  }
 
-    assertTrue(
-        exception.getMessage()
-                 .contains(
-                     "limitOffsetClause is not supported for hasMany and hasMany through relationships."));
+  @Test
+  public void hasOneAndHasMany_limitOffsetClause_success_test() {
+    String limitOffsetClause = null;
+    if (jdbcDriver.contains("postgres")) {
+      limitOffsetClause = "OFFSET 1 ROWS FETCH FIRST 1 ROWS ONLY";
+    }
+    if (jdbcDriver.contains("mysql")) {
+      limitOffsetClause = "LIMIT 1 OFFSET 1";
+    }
+    if (jdbcDriver.contains("oracle")) {
+      limitOffsetClause = "OFFSET 1 ROWS FETCH NEXT 1 ROWS ONLY";
+    }
+    if (jdbcDriver.contains("sqlserver")) {
+      limitOffsetClause = "OFFSET 1 ROWS FETCH NEXT 1 ROWS ONLY";
+    }
+
+    List<Order> orders = Query.type(Order.class)
+                              .hasMany(OrderLine.class)
+                              .joinColumnManySide("order_id")
+                              .populateProperty("orderLines")
+                              .hasOne(Customer.class)
+                              .joinColumnTypeSide("customer_id")
+                              .populateProperty("customer")
+                              .where("orders.status = ?", "IN PROCESS")
+                              .orderBy("orders.order_id")
+                              .limitOffsetClause(limitOffsetClause)
+                              .execute(jtm);
+
+    assertTrue(orders.size() == 1);
+    assertTrue(orders.get(0).getOrderId() == 2);
+    assertTrue("jane".equals(orders.get(0).getCustomer().getFirstName()));
+    assertTrue(orders.get(0).getOrderLines().size() == 1);
   }
 
   @Test
@@ -717,4 +987,27 @@ public class QueryTest {
          .limitOffsetClause(limitOffsetClause)
          .execute(jtm);
   }
+
+  @Test
+  public void exists_test() {
+    assertTrue(Query.type(Order.class).where("orders.status = ?", "IN PROCESS").exists(jtm));
+    assertFalse(Query.type(Order.class).where("orders.status = ?", "XYZ").exists(jtm));
+
+    boolean exists = Query.type(Order.class)
+                          .hasMany(OrderLine.class)
+                          .joinColumnManySide("order_id")
+                          .populateProperty("orderLines")
+                          .where("orders.status = ? and order_line.product_id = ?", "IN PROCESS",
+                              3)
+                          .exists(jtm);
+    assertTrue(exists);
+
+    exists = Query.type(Order.class)
+                  .hasMany(OrderLine.class)
+                  .joinColumnManySide("order_id")
+                  .populateProperty("orderLines")
+                  .where("orders.status = ? and order_line.product_id = ?", "IN PROCESS", 999)
+                  .exists(jtm);
+    assertFalse(exists);
+  }
 }
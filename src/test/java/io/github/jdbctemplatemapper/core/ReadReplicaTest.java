@@ -0,0 +1,251 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+import io.github.jdbctemplatemapper.config.RecordOperatorResolver;
+import io.github.jdbctemplatemapper.exception.MapperException;
+import io.github.jdbctemplatemapper.model.Customer;
+import io.github.jdbctemplatemapper.model.Order;
+import io.github.jdbctemplatemapper.model.OrderLine;
+import io.github.jdbctemplatemapper.model.Product;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+public class ReadReplicaTest {
+  @Value("${spring.datasource.driver-class-name}")
+  private String jdbcDriver;
+
+  @Autowired
+  @Qualifier("ds1JdbcTemplate")
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  public void roundRobin_test() {
+    JdbcTemplate replica1 = new JdbcTemplate(jdbcTemplate.getDataSource());
+    JdbcTemplate replica2 = new JdbcTemplate(jdbcTemplate.getDataSource());
+    ReadReplicas readReplicas = new ReadReplicas(Arrays.asList(replica1, replica2), null);
+
+    assertSame(replica1, readReplicas.selectJdbcTemplate());
+    assertSame(replica2, readReplicas.selectJdbcTemplate());
+    assertSame(replica1, readReplicas.selectJdbcTemplate());
+    assertNotNull(readReplicas.selectNamedParameterJdbcTemplate());
+  }
+
+  @Test
+  public void withReadReplicas_invalid_test() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      newMapper().withReadReplicas(Collections.emptyList());
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      newMapper().withReadReplicas(Arrays.asList(jdbcTemplate, null));
+    });
+  }
+
+  @Test
+  public void invalidSelector_test() {
+    JdbcTemplateMapper mapper = newMapper().withReadReplicas(
+        Arrays.asList(new JdbcTemplate(jdbcTemplate.getDataSource())), replicas -> jdbcTemplate);
+
+    Exception exception = Assertions.assertThrows(MapperException.class, () -> {
+      mapper.findById(Order.class, 1);
+    });
+    assertTrue(exception.getMessage().contains("IReadReplicaSelector"));
+  }
+
+  @Test
+  public void reads_onReplica_test() {
+    CountingSelector selector = new CountingSelector();
+    JdbcTemplateMapper mapper = newMapper(selector);
+
+    assertEquals("tony", mapper.findById(Customer.class, 1).getFirstName());
+    assertEquals(1, selector.count.get());
+
+    assertTrue(mapper.findAll(Customer.class).size() > 0);
+    assertEquals(2, selector.count.get());
+
+    List<Order> orders = Query.type(Order.class)
+                              .where("orders.status = ?", "IN PROCESS")
+                              .orderBy("orders.order_id")
+                              .execute(mapper);
+    assertEquals(2, orders.size());
+    assertEquals(3, selector.count.get());
+
+    QueryMerge.type(Order.class)
+              .hasMany(OrderLine.class)
+              .joinColumnManySide("order_id")
+              .populateProperty("orderLines")
+              .execute(mapper, orders);
+    assertEquals(2, orders.get(0).getOrderLines().size());
+    assertEquals(4, selector.count.get());
+
+    assertEquals(2,
+        QueryCount.type(Order.class).where("orders.status = ?", "IN PROCESS").execute(mapper));
+    assertEquals(5, selector.count.get());
+
+    assertEquals(2, mapper.existingIds(Order.class, Arrays.asList(1, 2, 999999)).size());
+    assertEquals(6, selector.count.get());
+  }
+
+  @Test
+  public void oneReplicaPerOperation_test() {
+    CountingSelector selector = new CountingSelector();
+    JdbcTemplateMapper mapper = newMapper(selector);
+
+    String limitOffsetClause = "LIMIT 2 OFFSET 0";
+    if (jdbcDriver.contains("oracle") || jdbcDriver.contains("sqlserver")) {
+      limitOffsetClause = "OFFSET 0 ROWS FETCH NEXT 2 ROWS ONLY";
+    }
+    // paginated so the hasMany relationship is populated with a separate query
+    List<Order> orders = Query.type(Order.class)
+                              .hasMany(OrderLine.class)
+                              .joinColumnManySide("order_id")
+                              .populateProperty("orderLines")
+                              .where("orders.status = ?", "IN PROCESS")
+                              .orderBy("orders.order_id")
+                              .limitOffsetClause(limitOffsetClause)
+                              .execute(mapper);
+    assertEquals(2, orders.get(0).getOrderLines().size());
+    assertEquals(1, selector.count.get());
+
+    // all the levels of the merge
+    QueryMerge.type(Order.class)
+              .hasMany(OrderLine.class)
+              .joinColumnManySide("order_id")
+              .populateProperty("orderLines")
+              .then()
+              .hasOne(Product.class)
+              .joinColumnTypeSide("product_id")
+              .populateProperty("product")
+              .execute(mapper, orders);
+    assertNotNull(orders.get(0).getOrderLines().get(0).getProduct());
+    assertEquals(2, selector.count.get());
+
+    // the hasMany batches merged while the stream is consumed use the replica of the stream
+    try (Stream<Order> stream = Query.type(Order.class)
+                                     .hasMany(OrderLine.class)
+                                     .joinColumnManySide("order_id")
+                                     .populateProperty("orderLines")
+                                     .where("orders.status = ?", "IN PROCESS")
+                                     .orderBy("orders.order_id")
+                                     .stream(mapper)) {
+      List<Order> streamed = stream.collect(Collectors.toList());
+      assertEquals(2, streamed.get(0).getOrderLines().size());
+    }
+    assertEquals(3, selector.count.get());
+
+    assertEquals(2, mapper.existingIds(Order.class, Arrays.asList(1, 2, 999999)).size());
+    assertEquals(4, selector.count.get());
+  }
+
+  @Test
+  public void writes_onPrimary_test() {
+    CountingSelector selector = new CountingSelector();
+    JdbcTemplateMapper mapper = newMapper(selector);
+
+    Customer customer = new Customer();
+    customer.setFirstName("replica");
+    customer.setLastName("test");
+    mapper.insert(customer);
+    customer.setLastName("test2");
+    mapper.update(customer);
+    mapper.delete(customer);
+
+    assertEquals(0, selector.count.get());
+  }
+
+  @Test
+  public void executeOnPrimary_test() throws Exception {
+    CountingSelector selector = new CountingSelector();
+    JdbcTemplateMapper mapper = newMapper(selector);
+
+    Customer customer = mapper.executeOnPrimary(jtm -> {
+      // nested calls and async operations started within stay on the primary
+      jtm.executeOnPrimary(j -> j.findAll(Customer.class));
+      try {
+        jtm.findByIdAsync(Customer.class, 2).get(10, TimeUnit.SECONDS);
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+      return jtm.findById(Customer.class, 1);
+    });
+    assertEquals("tony", customer.getFirstName());
+    assertEquals(0, selector.count.get());
+
+    // back to the replicas
+    mapper.findById(Customer.class, 1);
+    assertEquals(1, selector.count.get());
+  }
+
+  @Test
+  public void transaction_test() {
+    CountingSelector selector = new CountingSelector();
+    JdbcTemplateMapper mapper = newMapper(selector);
+    TransactionTemplate txTemplate =
+        new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+
+    // reads within a write transaction see the writes of the transaction
+    Customer found = txTemplate.execute(status -> {
+      Customer customer = new Customer();
+      customer.setFirstName("replica");
+      customer.setLastName("tx");
+      mapper.insert(customer);
+      Customer c = mapper.findById(Customer.class, customer.getCustomerId());
+      mapper.delete(customer);
+      return c;
+    });
+    assertNotNull(found);
+    assertEquals(0, selector.count.get());
+
+    TransactionTemplate readOnlyTxTemplate =
+        new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+    readOnlyTxTemplate.setReadOnly(true);
+    readOnlyTxTemplate.execute(status -> mapper.findById(Customer.class, 1));
+    assertEquals(1, selector.count.get());
+  }
+
+  private JdbcTemplateMapper newMapper(IReadReplicaSelector selector) {
+    return newMapper().withReadReplicas(
+        Arrays.asList(new JdbcTemplate(jdbcTemplate.getDataSource()),
+            new JdbcTemplate(jdbcTemplate.getDataSource())),
+        selector);
+  }
+
+  private JdbcTemplateMapper newMapper() {
+    JdbcTemplateMapper mapper = null;
+    if (jdbcDriver.contains("mysql")) {
+      mapper = new JdbcTemplateMapper(jdbcTemplate, null, "schema1");
+    } else {
+      mapper = new JdbcTemplateMapper(jdbcTemplate, "schema1");
+    }
+    return mapper.withRecordOperatorResolver(new RecordOperatorResolver());
+  }
+
+  private static class CountingSelector implements IReadReplicaSelector {
+    private final AtomicInteger count = new AtomicInteger();
+
+    public JdbcTemplate select(List<JdbcTemplate> replicaJdbcTemplates) {
+      count.incrementAndGet();
+      return replicaJdbcTemplates.get(0);
+    }
+  }
+}
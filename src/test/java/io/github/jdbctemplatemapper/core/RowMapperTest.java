@@ -0,0 +1,110 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.github.jdbctemplatemapper.model.Customer;
+import io.github.jdbctemplatemapper.model.ImmutableCustomer;
+import io.github.jdbctemplatemapper.model.Order;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+public class RowMapperTest {
+
+  @Autowired
+  private JdbcTemplateMapper jtm;
+
+  @Test
+  public void getRowMapper_cached_test() {
+    RowMapper<Customer> rowMapper = jtm.getRowMapper(Customer.class);
+    Map<String, PropertyMapping> labelToPropertyMapping =
+        jtm.getRowMapperCache().get(Customer.class.getName());
+    assertNotNull(labelToPropertyMapping);
+
+    // a new RowMapper so a cached one does not hold on to the ResultSet it last read
+    assertNotSame(rowMapper, jtm.getRowMapper(Customer.class));
+    assertSame(labelToPropertyMapping, jtm.getRowMapperCache().get(Customer.class.getName()));
+  }
+
+  @Test
+  public void getRowMapper_reused_test() {
+    String sql = "SELECT " + jtm.getBeanColumnsSql(Customer.class) + " FROM "
+        + fullyQualifiedTableName("customer") + " WHERE customer_id = ?";
+    RowMapper<Customer> rowMapper = jtm.getRowMapper(Customer.class);
+
+    // the labels are resolved again for each ResultSet
+    assertEquals("tony", jtm.getJdbcTemplate().query(sql, rowMapper, 1).get(0).getFirstName());
+    List<Customer> customers = jtm.getJdbcTemplate()
+                                  .query("SELECT last_name, customer_id FROM "
+                                      + fullyQualifiedTableName("customer")
+                                      + " WHERE customer_id = ?", rowMapper, 2);
+    assertEquals("doe", customers.get(0).getLastName());
+    assertNull(customers.get(0).getFirstName());
+  }
+
+  @Test
+  public void getRowMapper_beanColumnsSql_test() {
+    String sql = "SELECT " + jtm.getBeanColumnsSql(Order.class) + " FROM "
+        + fullyQualifiedTableName("orders") + " WHERE status = ? ORDER BY order_id";
+
+    List<Order> orders =
+        jtm.getJdbcTemplate().query(sql, jtm.getRowMapper(Order.class), "IN PROCESS");
+
+    assertEquals(2, orders.size());
+    assertEquals(1L, orders.get(0).getOrderId());
+    assertEquals(1, orders.get(0).getCustomerId());
+    assertEquals("IN PROCESS", orders.get(1).getStatus());
+    assertEquals(0, orders.get(0).getOrderLines().size());
+    assertNull(orders.get(0).getCustomer());
+  }
+
+  @Test
+  public void query_columnNames_test() {
+    List<Customer> customers = jtm.query(Customer.class,
+        "SELECT c.customer_id, c.first_name, c.last_name FROM "
+            + fullyQualifiedTableName("customer") + " c WHERE c.customer_id in (?, ?)"
+            + " ORDER BY c.customer_id",
+        1, 2);
+
+    assertEquals(2, customers.size());
+    assertEquals("tony", customers.get(0).getFirstName());
+    assertEquals("jane", customers.get(1).getFirstName());
+    // not selected
+    assertNull(customers.get(0).getVersion());
+  }
+
+  @Test
+  public void query_namedParameters_test() {
+    List<Customer> customers = jtm.query(Customer.class,
+        "SELECT customer_id, first_name, last_name FROM " + fullyQualifiedTableName("customer")
+            + " WHERE customer_id = :id",
+        new MapSqlParameterSource("id", 2));
+
+    assertEquals(1, customers.size());
+    assertEquals("doe", customers.get(0).getLastName());
+  }
+
+  @Test
+  public void query_constructorModel_test() {
+    List<ImmutableCustomer> customers = jtm.query(ImmutableCustomer.class,
+        "SELECT * FROM " + fullyQualifiedTableName("customer") + " WHERE customer_id = ?", 1);
+
+    assertEquals(1, customers.size());
+    assertEquals("tony", customers.get(0).getFirstName());
+  }
+
+  private String fullyQualifiedTableName(String tableName) {
+    return jtm.getSchemaName() == null ? tableName : jtm.getSchemaName() + "." + tableName;
+  }
+}
@@ -0,0 +1,263 @@
+package io.github.jdbctemplatemapper.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Arrays;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.github.jdbctemplatemapper.exception.MapperException;
+import io.github.jdbctemplatemapper.exception.OptimisticLockingException;
+import io.github.jdbctemplatemapper.model.Order;
+import io.github.jdbctemplatemapper.model.Product;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+public class UpsertTest {
+
+  @Value("${spring.datasource.driver-class-name}")
+  private String jdbcDriver;
+
+  @Autowired
+  private JdbcTemplateMapper jtm;
+
+  @Test
+  public void upsert_insert_test() {
+    Product product = new Product();
+    product.setProductId(3001);
+    product.setName("upsert product");
+    product.setCost(10.25);
+
+    assertEquals(1, jtm.upsert(product));
+    assertEquals(1, product.getVersion());
+    assertNotNull(product.getCreatedOn());
+    assertEquals("tester", product.getCreatedBy());
+    assertNotNull(product.getUpdatedOn());
+    assertEquals("tester", product.getUpdatedBy());
+
+    Product product2 = jtm.findById(Product.class, 3001);
+    assertEquals("upsert product", product2.getName());
+    assertEquals(10.25, product2.getCost());
+    assertEquals(1, product2.getVersion());
+    assertNotNull(product2.getCreatedOn());
+  }
+
+  @Test
+  public void upsert_update_test() {
+    Product product = new Product();
+    product.setProductId(3002);
+    product.setName("upsert product");
+    product.setCost(10.25);
+    jtm.insert(product);
+
+    Product product2 = jtm.findById(Product.class, 3002);
+    product2.setName("upsert product updated");
+    assertEquals(1, jtm.upsert(product2));
+    assertEquals(2, product2.getVersion());
+
+    Product product3 = jtm.findById(Product.class, 3002);
+    assertEquals("upsert product updated", product3.getName());
+    assertEquals(2, product3.getVersion());
+    // created on is only written on insert
+    assertEquals(product2.getCreatedOn(), product3.getCreatedOn());
+  }
+
+  @Test
+  public void upsert_staleData_test() {
+    // mysql with default connection settings reports found rows instead of affected rows
+    if (jdbcDriver.contains("mysql")) {
+      return;
+    }
+    Product product = new Product();
+    product.setProductId(3003);
+    product.setName("upsert product");
+    product.setCost(10.25);
+    jtm.insert(product);
+
+    Product product1 = jtm.findById(Product.class, 3003);
+    Product product2 = jtm.findById(Product.class, 3003);
+
+    product1.setName("upsert product 1");
+    jtm.upsert(product1);
+
+    product2.setName("upsert product 2");
+    Assertions.assertThrows(OptimisticLockingException.class, () -> {
+      jtm.upsert(product2);
+    });
+
+    assertEquals("upsert product 1", jtm.findById(Product.class, 3003).getName());
+  }
+
+  @Test
+  public void upsert_autoIncrementNullId_test() {
+    Order order = new Order();
+    order.setStatus("PENDING");
+    assertEquals(1, jtm.upsert(order));
+    assertNotNull(order.getOrderId());
+    assertEquals("PENDING", jtm.findById(Order.class, order.getOrderId()).getStatus());
+  }
+
+  @Test
+  public void upsert_autoIncrementExisting_test() {
+    Order order = new Order();
+    order.setStatus("PENDING");
+    jtm.insert(order);
+
+    Order order2 = jtm.findById(Order.class, order.getOrderId());
+    order2.setStatus("DONE");
+    assertEquals(1, jtm.upsert(order2));
+    assertEquals(2, order2.getVersion());
+
+    Order order3 = jtm.findById(Order.class, order.getOrderId());
+    assertEquals("DONE", order3.getStatus());
+    assertEquals(2, order3.getVersion());
+
+    // mysql with default connection settings reports found rows instead of affected rows
+    if (jdbcDriver.contains("mysql")) {
+      return;
+    }
+    // stale
+    order2.setVersion(1);
+    Assertions.assertThrows(OptimisticLockingException.class, () -> {
+      jtm.upsert(order2);
+    });
+  }
+
+  @Test
+  public void upsert_autoIncrementMissing_test() {
+    Order order = new Order();
+    order.setOrderId(900001L);
+    order.setStatus("PENDING");
+    order.setVersion(3);
+
+    if (jdbcDriver.contains("oracle") || jdbcDriver.contains("sqlserver")) {
+      // identity columns do not accept explicit values so the object is updated
+      Assertions.assertThrows(OptimisticLockingException.class, () -> {
+        jtm.upsert(order);
+      });
+      assertNull(jtm.findById(Order.class, 900001L));
+    } else {
+      assertEquals(1, jtm.upsert(order));
+      assertEquals(1, order.getVersion());
+      Order order2 = jtm.findById(Order.class, 900001L);
+      assertEquals("PENDING", order2.getStatus());
+      assertEquals(1, order2.getVersion());
+    }
+  }
+
+  @Test
+  public void upsertAll_autoIncrement_test() {
+    Order order = new Order();
+    order.setStatus("PENDING");
+    jtm.insert(order);
+
+    Order existingOrder = jtm.findById(Order.class, order.getOrderId());
+    existingOrder.setStatus("DONE");
+    Order newOrder = new Order();
+    newOrder.setStatus("PENDING");
+    Order newOrder2 = new Order();
+    newOrder2.setStatus("NEW");
+
+    jtm.upsertAll(Arrays.asList(newOrder, existingOrder, newOrder2));
+
+    assertEquals(2, existingOrder.getVersion());
+    assertNotNull(newOrder.getOrderId());
+    assertNotNull(newOrder2.getOrderId());
+    assertTrue(newOrder.getOrderId() < newOrder2.getOrderId());
+    assertEquals(1, newOrder.getVersion());
+    assertEquals(1, newOrder2.getVersion());
+    assertEquals("NEW", jtm.findById(Order.class, newOrder2.getOrderId()).getStatus());
+    assertEquals("DONE", jtm.findById(Order.class, order.getOrderId()).getStatus());
+    assertEquals("PENDING", jtm.findById(Order.class, newOrder.getOrderId()).getStatus());
+  }
+
+  @Test
+  public void upsert_versionNotNull_test() {
+    // the record is missing so it is inserted with version 1
+    Product product = new Product();
+    product.setProductId(3007);
+    product.setName("upsert product");
+    product.setVersion(5);
+    assertEquals(1, jtm.upsert(product));
+    assertEquals(1, product.getVersion());
+    assertEquals(1, jtm.findById(Product.class, 3007).getVersion());
+  }
+
+  @Test
+  public void upsertAll_versionNotNull_test() {
+    Product product = new Product();
+    product.setProductId(3008);
+    product.setName("upsert product");
+    jtm.insert(product);
+
+    Product existingProduct = jtm.findById(Product.class, 3008);
+    existingProduct.setName("upsert product updated");
+    Product missingProduct = new Product();
+    missingProduct.setProductId(3009);
+    missingProduct.setName("upsert product missing");
+    missingProduct.setVersion(4);
+
+    jtm.upsertAll(Arrays.asList(existingProduct, missingProduct));
+
+    assertEquals(2, existingProduct.getVersion());
+    assertEquals(1, missingProduct.getVersion());
+    assertEquals(2, jtm.findById(Product.class, 3008).getVersion());
+    assertEquals(1, jtm.findById(Product.class, 3009).getVersion());
+  }
+
+  @Test
+  public void upsert_nullId_failure() {
+    Product product = new Product();
+    product.setName("upsert product");
+    Exception exception = Assertions.assertThrows(MapperException.class, () -> {
+      jtm.upsert(product);
+    });
+    assertTrue(
+        exception.getMessage().contains("cannot be null since it is not an auto increment id"));
+  }
+
+  @Test
+  public void upsertAll_test() {
+    Product product = new Product();
+    product.setProductId(3004);
+    product.setName("upsert product");
+    product.setCost(10.25);
+    jtm.insert(product);
+
+    Product existingProduct = jtm.findById(Product.class, 3004);
+    existingProduct.setName("upsert product updated");
+
+    Product newProduct = new Product();
+    newProduct.setProductId(3005);
+    newProduct.setName("upsert product new");
+    newProduct.setCost(5.5);
+
+    jtm.getUpsertCache().clear();
+    jtm.upsertAll(Arrays.asList(existingProduct, newProduct));
+    assertNotNull(jtm.getUpsertCache().get(Product.class.getName()));
+
+    assertEquals(2, existingProduct.getVersion());
+    assertEquals(1, newProduct.getVersion());
+    assertEquals("upsert product updated", jtm.findById(Product.class, 3004).getName());
+    assertEquals("upsert product new", jtm.findById(Product.class, 3005).getName());
+  }
+
+  @Test
+  public void upsertAll_differentTypes_failure() {
+    Product product = new Product();
+    product.setProductId(3006);
+    Order order = new Order();
+    order.setOrderId(1L);
+
+    Exception exception = Assertions.assertThrows(MapperException.class, () -> {
+      jtm.upsertAll(Arrays.asList(product, order));
+    });
+    assertTrue(exception.getMessage().contains("have to be of the same type"));
+  }
+}
@@ -0,0 +1,53 @@
+package io.github.jdbctemplatemapper.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.jdbctemplatemapper.annotation.Column;
+import io.github.jdbctemplatemapper.annotation.Id;
+import io.github.jdbctemplatemapper.annotation.Table;
+
+@Table(name = "category")
+public class Category {
+  @Id
+  private Integer id;
+
+  @Column
+  private String name;
+  @Column
+  private Integer parentId;
+
+  private List<Category> children = new ArrayList<>();
+
+  public Integer getId() {
+    return id;
+  }
+
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public Integer getParentId() {
+    return parentId;
+  }
+
+  public void setParentId(Integer parentId) {
+    this.parentId = parentId;
+  }
+
+  public List<Category> getChildren() {
+    return children;
+  }
+
+  public void setChildren(List<Category> children) {
+    this.children = children;
+  }
+}
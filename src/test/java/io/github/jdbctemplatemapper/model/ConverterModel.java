@@ -0,0 +1,65 @@
+package io.github.jdbctemplatemapper.model;
+
+import io.github.jdbctemplatemapper.annotation.Column;
+import io.github.jdbctemplatemapper.annotation.Id;
+import io.github.jdbctemplatemapper.annotation.IdType;
+import io.github.jdbctemplatemapper.annotation.Table;
+import io.github.jdbctemplatemapper.converter.EnumOrdinalConverter;
+
+@Table(name = "type_check")
+public class ConverterModel {
+  @Id(type = IdType.AUTO_INCREMENT)
+  private Integer id;
+
+  @Column(name = "int_enum", converter = EnumOrdinalConverter.class)
+  private StatusEnum ordinalStatus;
+
+  @Column(name = "string_enum")
+  private StatusEnum status;
+
+  @Column(name = "char_enum")
+  private StatusEnum charStatus; // blank padded CHAR column
+
+  @Column(name = "non_model_column", converter = LabelConverter.class)
+  private Label label;
+
+  public Integer getId() {
+    return id;
+  }
+
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  public StatusEnum getOrdinalStatus() {
+    return ordinalStatus;
+  }
+
+  public void setOrdinalStatus(StatusEnum ordinalStatus) {
+    this.ordinalStatus = ordinalStatus;
+  }
+
+  public StatusEnum getStatus() {
+    return status;
+  }
+
+  public void setStatus(StatusEnum status) {
+    this.status = status;
+  }
+
+  public StatusEnum getCharStatus() {
+    return charStatus;
+  }
+
+  public void setCharStatus(StatusEnum charStatus) {
+    this.charStatus = charStatus;
+  }
+
+  public Label getLabel() {
+    return label;
+  }
+
+  public void setLabel(Label label) {
+    this.label = label;
+  }
+}
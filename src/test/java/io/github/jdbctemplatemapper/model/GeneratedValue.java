@@ -0,0 +1,53 @@
+package io.github.jdbctemplatemapper.model;
+
+import io.github.jdbctemplatemapper.annotation.Column;
+import io.github.jdbctemplatemapper.annotation.Id;
+import io.github.jdbctemplatemapper.annotation.IdType;
+import io.github.jdbctemplatemapper.annotation.Table;
+
+@Table(name = "generated_value")
+public class GeneratedValue {
+  @Id(type = IdType.AUTO_INCREMENT)
+  private Integer id;
+
+  @Column
+  private String name;
+
+  @Column(generated = true)
+  private String status; // column has a database default
+
+  @Column(generated = true)
+  private String nameUpper; // column is populated by a trigger
+
+  public Integer getId() {
+    return id;
+  }
+
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public String getNameUpper() {
+    return nameUpper;
+  }
+
+  public void setNameUpper(String nameUpper) {
+    this.nameUpper = nameUpper;
+  }
+}
@@ -0,0 +1,36 @@
+package io.github.jdbctemplatemapper.model;
+
+import io.github.jdbctemplatemapper.annotation.Column;
+import io.github.jdbctemplatemapper.annotation.Id;
+import io.github.jdbctemplatemapper.annotation.IdType;
+import io.github.jdbctemplatemapper.annotation.Table;
+
+@Table(name = "customer")
+public class ImmutableCustomer {
+  @Id(type = IdType.AUTO_INCREMENT)
+  private final Integer customerId;
+
+  @Column
+  private final String firstName;
+
+  @Column
+  private final String lastName;
+
+  public ImmutableCustomer(Integer customerId, String firstName, String lastName) {
+    this.customerId = customerId;
+    this.firstName = firstName;
+    this.lastName = lastName;
+  }
+
+  public Integer getCustomerId() {
+    return customerId;
+  }
+
+  public String getFirstName() {
+    return firstName;
+  }
+
+  public String getLastName() {
+    return lastName;
+  }
+}
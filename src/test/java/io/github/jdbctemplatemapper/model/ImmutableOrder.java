@@ -0,0 +1,52 @@
+package io.github.jdbctemplatemapper.model;
+
+import java.beans.ConstructorProperties;
+import java.util.List;
+import io.github.jdbctemplatemapper.annotation.Column;
+import io.github.jdbctemplatemapper.annotation.Id;
+import io.github.jdbctemplatemapper.annotation.IdType;
+import io.github.jdbctemplatemapper.annotation.Table;
+
+@Table(name = "orders")
+public class ImmutableOrder {
+  @Id(type = IdType.AUTO_INCREMENT)
+  @Column(name = "order_id")
+  private final Long id;
+
+  @Column
+  private final Integer customerId;
+
+  @Column
+  private final String status;
+
+  // populated by hasMany relationships
+  private final List<OrderLine> orderLines;
+
+  public ImmutableOrder(Long id, String status) {
+    this(id, null, status, null);
+  }
+
+  @ConstructorProperties({"id", "customerId", "status", "orderLines"})
+  public ImmutableOrder(Long id, Integer customerId, String status, List<OrderLine> orderLines) {
+    this.id = id;
+    this.customerId = customerId;
+    this.status = status;
+    this.orderLines = orderLines;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public Integer getCustomerId() {
+    return customerId;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public List<OrderLine> getOrderLines() {
+    return orderLines;
+  }
+}
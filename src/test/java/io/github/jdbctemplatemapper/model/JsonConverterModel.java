@@ -0,0 +1,32 @@
+package io.github.jdbctemplatemapper.model;
+
+import io.github.jdbctemplatemapper.annotation.Column;
+import io.github.jdbctemplatemapper.annotation.Id;
+import io.github.jdbctemplatemapper.annotation.IdType;
+import io.github.jdbctemplatemapper.annotation.Table;
+import io.github.jdbctemplatemapper.converter.JsonConverter;
+
+@Table(name = "type_check")
+public class JsonConverterModel {
+  @Id(type = IdType.AUTO_INCREMENT)
+  private Integer id;
+
+  @Column(name = "non_model_column", converter = JsonConverter.class)
+  private Label label;
+
+  public Integer getId() {
+    return id;
+  }
+
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  public Label getLabel() {
+    return label;
+  }
+
+  public void setLabel(Label label) {
+    this.label = label;
+  }
+}
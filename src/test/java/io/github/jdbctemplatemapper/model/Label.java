@@ -0,0 +1,13 @@
+package io.github.jdbctemplatemapper.model;
+
+public final class Label {
+  private final String value;
+
+  public Label(String value) {
+    this.value = value;
+  }
+
+  public String getValue() {
+    return value;
+  }
+}
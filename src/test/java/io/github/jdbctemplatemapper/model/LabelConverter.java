@@ -0,0 +1,21 @@
+package io.github.jdbctemplatemapper.model;
+
+import io.github.jdbctemplatemapper.converter.IPropertyConverter;
+
+public class LabelConverter implements IPropertyConverter<Label, String> {
+
+  @Override
+  public String toColumnValue(Label label) {
+    return "label:" + label.getValue();
+  }
+
+  @Override
+  public Label toPropertyValue(String columnValue) {
+    return new Label(columnValue.substring("label:".length()));
+  }
+
+  @Override
+  public Class<String> getColumnType() {
+    return String.class;
+  }
+}
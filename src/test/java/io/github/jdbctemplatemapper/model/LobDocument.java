@@ -0,0 +1,55 @@
+package io.github.jdbctemplatemapper.model;
+
+import io.github.jdbctemplatemapper.annotation.Column;
+import io.github.jdbctemplatemapper.annotation.Id;
+import io.github.jdbctemplatemapper.annotation.IdType;
+import io.github.jdbctemplatemapper.annotation.Table;
+import io.github.jdbctemplatemapper.core.LazyBlob;
+import io.github.jdbctemplatemapper.core.LazyClob;
+
+@Table(name = "lob_document")
+public class LobDocument {
+  @Id(type = IdType.AUTO_INCREMENT)
+  private Integer id;
+
+  @Column
+  private String name;
+
+  @Column
+  private LazyBlob content;
+
+  @Column
+  private LazyClob notes;
+
+  public Integer getId() {
+    return id;
+  }
+
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public LazyBlob getContent() {
+    return content;
+  }
+
+  public void setContent(LazyBlob content) {
+    this.content = content;
+  }
+
+  public LazyClob getNotes() {
+    return notes;
+  }
+
+  public void setNotes(LazyClob notes) {
+    this.notes = notes;
+  }
+}
@@ -0,0 +1,55 @@
+package io.github.jdbctemplatemapper.model;
+
+import java.io.InputStream;
+import java.io.Reader;
+import io.github.jdbctemplatemapper.annotation.Column;
+import io.github.jdbctemplatemapper.annotation.Id;
+import io.github.jdbctemplatemapper.annotation.IdType;
+import io.github.jdbctemplatemapper.annotation.Table;
+
+@Table(name = "lob_document")
+public class LobDocumentWrite {
+  @Id(type = IdType.AUTO_INCREMENT)
+  private Integer id;
+
+  @Column
+  private String name;
+
+  @Column
+  private InputStream content;
+
+  @Column
+  private Reader notes;
+
+  public Integer getId() {
+    return id;
+  }
+
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public InputStream getContent() {
+    return content;
+  }
+
+  public void setContent(InputStream content) {
+    this.content = content;
+  }
+
+  public Reader getNotes() {
+    return notes;
+  }
+
+  public void setNotes(Reader notes) {
+    this.notes = notes;
+  }
+}
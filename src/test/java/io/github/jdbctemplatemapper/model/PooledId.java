@@ -0,0 +1,37 @@
+package io.github.jdbctemplatemapper.model;
+
+import io.github.jdbctemplatemapper.annotation.Column;
+import io.github.jdbctemplatemapper.annotation.Id;
+import io.github.jdbctemplatemapper.annotation.IdType;
+import io.github.jdbctemplatemapper.annotation.Table;
+
+@Table(name = "pooled_id")
+public class PooledId {
+  @Id(type = IdType.SEQUENCE, sequence = "pooled_id_seq", allocationSize = 10)
+  private Long id;
+
+  @Column
+  private String name;
+
+  public PooledId() {}
+
+  public PooledId(String name) {
+    this.name = name;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+}
@@ -72,6 +72,7 @@ CREATE TABLE schema1.type_check (
    offset_date_time_data timestamp,
    int_enum integer,
    string_enum varchar(100),
+   char_enum char(10),
    non_model_column varchar(100),
    CONSTRAINT type_check_pk PRIMARY KEY (id)
 );
@@ -117,6 +118,47 @@ CREATE TABLE schema1.employee_skill (
 	CONSTRAINT employee_skill_pk PRIMARY KEY (id)
 );
 
+CREATE TABLE schema1.generated_value (
+	id integer NOT NULL AUTO_INCREMENT,
+	name varchar(100),
+	status varchar(100) DEFAULT 'NEW',
+	name_upper varchar(100),
+	CONSTRAINT generated_value_pk PRIMARY KEY (id)
+);
+
+CREATE TABLE schema1.pooled_id (
+	id integer NOT NULL,
+	name varchar(100),
+	CONSTRAINT pooled_id_pk PRIMARY KEY (id)
+);
+
+CREATE TABLE schema1.uuid_id (
+	id varchar(36) NOT NULL,
+	name varchar(100),
+	CONSTRAINT uuid_id_pk PRIMARY KEY (id)
+);
+
+CREATE TABLE schema1.lob_document (
+	id integer NOT NULL AUTO_INCREMENT,
+	name varchar(100),
+	content longblob,
+	notes longtext,
+	CONSTRAINT lob_document_pk PRIMARY KEY (id)
+);
+
+CREATE TABLE schema1.category (
+	id integer NOT NULL,
+	name varchar(100),
+	parent_id integer,
+	CONSTRAINT category_pk PRIMARY KEY (id)
+);
+
+CREATE TRIGGER schema1.generated_value_bi BEFORE INSERT ON schema1.generated_value
+FOR EACH ROW SET NEW.name_upper = UPPER(NEW.name);
+
+CREATE TRIGGER schema1.generated_value_bu BEFORE UPDATE ON schema1.generated_value
+FOR EACH ROW SET NEW.name_upper = UPPER(NEW.name);
+
 
 
 
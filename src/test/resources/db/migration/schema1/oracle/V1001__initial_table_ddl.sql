@@ -70,6 +70,7 @@ CREATE TABLE SCHEMA1.type_check (
    big_decimal_data number(10,2),
    int_enum NUMBER,
    string_enum varchar(100),
+   char_enum char(10),
    non_model_column varchar(100),
    offset_date_time_data timestamp with time zone
 );
@@ -114,12 +115,57 @@ CREATE TABLE SCHEMA1.employee_skill (
 	CONSTRAINT employee_skill_pk PRIMARY KEY (id)
 );
 
+CREATE TABLE SCHEMA1.generated_value (
+	id NUMBER GENERATED ALWAYS AS IDENTITY,
+	name varchar2(100),
+	status varchar2(100) DEFAULT 'NEW',
+	name_upper varchar2(100),
+	CONSTRAINT generated_value_pk PRIMARY KEY (id)
+);
+
+CREATE TABLE SCHEMA1.pooled_id (
+	id NUMBER NOT NULL,
+	name varchar2(100),
+	CONSTRAINT pooled_id_pk PRIMARY KEY (id)
+);
+
+CREATE SEQUENCE SCHEMA1.pooled_id_seq START WITH 1 INCREMENT BY 10;
+
+CREATE TABLE SCHEMA1.uuid_id (
+	id varchar(36) NOT NULL,
+	name varchar2(100),
+	CONSTRAINT uuid_id_pk PRIMARY KEY (id)
+);
+
+CREATE TABLE SCHEMA1.lob_document (
+	id NUMBER GENERATED ALWAYS AS IDENTITY,
+	name varchar2(100),
+	content BLOB,
+	notes CLOB,
+	CONSTRAINT lob_document_pk PRIMARY KEY (id)
+);
+
+CREATE TABLE SCHEMA1.category (
+	id NUMBER NOT NULL,
+	name varchar2(100),
+	parent_id NUMBER,
+	CONSTRAINT category_pk PRIMARY KEY (id)
+);
+
 CREATE TABLE SCHEMA1.testsynonym (
 	id NUMBER GENERATED ALWAYS AS IDENTITY,
 	name varchar2(100),
 	CONSTRAINT testsynonym_pk PRIMARY KEY (id)
 );
 
+CREATE OR REPLACE TRIGGER SCHEMA1.generated_value_biu
+BEFORE INSERT OR UPDATE ON SCHEMA1.generated_value
+FOR EACH ROW
+BEGIN
+  :NEW.name_upper := UPPER(:NEW.name);
+END;
+/
+
 
 
 
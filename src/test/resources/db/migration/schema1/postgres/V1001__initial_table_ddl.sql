@@ -73,6 +73,7 @@ CREATE TABLE schema1.type_check (
    image bytea,
    int_enum integer,
    string_enum varchar(100),
+   char_enum char(10),
    offset_date_time_data timestamptz,
    instant_data timestamptz,
    non_model_column varchar(100),
@@ -124,6 +125,53 @@ CREATE TABLE schema1.employee_skill (
 	CONSTRAINT employee_skill_pk PRIMARY KEY (id)
 );
 
+CREATE TABLE schema1.generated_value (
+	id serial NOT NULL,
+	name varchar(100),
+	status varchar(100) DEFAULT 'NEW',
+	name_upper varchar(100),
+	CONSTRAINT generated_value_pk PRIMARY KEY (id)
+);
+
+CREATE TABLE schema1.pooled_id (
+	id bigint NOT NULL,
+	name varchar(100),
+	CONSTRAINT pooled_id_pk PRIMARY KEY (id)
+);
+
+CREATE SEQUENCE schema1.pooled_id_seq START WITH 1 INCREMENT BY 10;
+
+CREATE TABLE schema1.uuid_id (
+	id varchar(36) NOT NULL,
+	name varchar(100),
+	CONSTRAINT uuid_id_pk PRIMARY KEY (id)
+);
+
+CREATE TABLE schema1.lob_document (
+	id serial NOT NULL,
+	name varchar(100),
+	content bytea,
+	notes text,
+	CONSTRAINT lob_document_pk PRIMARY KEY (id)
+);
+
+CREATE TABLE schema1.category (
+	id integer NOT NULL,
+	name varchar(100),
+	parent_id integer,
+	CONSTRAINT category_pk PRIMARY KEY (id)
+);
+
+CREATE FUNCTION schema1.generated_value_name_upper() RETURNS trigger AS $$
+BEGIN
+  NEW.name_upper := UPPER(NEW.name);
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER generated_value_biu BEFORE INSERT OR UPDATE ON schema1.generated_value
+FOR EACH ROW EXECUTE PROCEDURE schema1.generated_value_name_upper();
+
 
 
 
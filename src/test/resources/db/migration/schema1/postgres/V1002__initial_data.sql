@@ -73,5 +73,25 @@ INSERT INTO schema1.person
 ( person_id, first_name, last_name)
 VALUES( 'person101', 'mike', 'smith');
 
+INSERT INTO schema1.category
+(id, name, parent_id)
+VALUES(1, 'root', NULL);
+
+INSERT INTO schema1.category
+(id, name, parent_id)
+VALUES(2, 'books', 1);
+
+INSERT INTO schema1.category
+(id, name, parent_id)
+VALUES(3, 'music', 1);
+
+INSERT INTO schema1.category
+(id, name, parent_id)
+VALUES(4, 'fiction', 2);
+
+INSERT INTO schema1.category
+(id, name, parent_id)
+VALUES(5, 'mystery', 4);
+
 
 
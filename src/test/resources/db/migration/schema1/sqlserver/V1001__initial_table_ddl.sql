@@ -66,6 +66,7 @@ CREATE TABLE schema1.type_check (
    big_decimal_data numeric(10,2),
    int_enum int,
    string_enum varchar(100),
+   char_enum char(10),
    non_model_column varchar(100),
    offset_date_time_data varchar(100)
 );
@@ -112,12 +113,57 @@ CREATE TABLE schema1.employee_skill (
 	CONSTRAINT employee_skill_pk PRIMARY KEY (id)
 );
 
+CREATE TABLE schema1.generated_value (
+	id int IDENTITY(1,1) NOT NULL,
+	name varchar(100),
+	status varchar(100) DEFAULT 'NEW',
+	name_upper varchar(100),
+	CONSTRAINT generated_value_pk PRIMARY KEY (id)
+);
+
+CREATE TABLE schema1.pooled_id (
+	id bigint NOT NULL,
+	name varchar(100),
+	CONSTRAINT pooled_id_pk PRIMARY KEY (id)
+);
+
+CREATE SEQUENCE schema1.pooled_id_seq START WITH 1 INCREMENT BY 10;
+
+CREATE TABLE schema1.uuid_id (
+	id varchar(36) NOT NULL,
+	name varchar(100),
+	CONSTRAINT uuid_id_pk PRIMARY KEY (id)
+);
+
+CREATE TABLE schema1.lob_document (
+	id int IDENTITY(1,1) NOT NULL,
+	name varchar(100),
+	content varbinary(max),
+	notes varchar(max),
+	CONSTRAINT lob_document_pk PRIMARY KEY (id)
+);
+
+CREATE TABLE schema1.category (
+	id int NOT NULL,
+	name varchar(100),
+	parent_id int,
+	CONSTRAINT category_pk PRIMARY KEY (id)
+);
+
 GO
 
 CREATE VIEW schema1.person_view AS
 SELECT person_id, first_name, last_name
 FROM schema1.person;
 
+GO
+
+CREATE TRIGGER schema1.generated_value_aiu ON schema1.generated_value AFTER INSERT, UPDATE AS
+BEGIN
+  UPDATE g SET name_upper = UPPER(i.name)
+  FROM schema1.generated_value g JOIN inserted i ON g.id = i.id;
+END;
+
 
 
 